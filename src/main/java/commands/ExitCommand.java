@@ -1,19 +1,51 @@
 package commands;
 
+import storage.FileManager;
+import werkit.UI;
+
+import java.io.IOException;
+
 /**
- * This class is instantiated when the user types 'exit', though no actions will be taken by this class
- * as the exiting of the program is done by the WerkIt class.
+ * This class is instantiated when the user types 'exit'. The exiting of the program is done by the
+ * WerkIt class, but before that, any changes that have not been written to the resource files yet
+ * (i.e. in the write-behind storage mode) are flushed by this class.
  */
 public class ExitCommand extends Command {
     public static final String KEYWORD_BASE = "exit";
 
-    public ExitCommand(String userInput) {
+    private FileManager fileManager;
+
+    /**
+     * Constructs a new instance of the ExitCommand. Constructed when the user enters the exit command.
+     *
+     * @param userInput   The user's full original input.
+     * @param fileManager An instance of the FileManager class.
+     */
+    public ExitCommand(String userInput, FileManager fileManager) {
         super(userInput);
+        this.fileManager = fileManager;
+    }
+
+    /**
+     * Gets the instance of the FileManager class.
+     *
+     * @return An instance of the FileManager class.
+     */
+    public FileManager getFileManager() {
+        return this.fileManager;
     }
 
+    /**
+     * Flushes the changes that have not been written to the resource files yet.
+     */
     @Override
     public void execute() {
-        // No action taken by this class
+        try {
+            getFileManager().flushPendingWrites();
+        } catch (IOException e) {
+            System.out.println(UI.IOEXCEPTION_ERROR_MESSAGE);
+            System.exit(-1);
+        }
     }
 
     @Override
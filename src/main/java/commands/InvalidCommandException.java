@@ -26,8 +26,11 @@ public class InvalidCommandException extends Exception {
             + "Do you mean 'search /workout <workout keyword/reps>'?";
     public static final String INVALID_SEARCH_ALL_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
             + "Do you mean 'search /all <keyword>'?";
+    public static final String INVALID_REPS_FILTER_ERROR_MSG = "Uh oh, the reps filter entered is wrong.\n"
+            + "Do you mean 'reps<operator><number of reps>', where <operator> is >=, <=, >, < or =?";
     public static final String INVALID_NEW_PLAN_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
-            + "Do you mean 'plan /new <plan name> /workouts <workout number(s) to add, separated by comma>'?";
+            + "Do you mean 'plan /new <plan name> /workouts <workout number(s) to add, separated by comma>'?\n"
+            + "(Optionally followed by '/sets <number of sets>' and '/rest <rest interval in seconds>'.)";
     public static final String INVALID_PLAN_LIST_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
             + "Do you mean 'plan /list'?";
     public static final String INVALID_DELETE_PLAN_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
@@ -46,6 +49,10 @@ public class InvalidCommandException extends Exception {
             + "Do you mean 'help'?";
     public static final String INVALID_EXIT_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
             + "Do you mean 'exit'?";
+    public static final String INVALID_UNDO_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
+            + "Do you mean 'undo'?";
+    public static final String INVALID_REDO_COMMAND_ERROR_MSG = "Uh oh, the command entered is wrong.\n"
+            + "Do you mean 'redo'?";
 
     private String throwingClass;
 
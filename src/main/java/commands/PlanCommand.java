@@ -3,6 +3,7 @@ package commands;
 import data.plans.InvalidPlanException;
 import data.plans.Plan;
 import data.plans.PlanList;
+import data.snapshot.ModelSnapshotPublisher;
 import storage.FileManager;
 import storage.LogHandler;
 import werkit.UI;
@@ -18,6 +19,8 @@ public class PlanCommand extends Command {
     public static final String KEYWORD_BASE = "plan";
     public static final String ACTION_KEYWORD_CREATE = "/new";
     public static final String ACTION_KEYWORD_CREATE_WORKOUTS = "/workouts";
+    public static final String ACTION_KEYWORD_CREATE_SETS = "/sets";
+    public static final String ACTION_KEYWORD_CREATE_REST = "/rest";
     public static final String ACTION_KEYWORD_LIST = "/list";
     public static final String ACTION_KEYWORD_DETAILS = "/details";
     public static final String ACTION_KEYWORD_DELETE = "/delete";
@@ -25,6 +28,7 @@ public class PlanCommand extends Command {
     private FileManager fileManager;
     private UI ui = new UI();
     private PlanList planList;
+    private ModelSnapshotPublisher modelSnapshotPublisher;
 
     private String userAction;
     private String userArguments;
@@ -80,6 +84,25 @@ public class PlanCommand extends Command {
         return this.planList;
     }
 
+    /**
+     * Gets the publisher of the snapshots that the list action reads.
+     *
+     * @return An instance of the ModelSnapshotPublisher class.
+     */
+    public ModelSnapshotPublisher getModelSnapshotPublisher() {
+        return this.modelSnapshotPublisher;
+    }
+
+    /**
+     * Sets the publisher of the snapshots that the list action reads. The list action prints the latest
+     * snapshot, rather than reading the lists directly.
+     *
+     * @param modelSnapshotPublisher An instance of the ModelSnapshotPublisher class.
+     */
+    public void setModelSnapshotPublisher(ModelSnapshotPublisher modelSnapshotPublisher) {
+        this.modelSnapshotPublisher = modelSnapshotPublisher;
+    }
+
     /**
      * Gets the action of the plan command specified by the user.
      *
@@ -138,7 +161,7 @@ public class PlanCommand extends Command {
                 getFileManager().writeNewPlanToFile(newPlan);
                 break;
             case ACTION_KEYWORD_LIST:
-                getPlanList().listAllPlan();
+                getPlanList().listAllPlan(getModelSnapshotPublisher().getSnapshot().getPlans());
                 break;
             case ACTION_KEYWORD_DETAILS:
                 getPlanList().listPlanDetails(getUserArguments(), ui);
@@ -146,7 +169,7 @@ public class PlanCommand extends Command {
             case ACTION_KEYWORD_DELETE:
                 Plan deletedPlan = getPlanList().deletePlan(getUserArguments());
                 getUI().printDeletePlanMessage(deletedPlan);
-                getFileManager().rewriteAllPlansToFile(getPlanList());
+                getFileManager().recordDeletedPlan(getPlanList(), deletedPlan);
                 break;
             default:
                 String className = this.getClass().getSimpleName();
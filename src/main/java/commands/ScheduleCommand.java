@@ -4,11 +4,13 @@ import data.plans.PlanList;
 import data.schedule.Day;
 import data.schedule.DayList;
 import data.schedule.InvalidScheduleException;
+import data.snapshot.ModelSnapshotPublisher;
 import storage.FileManager;
 import storage.LogHandler;
 import werkit.UI;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +29,7 @@ public class ScheduleCommand extends Command {
     private UI ui = new UI();
     private PlanList planList;
     private DayList scheduleList;
+    private ModelSnapshotPublisher modelSnapshotPublisher;
 
     private String userAction;
     private String userArguments;
@@ -90,6 +93,25 @@ public class ScheduleCommand extends Command {
         return this.scheduleList;
     }
 
+    /**
+     * Gets the publisher of the snapshots that the list action reads.
+     *
+     * @return An instance of the ModelSnapshotPublisher class.
+     */
+    public ModelSnapshotPublisher getModelSnapshotPublisher() {
+        return this.modelSnapshotPublisher;
+    }
+
+    /**
+     * Sets the publisher of the snapshots that the list action reads. The list action prints the latest
+     * snapshot, rather than reading the lists directly.
+     *
+     * @param modelSnapshotPublisher An instance of the ModelSnapshotPublisher class.
+     */
+    public void setModelSnapshotPublisher(ModelSnapshotPublisher modelSnapshotPublisher) {
+        this.modelSnapshotPublisher = modelSnapshotPublisher;
+    }
+
     /**
      * Gets the action of the workout command specified by the user.
      *
@@ -144,20 +166,22 @@ public class ScheduleCommand extends Command {
             case ACTION_KEYWORD_UPDATE:
                 Day newDay = getScheduleList().updateDay(getUserArguments());
                 getUI().printNewScheduleCreatedMessage(newDay);
-                getFileManager().rewriteAllDaysScheduleToFile(getScheduleList());
+                getFileManager().recordUpdatedDay(getScheduleList(), newDay);
                 break;
             case ACTION_KEYWORD_LIST:
-                getScheduleList().printSchedule();
+                getScheduleList().printSchedule(getModelSnapshotPublisher().getSnapshot().getSchedule());
                 break;
             case ACTION_KEYWORD_CLEAR:
                 String dayName = getScheduleList().clearDayPlan(getUserArguments());
                 getUI().printClearedScheduleOnADay(dayName);
-                getFileManager().rewriteAllDaysScheduleToFile(getScheduleList());
+                ArrayList<Integer> clearedDayNumbers = new ArrayList<>();
+                clearedDayNumbers.add(Integer.parseInt(getUserArguments()));
+                getFileManager().recordClearedDays(getScheduleList(), clearedDayNumbers);
                 break;
             case ACTION_KEYWORD_CLEAR_ALL:
                 getScheduleList().clearAllSchedule();
                 getUI().printClearedScheduleMessage();
-                getFileManager().rewriteAllDaysScheduleToFile(getScheduleList());
+                getFileManager().recordClearedSchedule(getScheduleList());
                 break;
             default:
                 String className = this.getClass().getSimpleName();
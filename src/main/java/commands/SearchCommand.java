@@ -3,8 +3,10 @@ package commands;
 import data.exercises.ExerciseList;
 import data.exercises.InvalidExerciseException;
 import data.plans.InvalidPlanException;
+import data.plans.Plan;
 import data.plans.PlanList;
 import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
 import data.workouts.WorkoutList;
 import storage.LogHandler;
 import werkit.UI;
@@ -26,6 +28,14 @@ public class SearchCommand extends Command {
     public static final String CATEGORY_EXERCISE = "exercise";
     public static final String CATEGORY_WORKOUT = "workout";
     public static final String CATEGORY_PLAN = "plan";
+    public static final int MAX_NUMBER_OF_SIMILAR_MATCHES = 5;
+    public static final String REPETITIONS_FILTER_KEYWORD = "reps";
+    public static final String OPERATOR_AT_LEAST = ">=";
+    public static final String OPERATOR_AT_MOST = "<=";
+    public static final String OPERATOR_MORE_THAN = ">";
+    public static final String OPERATOR_LESS_THAN = "<";
+    public static final String OPERATOR_EQUAL_TO = "=";
+    public static final String SPACE_CHARACTER = " ";
 
     private UI ui;
     private ExerciseList exerciseList;
@@ -35,6 +45,11 @@ public class SearchCommand extends Command {
     private String userAction;
     private String userArguments;
     private int matchCount;
+    // The range of repetitions and the exercise keyword of a workout search with filters such as 'reps>=20'
+    private String repetitionsFilters;
+    private int minRepetitions;
+    private int maxRepetitions;
+    private String workoutKeyword;
 
     private static Logger logger = Logger.getLogger(SearchCommand.class.getName());
 
@@ -235,6 +250,15 @@ public class SearchCommand extends Command {
     private void printHeadingMessage(String category) {
         switch (userAction) {
         case ACTION_KEYWORD_WORKOUT:
+            if (repetitionsFilters != null) {
+                String keywordMessage = workoutKeyword.isEmpty() ? " " : " containing keyword(s)"
+                        + ui.getColorText(TextColor.COLOR_YELLOW, " [" + workoutKeyword + "] ");
+                System.out.println("The " + category + "(s) with "
+                        + ui.getColorText(TextColor.COLOR_YELLOW, repetitionsFilters) + keywordMessage
+                        + "is(are) listed below together\nwith its(their) original index number(s).");
+                ui.printLine();
+                break;
+            }
             try {
                 Integer.parseInt(userArguments);
                 System.out.println("The " + category + "(s) with "
@@ -305,38 +329,65 @@ public class SearchCommand extends Command {
      * @throws InvalidExerciseException If the exercise specified by the user is invalid.
      */
     public void searchExercise() throws InvalidCommandException, InvalidExerciseException {
-        ArrayList<String> exerciseListToSearch = exerciseList.getExerciseList();
-        for (String exerciseToSearch : exerciseListToSearch) {
-            if (isMatch(exerciseToSearch.toLowerCase())) {
-                incrementMatchCount();
-                printSearchHeading();
-                ui.printColorText(TextColor.COLOR_YELLOW,
-                        exerciseList.getIndexNumFromExerciseName(exerciseToSearch) + ". " + exerciseToSearch);
-            }
+        for (String exerciseToSearch : exerciseList.findExercisesByName(userArguments)) {
+            incrementMatchCount();
+            printSearchHeading();
+            ui.printColorText(TextColor.COLOR_YELLOW,
+                    exerciseList.getIndexNumFromExerciseName(exerciseToSearch) + ". " + exerciseToSearch);
         }
         if (isZeroMatch()) {
             ui.printSearchNotFoundMessage(CATEGORY_EXERCISE, getUserArguments());
+            printSimilarExercises();
         }
         clearMatchCount();
     }
 
     /**
-     * Prints message when no matching result is found.
+     * Prints the exercises whose names are similar to userArguments, from the closest, if there is any.
+     * This is called when no exercise name contains userArguments, e.g. because it is misspelled.
      *
-     * @param category The category that will be searched.
+     * @throws InvalidExerciseException If the exercise specified by the user is invalid.
      */
-    public void printNotFoundMessage(String category) {
-        System.out.println("Sorry, no matching " + category + " found.");
+    private void printSimilarExercises() throws InvalidExerciseException {
+        ArrayList<String> similarExercises = exerciseList.findExercisesBySimilarName(userArguments);
+        if (similarExercises.isEmpty()) {
+            return;
+        }
+        ui.printSimilarSearchResultsHeading(CATEGORY_EXERCISE);
+        int numberOfMatchesToPrint = Math.min(similarExercises.size(), MAX_NUMBER_OF_SIMILAR_MATCHES);
+        for (String similarExercise : similarExercises.subList(0, numberOfMatchesToPrint)) {
+            ui.printColorText(TextColor.COLOR_YELLOW,
+                    exerciseList.getIndexNumFromExerciseName(similarExercise) + ". " + similarExercise);
+        }
     }
 
     /**
-     * Returns true if the String record contains userArguments.
+     * Prints the plans whose names are similar to userArguments, from the closest, if there is any.
+     * This is called when no plan name contains userArguments, e.g. because it is misspelled.
      *
-     * @param record    A record stored in local resource file to be compared with userArguments.
-     * @return          True if the String record contains userArguments.
+     * @throws InvalidPlanException If the plan specified by the user is invalid.
+     */
+    private void printSimilarPlans() throws InvalidPlanException {
+        ArrayList<Plan> similarPlans = planList.findPlansBySimilarPlanName(userArguments);
+        if (similarPlans.isEmpty()) {
+            return;
+        }
+        ui.printSimilarSearchResultsHeading(CATEGORY_PLAN);
+        int numberOfMatchesToPrint = Math.min(similarPlans.size(), MAX_NUMBER_OF_SIMILAR_MATCHES);
+        for (Plan similarPlan : similarPlans.subList(0, numberOfMatchesToPrint)) {
+            String similarPlanName = similarPlan.getPlanName().toLowerCase();
+            ui.printColorText(TextColor.COLOR_YELLOW,
+                    planList.getIndexNumFromPlanName(similarPlanName) + ". " + similarPlanName);
+        }
+    }
+
+    /**
+     * Prints message when no matching result is found.
+     *
+     * @param category The category that will be searched.
      */
-    public boolean isMatch(String record) {
-        return record.contains(userArguments);
+    public void printNotFoundMessage(String category) {
+        System.out.println("Sorry, no matching " + category + " found.");
     }
 
     /**
@@ -347,45 +398,111 @@ public class SearchCommand extends Command {
      * @throws InvalidPlanException If the plan specified by the user is invalid.
      */
     public void searchPlan() throws InvalidCommandException, InvalidPlanException {
-        var planListToSearch = planList.getPlansDisplayList();
-        for (String planToSearch : planListToSearch) {
-            String planToBeCompared = planToSearch.toLowerCase();
-            if (isMatch(planToBeCompared)) {
-                incrementMatchCount();
-                printSearchHeading();
-                ui.printColorText(TextColor.COLOR_YELLOW,
-                        planList.getIndexNumFromPlanName(planToBeCompared)
-                                + ". " + planToBeCompared);
-            }
+        for (Plan planToSearch : planList.findPlansByPlanName(userArguments)) {
+            String planToBeCompared = planToSearch.getPlanName().toLowerCase();
+            incrementMatchCount();
+            printSearchHeading();
+            ui.printColorText(TextColor.COLOR_YELLOW,
+                    planList.getIndexNumFromPlanName(planToBeCompared)
+                            + ". " + planToBeCompared);
         }
         if (isZeroMatch()) {
             ui.printSearchNotFoundMessage(CATEGORY_PLAN, getUserArguments());
+            printSimilarPlans();
         }
         clearMatchCount();
     }
 
     /**
-     * Parses the number of reps of a given workout.
+     * Parses the repetitions filters (e.g. 'reps>=20 reps<=50') in userArguments into the range of repetitions
+     * to search for. The other words in userArguments form the keyword that the exercise names of the workouts
+     * must contain.
      *
-     * @param workoutDisplayName    The workout name to be parsed.
-     * @return                      The integer value of reps.
+     * @return True if userArguments contains at least one repetitions filter. Otherwise, returns false.
+     * @throws InvalidCommandException If a repetitions filter is not followed by a valid number.
      */
-    public int parseWorkoutReps(String workoutDisplayName) {
-        var beginningOfReps = workoutDisplayName.indexOf("(") + 1;
-        var endingOfReps = workoutDisplayName.indexOf(" reps)");
-        var reps = workoutDisplayName.substring(beginningOfReps, endingOfReps).trim();
-        return Integer.parseInt(reps);
+    private boolean parseRepetitionsFilters() throws InvalidCommandException {
+        minRepetitions = Integer.MIN_VALUE;
+        maxRepetitions = Integer.MAX_VALUE;
+        ArrayList<String> filters = new ArrayList<>();
+        ArrayList<String> keywordWords = new ArrayList<>();
+        for (String word : userArguments.trim().split(SPACE_CHARACTER)) {
+            if (applyRepetitionsFilter(word)) {
+                filters.add(word);
+            } else if (!word.isEmpty()) {
+                keywordWords.add(word);
+            }
+        }
+
+        if (filters.isEmpty()) {
+            repetitionsFilters = null;
+            workoutKeyword = null;
+            return false;
+        }
+        repetitionsFilters = String.join(SPACE_CHARACTER, filters);
+        workoutKeyword = String.join(SPACE_CHARACTER, keywordWords);
+        return true;
     }
 
     /**
-     * Returns true if the int value of userArguments is the same as quantity.
+     * Narrows down the range of repetitions to search for with the given word, if it is a repetitions filter,
+     * i.e. 'reps' followed by one of the operators '>=', '<=', '>', '<' or '=' and a number.
      *
-     * @param quantity                  Number of reps of a workout.
-     * @return                          True if the int value of userArguments is the same as quantity.
-     * @throws NumberFormatException    If userArguments cannot be parsed to integer.
+     * @param word A word in userArguments.
+     * @return True if the word is a repetitions filter. Otherwise, returns false.
+     * @throws InvalidCommandException If the word is a repetitions filter whose number is invalid (e.g. 'reps>=abc').
      */
-    public boolean isMatchQuantity(int quantity) throws NumberFormatException {
-        return quantity == Integer.parseInt(userArguments);
+    private boolean applyRepetitionsFilter(String word) throws InvalidCommandException {
+        if (!word.startsWith(REPETITIONS_FILTER_KEYWORD)) {
+            return false;
+        }
+        String condition = word.substring(REPETITIONS_FILTER_KEYWORD.length());
+        String[] operators = {OPERATOR_AT_LEAST, OPERATOR_AT_MOST, OPERATOR_MORE_THAN, OPERATOR_LESS_THAN,
+            OPERATOR_EQUAL_TO};
+        for (String operator : operators) {
+            if (!condition.startsWith(operator)) {
+                continue;
+            }
+            int repetitions;
+            try {
+                repetitions = Integer.parseInt(condition.substring(operator.length()));
+            } catch (NumberFormatException e) {
+                logger.log(Level.WARNING, "User has entered an invalid reps filter.");
+                String className = this.getClass().getSimpleName();
+                throw new InvalidCommandException(className, InvalidCommandException.INVALID_REPS_FILTER_ERROR_MSG);
+            }
+            narrowRepetitionsRange(operator, repetitions);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Narrows down the range of repetitions to search for with the given condition.
+     *
+     * @param operator    The operator of the condition.
+     * @param repetitions The number of repetitions in the condition.
+     */
+    private void narrowRepetitionsRange(String operator, int repetitions) {
+        switch (operator) {
+        case OPERATOR_AT_LEAST:
+            minRepetitions = Math.max(minRepetitions, repetitions);
+            break;
+        case OPERATOR_AT_MOST:
+            maxRepetitions = Math.min(maxRepetitions, repetitions);
+            break;
+        case OPERATOR_MORE_THAN:
+            // No workout can have Integer.MAX_VALUE repetitions, so it is kept in the range to avoid overflowing
+            minRepetitions = Math.max(minRepetitions, repetitions == Integer.MAX_VALUE ? repetitions : repetitions + 1);
+            break;
+        case OPERATOR_LESS_THAN:
+            maxRepetitions = Math.min(maxRepetitions, repetitions == Integer.MIN_VALUE ? repetitions : repetitions - 1);
+            break;
+        default:
+            minRepetitions = Math.max(minRepetitions, repetitions);
+            maxRepetitions = Math.min(maxRepetitions, repetitions);
+            break;
+        }
     }
 
     /**
@@ -396,32 +513,24 @@ public class SearchCommand extends Command {
      * @throws InvalidWorkoutException If the workout specified by the user is invalid.
      */
     public void searchWorkout() throws InvalidCommandException, InvalidWorkoutException {
-        var workoutListToSearch = workoutList.getWorkoutsDisplayList();
-        for (String workoutToSearch : workoutListToSearch) {
-            String workoutToBeCompared = workoutToSearch.toLowerCase();
-            var reps = parseWorkoutReps(workoutToBeCompared);
-            var beginningOfReps = workoutToBeCompared.indexOf("(");
-            var exerciseName = workoutToBeCompared.substring(0, beginningOfReps).trim();
+        ArrayList<Workout> matchingWorkouts;
+        if (parseRepetitionsFilters()) {
+            matchingWorkouts = workoutList.findWorkoutsByRepetitions(minRepetitions, maxRepetitions, workoutKeyword);
+        } else {
             try {
-                if (isMatchQuantity(reps)) {
-                    incrementMatchCount();
-                    printSearchHeading();
-                    ui.printColorText(TextColor.COLOR_YELLOW,
-                            workoutList.getIndexNumFromWorkoutName(workoutToBeCompared)
-                                    + ". " + workoutToBeCompared);
-                }
+                matchingWorkouts = workoutList.findWorkoutsByRepetitions(Integer.parseInt(userArguments));
             } catch (NumberFormatException e) {
-                if (isMatch(exerciseName)) {
-                    incrementMatchCount();
-                    printSearchHeading();
-                    ui.printColorText(TextColor.COLOR_YELLOW,
-                            workoutList.getIndexNumFromWorkoutName(workoutToBeCompared)
-                                    + ". " + workoutToBeCompared);
-                }
-            } catch (InvalidWorkoutException e) {
-                e.printStackTrace();
+                matchingWorkouts = workoutList.findWorkoutsByExerciseName(userArguments);
             }
         }
+        for (Workout workoutToSearch : matchingWorkouts) {
+            String workoutToBeCompared = workoutToSearch.toString().toLowerCase();
+            incrementMatchCount();
+            printSearchHeading();
+            ui.printColorText(TextColor.COLOR_YELLOW,
+                    workoutList.getIndexNumFromWorkoutName(workoutToBeCompared)
+                            + ". " + workoutToBeCompared);
+        }
         if (isZeroMatch()) {
             ui.printSearchNotFoundMessage(CATEGORY_WORKOUT, getUserArguments());
         }
@@ -0,0 +1,96 @@
+package commands;
+
+import data.history.ChangeHistory;
+import data.history.ChangeSet;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.WorkoutList;
+import storage.FileManager;
+import storage.LogHandler;
+import werkit.UI;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A class that will handle the commands that undo and redo the changes made by the user's previous commands.
+ */
+public class UndoCommand extends Command {
+    public static final String KEYWORD_UNDO = "undo";
+    public static final String KEYWORD_REDO = "redo";
+
+    private FileManager fileManager;
+    private UI ui = new UI();
+    private WorkoutList workoutList;
+    private PlanList planList;
+    private DayList dayList;
+    private ChangeHistory changeHistory;
+    private boolean isRedo;
+
+    private static Logger logger = Logger.getLogger(UndoCommand.class.getName());
+
+    /**
+     * Constructs a new instance of the UndoCommand. Constructed when the user enters the undo or redo command.
+     *
+     * @param userInput     The user's full original input.
+     * @param fileManager   An instance of the FileManager class.
+     * @param workoutList   An instance of the WorkoutList class.
+     * @param planList      An instance of the PlanList class.
+     * @param dayList       An instance of the DayList class.
+     * @param changeHistory An instance of the ChangeHistory class.
+     * @param isRedo        True if the user has entered the redo command, or false for the undo command.
+     */
+    public UndoCommand(String userInput, FileManager fileManager, WorkoutList workoutList, PlanList planList,
+            DayList dayList, ChangeHistory changeHistory, boolean isRedo) {
+        super(userInput);
+        this.fileManager = fileManager;
+        this.workoutList = workoutList;
+        this.planList = planList;
+        this.dayList = dayList;
+        this.changeHistory = changeHistory;
+        this.isRedo = isRedo;
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Gets the instance of the ChangeHistory class.
+     *
+     * @return An instance of the ChangeHistory class.
+     */
+    public ChangeHistory getChangeHistory() {
+        return this.changeHistory;
+    }
+
+    public boolean isRedo() {
+        return this.isRedo;
+    }
+
+    @Override
+    public String getUserAction() {
+        return null;
+    }
+
+    /**
+     * Undoes the latest command that changed the workouts, plans or schedule, or redoes the latest command
+     * that has been undone, and saves the result. If there is no such command, a message is printed instead.
+     */
+    @Override
+    public void execute() {
+        boolean isReverted = !isRedo;
+        ChangeSet changeSet = isReverted ? changeHistory.undo() : changeHistory.redo();
+        if (changeSet == null) {
+            ui.printNothingToUndoOrRedoMessage(isRedo);
+            return;
+        }
+
+        ui.printUndoneOrRedoneMessage(changeSet.getDescription(), isRedo);
+        try {
+            fileManager.recordChangeSet(changeSet, isReverted, workoutList, planList, dayList);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Unable to save the changes that were undone or redone.");
+            System.out.println(UI.IOEXCEPTION_ERROR_MESSAGE);
+            System.exit(-1);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package commands;
 
 import data.exercises.InvalidExerciseException;
 import data.plans.InvalidPlanException;
+import data.plans.Plan;
 import data.plans.PlanList;
+import data.snapshot.ModelSnapshotPublisher;
 import data.workouts.InvalidWorkoutException;
 import data.workouts.Workout;
 import data.workouts.WorkoutList;
@@ -11,6 +13,7 @@ import storage.LogHandler;
 import werkit.UI;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,11 +27,16 @@ public class WorkoutCommand extends Command {
     public static final String ACTION_KEYWORD_LIST = "/list";
     public static final String ACTION_KEYWORD_DELETE = "/delete";
     public static final String ACTION_KEYWORD_UPDATE = "/update";
+    // Separates the workouts of a 'workout /new' command, and the index numbers of a 'workout /delete' command
+    public static final String BATCH_ENTRY_DELIMITER = ";";
+    public static final String BATCH_INDEX_DELIMITER = ",";
+    public static final String BATCH_INDEX_RANGE_DELIMITER = "-";
 
     private FileManager fileManager;
     private UI ui = new UI();
     private WorkoutList workoutList;
     private PlanList planList;
+    private ModelSnapshotPublisher modelSnapshotPublisher;
 
     private String userAction;
     private String userArguments;
@@ -95,6 +103,25 @@ public class WorkoutCommand extends Command {
         return planList;
     }
 
+    /**
+     * Gets the publisher of the snapshots that the list action reads.
+     *
+     * @return An instance of the ModelSnapshotPublisher class.
+     */
+    public ModelSnapshotPublisher getModelSnapshotPublisher() {
+        return this.modelSnapshotPublisher;
+    }
+
+    /**
+     * Sets the publisher of the snapshots that the list action reads. The list action prints the latest
+     * snapshot, rather than reading the lists directly.
+     *
+     * @param modelSnapshotPublisher An instance of the ModelSnapshotPublisher class.
+     */
+    public void setModelSnapshotPublisher(ModelSnapshotPublisher modelSnapshotPublisher) {
+        this.modelSnapshotPublisher = modelSnapshotPublisher;
+    }
+
     /**
      * Gets the action of the workout command specified by the user.
      *
@@ -147,28 +174,28 @@ public class WorkoutCommand extends Command {
         try {
             switch (getUserAction()) {
             case ACTION_KEYWORD_CREATE:
-                Workout newWorkout = getWorkoutList().createNewWorkout(getUserArguments());
-                getWorkoutList().addNewWorkoutToLists(newWorkout);
-                getUI().printNewWorkoutCreatedMessage(newWorkout);
-                getFileManager().writeNewWorkoutToFile(newWorkout);
+                ArrayList<Workout> newWorkouts = getWorkoutList().createNewWorkouts(getUserArguments());
+                getWorkoutList().addNewWorkoutsToLists(newWorkouts);
+                getUI().printNewWorkoutsCreatedMessage(newWorkouts);
+                getFileManager().writeNewWorkoutsToFile(newWorkouts);
                 break;
             case ACTION_KEYWORD_LIST:
-                getWorkoutList().listAllWorkout();
+                getWorkoutList().listAllWorkout(getModelSnapshotPublisher().getSnapshot().getWorkouts());
                 break;
             case ACTION_KEYWORD_DELETE:
-                Workout deletedWorkout = getWorkoutList().deleteWorkout(getUserArguments());
-                getUI().printDeleteWorkoutMessage(deletedWorkout);
-                getPlanList().deletePlanContainsDeletedWorkout(deletedWorkout.toString());
-                getFileManager().rewriteAllWorkoutsToFile(getWorkoutList());
-                getFileManager().rewriteAllPlansToFile(getPlanList());
+                ArrayList<Workout> deletedWorkouts = getWorkoutList().deleteWorkouts(getUserArguments());
+                getUI().printDeleteWorkoutsMessage(deletedWorkouts);
+                ArrayList<Plan> deletedPlans
+                        = getPlanList().deletePlansContainDeletedWorkouts(deletedWorkouts);
+                getFileManager().recordDeletedWorkouts(getWorkoutList(), getPlanList(), deletedWorkouts,
+                        deletedPlans);
                 break;
             case ACTION_KEYWORD_UPDATE:
                 String currentWorkout = getWorkoutList().getCurrentWorkout(getUserArguments());
                 Workout updatedWorkout = getWorkoutList().updateWorkout(getUserArguments());
                 getUI().printUpdateWorkoutMessage(currentWorkout, updatedWorkout);
                 getPlanList().updatePlanContainsUpdatedWorkout(currentWorkout, updatedWorkout);
-                getFileManager().rewriteAllWorkoutsToFile(getWorkoutList());
-                getFileManager().rewriteAllPlansToFile(getPlanList());
+                getFileManager().recordUpdatedWorkout(getWorkoutList(), getPlanList(), currentWorkout, updatedWorkout);
                 break;
             default:
                 String className = this.getClass().getSimpleName();
@@ -0,0 +1,219 @@
+package data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.TreeMap;
+
+/**
+ * This class represents a BK-tree of the names of exercises or plans, case-folded, which finds the names that are
+ * within a given edit (Levenshtein) distance of a keyword without working out the distance to every name.
+ * <p>
+ * Each node holds a name and the ids of the entries with that name. The children of a node are kept by their
+ * distance from the node's name, so by the triangle inequality, a search only has to go down the children whose
+ * distances are within the maximum distance of the keyword's distance from the node. When a name is no longer the
+ * name of any entry, its node is kept so that the tree stays valid, and the tree is built again once it holds
+ * more of these nodes than names in use.
+ */
+public class BkTree {
+    // Keywords up to this length are allowed one edit, and longer keywords are allowed MAX_EDIT_DISTANCE edits
+    public static final int SHORT_KEYWORD_LENGTH = 4;
+    public static final int MAX_EDIT_DISTANCE = 2;
+    // Keywords shorter than this are not looked up, as most names would be within one edit of them
+    public static final int MIN_KEYWORD_LENGTH = 3;
+
+    private Node root;
+    private int numberOfNamesInUse = 0;
+    private int numberOfUnusedNames = 0;
+
+    /**
+     * This class represents a node of the BK-tree.
+     */
+    private static class Node {
+        private final String name;
+        private final HashSet<Integer> ids = new HashSet<>();
+        private final HashMap<Integer, Node> children = new HashMap<>();
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Gets the maximum edit distance of the names to look up for the given keyword.
+     *
+     * @param keyword The keyword to search for.
+     * @return The maximum edit distance, or 0 if the keyword is too short to be looked up.
+     */
+    public static int getMaxEditDistance(String keyword) {
+        int keywordLength = keyword.length();
+        if (keywordLength < MIN_KEYWORD_LENGTH) {
+            return 0;
+        }
+        return keywordLength <= SHORT_KEYWORD_LENGTH ? 1 : MAX_EDIT_DISTANCE;
+    }
+
+    /**
+     * Works out the edit (Levenshtein) distance between two strings, i.e. the least number of characters that
+     * have to be inserted, deleted or replaced to change one string into the other.
+     *
+     * @param first  The first string.
+     * @param second The second string.
+     * @return The edit distance between the strings.
+     */
+    public static int getEditDistance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j += 1) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i += 1) {
+            currentRow[0] = i;
+            for (int j = 1; j <= second.length(); j += 1) {
+                int replaceCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + replaceCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+        return previousRow[second.length()];
+    }
+
+    /**
+     * Adds the given name to the tree for the entry with the given id.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry.
+     */
+    public void add(int id, String name) {
+        String foldedName = name.toLowerCase();
+        if (root == null) {
+            root = new Node(foldedName);
+            numberOfUnusedNames += 1;
+        }
+        Node node = root;
+        int distance = getEditDistance(foldedName, node.name);
+        while (distance > 0) {
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(foldedName);
+                node.children.put(distance, child);
+                numberOfUnusedNames += 1;
+            }
+            node = child;
+            distance = getEditDistance(foldedName, node.name);
+        }
+
+        if (node.ids.isEmpty()) {
+            numberOfNamesInUse += 1;
+            numberOfUnusedNames -= 1;
+        }
+        node.ids.add(id);
+    }
+
+    /**
+     * Removes the given name from the tree for the entry with the given id.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry, as it was when the entry was added.
+     */
+    public void remove(int id, String name) {
+        Node node = findNode(name.toLowerCase());
+        if (node == null || !node.ids.remove(id) || !node.ids.isEmpty()) {
+            return;
+        }
+        numberOfNamesInUse -= 1;
+        numberOfUnusedNames += 1;
+        if (numberOfUnusedNames > numberOfNamesInUse) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Finds the ids of the entries whose names are within the given edit distance of the keyword.
+     *
+     * @param keyword     The keyword to search for.
+     * @param maxDistance The maximum edit distance.
+     * @return A TreeMap from each edit distance to the ids of the entries whose names are that far from the
+     *         keyword, from the closest.
+     */
+    public TreeMap<Integer, HashSet<Integer>> findWithinDistance(String keyword, int maxDistance) {
+        String foldedKeyword = keyword.toLowerCase();
+        TreeMap<Integer, HashSet<Integer>> idsByDistance = new TreeMap<>();
+        if (root == null) {
+            return idsByDistance;
+        }
+        ArrayDeque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            int distance = getEditDistance(foldedKeyword, node.name);
+            if (distance <= maxDistance && !node.ids.isEmpty()) {
+                idsByDistance.computeIfAbsent(distance, newDistance -> new HashSet<>()).addAll(node.ids);
+            }
+            for (int childDistance = distance - maxDistance; childDistance <= distance + maxDistance;
+                    childDistance += 1) {
+                Node child = node.children.get(childDistance);
+                if (child != null) {
+                    nodesToVisit.push(child);
+                }
+            }
+        }
+        return idsByDistance;
+    }
+
+    /**
+     * Gets the number of distinct names in the tree that are the names of at least one entry.
+     *
+     * @return The number of names in use.
+     */
+    public int getNumberOfNames() {
+        return numberOfNamesInUse;
+    }
+
+    /**
+     * Finds the node with the given name.
+     *
+     * @param foldedName The case-folded name to look for.
+     * @return The Node with the name, or null if the name is not in the tree.
+     */
+    private Node findNode(String foldedName) {
+        Node node = root;
+        while (node != null) {
+            int distance = getEditDistance(foldedName, node.name);
+            if (distance == 0) {
+                return node;
+            }
+            node = node.children.get(distance);
+        }
+        return null;
+    }
+
+    /**
+     * Builds the tree again from the names that are in use, leaving out the nodes of unused names.
+     */
+    private void rebuild() {
+        ArrayList<Node> nodesInUse = new ArrayList<>();
+        ArrayDeque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            if (!node.ids.isEmpty()) {
+                nodesInUse.add(node);
+            }
+            nodesToVisit.addAll(node.children.values());
+        }
+
+        root = null;
+        numberOfNamesInUse = 0;
+        numberOfUnusedNames = 0;
+        for (Node node : nodesInUse) {
+            for (int id : node.ids) {
+                add(id, node.name);
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ * This class represents the sequence of ids of the workouts or plans, in the order that they are shown in
+ * 'workout /list' or 'plan /list'. The position of an id in the sequence is its 1-based index number.
+ * <p>
+ * New ids are only ever added to the end of the sequence, so every id is given the next slot when it is
+ * added, and keeps that slot until it is removed. A Fenwick tree (binary indexed tree) over the slots counts
+ * the slots that are in use, which allows an id to be looked up by its index number, the index number of an
+ * id to be found, and an id to be removed, all in O(log n) time without shifting the rest of the sequence.
+ * The slots of removed ids are reclaimed once they outnumber the slots in use.
+ */
+public class IndexedIdList implements Iterable<Integer> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] slotIds = new int[INITIAL_CAPACITY];
+    private boolean[] isSlotInUse = new boolean[INITIAL_CAPACITY];
+    // 1-based Fenwick tree, where tree[i] counts the slots in use in the range of slots that ends at slot i - 1
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int numberOfSlots = 0;
+    private int size = 0;
+    private HashMap<Integer, Integer> idSlotHashMapList = new HashMap<>();
+
+    /**
+     * Gets the number of ids in the sequence.
+     *
+     * @return The number of ids.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the given id is in the sequence.
+     *
+     * @param id The id to check.
+     * @return True if the id is in the sequence. Otherwise, returns false.
+     */
+    public boolean contains(int id) {
+        return idSlotHashMapList.containsKey(id);
+    }
+
+    /**
+     * Adds an id to the end of the sequence, i.e. the id is given the largest index number.
+     *
+     * @param id The id to add, which must not be in the sequence already.
+     */
+    public void add(int id) {
+        assert !contains(id) : "Id should not be added to the sequence twice.";
+        if (numberOfSlots == slotIds.length) {
+            rebuild(Math.max(INITIAL_CAPACITY, 2 * size));
+        }
+        int slot = numberOfSlots;
+        numberOfSlots += 1;
+        slotIds[slot] = id;
+        isSlotInUse[slot] = true;
+        idSlotHashMapList.put(id, slot);
+        updateTree(slot, 1);
+        size += 1;
+    }
+
+    /**
+     * Gets the id at the given index number.
+     *
+     * @param indexNum The 1-based index number of the id.
+     * @return The id at the index number.
+     * @throws IndexOutOfBoundsException If the index number is not between 1 and the number of ids.
+     */
+    public int get(int indexNum) throws IndexOutOfBoundsException {
+        return slotIds[findSlot(indexNum)];
+    }
+
+    /**
+     * Gets the index number of the given id.
+     *
+     * @param id The id whose index number is to be found.
+     * @return The 1-based index number of the id, or 0 if the id is not in the sequence.
+     */
+    public int getIndexNum(int id) {
+        Integer slot = idSlotHashMapList.get(id);
+        if (slot == null) {
+            return 0;
+        }
+        return countSlotsInUseUpTo(slot);
+    }
+
+    /**
+     * Sorts the given ids in ascending order of their index numbers. The slots of the ids are in the same
+     * order as the ids in the sequence, so the ids are sorted by their slots without finding their index
+     * numbers.
+     *
+     * @param ids The ids to sort. Ids that are not in the sequence are left out.
+     * @return An ArrayList of the ids in ascending order of their index numbers.
+     */
+    public ArrayList<Integer> sortByIndexNum(Collection<Integer> ids) {
+        ArrayList<Integer> slots = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Integer slot = idSlotHashMapList.get(id);
+            if (slot != null) {
+                slots.add(slot);
+            }
+        }
+        Collections.sort(slots);
+        ArrayList<Integer> sortedIds = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            sortedIds.add(slotIds[slot]);
+        }
+        return sortedIds;
+    }
+
+    /**
+     * Removes the id at the given index number. The index numbers of the ids after it decrease by one.
+     *
+     * @param indexNum The 1-based index number of the id to remove.
+     * @return The removed id.
+     * @throws IndexOutOfBoundsException If the index number is not between 1 and the number of ids.
+     */
+    public int remove(int indexNum) throws IndexOutOfBoundsException {
+        int slot = findSlot(indexNum);
+        int removedId = slotIds[slot];
+        isSlotInUse[slot] = false;
+        idSlotHashMapList.remove(removedId);
+        updateTree(slot, -1);
+        size -= 1;
+        if (numberOfSlots - size > size + INITIAL_CAPACITY) {
+            rebuild(Math.max(INITIAL_CAPACITY, 2 * size));
+        }
+        return removedId;
+    }
+
+    /**
+     * Removes the ids at all of the given index numbers in a single pass over the sequence. The index numbers
+     * refer to the positions of the ids before any of them is removed.
+     *
+     * @param indexNums The 1-based index numbers of the ids to remove. Repeated index numbers are ignored.
+     * @return The removed ids, in ascending order of their former index numbers.
+     * @throws IndexOutOfBoundsException If an index number is not between 1 and the number of ids. No id is
+     *                                   removed in this case.
+     */
+    public ArrayList<Integer> removeAll(Collection<Integer> indexNums) throws IndexOutOfBoundsException {
+        TreeSet<Integer> sortedIndexNums = new TreeSet<>(indexNums);
+        for (int indexNum : sortedIndexNums) {
+            checkIndexNumIsWithinRange(indexNum);
+        }
+
+        ArrayList<Integer> removedIds = new ArrayList<>(sortedIndexNums.size());
+        if (sortedIndexNums.size() == 1) {
+            removedIds.add(remove(sortedIndexNums.first()));
+            return removedIds;
+        }
+        int indexNum = 0;
+        for (int slot = 0; slot < numberOfSlots && !sortedIndexNums.isEmpty(); slot += 1) {
+            if (!isSlotInUse[slot]) {
+                continue;
+            }
+            indexNum += 1;
+            if (indexNum == sortedIndexNums.first()) {
+                sortedIndexNums.pollFirst();
+                isSlotInUse[slot] = false;
+                idSlotHashMapList.remove(slotIds[slot]);
+                removedIds.add(slotIds[slot]);
+            }
+        }
+        size -= removedIds.size();
+        rebuild(Math.max(INITIAL_CAPACITY, 2 * size));
+        return removedIds;
+    }
+
+    /**
+     * Inserts ids at the given index numbers in a single pass over the sequence, shifting the ids after them.
+     * This reverses a call to removeAll(), i.e. inserting the ids returned by removeAll() at the index numbers
+     * given to it restores the sequence.
+     *
+     * @param indexNums The 1-based index numbers that the ids will have once they have all been inserted, in
+     *                  ascending order.
+     * @param ids       The ids to insert, which must not be in the sequence already.
+     * @throws IndexOutOfBoundsException If the index numbers are not in ascending order, or an index number
+     *                                   is not between 1 and the number of ids after the insertion. No id is
+     *                                   inserted in this case.
+     */
+    public void insertAll(List<Integer> indexNums, List<Integer> ids) throws IndexOutOfBoundsException {
+        assert indexNums.size() == ids.size() : "Every id to insert should have an index number.";
+        int newSize = size + ids.size();
+        int previousIndexNum = 0;
+        for (int indexNum : indexNums) {
+            if (indexNum <= previousIndexNum || indexNum > newSize) {
+                throw new IndexOutOfBoundsException("Index number " + indexNum + " is out of order or out of "
+                        + "range for " + newSize + " ids.");
+            }
+            previousIndexNum = indexNum;
+        }
+
+        if (ids.size() == 1 && indexNums.get(0) == newSize) {
+            add(ids.get(0));
+            return;
+        }
+        int[] newSlotIds = new int[Math.max(INITIAL_CAPACITY, 2 * newSize)];
+        int nextIdToInsert = 0;
+        int slot = findNextSlotInUse(0);
+        for (int newSlot = 0; newSlot < newSize; newSlot += 1) {
+            if (nextIdToInsert < indexNums.size() && indexNums.get(nextIdToInsert) == newSlot + 1) {
+                assert !contains(ids.get(nextIdToInsert)) : "Id should not be added to the sequence twice.";
+                newSlotIds[newSlot] = ids.get(nextIdToInsert);
+                nextIdToInsert += 1;
+            } else {
+                newSlotIds[newSlot] = slotIds[slot];
+                slot = findNextSlotInUse(slot + 1);
+            }
+        }
+        this.size = newSize;
+        useSlots(newSlotIds, newSize);
+    }
+
+    /**
+     * Returns an iterator over the ids in the order of their index numbers.
+     *
+     * @return An iterator over the ids.
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int nextSlot = findNextSlotInUse(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < numberOfSlots;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int id = slotIds[nextSlot];
+                nextSlot = findNextSlotInUse(nextSlot + 1);
+                return id;
+            }
+        };
+    }
+
+    private int findNextSlotInUse(int slot) {
+        while (slot < numberOfSlots && !isSlotInUse[slot]) {
+            slot += 1;
+        }
+        return slot;
+    }
+
+    private void checkIndexNumIsWithinRange(int indexNum) throws IndexOutOfBoundsException {
+        if (indexNum < 1 || indexNum > size) {
+            throw new IndexOutOfBoundsException("Index number " + indexNum + " is out of range for "
+                    + size + " ids.");
+        }
+    }
+
+    /**
+     * Finds the slot of the id at the given index number by descending the Fenwick tree.
+     *
+     * @param indexNum The 1-based index number of the id.
+     * @return The slot of the id.
+     * @throws IndexOutOfBoundsException If the index number is not between 1 and the number of ids.
+     */
+    private int findSlot(int indexNum) throws IndexOutOfBoundsException {
+        checkIndexNumIsWithinRange(indexNum);
+        int treeLength = tree.length - 1;
+        int position = 0;
+        int remaining = indexNum;
+        for (int step = Integer.highestOneBit(treeLength); step > 0; step >>= 1) {
+            int nextPosition = position + step;
+            if (nextPosition <= treeLength && tree[nextPosition] < remaining) {
+                position = nextPosition;
+                remaining -= tree[nextPosition];
+            }
+        }
+        // position is the number of slots before the slot that holds the id
+        return position;
+    }
+
+    private int countSlotsInUseUpTo(int slot) {
+        int count = 0;
+        for (int i = slot + 1; i > 0; i -= (i & -i)) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void updateTree(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += (i & -i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Moves the ids into the first slots of new arrays with the given capacity, dropping the slots of removed
+     * ids, and rebuilds the Fenwick tree in linear time.
+     *
+     * @param capacity The number of slots of the new arrays, which must be at least the number of ids.
+     */
+    private void rebuild(int capacity) {
+        int[] newSlotIds = new int[capacity];
+        int newNumberOfSlots = 0;
+        for (int slot = 0; slot < numberOfSlots; slot += 1) {
+            if (!isSlotInUse[slot]) {
+                continue;
+            }
+            newSlotIds[newNumberOfSlots] = slotIds[slot];
+            newNumberOfSlots += 1;
+        }
+        useSlots(newSlotIds, newNumberOfSlots);
+    }
+
+    /**
+     * Replaces the slots with the given slots, of which the first ones are in use, and rebuilds the Fenwick
+     * tree in linear time.
+     *
+     * @param newSlotIds       The ids of the new slots. Its length is the number of slots of the new arrays.
+     * @param newNumberOfSlots The number of slots in use, which are the first slots of newSlotIds.
+     */
+    private void useSlots(int[] newSlotIds, int newNumberOfSlots) {
+        int capacity = newSlotIds.length;
+        boolean[] newIsSlotInUse = new boolean[capacity];
+        int[] newTree = new int[capacity + 1];
+        for (int slot = 0; slot < newNumberOfSlots; slot += 1) {
+            newIsSlotInUse[slot] = true;
+            idSlotHashMapList.put(newSlotIds[slot], slot);
+        }
+        for (int i = 1; i <= capacity; i += 1) {
+            if (newIsSlotInUse[i - 1]) {
+                newTree[i] += 1;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                newTree[parent] += newTree[i];
+            }
+        }
+        this.slotIds = newSlotIds;
+        this.isSlotInUse = newIsSlotInUse;
+        this.tree = newTree;
+        this.numberOfSlots = newNumberOfSlots;
+    }
+}
@@ -0,0 +1,125 @@
+package data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+/**
+ * This class represents a prefix trie of the names of exercises or plans, case-folded, which finds the names that
+ * start with a given prefix.
+ * <p>
+ * Each node stands for the prefix spelt out by the path from the root to the node, and keeps its children sorted
+ * by their characters. Nodes that no longer lead to any name are removed, so every path from the node of a prefix
+ * leads to a name. Finding the first k completions of a prefix thus only visits the nodes of the prefix and the
+ * nodes of the completions that are returned.
+ */
+public class PrefixTrie {
+    private final Node root = new Node();
+    private int numberOfNames = 0;
+
+    /**
+     * This class represents a node of the prefix trie.
+     */
+    private static class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        // The name that ends at this node as it was first added, or null if no name ends at this node
+        private String name;
+        private int numberOfEntries = 0;
+    }
+
+    /**
+     * Adds the given name to the trie. A name can be added more than once, and it stays in the trie until it has
+     * been removed as many times.
+     *
+     * @param name The name to add.
+     */
+    public void add(String name) {
+        Node node = root;
+        for (char character : name.toLowerCase().toCharArray()) {
+            node = node.children.computeIfAbsent(character, newCharacter -> new Node());
+        }
+        if (node.numberOfEntries == 0) {
+            node.name = name;
+            numberOfNames += 1;
+        }
+        node.numberOfEntries += 1;
+    }
+
+    /**
+     * Removes the given name from the trie, together with the nodes that no longer lead to any name.
+     *
+     * @param name The name to remove.
+     */
+    public void remove(String name) {
+        String foldedName = name.toLowerCase();
+        ArrayList<Node> path = new ArrayList<>(foldedName.length() + 1);
+        path.add(root);
+        Node node = root;
+        for (int i = 0; i < foldedName.length(); i += 1) {
+            node = node.children.get(foldedName.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        if (node.numberOfEntries == 0) {
+            return;
+        }
+
+        node.numberOfEntries -= 1;
+        if (node.numberOfEntries > 0) {
+            return;
+        }
+        node.name = null;
+        numberOfNames -= 1;
+        for (int i = path.size() - 1; i > 0; i -= 1) {
+            Node pathNode = path.get(i);
+            if (pathNode.numberOfEntries > 0 || !pathNode.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(foldedName.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Gets the number of distinct names in the trie.
+     *
+     * @return The number of names.
+     */
+    public int getNumberOfNames() {
+        return numberOfNames;
+    }
+
+    /**
+     * Finds the names that start with the given prefix, regardless of case. Shorter names come before the longer
+     * names that they are the start of, and the other names are in alphabetical order.
+     *
+     * @param prefix                 The prefix of the names to find.
+     * @param maxNumberOfCompletions The greatest number of names to return.
+     * @return An ArrayList of at most maxNumberOfCompletions names that start with the prefix.
+     */
+    public ArrayList<String> getCompletions(String prefix, int maxNumberOfCompletions) {
+        ArrayList<String> completions = new ArrayList<>();
+        Node node = root;
+        for (char character : prefix.toLowerCase().toCharArray()) {
+            node = node.children.get(character);
+            if (node == null) {
+                return completions;
+            }
+        }
+
+        ArrayDeque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(node);
+        while (!nodesToVisit.isEmpty() && completions.size() < maxNumberOfCompletions) {
+            Node nodeToVisit = nodesToVisit.pop();
+            if (nodeToVisit.name != null) {
+                completions.add(nodeToVisit.name);
+            }
+            // The children are pushed from the last, so that they are visited in alphabetical order
+            for (Node child : nodeToVisit.children.descendingMap().values()) {
+                nodesToVisit.push(child);
+            }
+        }
+        return completions;
+    }
+}
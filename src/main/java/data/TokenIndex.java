@@ -0,0 +1,169 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class represents an inverted index from the tokens (i.e. the words, case-folded) of the names of
+ * exercises, workouts or plans to the ids of the entries whose names contain them.
+ * <p>
+ * The index is used to find the entries whose names may contain a keyword, without going through every
+ * entry. As a keyword can start or end in the middle of a word, the index only narrows down the entries: each
+ * word of the keyword must be found in a token of the name (as the whole token if the word is between spaces
+ * in the keyword, or as the start or the end of the token if the word is only preceded or only followed by a
+ * space). The names of the candidates that are returned must still be checked for the keyword itself.
+ */
+public class TokenIndex {
+    public static final String TOKEN_DELIMITER = " ";
+
+    // The postings of each token, i.e. the ids of the entries whose names contain the token
+    private final TreeMap<String, HashSet<Integer>> postings = new TreeMap<>();
+
+    /**
+     * Splits a name or keyword into its tokens, which are case-folded. Consecutive, leading and trailing
+     * spaces do not produce empty tokens.
+     *
+     * @param text The name or keyword to split.
+     * @return An ArrayList of the tokens in the order that they appear in the text.
+     */
+    public static ArrayList<String> tokenize(String text) {
+        ArrayList<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase().split(TOKEN_DELIMITER)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds the tokens of the given name to the index for the entry with the given id.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry.
+     */
+    public void add(int id, String name) {
+        for (String token : tokenize(name)) {
+            postings.computeIfAbsent(token, newToken -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Removes the tokens of the given name from the index for the entry with the given id. Tokens that are
+     * no longer in the name of any entry are removed from the index.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry, as it was when the entry was added.
+     */
+    public void remove(int id, String name) {
+        for (String token : tokenize(name)) {
+            HashSet<Integer> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of distinct tokens in the index.
+     *
+     * @return The number of tokens.
+     */
+    public int getNumberOfTokens() {
+        return postings.size();
+    }
+
+    /**
+     * Finds the ids of the entries whose names may contain the given keyword. Every entry whose name contains
+     * the keyword is returned, but the names of the returned entries may not contain the keyword, so they must
+     * still be checked.
+     *
+     * @param keyword The keyword to search for.
+     * @return A HashSet of the ids of the candidates, or null if the keyword has no tokens (e.g. it consists of
+     *         spaces only) and therefore every entry is a candidate.
+     */
+    public HashSet<Integer> findCandidates(String keyword) {
+        String[] words = keyword.toLowerCase().split(TOKEN_DELIMITER, -1);
+        HashSet<Integer> candidates = null;
+        for (int i = 0; i < words.length; i += 1) {
+            if (words[i].isEmpty()) {
+                continue;
+            }
+            boolean isPrecededBySpace = i > 0;
+            boolean isFollowedBySpace = i < words.length - 1;
+            HashSet<Integer> wordCandidates = findCandidatesOfWord(words[i], isPrecededBySpace, isFollowedBySpace);
+            candidates = candidates == null ? wordCandidates : intersect(candidates, wordCandidates);
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the ids of the entries whose names contain a token that matches a word of the keyword.
+     *
+     * @param word              The word of the keyword, which contains no spaces.
+     * @param isPrecededBySpace True if the word is preceded by a space in the keyword, so the token must
+     *                          start with the word.
+     * @param isFollowedBySpace True if the word is followed by a space in the keyword, so the token must end
+     *                          with the word.
+     * @return A HashSet of the ids of the entries.
+     */
+    private HashSet<Integer> findCandidatesOfWord(String word, boolean isPrecededBySpace,
+            boolean isFollowedBySpace) {
+        HashSet<Integer> wordCandidates = new HashSet<>();
+        if (isPrecededBySpace && isFollowedBySpace) {
+            HashSet<Integer> ids = postings.get(word);
+            if (ids != null) {
+                wordCandidates.addAll(ids);
+            }
+            return wordCandidates;
+        }
+
+        if (isPrecededBySpace) {
+            // The tokens that start with the word are next to each other in the sorted map of tokens
+            for (Map.Entry<String, HashSet<Integer>> entry : postings.tailMap(word, true).entrySet()) {
+                if (!entry.getKey().startsWith(word)) {
+                    break;
+                }
+                wordCandidates.addAll(entry.getValue());
+            }
+            return wordCandidates;
+        }
+
+        for (Map.Entry<String, HashSet<Integer>> entry : postings.entrySet()) {
+            String token = entry.getKey();
+            boolean isMatch = isFollowedBySpace ? token.endsWith(word) : token.contains(word);
+            if (isMatch) {
+                wordCandidates.addAll(entry.getValue());
+            }
+        }
+        return wordCandidates;
+    }
+
+    /**
+     * Intersects two sets of ids by going through the smaller set.
+     *
+     * @param firstIds  The first set of ids.
+     * @param secondIds The second set of ids.
+     * @return A HashSet of the ids that are in both sets.
+     */
+    private static HashSet<Integer> intersect(HashSet<Integer> firstIds, HashSet<Integer> secondIds) {
+        HashSet<Integer> smallerIds = firstIds.size() <= secondIds.size() ? firstIds : secondIds;
+        HashSet<Integer> largerIds = smallerIds == firstIds ? secondIds : firstIds;
+        HashSet<Integer> commonIds = new HashSet<>();
+        for (int id : smallerIds) {
+            if (largerIds.contains(id)) {
+                commonIds.add(id);
+            }
+        }
+        return commonIds;
+    }
+}
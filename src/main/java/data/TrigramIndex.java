@@ -0,0 +1,129 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * This class represents an index from the trigrams (i.e. the substrings of 3 characters, case-folded) of the names
+ * of exercises, workouts or plans to the ids of the entries whose names contain them.
+ * <p>
+ * Every substring of a name contains the trigrams of the substring, so an entry can only contain a keyword if its
+ * name contains every trigram of the keyword. Unlike a TokenIndex, this holds for keywords that start or end in
+ * the middle of a word. The names of the candidates that are returned must still be checked for the keyword
+ * itself, as the trigrams may appear in a different order in the name.
+ */
+public class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    // The postings of each trigram, i.e. the ids of the entries whose names contain the trigram
+    private final HashMap<String, HashSet<Integer>> postings = new HashMap<>();
+
+    /**
+     * Gets the distinct trigrams of a name or keyword, which are case-folded.
+     *
+     * @param text The name or keyword.
+     * @return A HashSet of the trigrams, which is empty if the text is shorter than 3 characters.
+     */
+    public static HashSet<String> getTrigrams(String text) {
+        String foldedText = text.toLowerCase();
+        HashSet<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= foldedText.length(); i += 1) {
+            trigrams.add(foldedText.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Adds the trigrams of the given name to the index for the entry with the given id.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry.
+     */
+    public void add(int id, String name) {
+        for (String trigram : getTrigrams(name)) {
+            postings.computeIfAbsent(trigram, newTrigram -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Removes the trigrams of the given name from the index for the entry with the given id. Trigrams that are
+     * no longer in the name of any entry are removed from the index.
+     *
+     * @param id   The id of the entry.
+     * @param name The name of the entry, as it was when the entry was added.
+     */
+    public void remove(int id, String name) {
+        for (String trigram : getTrigrams(name)) {
+            HashSet<Integer> ids = postings.get(trigram);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of distinct trigrams in the index.
+     *
+     * @return The number of trigrams.
+     */
+    public int getNumberOfTrigrams() {
+        return postings.size();
+    }
+
+    /**
+     * Finds the ids of the entries whose names may contain the given keyword. Every entry whose name contains
+     * the keyword is returned, but the names of the returned entries may not contain the keyword, so they must
+     * still be checked.
+     *
+     * @param keyword The keyword to search for.
+     * @return A HashSet of the ids of the candidates, or null if the keyword is shorter than 3 characters and
+     *         therefore cannot be looked up in this index.
+     */
+    public HashSet<Integer> findCandidates(String keyword) {
+        HashSet<String> trigrams = getTrigrams(keyword);
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+
+        ArrayList<HashSet<Integer>> postingsOfTrigrams = new ArrayList<>(trigrams.size());
+        for (String trigram : trigrams) {
+            HashSet<Integer> ids = postings.get(trigram);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            postingsOfTrigrams.add(ids);
+        }
+
+        // Going through the smallest set of ids keeps the intersection proportional to the rarest trigram
+        postingsOfTrigrams.sort(Comparator.comparingInt(HashSet::size));
+        HashSet<Integer> candidates = new HashSet<>();
+        for (int id : postingsOfTrigrams.get(0)) {
+            if (isInAllPostings(id, postingsOfTrigrams)) {
+                candidates.add(id);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks if the given id is in every set of ids after the first.
+     *
+     * @param id                 The id to check.
+     * @param postingsOfTrigrams The sets of ids of the trigrams of a keyword, from the smallest set.
+     * @return True if the id is in all the sets. Otherwise, returns false.
+     */
+    private static boolean isInAllPostings(int id, ArrayList<HashSet<Integer>> postingsOfTrigrams) {
+        for (int i = 1; i < postingsOfTrigrams.size(); i += 1) {
+            if (!postingsOfTrigrams.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,12 +1,30 @@
 package data.exercises;
 
+import data.BkTree;
+import data.PrefixTrie;
+import data.TokenIndex;
+import data.TrigramIndex;
 import textcolors.TextColor;
 import werkit.UI;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 
 public class ExerciseList {
     private final ArrayList<String> exercisesList = new ArrayList<>();
+    // Looks up the index numbers of exercises by their case-folded names, without scanning exercisesList
+    private final HashMap<String, Integer> exercisesIndexNumHashMapList = new HashMap<>();
+    // Maps each exercise name to the String object stored in exercisesList, so that workouts share that object
+    private final HashMap<String, String> exercisesNameHashMapList = new HashMap<>();
+    // Look up the positions of exercises in exercisesList by the tokens and by the trigrams of their names
+    private final TokenIndex exerciseNameTokenIndex = new TokenIndex();
+    private final TrigramIndex exerciseNameTrigramIndex = new TrigramIndex();
+    // Finds the positions of exercises in exercisesList whose names are similar to a keyword
+    private final BkTree exerciseNameBkTree = new BkTree();
+    // Finds the names of exercises that start with a prefix, to complete the user's input
+    private final PrefixTrie exerciseNameTrie = new PrefixTrie();
     private int numberOfExercises = 0;
     private UI ui = new UI();
 
@@ -18,9 +36,84 @@ public class ExerciseList {
      */
     public void addExerciseToList(String exerciseName) {
         exercisesList.add(exerciseName);
+        exercisesIndexNumHashMapList.putIfAbsent(exerciseName.toLowerCase(), exercisesList.size());
+        exercisesNameHashMapList.putIfAbsent(exerciseName, exerciseName);
+        exerciseNameTokenIndex.add(exercisesList.size() - 1, exerciseName);
+        exerciseNameTrigramIndex.add(exercisesList.size() - 1, exerciseName);
+        exerciseNameBkTree.add(exercisesList.size() - 1, exerciseName);
+        exerciseNameTrie.add(exerciseName);
         incrementNumberOfExercises();
     }
 
+    /**
+     * Finds the exercises whose names contain the given keyword, regardless of case. The trigram index (or the
+     * token index, for keywords shorter than 3 characters) narrows down the exercises to check.
+     *
+     * @param keyword The keyword to search for.
+     * @return An ArrayList of the matching exercise names, in the order that they are shown in 'exercise /list'.
+     */
+    public ArrayList<String> findExercisesByName(String keyword) {
+        String foldedKeyword = keyword.toLowerCase();
+        HashSet<Integer> candidatePositions = exerciseNameTrigramIndex.findCandidates(keyword);
+        if (candidatePositions == null) {
+            candidatePositions = exerciseNameTokenIndex.findCandidates(keyword);
+        }
+        ArrayList<String> matchingExercises = new ArrayList<>();
+        if (candidatePositions == null) {
+            for (String exerciseName : exercisesList) {
+                if (exerciseName.toLowerCase().contains(foldedKeyword)) {
+                    matchingExercises.add(exerciseName);
+                }
+            }
+            return matchingExercises;
+        }
+        ArrayList<Integer> sortedPositions = new ArrayList<>(candidatePositions);
+        Collections.sort(sortedPositions);
+        for (int position : sortedPositions) {
+            String exerciseName = exercisesList.get(position);
+            if (exerciseName.toLowerCase().contains(foldedKeyword)) {
+                matchingExercises.add(exerciseName);
+            }
+        }
+        return matchingExercises;
+    }
+
+    /**
+     * Finds the exercises whose names are within a few edits of the given keyword, regardless of case, e.g. to
+     * suggest 'squat' for a misspelled 'sqaut'. The exercises are looked up in a BK-tree, so the edit distance is
+     * not worked out for every exercise.
+     *
+     * @param keyword The keyword to search for.
+     * @return An ArrayList of the similar exercise names, from the closest to the keyword. Exercises that are as
+     *         close as each other are in the order that they are shown in 'exercise /list'.
+     */
+    public ArrayList<String> findExercisesBySimilarName(String keyword) {
+        ArrayList<String> similarExercises = new ArrayList<>();
+        int maxEditDistance = BkTree.getMaxEditDistance(keyword);
+        if (maxEditDistance == 0) {
+            return similarExercises;
+        }
+        for (HashSet<Integer> positions : exerciseNameBkTree.findWithinDistance(keyword, maxEditDistance).values()) {
+            ArrayList<Integer> sortedPositions = new ArrayList<>(positions);
+            Collections.sort(sortedPositions);
+            for (int position : sortedPositions) {
+                similarExercises.add(exercisesList.get(position));
+            }
+        }
+        return similarExercises;
+    }
+
+    /**
+     * Gets the names of the exercises that start with the given prefix, regardless of case.
+     *
+     * @param prefix                 The prefix that the user has entered.
+     * @param maxNumberOfCompletions The greatest number of exercise names to return.
+     * @return An ArrayList of at most maxNumberOfCompletions exercise names, in alphabetical order.
+     */
+    public ArrayList<String> getExerciseNameCompletions(String prefix, int maxNumberOfCompletions) {
+        return exerciseNameTrie.getCompletions(prefix, maxNumberOfCompletions);
+    }
+
     public ArrayList<String> getExerciseList() {
         return exercisesList;
     }
@@ -73,13 +166,24 @@ public class ExerciseList {
      * @return Returns true if the exercise name exists in the list. Otherwise, false is returned.
      */
     public boolean checkIfExerciseExists(String exerciseName) {
-        if (!exercisesList.contains(exerciseName)) {
+        if (!exercisesNameHashMapList.containsKey(exerciseName)) {
             return false;
         }
 
         return true;
     }
 
+    /**
+     * Gets the String object of the exercise name that is stored in the exercises ArrayList, so that every
+     * workout of the same exercise shares one String object instead of keeping its own copy.
+     *
+     * @param exerciseName The name of the exercise.
+     * @return The stored String object that is equal to exerciseName, or null if the exercise does not exist.
+     */
+    public String getCanonicalExerciseName(String exerciseName) {
+        return exercisesNameHashMapList.get(exerciseName);
+    }
+
     /**
      * This method provides a default list of default exercises to populate into the exercises.txt file.
      * The method is coded this way in order to solve the following checkstyle issue:
@@ -118,19 +222,18 @@ public class ExerciseList {
     }
 
     /**
-     * Retrieves the index number of a plan based on its position in the exerciseList
-     * ArrayList.
+     * Retrieves the index number of an exercise based on its position in the exerciseList
+     * ArrayList. The exercise name is matched regardless of case.
      *
      * @param exerciseName The name of the exercise whose index number this method has to find.
      * @return An integer representing the index number the exercise is listed in the exerciseList
      *         ArrayList.
-     * @throws InvalidExerciseException If the given plan name was not found in exerciseList.
+     * @throws InvalidExerciseException If the given exercise name was not found in exerciseList.
      */
     public int getIndexNumFromExerciseName(String exerciseName) throws InvalidExerciseException {
-        for (int i = 0; i < getExerciseList().size(); i += 1) {
-            if (getExerciseList().get(i).equals(exerciseName)) {
-                return (i + 1);
-            }
+        Integer indexNum = exercisesIndexNumHashMapList.get(exerciseName.toLowerCase());
+        if (indexNum != null) {
+            return indexNum;
         }
 
         String className = this.getClass().getSimpleName();
@@ -0,0 +1,54 @@
+package data.history;
+
+import storage.FileManager;
+import storage.OperationJournal;
+
+import java.io.IOException;
+
+/**
+ * This interface is implemented by the changes that a command makes to one of the lists (e.g. workouts that
+ * have been removed from the list of workouts). A change only keeps the entries that it affects, together with
+ * their index numbers, so it can be reverted and reapplied without copying the rest of the list.
+ */
+public interface Change {
+    /**
+     * Reverts this change. The list must be in the state that it was in right after the change was made.
+     */
+    void revert();
+
+    /**
+     * Reapplies this change. The list must be in the state that it was in right before the change was made.
+     */
+    void reapply();
+
+    /**
+     * Gets the name of the resource file that stores the entries affected by this change.
+     *
+     * @return The name of the resource file (e.g. FileManager.NAME_WORKOUT_FILE).
+     */
+    String getResourceFileName();
+
+    /**
+     * Appends the entries affected by this change to the journal, in the state that they are in after this
+     * change has been reverted or reapplied.
+     *
+     * @param journal    The journal to append to.
+     * @param isReverted True if this change has been reverted, or false if it has been reapplied.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    void appendToJournal(OperationJournal journal, boolean isReverted) throws IOException;
+
+    /**
+     * Writes the lines of the entries affected by this change to their resource file, in the state that
+     * they are in after this change has been reverted or reapplied, without rewriting the lines of the other
+     * entries (e.g. by blanking out the lines of entries that have been removed, or appending the lines of
+     * entries that have been put back at the end of the list). Nothing is written if this cannot be done
+     * without reordering the lines, and the resource file has to be rewritten instead.
+     *
+     * @param fileManager An instance of the FileManager class.
+     * @param isReverted  True if this change has been reverted, or false if it has been reapplied.
+     * @return True if the lines have been written. Otherwise, returns false.
+     * @throws IOException If the resource file cannot be opened.
+     */
+    boolean updateResourceFile(FileManager fileManager, boolean isReverted) throws IOException;
+}
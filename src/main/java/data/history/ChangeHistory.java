@@ -0,0 +1,148 @@
+package data.history;
+
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.WorkoutList;
+import storage.LogHandler;
+
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class keeps the history of the changes made to the lists of workouts, plans and schedule by the
+ * user's commands, so that the commands can be undone and redone.
+ * <p>
+ * Instead of copying the lists before every command, each list reports the entries that a command changes
+ * (e.g. the workouts that have been removed, with their index numbers) to this class. The Workout and Plan
+ * objects in these changes are the same objects that are in the lists, so each step of the history only
+ * takes up memory for the entries that were changed, and the unchanged entries are shared with the lists.
+ */
+public class ChangeHistory implements ChangeListener {
+    public static final int MAXIMUM_NUMBER_OF_STEPS = 100;
+
+    private ArrayDeque<ChangeSet> undoSteps = new ArrayDeque<>();
+    private ArrayDeque<ChangeSet> redoSteps = new ArrayDeque<>();
+    // The changes made by the command that is being executed, or null if no command is being executed
+    private ChangeSet currentStep;
+    private boolean isApplyingStep = false;
+    private static Logger logger = Logger.getLogger(ChangeHistory.class.getName());
+
+    /**
+     * Constructs an empty ChangeHistory and registers it as the change listener of the given lists.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     */
+    public ChangeHistory(WorkoutList workoutList, PlanList planList, DayList dayList) {
+        workoutList.setChangeListener(this);
+        planList.setChangeListener(this);
+        dayList.setChangeListener(this);
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Starts recording the changes made by a command. Changes made outside of a command (e.g. when the
+     * resource files are loaded) are not recorded.
+     *
+     * @param description The description of the command (i.e. the user's input).
+     */
+    public void startStep(String description) {
+        currentStep = new ChangeSet(description);
+    }
+
+    /**
+     * Stops recording the changes made by the current command. If the command has changed any of the lists,
+     * its changes become the latest step that can be undone, and the steps that have been undone can no
+     * longer be redone.
+     */
+    public void endStep() {
+        if (currentStep == null || currentStep.isEmpty()) {
+            currentStep = null;
+            return;
+        }
+
+        undoSteps.push(currentStep);
+        if (undoSteps.size() > MAXIMUM_NUMBER_OF_STEPS) {
+            undoSteps.removeLast();
+        }
+        redoSteps.clear();
+        currentStep = null;
+    }
+
+    /**
+     * Records a change made to one of the lists as part of the current step. Changes made while a step is
+     * being undone or redone are not recorded, as they are already part of that step.
+     *
+     * @param change The change that has been made.
+     */
+    @Override
+    public void recordChange(Change change) {
+        if (currentStep == null || isApplyingStep) {
+            return;
+        }
+        currentStep.addChange(change);
+    }
+
+    public boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Undoes the latest step that has not been undone yet.
+     *
+     * @return The ChangeSet of the step that has been undone, or null if there is no step to undo.
+     */
+    public ChangeSet undo() {
+        if (!canUndo()) {
+            return null;
+        }
+
+        ChangeSet step = undoSteps.pop();
+        isApplyingStep = true;
+        try {
+            step.revert();
+        } finally {
+            isApplyingStep = false;
+        }
+        redoSteps.push(step);
+        logger.log(Level.INFO, "Undone: " + step.getDescription());
+        return step;
+    }
+
+    /**
+     * Redoes the latest step that has been undone.
+     *
+     * @return The ChangeSet of the step that has been redone, or null if there is no step to redo.
+     */
+    public ChangeSet redo() {
+        if (!canRedo()) {
+            return null;
+        }
+
+        ChangeSet step = redoSteps.pop();
+        isApplyingStep = true;
+        try {
+            step.reapply();
+        } finally {
+            isApplyingStep = false;
+        }
+        undoSteps.push(step);
+        logger.log(Level.INFO, "Redone: " + step.getDescription());
+        return step;
+    }
+
+    /**
+     * Forgets every step, e.g. when the lists have been reloaded from resource files that were modified
+     * outside of WerkIt!, as the index numbers in the steps no longer match the lists.
+     */
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+    }
+}
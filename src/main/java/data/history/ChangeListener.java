@@ -0,0 +1,14 @@
+package data.history;
+
+/**
+ * This interface is implemented by classes that need to be notified of every change made to the lists
+ * (e.g. the history of changes that the user can undo).
+ */
+public interface ChangeListener {
+    /**
+     * Records the given change, which has just been made to one of the lists.
+     *
+     * @param change The change that has been made.
+     */
+    void recordChange(Change change);
+}
@@ -0,0 +1,93 @@
+package data.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+/**
+ * This class represents the changes made to the lists by a single command, which are undone and redone
+ * together.
+ */
+public class ChangeSet {
+    private String description;
+    private ArrayList<Change> changes = new ArrayList<>();
+
+    /**
+     * Constructs an empty ChangeSet.
+     *
+     * @param description The description of the command that made the changes (i.e. the user's input).
+     */
+    public ChangeSet(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    void addChange(Change change) {
+        changes.add(change);
+    }
+
+    /**
+     * Gets the changes in the order that they are applied when this set of changes is reverted or reapplied.
+     *
+     * @param isReverted True to get the order in which the changes are reverted (i.e. the reverse of the
+     *                   order they were made in), or false to get the order in which they are reapplied.
+     * @return An ArrayList of the changes.
+     */
+    public ArrayList<Change> getChanges(boolean isReverted) {
+        ArrayList<Change> orderedChanges = new ArrayList<>(changes);
+        if (isReverted) {
+            Collections.reverse(orderedChanges);
+        }
+        return orderedChanges;
+    }
+
+    /**
+     * Gets the names of the resource files that store the entries affected by this set of changes.
+     *
+     * @return The names of the resource files, each given once.
+     */
+    public LinkedHashSet<String> getResourceFileNames() {
+        LinkedHashSet<String> resourceFileNames = new LinkedHashSet<>();
+        for (Change change : changes) {
+            resourceFileNames.add(change.getResourceFileName());
+        }
+        return resourceFileNames;
+    }
+
+    /**
+     * Gets the changes to the entries that are stored in the given resource file.
+     *
+     * @param resourceFileName The name of the resource file (e.g. FileManager.NAME_WORKOUT_FILE).
+     * @param isReverted       True to get the changes in the order in which they are reverted, or false to get
+     *                         them in the order in which they are reapplied.
+     * @return An ArrayList of the changes, which is empty if no entry in the resource file has been changed.
+     */
+    public ArrayList<Change> getChangesToResourceFile(String resourceFileName, boolean isReverted) {
+        ArrayList<Change> changesToResourceFile = new ArrayList<>();
+        for (Change change : getChanges(isReverted)) {
+            if (change.getResourceFileName().equals(resourceFileName)) {
+                changesToResourceFile.add(change);
+            }
+        }
+        return changesToResourceFile;
+    }
+
+    void revert() {
+        for (Change change : getChanges(true)) {
+            change.revert();
+        }
+    }
+
+    void reapply() {
+        for (Change change : getChanges(false)) {
+            change.reapply();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package data.plans;
+
+/**
+ * This interface is implemented by classes that need to be notified whenever a plan has been deleted
+ * from the list of plans (e.g. the schedule, which must not keep referring to a deleted plan).
+ */
+public interface DeletedPlanListener {
+    /**
+     * Handles the deletion of the given plan from the list of plans.
+     *
+     * @param deletedPlan The Plan object that has been deleted.
+     */
+    void handleDeletedPlan(Plan deletedPlan);
+}
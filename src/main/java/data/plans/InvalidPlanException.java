@@ -10,7 +10,7 @@ public class InvalidPlanException extends Exception {
     public static final String PLAN_WORKOUT_NUMBER_OUT_OF_RANGE = "Uh oh, the index specified is out of range.\n"
             + "(Index specified needs to be within the number of workouts)";
     public static final String PLAN_MIN_MAX_WORKOUTS = "Uh oh, number of workouts specified is out of range.\n"
-            + "(A plan should minimally have 1 workout and 10 workouts at most.)";
+            + "(A plan should minimally have 1 workout and 500 workouts at most.)";
     public static final String PLAN_INDEX_OUT_OF_RANGE = "Uh oh, the index specified is out of range.\n"
             + "(Index specified needs to be within the number of plans)";
     public static final String PLAN_SAME_WORKOUT_SEQUENCE = "Uh oh, an existing plan with the same\n"
@@ -18,6 +18,12 @@ public class InvalidPlanException extends Exception {
     public static final String PLAN_NAME_EXCEED_LIMIT = "Uh oh, the plan name exceeds the character limit (30).";
     public static final String PLAN_NAME_INVALID = "Uh oh, the plan name is invalid.";
     public static final String PLAN_NAME_RESERVED = "Uh oh, this plan name is reserved for use.";
+    public static final String PLAN_ENTRY_ATTRIBUTES_OUT_OF_RANGE =
+            "Uh oh, the sets or rest interval is out of range.\n"
+            + "(A workout in a plan should have 1 - 255 sets and a rest interval of 0 - 65535 seconds.)";
+    public static final String PLAN_ENTRY_ATTRIBUTES_COUNT_MISMATCH = "Uh oh, the number of sets or rest intervals\n"
+            + "does not match the number of workouts.\n"
+            + "(Enter one number for all workouts, or one number for each workout, separated by comma.)";
 
     private String throwingClass;
 
@@ -1,27 +1,278 @@
 package data.plans;
 
 import data.workouts.Workout;
+import data.workouts.WorkoutList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This class represents a Plan, which groups a number of workout(s) together and is given a plan name.
+ * Once a plan has been added to a PlanList, it keeps its workouts as an int array of workout ids, and looks up
+ * the Workout objects in the list of workouts when they are needed. A workout that is updated is therefore
+ * shown in every plan that contains it, without the plans having to be modified.
+ * Each workout in a plan also has a number of sets and a rest interval, which are packed into one int per
+ * workout (see packEntryAttributes()) and kept in an int array parallel to the workout ids.
  */
 public class Plan {
+    // Plan ids are assigned from 1 onwards, so 0 marks a plan that has not been added to a PlanList
+    public static final int PLAN_ID_UNASSIGNED = 0;
+    public static final int DEFAULT_NUMBER_OF_SETS = 1;
+    public static final int DEFAULT_REST_INTERVAL_SECONDS = 0;
+    public static final int MAX_NUMBER_OF_SETS = 0xFF;
+    public static final int MAX_REST_INTERVAL_SECONDS = 0xFFFF;
+    // The number of sets is kept in the lowest 8 bits and the rest interval in the next 16 bits of an attribute
+    private static final int REST_INTERVAL_SHIFT = 8;
+    public static final int DEFAULT_ENTRY_ATTRIBUTES = packEntryAttributes(DEFAULT_NUMBER_OF_SETS,
+            DEFAULT_REST_INTERVAL_SECONDS);
+    private static final int[] NO_WORKOUT_IDS = new int[0];
+
     private String planName;
-    private ArrayList<Workout> listOfWorkouts = new ArrayList<>();
+    // The workouts of a plan that has not been added to a PlanList yet, or null once the plan has been added
+    private ArrayList<Workout> unboundWorkouts;
+    private int[] workoutIds = NO_WORKOUT_IDS;
+    // The packed sets and rest interval of each workout, or null while every workout has the default attributes
+    private int[] entryAttributes;
+    private WorkoutList workoutList;
+    private int planId = PLAN_ID_UNASSIGNED;
 
     public Plan(String planName, ArrayList<Workout> listOfWorkouts) {
+        this(planName, listOfWorkouts, null);
+    }
+
+    /**
+     * Constructs a Plan whose workouts have the given sets and rest intervals.
+     *
+     * @param planName        The name of the plan.
+     * @param listOfWorkouts  The workouts of the plan.
+     * @param entryAttributes The packed sets and rest interval of each workout (see packEntryAttributes()), in
+     *                        the same order as the workouts, or null if every workout has the default attributes.
+     */
+    public Plan(String planName, ArrayList<Workout> listOfWorkouts, int[] entryAttributes) {
+        assert entryAttributes == null || entryAttributes.length == listOfWorkouts.size()
+                : "There should be one attribute for each workout.";
         this.planName = planName;
-        this.listOfWorkouts = listOfWorkouts;
+        this.unboundWorkouts = listOfWorkouts;
+        this.entryAttributes = getNonDefaultEntryAttributes(entryAttributes);
     }
 
     public String getPlanName() {
         return planName;
     }
 
+    /**
+     * Gets the number of workouts in this plan.
+     *
+     * @return The number of workouts.
+     */
+    public int getNumberOfWorkouts() {
+        return isBoundToWorkoutList() ? workoutIds.length : unboundWorkouts.size();
+    }
+
+    /**
+     * Gets the workout id of the workout at the given position in this plan. Unlike getWorkoutsInPlanList(),
+     * this does not create any objects, so it should be used to iterate over the workouts of a plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The workout id of the workout, or Workout.WORKOUT_ID_UNASSIGNED if the plan has not been added to
+     *         a PlanList and the workout has no workout id.
+     */
+    public int getWorkoutIdAt(int position) {
+        return isBoundToWorkoutList() ? workoutIds[position] : unboundWorkouts.get(position).getWorkoutId();
+    }
+
+    /**
+     * Gets the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The Workout object at the position.
+     */
+    public Workout getWorkoutAt(int position) {
+        if (!isBoundToWorkoutList()) {
+            return unboundWorkouts.get(position);
+        }
+        return workoutList.getWorkoutFromId(workoutIds[position]);
+    }
+
+    /**
+     * Gets the workouts of this plan. If the plan has been added to a PlanList, the ArrayList is built when
+     * this method is called, and modifying it does not modify the plan.
+     *
+     * @return An ArrayList of the Workout objects in this plan.
+     */
     public ArrayList<Workout> getWorkoutsInPlanList() {
-        return listOfWorkouts;
+        if (!isBoundToWorkoutList()) {
+            return unboundWorkouts;
+        }
+        ArrayList<Workout> workoutsInPlanList = new ArrayList<>(workoutIds.length);
+        for (int workoutId : workoutIds) {
+            workoutsInPlanList.add(workoutList.getWorkoutFromId(workoutId));
+        }
+        return workoutsInPlanList;
+    }
+
+    /**
+     * Gets the number of sets of the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The number of sets, which is DEFAULT_NUMBER_OF_SETS if it was not given.
+     */
+    public int getNumberOfSetsAt(int position) {
+        return unpackNumberOfSets(getEntryAttributesAt(position));
+    }
+
+    /**
+     * Gets the rest interval after the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The rest interval in seconds, which is DEFAULT_REST_INTERVAL_SECONDS if it was not given.
+     */
+    public int getRestIntervalSecondsAt(int position) {
+        return unpackRestIntervalSeconds(getEntryAttributesAt(position));
+    }
+
+    /**
+     * Gets the packed sets and rest interval of the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The packed attributes, which can be unpacked with unpackNumberOfSets() and
+     *         unpackRestIntervalSeconds().
+     */
+    public int getEntryAttributesAt(int position) {
+        assert position >= 0 && position < getNumberOfWorkouts() : "Position is out of range.";
+        return entryAttributes == null ? DEFAULT_ENTRY_ATTRIBUTES : entryAttributes[position];
+    }
+
+    /**
+     * Checks if every workout in this plan has the default number of sets and rest interval.
+     *
+     * @return True if every workout has the default attributes. Otherwise, returns false.
+     */
+    public boolean hasDefaultEntryAttributes() {
+        return entryAttributes == null;
+    }
+
+    /**
+     * Checks if the workouts in this plan have the given sets and rest intervals.
+     *
+     * @param entryAttributes The packed sets and rest interval of each workout, or null if every workout has
+     *                        the default attributes.
+     * @return True if the attributes are the same as the attributes of this plan. Otherwise, returns false.
+     */
+    public boolean hasSameEntryAttributes(int[] entryAttributes) {
+        return Arrays.equals(this.entryAttributes, getNonDefaultEntryAttributes(entryAttributes));
+    }
+
+    /**
+     * Checks if the given number of sets and rest interval can be kept for a workout in a plan.
+     *
+     * @param numberOfSets        The number of sets.
+     * @param restIntervalSeconds The rest interval in seconds.
+     * @return True if the number of sets is from 1 to MAX_NUMBER_OF_SETS and the rest interval is from 0 to
+     *         MAX_REST_INTERVAL_SECONDS. Otherwise, returns false.
+     */
+    public static boolean isValidEntryAttributes(int numberOfSets, int restIntervalSeconds) {
+        boolean isValidNumberOfSets = numberOfSets > 0 && numberOfSets <= MAX_NUMBER_OF_SETS;
+        boolean isValidRestInterval = restIntervalSeconds >= 0 && restIntervalSeconds <= MAX_REST_INTERVAL_SECONDS;
+        return isValidNumberOfSets && isValidRestInterval;
+    }
+
+    /**
+     * Packs the number of sets and the rest interval of a workout in a plan into one int. Both values must be
+     * valid (see isValidEntryAttributes()).
+     *
+     * @param numberOfSets        The number of sets.
+     * @param restIntervalSeconds The rest interval in seconds.
+     * @return The packed attributes.
+     */
+    public static int packEntryAttributes(int numberOfSets, int restIntervalSeconds) {
+        assert isValidEntryAttributes(numberOfSets, restIntervalSeconds) : "Attributes are out of range.";
+        return (restIntervalSeconds << REST_INTERVAL_SHIFT) | numberOfSets;
+    }
+
+    public static int unpackNumberOfSets(int entryAttributes) {
+        return entryAttributes & MAX_NUMBER_OF_SETS;
+    }
+
+    public static int unpackRestIntervalSeconds(int entryAttributes) {
+        return (entryAttributes >>> REST_INTERVAL_SHIFT) & MAX_REST_INTERVAL_SECONDS;
+    }
+
+    /**
+     * Gets the given packed attributes, or null if all of them are the default attributes, so that plans
+     * without any sets or rest intervals do not keep an array of attributes.
+     */
+    private static int[] getNonDefaultEntryAttributes(int[] entryAttributes) {
+        if (entryAttributes == null) {
+            return null;
+        }
+        for (int attributes : entryAttributes) {
+            if (attributes != DEFAULT_ENTRY_ATTRIBUTES) {
+                return entryAttributes.clone();
+            }
+        }
+        return null;
+    }
+
+    public boolean isBoundToWorkoutList() {
+        return workoutList != null;
+    }
+
+    /**
+     * Replaces the workouts of this plan with the workouts in the given list of workouts, keeping only their
+     * workout ids. A workout without a workout id (e.g. a copy read from storage) is matched to the workout
+     * with the same key in the list of workouts. The plan is not modified if any workout cannot be found.
+     *
+     * @param workoutList     The list of workouts that the workouts of this plan are in.
+     * @param workoutsInPlan  The new workouts of this plan.
+     * @param entryAttributes The packed sets and rest interval of each of the new workouts, or null if every
+     *                        workout has the default attributes.
+     * @return True if all workouts have been found in the list of workouts. Otherwise, returns false.
+     */
+    boolean bindToWorkoutList(WorkoutList workoutList, ArrayList<Workout> workoutsInPlan, int[] entryAttributes) {
+        assert entryAttributes == null || entryAttributes.length == workoutsInPlan.size()
+                : "There should be one attribute for each workout.";
+        int[] newWorkoutIds = new int[workoutsInPlan.size()];
+        for (int i = 0; i < newWorkoutIds.length; i += 1) {
+            Workout workout = workoutsInPlan.get(i);
+            Workout workoutInList = workout.hasWorkoutId() ? workoutList.getWorkoutFromId(workout.getWorkoutId())
+                    : workoutList.getWorkoutFromKey(workout.toString());
+            if (workoutInList == null) {
+                return false;
+            }
+            newWorkoutIds[i] = workoutInList.getWorkoutId();
+        }
+        this.workoutIds = newWorkoutIds;
+        this.entryAttributes = getNonDefaultEntryAttributes(entryAttributes);
+        this.workoutList = workoutList;
+        this.unboundWorkouts = null;
+        return true;
+    }
+
+    /**
+     * Binds this plan to the given list of workouts, using the workouts (and their sets and rest intervals)
+     * that the plan was created with.
+     *
+     * @param workoutList The list of workouts that the workouts of this plan are in.
+     * @return True if all workouts have been found in the list of workouts. Otherwise, returns false.
+     */
+    boolean bindToWorkoutList(WorkoutList workoutList) {
+        if (isBoundToWorkoutList()) {
+            return true;
+        }
+        return bindToWorkoutList(workoutList, unboundWorkouts, entryAttributes);
+    }
+
+    public int getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(int planId) {
+        this.planId = planId;
+    }
+
+    public boolean hasPlanId() {
+        return planId != PLAN_ID_UNASSIGNED;
     }
 
     public String toString() {
@@ -1,15 +1,31 @@
 package data.plans;
 
 import commands.PlanCommand;
+import data.BkTree;
+import data.IndexedIdList;
+import data.PrefixTrie;
+import data.TokenIndex;
+import data.TrigramIndex;
+import data.history.Change;
+import data.history.ChangeListener;
+import data.snapshot.PlanSnapshot;
 import data.workouts.InvalidWorkoutException;
 import data.workouts.Workout;
 import data.workouts.WorkoutList;
+import storage.DirtyResourceListener;
+import storage.FileManager;
 import storage.LogHandler;
 import textcolors.TextColor;
 import werkit.UI;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,12 +35,33 @@ import java.util.logging.Logger;
  * create, list and delete plans.
  */
 public class PlanList {
-    public static final int PLAN_MAX_NUMBER_OF_WORKOUTS = 10;
+    public static final int PLAN_MAX_NUMBER_OF_WORKOUTS = 500;
     public static final String PLAN_NAME_RESERVED = "rest day";
     public static final int PLAN_NAME_CHARACTER_LIMIT = 30;
     private WorkoutList workoutList;
+    // Plans are stored by their plan ids, in the order that they are shown in 'plan /list'
+    private HashMap<Integer, Plan> plansIdHashMapList = new HashMap<>();
+    private IndexedIdList plansIdDisplayList = new IndexedIdList();
+    // Looks up plans by their keys (i.e. their plan names)
     private HashMap<String, Plan> plansHashMapList = new HashMap<>();
-    private ArrayList<String> plansDisplayList = new ArrayList<>();
+    // Looks up the plan ids of plans by their case-folded plan names, without scanning plansIdDisplayList
+    private HashMap<String, Integer> plansFoldedKeyHashMapList = new HashMap<>();
+    // Maps the workout id of each workout to the plan ids of the plans that contain the workout
+    private HashMap<Integer, HashSet<Integer>> plansWithWorkoutHashMapList = new HashMap<>();
+    // Maps the workout sequence key of each workout sequence to the plan ids of the plans with that sequence
+    private HashMap<String, HashSet<Integer>> plansWithWorkoutSequenceHashMapList = new HashMap<>();
+    // Look up the plan ids of plans by the tokens and by the trigrams of their plan names
+    private TokenIndex planNameTokenIndex = new TokenIndex();
+    private TrigramIndex planNameTrigramIndex = new TrigramIndex();
+    // Finds the plan ids of plans whose plan names are similar to a keyword
+    private BkTree planNameBkTree = new BkTree();
+    // Finds the names of plans that start with a prefix, to complete the user's input
+    private PrefixTrie planNameTrie = new PrefixTrie();
+    private int nextPlanId = 1;
+    private DirtyResourceListener dirtyResourceListener;
+    private int modificationCount = 0;
+    private DeletedPlanListener deletedPlanListener;
+    private ChangeListener changeListener;
     private static Logger logger = Logger.getLogger(PlanList.class.getName());
 
     /**
@@ -38,21 +75,105 @@ public class PlanList {
     }
 
     /**
-     * Gets the ArrayList of keys of Plan objects.
-     * The keys of Plan objects are their unique plan names.
+     * Gets the number of times that the plans have been modified. This allows a reader to tell if the plans
+     * have changed since it last read them, without comparing the data itself.
      *
-     * @return An ArrayList of keys of Plan objects.
+     * @return The number of modifications made so far.
      */
-    public ArrayList<String> getPlansDisplayList() {
-        return this.plansDisplayList;
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     /**
-     * Gets the HashMap of Plan objects.
+     * Sets the listener that is notified whenever the data in this list is modified.
+     *
+     * @param dirtyResourceListener The listener to notify, or null to stop notifying.
+     */
+    public void setDirtyResourceListener(DirtyResourceListener dirtyResourceListener) {
+        this.dirtyResourceListener = dirtyResourceListener;
+    }
+
+    /**
+     * Sets the listener that is notified whenever a plan is deleted from this list.
+     *
+     * @param deletedPlanListener The listener to notify, or null to stop notifying.
+     */
+    public void setDeletedPlanListener(DeletedPlanListener deletedPlanListener) {
+        this.deletedPlanListener = deletedPlanListener;
+    }
+
+    /**
+     * Sets the listener that is notified of every change made to this list.
+     *
+     * @param changeListener The listener to notify, or null to stop notifying.
+     */
+    public void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Notifies the listener (if any) of a change made to this list.
+     *
+     * @param change The change that has been made.
+     */
+    private void recordChange(Change change) {
+        if (changeListener != null) {
+            changeListener.recordChange(change);
+        }
+    }
+
+    /**
+     * Notifies the listener (if any) that the plan resource file is no longer up-to-date.
+     */
+    private void notifyDirtyResourceListener() {
+        modificationCount += 1;
+        if (dirtyResourceListener != null) {
+            dirtyResourceListener.markResourceDirty(FileManager.NAME_PLAN_FILE);
+        }
+    }
+
+    /**
+     * Gets the list of workouts that the plans in this list are made up of.
+     *
+     * @return An instance of the WorkoutList class.
+     */
+    public WorkoutList getWorkoutList() {
+        return this.workoutList;
+    }
+
+    /**
+     * Gets the ArrayList of keys of Plan objects, in the order that they are shown in 'plan /list'.
+     * The keys of Plan objects are their unique plan names. The keys are gathered from the plans when this
+     * method is called, so the returned ArrayList is not updated when the list of plans is modified, and every
+     * call takes O(n) time for n plans. To get the number of plans or a single plan, use getNumberOfPlans() or
+     * getPlanFromIndexNum() instead.
+     *
+     * @return An unmodifiable List of keys of Plan objects.
+     */
+    public List<String> getPlansDisplayList() {
+        ArrayList<String> plansDisplayList = new ArrayList<>(plansIdDisplayList.size());
+        for (int planId : plansIdDisplayList) {
+            plansDisplayList.add(plansIdHashMapList.get(planId).toString());
+        }
+        return Collections.unmodifiableList(plansDisplayList);
+    }
+
+    /**
+     * Gets the number of plans in the list of plans.
+     *
+     * @return The number of plans.
+     */
+    public int getNumberOfPlans() {
+        return plansIdDisplayList.size();
+    }
+
+    /**
+     * Gets the HashMap of Plan objects. The HashMap is only used within this class, as modifying it
+     * directly would leave the other lists and indexes of plans out of sync with it.
      *
      * @return A HashMap of Plan objects.
      */
-    public HashMap<String, Plan> getPlansHashMapList() {
+    private HashMap<String, Plan> getPlansHashMapList() {
         return this.plansHashMapList;
     }
 
@@ -67,35 +188,102 @@ public class PlanList {
     }
 
     /**
-     * Retrieves the Plan object from the HashMap plansHashMapList based on the index number
-     * of the object stored in plansDisplayList. This index number is the number shown in
+     * Gets the Plan object based on its plan id. Plan ids are stable for as long as the plan exists,
+     * unlike its index number.
+     *
+     * @param planId The plan id of the desired Plan object.
+     * @return The Plan object with the given plan id, or null if there is no such plan.
+     */
+    public Plan getPlanFromId(int planId) {
+        return plansIdHashMapList.get(planId);
+    }
+
+    /**
+     * Retrieves the Plan object from the HashMap plansIdHashMapList based on the index number
+     * of its plan id stored in plansIdDisplayList. This index number is the number shown in
      * 'plan /list'.
      *
      * @param indexNum The index number of the plan as shown in 'plan /list'.
      * @return The Plan object that corresponds to the index number.
      */
     public Plan getPlanFromIndexNum(int indexNum) {
-        int elementNum = indexNum - 1;
-        assert (elementNum >= 0);
-        String keyValue = getPlansDisplayList().get(elementNum);
-        Plan planObject = plansHashMapList.get(keyValue);
+        assert (indexNum > 0);
+        int planId = plansIdDisplayList.get(indexNum);
+        Plan planObject = plansIdHashMapList.get(planId);
         return planObject;
     }
 
     /**
-     * Retrieves the index number of a plan based on its position in the plansDisplayList
-     * ArrayList.
+     * Finds the plans whose plan names contain the given keyword, regardless of case. The trigram index (or the
+     * token index, for keywords shorter than 3 characters) narrows down the plans to check.
+     *
+     * @param keyword The keyword to search for.
+     * @return An ArrayList of the matching Plan objects, in the order that they are shown in 'plan /list'.
+     */
+    public ArrayList<Plan> findPlansByPlanName(String keyword) {
+        String foldedKeyword = keyword.toLowerCase();
+        Set<Integer> candidateIds = planNameTrigramIndex.findCandidates(keyword);
+        if (candidateIds == null) {
+            candidateIds = planNameTokenIndex.findCandidates(keyword);
+        }
+        ArrayList<Plan> matchingPlans = new ArrayList<>();
+        if (candidateIds == null) {
+            candidateIds = plansIdHashMapList.keySet();
+        }
+        for (int planId : plansIdDisplayList.sortByIndexNum(candidateIds)) {
+            Plan plan = plansIdHashMapList.get(planId);
+            if (plan.getPlanName().toLowerCase().contains(foldedKeyword)) {
+                matchingPlans.add(plan);
+            }
+        }
+        return matchingPlans;
+    }
+
+    /**
+     * Finds the plans whose plan names are within a few edits of the given keyword, regardless of case. The plans
+     * are looked up in a BK-tree, so the edit distance is not worked out for every plan.
+     *
+     * @param keyword The keyword to search for.
+     * @return An ArrayList of the similar Plan objects, from the closest to the keyword. Plans that are as close
+     *         as each other are in the order that they are shown in 'plan /list'.
+     */
+    public ArrayList<Plan> findPlansBySimilarPlanName(String keyword) {
+        ArrayList<Plan> similarPlans = new ArrayList<>();
+        int maxEditDistance = BkTree.getMaxEditDistance(keyword);
+        if (maxEditDistance == 0) {
+            return similarPlans;
+        }
+        for (HashSet<Integer> planIds : planNameBkTree.findWithinDistance(keyword, maxEditDistance).values()) {
+            for (int planId : plansIdDisplayList.sortByIndexNum(planIds)) {
+                similarPlans.add(plansIdHashMapList.get(planId));
+            }
+        }
+        return similarPlans;
+    }
+
+    /**
+     * Gets the names of the plans that start with the given prefix, regardless of case.
+     *
+     * @param prefix                 The prefix that the user has entered.
+     * @param maxNumberOfCompletions The greatest number of plan names to return.
+     * @return An ArrayList of at most maxNumberOfCompletions plan names, in alphabetical order.
+     */
+    public ArrayList<String> getPlanNameCompletions(String prefix, int maxNumberOfCompletions) {
+        return planNameTrie.getCompletions(prefix, maxNumberOfCompletions);
+    }
+
+    /**
+     * Retrieves the index number of a plan based on the position of its plan id in the
+     * plansIdDisplayList. The plan name is matched regardless of case.
      *
      * @param planName The name of the plan whose index number this method has to find.
-     * @return An integer representing the index number the plan is listed in the plansDisplayList
-     *         ArrayList.
-     * @throws InvalidPlanException If the given plan name was not found in plansDisplayList.
+     * @return An integer representing the index number the plan is listed in the plansIdDisplayList.
+     * @throws InvalidPlanException If the given plan name was not found in plansIdDisplayList.
      */
     public int getIndexNumFromPlanName(String planName) throws InvalidPlanException {
-        for (int i = 0; i < getPlansDisplayList().size(); i += 1) {
-            if (getPlansDisplayList().get(i).equalsIgnoreCase(planName)) {
-                return (i + 1);
-            }
+        Integer planId = plansFoldedKeyHashMapList.get(planName.toLowerCase());
+        if (planId != null) {
+            return plansIdDisplayList.getIndexNum(planId);
         }
 
         String className = this.getClass().getSimpleName();
@@ -108,18 +296,22 @@ public class PlanList {
      * Plan object is instantiated.
      *
      * @param userArgument The user's details for the new plan, including plan name
-     *                     and workout(s) to be added to the plan, via their workout number(s).
+     *                     and workout(s) to be added to the plan, via their workout number(s), and
+     *                     optionally the sets and rest intervals of the workouts.
      * @return A Plan object that represents the new plan.
      * @throws ArrayIndexOutOfBoundsException If userArgument contains insufficient arguments and parsing fails.
-     * @throws NumberFormatException If the workout number(s) specified in userArgument is an
-     *                               invalid number.
+     * @throws NumberFormatException If the workout number(s), sets or rest intervals specified in userArgument
+     *                               is an invalid number.
      * @throws InvalidPlanException If the details specified in userArgument is invalid.
      */
     public Plan createNewPlan(String userArgument) throws ArrayIndexOutOfBoundsException,
             NumberFormatException, InvalidPlanException {
         String userPlanNameInput
                 = userArgument.split(PlanCommand.ACTION_KEYWORD_CREATE_WORKOUTS)[0].trim().toLowerCase();
-        String userWorkoutIndexNumbersString = userArgument.split(PlanCommand.ACTION_KEYWORD_CREATE_WORKOUTS)[1].trim();
+        String userWorkoutsArgument = userArgument.split(PlanCommand.ACTION_KEYWORD_CREATE_WORKOUTS)[1];
+        String userWorkoutIndexNumbersString = getPlanArgument(userWorkoutsArgument, null);
+        String userSetsString = getPlanArgument(userWorkoutsArgument, PlanCommand.ACTION_KEYWORD_CREATE_SETS);
+        String userRestIntervalsString = getPlanArgument(userWorkoutsArgument, PlanCommand.ACTION_KEYWORD_CREATE_REST);
         String className = this.getClass().getSimpleName();
         checkPlanNameValidity(userPlanNameInput, className);
 
@@ -133,32 +325,344 @@ public class PlanList {
 
             checkWorkoutNumberWithinRange(workoutIndexNumberInteger, className);
             assert (workoutIndexNumberInteger > 0)
-                    && (workoutIndexNumberInteger <= workoutList.getWorkoutsDisplayList().size());
+                    && (workoutIndexNumberInteger <= workoutList.getNumberOfWorkouts());
 
-            String workoutToAddKey = workoutList.getWorkoutsDisplayList().get(workoutIndexNumberInteger - 1);
-            Workout workoutToAddObject = workoutList.getWorkoutFromKey(workoutToAddKey);
+            Workout workoutToAddObject = workoutList.getWorkoutFromIndexNum(workoutIndexNumberInteger);
             workoutsToAddInAPlanList.add(workoutToAddObject);
         }
 
         checkPlanWithSameWorkoutSequence(workoutsToAddInAPlanList, className);
-        Plan newPlan = new Plan(userPlanNameInput, workoutsToAddInAPlanList);
+        int[] entryAttributes = parseEntryAttributes(userSetsString, userRestIntervalsString,
+                numberOfWorkoutsInAPlan, className);
+        Plan newPlan = new Plan(userPlanNameInput, workoutsToAddInAPlanList, entryAttributes);
         logger.log(Level.INFO, "New plan created.");
         return newPlan;
     }
 
     /**
-     * This method adds a new Plan object to plansHashMapList and plansDisplayList.
+     * Gets an argument of 'plan /new' from the text after '/workouts', i.e. the workout numbers (which come
+     * first), or the text after '/sets' or '/rest'. Each argument ends where the next one starts.
+     *
+     * @param userWorkoutsArgument The text after '/workouts' in the user's input.
+     * @param keyword              The keyword of the argument (e.g. '/sets'), or null for the workout numbers.
+     * @return The argument, with leading and trailing whitespace removed, or null if the keyword is not given.
+     */
+    private String getPlanArgument(String userWorkoutsArgument, String keyword) {
+        int argumentStart = 0;
+        if (keyword != null) {
+            int keywordStart = userWorkoutsArgument.indexOf(keyword);
+            if (keywordStart == -1) {
+                return null;
+            }
+            argumentStart = keywordStart + keyword.length();
+        }
+
+        int argumentEnd = userWorkoutsArgument.length();
+        for (String otherKeyword : new String[]{PlanCommand.ACTION_KEYWORD_CREATE_SETS,
+                PlanCommand.ACTION_KEYWORD_CREATE_REST}) {
+            int otherKeywordStart = userWorkoutsArgument.indexOf(otherKeyword, argumentStart);
+            if (otherKeywordStart != -1) {
+                argumentEnd = Math.min(argumentEnd, otherKeywordStart);
+            }
+        }
+        return userWorkoutsArgument.substring(argumentStart, argumentEnd).trim();
+    }
+
+    /**
+     * Parses the sets and rest intervals of the workouts of a new plan, and packs them into one int for each
+     * workout. Each of them is either a single number for all workouts, or one number for each workout,
+     * separated by ','.
      *
-     * @param newPlan The new plan to be added into the two lists mentioned
+     * @param userSetsString          The sets entered by the user, or null if the user did not enter any.
+     * @param userRestIntervalsString The rest intervals (in seconds) entered by the user, or null if the user
+     *                                did not enter any.
+     * @param numberOfWorkouts        The number of workouts in the new plan.
+     * @param className               The class name used for exception throwing.
+     * @return The packed sets and rest interval of each workout, or null if the user did not enter any.
+     * @throws NumberFormatException If any of the sets or rest intervals is not a number.
+     * @throws InvalidPlanException  If the number of values does not match the number of workouts, or if any
+     *                               value is out of range.
+     */
+    private int[] parseEntryAttributes(String userSetsString, String userRestIntervalsString, int numberOfWorkouts,
+            String className) throws NumberFormatException, InvalidPlanException {
+        if (userSetsString == null && userRestIntervalsString == null) {
+            return null;
+        }
+        int[] numberOfSets = parseEntryAttributeValues(userSetsString, Plan.DEFAULT_NUMBER_OF_SETS,
+                numberOfWorkouts, className);
+        int[] restIntervalSeconds = parseEntryAttributeValues(userRestIntervalsString,
+                Plan.DEFAULT_REST_INTERVAL_SECONDS, numberOfWorkouts, className);
+
+        int[] entryAttributes = new int[numberOfWorkouts];
+        for (int i = 0; i < numberOfWorkouts; i += 1) {
+            if (!Plan.isValidEntryAttributes(numberOfSets[i], restIntervalSeconds[i])) {
+                logger.log(Level.WARNING, "Sets or rest interval of a workout in a plan is out of range.");
+                throw new InvalidPlanException(className, InvalidPlanException.PLAN_ENTRY_ATTRIBUTES_OUT_OF_RANGE);
+            }
+            entryAttributes[i] = Plan.packEntryAttributes(numberOfSets[i], restIntervalSeconds[i]);
+        }
+        return entryAttributes;
+    }
+
+    private int[] parseEntryAttributeValues(String userValuesString, int defaultValue, int numberOfWorkouts,
+            String className) throws NumberFormatException, InvalidPlanException {
+        int[] values = new int[numberOfWorkouts];
+        if (userValuesString == null) {
+            Arrays.fill(values, defaultValue);
+            return values;
+        }
+
+        String[] userValues = userValuesString.split(",");
+        if (userValues.length != 1 && userValues.length != numberOfWorkouts) {
+            logger.log(Level.WARNING, "Number of sets or rest intervals does not match the number of workouts.");
+            throw new InvalidPlanException(className, InvalidPlanException.PLAN_ENTRY_ATTRIBUTES_COUNT_MISMATCH);
+        }
+        for (int i = 0; i < numberOfWorkouts; i += 1) {
+            String userValue = (userValues.length == 1) ? userValues[0] : userValues[i];
+            values[i] = Integer.parseInt(userValue.trim());
+        }
+        return values;
+    }
+
+    /**
+     * This method adds a new Plan object to plansIdHashMapList, plansIdDisplayList and plansHashMapList.
+     *
+     * @param newPlan The new plan to be added into the three lists mentioned
      *                in the method description.
      */
     public void addNewPlanToLists(Plan newPlan) {
-        String newPlanKey = newPlan.toString();
-        plansHashMapList.put(newPlanKey, newPlan);
-        plansDisplayList.add(newPlanKey);
+        addPlanToLists(newPlan.toString(), newPlan);
         logger.log(Level.INFO, "New plan added to lists in PlanList.");
     }
 
+    /**
+     * Binds a plan to the list of workouts, assigns the next unused plan id to it (if it does not have one yet),
+     * and adds the plan to plansIdHashMapList, plansIdDisplayList and plansHashMapList.
+     *
+     * @param planKey The key of the plan, i.e. its plan name.
+     * @param plan    The Plan object to add.
+     */
+    private void addPlanToLists(String planKey, Plan plan) {
+        boolean isPlanBound = plan.bindToWorkoutList(workoutList);
+        assert isPlanBound : "Workouts of a new plan should be in the list of workouts.";
+        assignNextPlanIdIfUnassigned(plan);
+        plansIdDisplayList.add(plan.getPlanId());
+        addPlanToLookUpLists(planKey, plan);
+        notifyDirtyResourceListener();
+
+        ArrayList<Integer> newIndexNums = new ArrayList<>();
+        newIndexNums.add(getNumberOfPlans());
+        ArrayList<Plan> newPlans = new ArrayList<>();
+        newPlans.add(plan);
+        recordChange(new PlansChange(this, true, newIndexNums, newPlans));
+    }
+
+    private void assignNextPlanIdIfUnassigned(Plan plan) {
+        if (!plan.hasPlanId()) {
+            plan.setPlanId(nextPlanId);
+        }
+        nextPlanId = Math.max(nextPlanId, plan.getPlanId() + 1);
+    }
+
+    /**
+     * Adds a plan whose plan id is in plansIdDisplayList to the other lists and indexes of plans.
+     *
+     * @param planKey The key of the plan, i.e. its plan name.
+     * @param plan    The Plan object to add.
+     */
+    private void addPlanToLookUpLists(String planKey, Plan plan) {
+        plansIdHashMapList.put(plan.getPlanId(), plan);
+        plansHashMapList.put(planKey, plan);
+        plansFoldedKeyHashMapList.put(planKey.toLowerCase(), plan.getPlanId());
+        addPlanToWorkoutIndex(plan);
+        addPlanToWorkoutSequenceIndex(plan);
+        planNameTokenIndex.add(plan.getPlanId(), planKey);
+        planNameTrigramIndex.add(plan.getPlanId(), planKey);
+        planNameBkTree.add(plan.getPlanId(), planKey);
+        planNameTrie.add(planKey);
+    }
+
+    /**
+     * Inserts plans into the lists at the given index numbers, e.g. to restore plans that have been deleted.
+     * Unlike addNewPlanToLists(), the plans do not have to be added to the end of the list.
+     *
+     * @param planIndexNums The index numbers that the plans will have once they have all been inserted, in
+     *                      ascending order.
+     * @param plans         The Plan objects to insert. A plan without a plan id is assigned the next unused
+     *                      plan id.
+     * @throws InvalidPlanException    If an index number is out of range or out of order, or a plan with the
+     *                                 same name is already in the list. No plan is inserted in this case.
+     * @throws InvalidWorkoutException If a workout in a plan does not exist in the list of workouts.
+     */
+    public void insertPlansAt(ArrayList<Integer> planIndexNums, ArrayList<Plan> plans) throws InvalidPlanException,
+            InvalidWorkoutException {
+        String className = this.getClass().getSimpleName();
+        int previousPlanIndexNum = 0;
+        for (int i = 0; i < plans.size(); i += 1) {
+            int planIndexNum = planIndexNums.get(i);
+            if (planIndexNum <= previousPlanIndexNum || planIndexNum > getNumberOfPlans() + plans.size()) {
+                logger.log(Level.WARNING, "Plan index to insert at is out of range!");
+                throw new InvalidPlanException(className, InvalidPlanException.PLAN_INDEX_OUT_OF_RANGE);
+            }
+            if (plansFoldedKeyHashMapList.containsKey(plans.get(i).toString().toLowerCase())) {
+                throw new InvalidPlanException(className, InvalidPlanException.PLAN_DUPLICATE_NAME);
+            }
+            if (!plans.get(i).bindToWorkoutList(workoutList)) {
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ERROR_MSG);
+            }
+            previousPlanIndexNum = planIndexNum;
+        }
+
+        restorePlans(planIndexNums, plans);
+    }
+
+    /**
+     * Inserts plans into the lists at the given index numbers, which must have been checked already.
+     *
+     * @param planIndexNums The index numbers that the plans will have once they have all been inserted, in
+     *                      ascending order.
+     * @param plans         The Plan objects to insert, which must have been added to this list before.
+     */
+    void restorePlans(ArrayList<Integer> planIndexNums, ArrayList<Plan> plans) {
+        ArrayList<Integer> planIds = new ArrayList<>(plans.size());
+        for (Plan plan : plans) {
+            assert plan.isBoundToWorkoutList() : "Restored plan should be bound to the list of workouts.";
+            assignNextPlanIdIfUnassigned(plan);
+            planIds.add(plan.getPlanId());
+        }
+        plansIdDisplayList.insertAll(planIndexNums, planIds);
+        for (Plan plan : plans) {
+            addPlanToLookUpLists(plan.toString(), plan);
+        }
+        notifyDirtyResourceListener();
+        recordChange(new PlansChange(this, true, new ArrayList<>(planIndexNums), new ArrayList<>(plans)));
+    }
+
+    /**
+     * Records that the given plan contains each of its workouts in plansWithWorkoutHashMapList.
+     *
+     * @param plan The Plan object whose workouts are recorded.
+     */
+    private void addPlanToWorkoutIndex(Plan plan) {
+        for (int i = 0; i < plan.getNumberOfWorkouts(); i += 1) {
+            int workoutId = plan.getWorkoutIdAt(i);
+            HashSet<Integer> planIds = plansWithWorkoutHashMapList.get(workoutId);
+            if (planIds == null) {
+                planIds = new HashSet<>();
+                plansWithWorkoutHashMapList.put(workoutId, planIds);
+            }
+            planIds.add(plan.getPlanId());
+        }
+    }
+
+    /**
+     * Removes the records of the given plan containing each of its workouts from plansWithWorkoutHashMapList.
+     *
+     * @param plan The Plan object whose workouts are no longer recorded.
+     */
+    private void removePlanFromWorkoutIndex(Plan plan) {
+        for (int i = 0; i < plan.getNumberOfWorkouts(); i += 1) {
+            int workoutId = plan.getWorkoutIdAt(i);
+            HashSet<Integer> planIds = plansWithWorkoutHashMapList.get(workoutId);
+            if (planIds == null) {
+                continue;
+            }
+            planIds.remove(plan.getPlanId());
+            if (planIds.isEmpty()) {
+                plansWithWorkoutHashMapList.remove(workoutId);
+            }
+        }
+    }
+
+    /**
+     * Gets the key of a sequence of workouts, which is the same for two sequences if and only if they have the
+     * same workouts in the same order. Workouts are identified by their workout ids, which do not change when
+     * their repetitions are updated. Workouts without a workout id are identified by their keys instead.
+     *
+     * @param workouts The sequence of workouts.
+     * @return The workout sequence key of the workouts.
+     */
+    private String getWorkoutSequenceKey(ArrayList<Workout> workouts) {
+        StringBuilder workoutSequenceKey = new StringBuilder();
+        for (Workout workout : workouts) {
+            if (workout.hasWorkoutId()) {
+                workoutSequenceKey.append(workout.getWorkoutId());
+            } else {
+                workoutSequenceKey.append(workout);
+            }
+            workoutSequenceKey.append(',');
+        }
+        return workoutSequenceKey.toString();
+    }
+
+    /**
+     * Gets the key of the sequence of workouts of a plan in the list of plans. The key is the same as the key
+     * of an ArrayList with the same workouts in the same order.
+     *
+     * @param plan The Plan object, which must have been added to the list of plans.
+     * @return The workout sequence key of the workouts of the plan.
+     */
+    private String getWorkoutSequenceKey(Plan plan) {
+        StringBuilder workoutSequenceKey = new StringBuilder();
+        for (int i = 0; i < plan.getNumberOfWorkouts(); i += 1) {
+            workoutSequenceKey.append(plan.getWorkoutIdAt(i));
+            workoutSequenceKey.append(',');
+        }
+        return workoutSequenceKey.toString();
+    }
+
+    /**
+     * Records the workout sequence of the given plan in plansWithWorkoutSequenceHashMapList.
+     *
+     * @param plan The Plan object whose workout sequence is recorded.
+     */
+    private void addPlanToWorkoutSequenceIndex(Plan plan) {
+        String workoutSequenceKey = getWorkoutSequenceKey(plan);
+        HashSet<Integer> planIds = plansWithWorkoutSequenceHashMapList.get(workoutSequenceKey);
+        if (planIds == null) {
+            planIds = new HashSet<>();
+            plansWithWorkoutSequenceHashMapList.put(workoutSequenceKey, planIds);
+        }
+        planIds.add(plan.getPlanId());
+    }
+
+    /**
+     * Removes the record of the workout sequence of the given plan from plansWithWorkoutSequenceHashMapList.
+     * This must be called before the workouts of the plan are modified.
+     *
+     * @param plan The Plan object whose workout sequence is no longer recorded.
+     */
+    private void removePlanFromWorkoutSequenceIndex(Plan plan) {
+        String workoutSequenceKey = getWorkoutSequenceKey(plan);
+        HashSet<Integer> planIds = plansWithWorkoutSequenceHashMapList.get(workoutSequenceKey);
+        if (planIds == null) {
+            return;
+        }
+        planIds.remove(plan.getPlanId());
+        if (planIds.isEmpty()) {
+            plansWithWorkoutSequenceHashMapList.remove(workoutSequenceKey);
+        }
+    }
+
+    /**
+     * Replaces the workouts of an existing plan with the given workouts, e.g. when the plan has been modified
+     * in the plan resource file. The Plan object itself is kept, as the schedule may refer to it.
+     *
+     * @param plan            The Plan object to update.
+     * @param workoutsInPlan  The new workouts of the plan, which must be in the list of workouts.
+     * @param entryAttributes The packed sets and rest interval of each of the new workouts, or null if every
+     *                        workout has the default attributes.
+     */
+    public void replaceWorkoutsInPlan(Plan plan, ArrayList<Workout> workoutsInPlan, int[] entryAttributes) {
+        removePlanFromWorkoutIndex(plan);
+        removePlanFromWorkoutSequenceIndex(plan);
+        boolean isPlanBound = plan.bindToWorkoutList(workoutList, workoutsInPlan, entryAttributes);
+        assert isPlanBound : "Workouts of an updated plan should be in the list of workouts.";
+        addPlanToWorkoutIndex(plan);
+        addPlanToWorkoutSequenceIndex(plan);
+        notifyDirtyResourceListener();
+    }
+
     /**
      * Checks if the plan name exceeds the 30 characters limit, if it only consists of
      * whitespaces and also checks if the provided plan name already exists in the ArrayList of plans.
@@ -184,13 +688,9 @@ public class PlanList {
             throw new InvalidPlanException(className, InvalidPlanException.PLAN_NAME_INVALID);
         }
 
-        for (int i = 0; i < plansDisplayList.size(); i += 1) {
-            String getPlanName = plansDisplayList.get(i).toLowerCase();
-
-            if (userPlanNameInputLowerCase.equals(getPlanName)) {
-                logger.log(Level.WARNING, "Plan name already exists.");
-                throw new InvalidPlanException(className, InvalidPlanException.PLAN_DUPLICATE_NAME);
-            }
+        if (plansFoldedKeyHashMapList.containsKey(userPlanNameInputLowerCase)) {
+            logger.log(Level.WARNING, "Plan name already exists.");
+            throw new InvalidPlanException(className, InvalidPlanException.PLAN_DUPLICATE_NAME);
         }
 
         if (userPlanNameInputLowerCase.trim().equals(PLAN_NAME_RESERVED)) {
@@ -202,7 +702,7 @@ public class PlanList {
     /**
      * This method checks whether the number of workouts to be added in a
      * plan is within the minimum and maximum number of workouts a plan can hold.
-     * The range is 1 - 10 workouts.
+     * The range is 1 - 500 workouts.
      *
      * @param numberOfWorkouts The number of workouts to be added in a plan.
      * @param className The class name used for exception throwing.
@@ -235,7 +735,7 @@ public class PlanList {
             InvalidPlanException {
         boolean isWithinWorkoutListRange = false;
 
-        if (workoutNumber > 0 && workoutNumber <= workoutList.getWorkoutsDisplayList().size()) {
+        if (workoutNumber > 0 && workoutNumber <= workoutList.getNumberOfWorkouts()) {
             isWithinWorkoutListRange = true;
         }
 
@@ -248,6 +748,8 @@ public class PlanList {
     /**
      * This method checks whether the new plan to be created has the same workout
      * sequence/order as any other existing plans in the application's plan list.
+     * The workout sequence key of the new plan is looked up in plansWithWorkoutSequenceHashMapList,
+     * so the existing plans do not have to be compared one by one.
      *
      * @param workoutsToAddInNewPlanList The workouts to be added into the plan to be created.
      * @param className The class name used for exception throwing.
@@ -255,83 +757,66 @@ public class PlanList {
      */
     public void checkPlanWithSameWorkoutSequence(ArrayList<Workout> workoutsToAddInNewPlanList, String className)
             throws InvalidPlanException {
-        boolean hasSameSequence = false;
-        for (int i = 0; i < plansDisplayList.size(); i += 1) {
-            String getPlanKey = plansDisplayList.get(i);
-            Plan getPlan = plansHashMapList.get(getPlanKey);
-            ArrayList<Workout> workoutsListToCheck = getPlan.getWorkoutsInPlanList();
-
-            if (workoutsToAddInNewPlanList.size() == workoutsListToCheck.size()) {
-                assert (workoutsToAddInNewPlanList.size() == workoutsListToCheck.size());
-                int matchCount = countNumberOfWorkoutMatches(workoutsListToCheck, workoutsToAddInNewPlanList);
-                hasSameSequence = determineSameSequence(matchCount, workoutsListToCheck);
-            }
-
-            if (hasSameSequence) {
-                System.out.println("Plan [" + getPlanKey + "]"
-                        + " has same workout sequence as the plan to be created.");
-                logger.log(Level.WARNING, "Invalid plan to add as an existing plan with same workout sequence exists.");
-                throw new InvalidPlanException(className, InvalidPlanException.PLAN_SAME_WORKOUT_SEQUENCE);
+        String workoutSequenceKey = getWorkoutSequenceKey(workoutsToAddInNewPlanList);
+        HashSet<Integer> planIdsWithSameSequence = plansWithWorkoutSequenceHashMapList.get(workoutSequenceKey);
+        boolean hasSameSequence = (planIdsWithSameSequence != null) && !planIdsWithSameSequence.isEmpty();
+
+        if (hasSameSequence) {
+            int firstPlanIndexNum = Integer.MAX_VALUE;
+            for (int planId : planIdsWithSameSequence) {
+                firstPlanIndexNum = Math.min(firstPlanIndexNum, plansIdDisplayList.getIndexNum(planId));
             }
+            String getPlanKey = getPlanFromIndexNum(firstPlanIndexNum).toString();
+            System.out.println("Plan [" + getPlanKey + "]"
+                    + " has same workout sequence as the plan to be created.");
+            logger.log(Level.WARNING, "Invalid plan to add as an existing plan with same workout sequence exists.");
+            throw new InvalidPlanException(className, InvalidPlanException.PLAN_SAME_WORKOUT_SEQUENCE);
         }
     }
 
     /**
-     * This method counts the number of exact matches between two workout ArrayList.
+     * Replaces every workout in the given list with the matching Workout object (i.e. the one with the same
+     * key) in the list of workouts.
      *
-     * @param workoutsListToCheck The workout list of an existing plan in the application.
-     * @param workoutsToAddInNewPlanList The workout list of the plan to be created.
-     * @return The number of exact matches.
+     * @param workoutsInPlan The workouts of a plan that was read from storage.
+     * @throws InvalidWorkoutException If a workout does not exist in the list of workouts.
      */
-    public int countNumberOfWorkoutMatches(ArrayList<Workout> workoutsListToCheck,
-            ArrayList<Workout> workoutsToAddInNewPlanList) {
-        int matchCount = 0;
-        for (int k = 0; k < workoutsListToCheck.size(); k += 1) {
-            String compareWorkoutsStringNewPlan = workoutsToAddInNewPlanList.get(k).toString();
-            if (compareWorkoutsStringNewPlan.equals(workoutsListToCheck.get(k).toString())) {
-                matchCount += 1;
+    public void lookUpWorkoutsInList(ArrayList<Workout> workoutsInPlan) throws InvalidWorkoutException {
+        String className = this.getClass().getSimpleName();
+        for (int i = 0; i < workoutsInPlan.size(); i += 1) {
+            Workout existingWorkout = workoutList.getWorkoutFromKey(workoutsInPlan.get(i).toString());
+            if (existingWorkout == null) {
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ERROR_MSG);
             }
+            workoutsInPlan.set(i, existingWorkout);
         }
-        return matchCount;
     }
 
     /**
-     * This method determines whether two workout lists have the same sequence
-     * by comparing the number of matches to the size of the workouts list of an existing plan.
-     * If the number of matches is more or equal to the size of that workout list,
-     * it means that the workout sequence is a duplicate.
+     * Inserts a plan that was read from storage into the list of plans. Every workout in the plan is matched
+     * to the Workout object in the list of workouts with the same workout id (or key, if it has no workout id),
+     * so that the plan refers to the same workouts as the rest of the application.
      *
-     * @param matchCount The number of matches.
-     * @param workoutsListToCheck The workout list of an existing plan.
-     * @return True if the number of matches is more or equal to the size of the workouts list
-     *         Or else, false.
+     * @param planKey The key of the plan, i.e. its plan name.
+     * @param plan    The Plan object to insert.
+     * @throws InvalidWorkoutException If a workout in the plan does not exist in the list of workouts.
      */
-    public boolean determineSameSequence(int matchCount, ArrayList<Workout> workoutsListToCheck) {
-        return matchCount >= workoutsListToCheck.size();
-    }
-
     public void insertPlanIntoList(String planKey, Plan plan) throws InvalidWorkoutException {
-        boolean isExistingWorkout = true;
-        String className = this.getClass().getSimpleName();
-        var workoutData = plan.getWorkoutsInPlanList();
-        for (Workout workoutInPlanFile : workoutData) {
-            if (!workoutList.getWorkoutsHashMapList().containsKey(workoutInPlanFile.toString())) {
-                isExistingWorkout = false;
-                break;
-            }
-        }
-        if (!isExistingWorkout) {
+        if (!plan.bindToWorkoutList(workoutList)) {
+            String className = this.getClass().getSimpleName();
             throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ERROR_MSG);
         }
-        plansHashMapList.put(planKey, plan);
-        plansDisplayList.add(planKey);
+        addPlanToLists(planKey, plan);
     }
 
     /**
      * Prints all the plan names that are stored in the plans list.
+     * The plans are read from a ModelSnapshot (see ModelSnapshot#getPlans()), rather than from this list.
+     *
+     * @param plans The plans to print, in the order that they are shown in 'plan /list'.
      */
-    public void listAllPlan() {
-        if (getPlansDisplayList().size() <= 0) {
+    public void listAllPlan(List<PlanSnapshot> plans) {
+        if (plans.size() <= 0) {
             System.out.println("Oops! You have not created any plans yet!"
                     + "\nTo create a new plan, enter 'plan /new <plan name> /workouts "
                     + "\n<workout number(s) to add, separated by comma>'."
@@ -339,11 +824,11 @@ public class PlanList {
             return;
         }
 
-        assert (getPlansDisplayList().size() > 0);
+        assert (plans.size() > 0);
         System.out.println("Here are all your plan(s).");
         System.out.println("To view each plan in detail, enter\n'plan /details <plan number in list>'.\n");
-        for (int i = 0; i < getPlansDisplayList().size(); i += 1) {
-            System.out.println((i + 1) + ". " + getPlansDisplayList().get(i));
+        for (int i = 1; i <= plans.size(); i += 1) {
+            System.out.println(i + ". " + plans.get(i - 1));
         }
     }
 
@@ -368,10 +853,9 @@ public class PlanList {
         }
 
         Plan planToViewDetails = getPlanFromIndexNum(indexOfPlan);
-        String planName = getPlansDisplayList().get(indexOfPlan - 1);
+        String planName = planToViewDetails.toString();
 
-        ArrayList<Workout> workoutsInPlanList = planToViewDetails.getWorkoutsInPlanList();
-        int numberOfWorkoutsInPlan = workoutsInPlanList.size();
+        int numberOfWorkoutsInPlan = planToViewDetails.getNumberOfWorkouts();
         assert ((numberOfWorkoutsInPlan <= PLAN_MAX_NUMBER_OF_WORKOUTS) && (numberOfWorkoutsInPlan > 0)) :
                 "Problem with 'numberOfWorkoutsInPlan': Total number of workouts in plan is not valid.";
 
@@ -379,19 +863,36 @@ public class PlanList {
                 + ui.getColorText(TextColor.COLOR_YELLOW, planName) + "].");
 
         for (int i = 0; i < numberOfWorkoutsInPlan; i++) {
-            String workoutDetails = workoutsInPlanList.get(i).toString();
+            String workoutDetails = planToViewDetails.getWorkoutAt(i).toString();
+            if (!planToViewDetails.hasDefaultEntryAttributes()) {
+                workoutDetails += getEntryAttributesDisplayString(planToViewDetails.getNumberOfSetsAt(i),
+                        planToViewDetails.getRestIntervalSecondsAt(i));
+            }
             System.out.println((i + 1) + ". " + workoutDetails);
         }
         logger.exiting(getClass().getName(), "listPlanDetails");
     }
 
+    /**
+     * Gets the string that shows the sets and rest interval of a workout in 'plan /details',
+     * e.g. " [3 sets, 60s rest]".
+     *
+     * @param numberOfSets        The number of sets of the workout.
+     * @param restIntervalSeconds The rest interval after the workout, in seconds.
+     * @return The string to be shown after the workout.
+     */
+    private String getEntryAttributesDisplayString(int numberOfSets, int restIntervalSeconds) {
+        String setsString = numberOfSets + (numberOfSets == 1 ? " set" : " sets");
+        return " [" + setsString + ", " + restIntervalSeconds + "s rest]";
+    }
+
     /**
      * Removes the intended plan in the plans list.
      * The plan to delete is determined by the user who will
      * indicate the index of plan to delete in the plan list.
      *
      * @param userArgument The argument entered by user, that is, the index of plan to delete.
-     * @return deletedPlan The plan object that is deleted from the plansDisplayList.
+     * @return deletedPlan The plan object that is deleted from the list of plans.
      * @throws NumberFormatException If index of plan that user entered is not an integer.
      * @throws InvalidPlanException If index of plan to delete is out of range.
      */
@@ -407,151 +908,182 @@ public class PlanList {
             throw new InvalidPlanException(className, InvalidPlanException.PLAN_INDEX_OUT_OF_RANGE);
         }
 
-        assert (indexToDelete > 0) && (indexToDelete <= plansDisplayList.size());
-        Plan deletedPlan = getPlanFromIndexNum(indexToDelete);
-        String deletedPlanKey = deletedPlan.toString();
-        plansDisplayList.remove(indexToDelete - 1);
-        getPlansHashMapList().remove(deletedPlanKey);
+        assert (indexToDelete > 0) && (indexToDelete <= getNumberOfPlans());
+        ArrayList<Integer> planIndexNumsToDelete = new ArrayList<>();
+        planIndexNumsToDelete.add(indexToDelete);
+        Plan deletedPlan = removePlans(planIndexNumsToDelete).get(0);
+        if (deletedPlanListener != null) {
+            deletedPlanListener.handleDeletedPlan(deletedPlan);
+        }
         logger.exiting(getClass().getName(), "deletePlan");
         return deletedPlan;
     }
 
     /**
-     * Checks whether the plan index is within the range of the current plan list (in plan /list).
+     * Removes the plans at all of the given index numbers. The plan ids are removed from plansIdDisplayList in
+     * a single pass, instead of shifting the remaining plans once for every deleted plan.
      *
-     * @param planIndex The plan index to check.
-     * @return True if plan index is within the range of the plan list, else false if out of range.
+     * @param planIndexNums The index numbers of the plans to delete, as shown in 'plan /list' before any of
+     *                      the plans is deleted.
+     * @return An ArrayList of the deleted Plan objects, in ascending order of their former index numbers.
+     * @throws InvalidPlanException If an index number is out of range. No plan is deleted in this case.
      */
-    public boolean checkPlanIndexIsWithinRange(int planIndex) {
-        return planIndex > 0 && planIndex <= plansDisplayList.size();
+    public ArrayList<Plan> deletePlans(ArrayList<Integer> planIndexNums) throws InvalidPlanException {
+        String className = this.getClass().getSimpleName();
+        for (int planIndexNum : planIndexNums) {
+            if (!checkPlanIndexIsWithinRange(planIndexNum)) {
+                logger.log(Level.WARNING, "Plan index to delete is out of range!");
+                throw new InvalidPlanException(className, InvalidPlanException.PLAN_INDEX_OUT_OF_RANGE);
+            }
+        }
+
+        ArrayList<Plan> deletedPlans = removePlans(planIndexNums);
+        if (deletedPlanListener != null) {
+            for (Plan deletedPlan : deletedPlans) {
+                deletedPlanListener.handleDeletedPlan(deletedPlan);
+            }
+        }
+        return deletedPlans;
     }
 
     /**
-     * Checks whether the workout is in the plan.
+     * Removes the plans at the given index numbers from the lists, without checking the index numbers and
+     * without notifying the DeletedPlanListener.
      *
-     * @param oldWorkoutToCheck        The workout to look for in the plan.
-     * @param updatedWorkoutToCheck The updated workout to look for in the plan.
-     * @param plan                  An instance of the Plan class.
-     * @return                      True if either workout or updated workout is found in the plan,
-     *                              else false if the workout is not in the plan.
-     * @throws ArrayIndexOutOfBoundsException   For operations which involves index checking.
+     * @param planIndexNums The index numbers of the plans to remove, which must be within the range of the
+     *                      current plan list.
+     * @return An ArrayList of the removed Plan objects, in ascending order of their former index numbers.
      */
-    public boolean checkWorkoutInPlan(String oldWorkoutToCheck, String updatedWorkoutToCheck, Plan plan)
-            throws ArrayIndexOutOfBoundsException {
-        ArrayList<Workout> workoutsInPlanList = plan.getWorkoutsInPlanList();
-        String workoutInPlanDetails;
-        for (Workout workoutsInPlan : workoutsInPlanList) {
-            workoutInPlanDetails = workoutsInPlan.toString();
-            if (oldWorkoutToCheck.equals(workoutInPlanDetails) || updatedWorkoutToCheck.equals(workoutInPlanDetails)) {
-                return true;
-            }
+    ArrayList<Plan> removePlans(ArrayList<Integer> planIndexNums) {
+        ArrayList<Plan> removedPlans = new ArrayList<>();
+        for (int removedPlanId : plansIdDisplayList.removeAll(planIndexNums)) {
+            removedPlans.add(removePlanFromLists(removedPlanId));
+        }
+        if (removedPlans.isEmpty()) {
+            return removedPlans;
         }
-        return false;
+        notifyDirtyResourceListener();
+        ArrayList<Integer> sortedPlanIndexNums = new ArrayList<>(new TreeSet<>(planIndexNums));
+        recordChange(new PlansChange(this, false, sortedPlanIndexNums, new ArrayList<>(removedPlans)));
+        return removedPlans;
     }
 
     /**
-     * Checks whether the workout is in the plan.
+     * Removes a plan whose plan id has already been removed from plansIdDisplayList from the other lists
+     * and indexes of plans.
      *
-     * @param workoutToCheck The workout to look for in the plan.
-     * @param plan An instance of the Plan class.
-     * @return True if workout is found in the plan, else false if the workout is not in the plan.
-     * @throws ArrayIndexOutOfBoundsException For operations which involves index checking.
+     * @param deletedPlanId The plan id of the deleted plan.
+     * @return The deleted Plan object.
      */
-    public boolean checkWorkoutInPlan(String workoutToCheck, Plan plan) throws ArrayIndexOutOfBoundsException {
-        ArrayList<Workout> workoutsInPlanList = plan.getWorkoutsInPlanList();
-        String workoutInPlanDetails;
-        for (Workout workoutsInPlan : workoutsInPlanList) {
-            workoutInPlanDetails = workoutsInPlan.toString();
-            if (workoutToCheck.equals(workoutInPlanDetails)) {
-                return true;
-            }
-        }
-        return false;
+    private Plan removePlanFromLists(int deletedPlanId) {
+        Plan deletedPlan = plansIdHashMapList.remove(deletedPlanId);
+        String deletedPlanKey = deletedPlan.toString();
+        getPlansHashMapList().remove(deletedPlanKey);
+        plansFoldedKeyHashMapList.remove(deletedPlanKey.toLowerCase());
+        removePlanFromWorkoutIndex(deletedPlan);
+        removePlanFromWorkoutSequenceIndex(deletedPlan);
+        planNameTokenIndex.remove(deletedPlanId, deletedPlanKey);
+        planNameTrigramIndex.remove(deletedPlanId, deletedPlanKey);
+        planNameBkTree.remove(deletedPlanId, deletedPlanKey);
+        planNameTrie.remove(deletedPlanKey);
+        return deletedPlan;
     }
 
     /**
-     * Gets the index number of plans which includes the updated workout.
+     * Checks whether the plan index is within the range of the current plan list (in plan /list).
      *
-     * @param oldWorkoutToCheck        The workout to look for in the plan.
-     * @param updatedWorkoutToCheck The updated workout to look for in the plan.
-     * @return                      An Arraylist of integer which includes the index number of the
-     *                              plan that includes the updated workout.
-     * @throws ArrayIndexOutOfBoundsException   For operations which involves index checking.
+     * @param planIndex The plan index to check.
+     * @return True if plan index is within the range of the plan list, else false if out of range.
      */
-    public ArrayList<Integer> findPlanContainsTargetWorkout(String oldWorkoutToCheck, String updatedWorkoutToCheck)
-            throws ArrayIndexOutOfBoundsException {
-        Plan planObject;
-        boolean isWorkoutInPlan = false;
-        ArrayList<Integer> planIndexWithTargetWorkout = new ArrayList<Integer>();
-        for (int i = 1; i <= getPlansDisplayList().size(); i++) {
-            planObject = getPlanFromIndexNum(i);
-            isWorkoutInPlan = checkWorkoutInPlan(oldWorkoutToCheck, updatedWorkoutToCheck, planObject);
-            if (isWorkoutInPlan) {
-                planIndexWithTargetWorkout.add(i);
-            }
-        }
-        return planIndexWithTargetWorkout;
+    public boolean checkPlanIndexIsWithinRange(int planIndex) {
+        return planIndex > 0 && planIndex <= getNumberOfPlans();
     }
 
     /**
-     * Gets the number of plans which includes the deleted workout.
+     * Gets the index numbers of the plans which include the given workout. The plans are looked up in
+     * plansWithWorkoutHashMapList, so only the plans that include the workout are visited.
      *
-     * @param workoutToCheck The workout to look for in the plan.
-     * @return An Arraylist of integer which includes the number of the
-     *         plan that includes the deleted workout.
-     * @throws ArrayIndexOutOfBoundsException For operations which involves index checking.
+     * @param targetWorkout The workout to look for in the plans. The workout may have already been deleted
+     *                      from the list of workouts, or updated to a new number of repetitions.
+     * @return An ArrayList of the index numbers of the plans that include the workout, in ascending order.
      */
-    public ArrayList<Integer> findPlanContainsTargetWorkout(String workoutToCheck) throws
-            ArrayIndexOutOfBoundsException {
-        Plan planObject;
-        boolean isWorkoutInPlan = false;
+    public ArrayList<Integer> findPlanContainsTargetWorkout(Workout targetWorkout) {
         ArrayList<Integer> planIndexWithTargetWorkout = new ArrayList<Integer>();
-        for (int i = 1; i <= getPlansDisplayList().size(); i++) {
-            planObject = getPlanFromIndexNum(i);
-            isWorkoutInPlan = checkWorkoutInPlan(workoutToCheck, planObject);
-            if (isWorkoutInPlan) {
-                planIndexWithTargetWorkout.add(i);
-            }
+        HashSet<Integer> planIds = plansWithWorkoutHashMapList.get(targetWorkout.getWorkoutId());
+        if (planIds == null) {
+            return planIndexWithTargetWorkout;
+        }
+
+        for (int planId : planIds) {
+            planIndexWithTargetWorkout.add(plansIdDisplayList.getIndexNum(planId));
         }
+        Collections.sort(planIndexWithTargetWorkout);
         return planIndexWithTargetWorkout;
     }
 
     /**
      * Deletes the plans which contains the deleted workouts.
      *
-     * @param deletedWorkoutDetail The deleted workout.
-     * @throws ArrayIndexOutOfBoundsException If index .
+     * @param deletedWorkout The deleted workout.
+     * @return An ArrayList of the Plan objects that have been deleted.
      * @throws InvalidPlanException For operations which involves index checking.
      */
-    public void deletePlanContainsDeletedWorkout(String deletedWorkoutDetail) throws InvalidPlanException {
-        ArrayList<Integer> planIndexWithDeletedWorkout = findPlanContainsTargetWorkout(deletedWorkoutDetail);
-        if (planIndexWithDeletedWorkout.size() <= 0) {
-            return;
-        }
-        if (planIndexWithDeletedWorkout.size() > 0) {
-            System.out.println(deletedWorkoutDetail + " is found in:\n");
+    public ArrayList<Plan> deletePlanContainsDeletedWorkout(Workout deletedWorkout) throws InvalidPlanException {
+        ArrayList<Workout> deletedWorkouts = new ArrayList<>();
+        deletedWorkouts.add(deletedWorkout);
+        return deletePlansContainDeletedWorkouts(deletedWorkouts);
+    }
+
+    /**
+     * Deletes the plans which contain any of the deleted workouts. The plans of all the deleted workouts are
+     * collected first and then deleted together, so a plan that contains several of the deleted workouts
+     * is only deleted once.
+     *
+     * @param deletedWorkouts The deleted workouts.
+     * @return An ArrayList of the Plan objects that have been deleted, in ascending order of their former
+     *         index numbers.
+     * @throws InvalidPlanException For operations which involves index checking.
+     */
+    public ArrayList<Plan> deletePlansContainDeletedWorkouts(ArrayList<Workout> deletedWorkouts)
+            throws InvalidPlanException {
+        TreeSet<Integer> planIndexWithDeletedWorkouts = new TreeSet<>();
+        for (Workout deletedWorkout : deletedWorkouts) {
+            ArrayList<Integer> planIndexWithDeletedWorkout = findPlanContainsTargetWorkout(deletedWorkout);
+            if (planIndexWithDeletedWorkout.size() <= 0) {
+                continue;
+            }
+            if (!planIndexWithDeletedWorkouts.isEmpty()) {
+                System.out.println();
+            }
+            System.out.println(deletedWorkout + " is found in:\n");
+            for (int planNumber : planIndexWithDeletedWorkout) {
+                assert (checkPlanIndexIsWithinRange(planNumber)) : "Plan number is out of range.";
+                System.out.println("\t" + getPlanFromIndexNum(planNumber));
+            }
+            planIndexWithDeletedWorkouts.addAll(planIndexWithDeletedWorkout);
         }
 
-        for (int planNumber : planIndexWithDeletedWorkout) {
-            assert (checkPlanIndexIsWithinRange(planNumber)) : "Plan number is out of range.";
-            System.out.println("\t" + getPlansDisplayList().get(planNumber - 1));
+        if (planIndexWithDeletedWorkouts.isEmpty()) {
+            return new ArrayList<Plan>();
         }
-        int totalNumberOfPlanToDelete = planIndexWithDeletedWorkout.size();
-        for (int i = 0; i < totalNumberOfPlanToDelete; i++) {
-            if (i == 0) {
-                System.out.println("\nThe following plan has been removed:\n");
-            }
-            System.out.println((i + 1) + ". " + getPlansDisplayList().get(planIndexWithDeletedWorkout.get(i) - i - 1));
-            deletePlan(Integer.toString(planIndexWithDeletedWorkout.get(i) - i));
+        ArrayList<Plan> deletedPlans = deletePlans(new ArrayList<>(planIndexWithDeletedWorkouts));
+        System.out.println("\nThe following plan has been removed:\n");
+        for (int i = 0; i < deletedPlans.size(); i++) {
+            System.out.println((i + 1) + ". " + deletedPlans.get(i));
         }
         System.out.println();
+        return deletedPlans;
     }
 
-    public void updatePlanContainsUpdatedWorkout(String oldWorkoutToCheck, Workout updatedWorkout) throws
-            InvalidPlanException {
-        String updatedWorkoutToCheck = updatedWorkout.toString();
-        ArrayList<Integer> planWithUpdatedWorkout
-                = findPlanContainsTargetWorkout(oldWorkoutToCheck, updatedWorkoutToCheck);
+    /**
+     * Prints the plans which contain the updated workout. The plans refer to their workouts by workout id,
+     * so they show the updated workout without having to be modified.
+     *
+     * @param oldWorkoutToCheck The key of the workout before it was updated.
+     * @param updatedWorkout    The updated workout.
+     */
+    public void updatePlanContainsUpdatedWorkout(String oldWorkoutToCheck, Workout updatedWorkout) {
+        ArrayList<Integer> planWithUpdatedWorkout = findPlanContainsTargetWorkout(updatedWorkout);
 
         if (planWithUpdatedWorkout.size() <= 0) {
             return;
@@ -563,7 +1095,7 @@ public class PlanList {
 
         for (int planNumber : planWithUpdatedWorkout) {
             assert (checkPlanIndexIsWithinRange(planNumber)) : "Plan number is out of range.";
-            System.out.println("\t" + getPlansDisplayList().get(planNumber - 1));
+            System.out.println("\t" + getPlanFromIndexNum(planNumber));
         }
 
         int totalNumberOfPlanToUpdate = planWithUpdatedWorkout.size();
@@ -571,30 +1103,8 @@ public class PlanList {
             if (i == 0) {
                 System.out.println("\nThe following plan has been updated:\n");
             }
-            System.out.println((i + 1) + ". " + getPlansDisplayList().get(planWithUpdatedWorkout.get(i) - 1));
-            updatePlanDetails((planWithUpdatedWorkout.get(i)), oldWorkoutToCheck, updatedWorkout);
+            System.out.println((i + 1) + ". " + getPlanFromIndexNum(planWithUpdatedWorkout.get(i)));
         }
         System.out.println();
     }
-
-    public void updatePlanDetails(int planIndexToUpdate, String oldWorkoutToCheck, Workout updatedWorkout) throws
-            NumberFormatException, InvalidPlanException {
-        String className = this.getClass().getSimpleName();
-
-        boolean isPlanIndexToUpdateValid = checkPlanIndexIsWithinRange(planIndexToUpdate);
-
-        if (!isPlanIndexToUpdateValid) {
-            throw new InvalidPlanException(className, InvalidPlanException.PLAN_INDEX_OUT_OF_RANGE);
-        }
-
-        Plan planToUpdate = getPlanFromIndexNum(planIndexToUpdate);
-        ArrayList<Workout> workoutsInPlanList = planToUpdate.getWorkoutsInPlanList();
-        int totalNumberOfWorkoutsInPlan = workoutsInPlanList.size();
-
-        for (int i = 0; i < totalNumberOfWorkoutsInPlan; i++) {
-            if (oldWorkoutToCheck.equals(workoutsInPlanList.get(i).toString())) {
-                workoutsInPlanList.set(i, updatedWorkout);
-            }
-        }
-    }
 }
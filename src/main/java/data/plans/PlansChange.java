@@ -0,0 +1,88 @@
+package data.plans;
+
+import data.history.Change;
+import storage.FileManager;
+import storage.OperationJournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This class represents plans that have been added to, or removed from, the list of plans by a command,
+ * together with their index numbers. The days of the schedule that were cleared because a plan was removed
+ * are changes of their own.
+ */
+class PlansChange implements Change {
+    private PlanList planList;
+    private boolean isAddition;
+    // The index numbers of the plans while they are in the list of plans, in ascending order
+    private ArrayList<Integer> planIndexNums;
+    private ArrayList<Plan> plans;
+
+    /**
+     * Constructs a PlansChange.
+     *
+     * @param planList      The list of plans that has been changed.
+     * @param isAddition    True if the plans have been added to the list, or false if they have been removed.
+     * @param planIndexNums The index numbers of the plans while they are in the list, in ascending order.
+     * @param plans         The Plan objects that have been added or removed, in the same order.
+     */
+    PlansChange(PlanList planList, boolean isAddition, ArrayList<Integer> planIndexNums, ArrayList<Plan> plans) {
+        this.planList = planList;
+        this.isAddition = isAddition;
+        this.planIndexNums = planIndexNums;
+        this.plans = plans;
+    }
+
+    @Override
+    public void revert() {
+        applyChange(!isAddition);
+    }
+
+    @Override
+    public void reapply() {
+        applyChange(isAddition);
+    }
+
+    private void applyChange(boolean isPlansInserted) {
+        if (isPlansInserted) {
+            planList.restorePlans(planIndexNums, plans);
+        } else {
+            planList.removePlans(planIndexNums);
+        }
+    }
+
+    @Override
+    public String getResourceFileName() {
+        return FileManager.NAME_PLAN_FILE;
+    }
+
+    @Override
+    public void appendToJournal(OperationJournal journal, boolean isReverted) throws IOException {
+        boolean isPlansInList = (isAddition != isReverted);
+        if (isPlansInList) {
+            journal.appendPlansRestored(planIndexNums, plans);
+        } else {
+            journal.appendPlansDeleted(plans);
+        }
+    }
+
+    @Override
+    public boolean updateResourceFile(FileManager fileManager, boolean isReverted) throws IOException {
+        if (plans.isEmpty()) {
+            return false;
+        }
+        boolean isPlansInList = (isAddition != isReverted);
+        if (!isPlansInList) {
+            // Blanking out the lines of the removed plans leaves the other lines in the same order as the list
+            return fileManager.removePlansFromFile(plans);
+        }
+        // The index numbers are in ascending order, so the plans are the last ones if the first one is
+        int firstIndexNumAtEnd = planList.getNumberOfPlans() - plans.size() + 1;
+        if (planIndexNums.get(0) != firstIndexNumAtEnd) {
+            return false;
+        }
+        fileManager.appendPlansToFile(plans);
+        return true;
+    }
+}
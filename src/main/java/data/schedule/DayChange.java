@@ -0,0 +1,61 @@
+package data.schedule;
+
+import data.history.Change;
+import data.plans.Plan;
+import storage.FileManager;
+import storage.OperationJournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This class represents a day of the schedule whose plan has been changed or cleared by a command.
+ */
+class DayChange implements Change {
+    private DayList dayList;
+    private int dayNumber;
+    // The plans scheduled on the day before and after the change, where null stands for a rest day
+    private Plan oldPlan;
+    private Plan newPlan;
+
+    DayChange(DayList dayList, int dayNumber, Plan oldPlan, Plan newPlan) {
+        this.dayList = dayList;
+        this.dayNumber = dayNumber;
+        this.oldPlan = oldPlan;
+        this.newPlan = newPlan;
+    }
+
+    @Override
+    public void revert() {
+        dayList.setPlanForDay(dayNumber, oldPlan);
+    }
+
+    @Override
+    public void reapply() {
+        dayList.setPlanForDay(dayNumber, newPlan);
+    }
+
+    @Override
+    public String getResourceFileName() {
+        return FileManager.NAME_SCHEDULE_FILE;
+    }
+
+    @Override
+    public void appendToJournal(OperationJournal journal, boolean isReverted) throws IOException {
+        Day day = dayList.getDayList()[dayNumber - 1];
+        if (day != null) {
+            journal.appendDayUpdated(day);
+            return;
+        }
+
+        ArrayList<Integer> clearedDayNumbers = new ArrayList<>();
+        clearedDayNumbers.add(dayNumber);
+        journal.appendDaysCleared(clearedDayNumbers);
+    }
+
+    @Override
+    public boolean updateResourceFile(FileManager fileManager, boolean isReverted) {
+        // The lines of the schedule resource file are kept in the order of the days, so it has to be rewritten
+        return false;
+    }
+}
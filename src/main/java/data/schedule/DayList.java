@@ -1,35 +1,110 @@
 package data.schedule;
 
+import data.history.Change;
+import data.history.ChangeListener;
+import data.plans.DeletedPlanListener;
 import data.plans.Plan;
 import data.plans.PlanList;
+import storage.DirtyResourceListener;
+import storage.FileManager;
 import werkit.Parser;
 
+import java.util.List;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static data.schedule.InvalidScheduleException.INVALID_DAY;
 
-public class DayList {
+public class DayList implements DeletedPlanListener {
     private static final int FIXED_LENGTH = 30;
     public static final int NUMBER_OF_SCHEDULE_DAYS = 7;
 
     private PlanList planList;
     private String[] scheduleList = new String[NUMBER_OF_SCHEDULE_DAYS];
-    private String[] schedulePrintList = new String[NUMBER_OF_SCHEDULE_DAYS];
     private Day[] dayList = new Day[NUMBER_OF_SCHEDULE_DAYS]; //store all created day object
+    private DirtyResourceListener dirtyResourceListener;
+    private int modificationCount = 0;
+    private ChangeListener changeListener;
+    // Days cleared because their plans were deleted, mapped to the names of the deleted plans
+    private TreeMap<Integer, String> daysClearedByDeletedPlans = new TreeMap<>();
 
     private static Logger logger = Logger.getLogger(Parser.class.getName());
 
     public DayList(PlanList planList) {
         this.planList = planList;
+        if (planList != null) {
+            planList.setDeletedPlanListener(this);
+        }
+    }
+
+    /**
+     * Gets the number of times that the schedule has been modified. This allows a reader to tell if the schedule
+     * has changed since it last read it, without comparing the data itself.
+     *
+     * @return The number of modifications made so far.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Sets the listener that is notified whenever the data in this list is modified.
+     *
+     * @param dirtyResourceListener The listener to notify, or null to stop notifying.
+     */
+    public void setDirtyResourceListener(DirtyResourceListener dirtyResourceListener) {
+        this.dirtyResourceListener = dirtyResourceListener;
+    }
+
+    /**
+     * Notifies the listener (if any) that the schedule resource file is no longer up-to-date.
+     */
+    private void notifyDirtyResourceListener() {
+        modificationCount += 1;
+        if (dirtyResourceListener != null) {
+            dirtyResourceListener.markResourceDirty(FileManager.NAME_SCHEDULE_FILE);
+        }
     }
 
+    /**
+     * Sets the listener that is notified of every change made to the schedule.
+     *
+     * @param changeListener The listener to notify, or null to stop notifying.
+     */
+    public void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Notifies the listener (if any) of a change made to the schedule.
+     *
+     * @param change The change that has been made.
+     */
+    private void recordChange(Change change) {
+        if (changeListener != null) {
+            changeListener.recordChange(change);
+        }
+    }
+
+    /**
+     * Gets the names of the plans scheduled on each day of the week. The returned array is a copy, so it is
+     * not updated when the schedule is modified, and modifying it does not modify the schedule.
+     *
+     * @return An array of 7 plan names from Monday to Sunday, with null for the rest days.
+     */
     public String[] getScheduleList() {
-        return scheduleList;
+        return scheduleList.clone();
     }
 
+    /**
+     * Gets the Day objects of each day of the week. The returned array is a copy, so it is not updated when
+     * the schedule is modified, and modifying it does not modify the schedule.
+     *
+     * @return An array of 7 Day objects from Monday to Sunday, with null for the rest days.
+     */
     public Day[] getDayList() {
-        return this.dayList;
+        return dayList.clone();
     }
 
     /**
@@ -59,20 +134,48 @@ public class DayList {
             throw new InvalidScheduleException(className, InvalidScheduleException.INVALID_PLAN);
         }
         assert (isPlanValid(planNumber) && isDayValid(dayNumber));
-        String planToAddKey = planList.getPlansDisplayList().get(planNumber - 1);
-        Plan planToAdd = planList.getPlanFromKey(planToAddKey);
+        Plan planToAdd = planList.getPlanFromIndexNum(planNumber);
+        return schedulePlan(dayNumber, planToAdd);
+    }
+
+    /**
+     * Schedules the given plan on a day, replacing the plan that is scheduled on it (if any).
+     *
+     * @param dayNumber The day number (1-7) of the day.
+     * @param plan      The plan to schedule on the day.
+     * @return The Day object of the day.
+     */
+    private Day schedulePlan(int dayNumber, Plan plan) {
+        Plan formerPlan = null;
         Day newDay;
         if (scheduleList[dayNumber - 1] == null) {
-            newDay = new Day(dayNumber, planToAdd);
+            newDay = new Day(dayNumber, plan);
             dayList[dayNumber - 1] = newDay;
         } else {
             newDay = dayList[dayNumber - 1];
-            newDay.setNewPlanForThisDay(newDay, planToAdd);
+            formerPlan = newDay.getPlanForThisDay();
+            newDay.setNewPlanForThisDay(newDay, plan);
         }
-        scheduleList[dayNumber - 1] = planToAdd.getPlanName();
+        scheduleList[dayNumber - 1] = plan.getPlanName();
+        notifyDirtyResourceListener();
+        recordChange(new DayChange(this, dayNumber, formerPlan, plan));
         return newDay;
     }
 
+    /**
+     * Sets the plan scheduled on a day, which must be in the list of plans, or clears the day.
+     *
+     * @param dayNumber The day number (1-7) of the day.
+     * @param plan      The plan to schedule on the day, or null to make the day a rest day.
+     */
+    void setPlanForDay(int dayNumber, Plan plan) {
+        if (plan == null) {
+            clearPlan(dayNumber - 1);
+        } else {
+            schedulePlan(dayNumber, plan);
+        }
+    }
+
     /**
      * Checks if the provided day number is valid. A day number is valid if it falls
      * between 1 and 7. Day number 1 refers to Monday, Day number 2 refers to Tuesday
@@ -98,7 +201,7 @@ public class DayList {
      *      *         Otherwise, returns false.
      */
     public Boolean isPlanValid(int planNumber) {
-        if (planNumber < 1 || planNumber > planList.getPlansDisplayList().size()) {
+        if (planNumber < 1 || planNumber > planList.getNumberOfPlans()) {
             return false;
         }
         return true;
@@ -107,13 +210,17 @@ public class DayList {
     /**
      * Print out all the plans scheduled for the week. One week consists of 7 days.
      * If no plan is scheduled for any of the day, it is considered as rest day.
+     * The schedule is read from a ModelSnapshot (see ModelSnapshot#getSchedule()), rather than from this list.
+     *
+     * @param schedule The names of the plans scheduled from Monday to Sunday, with null for the rest days.
      */
-    public void printSchedule() {
+    public void printSchedule(List<String> schedule) {
+        String[] schedulePrintList = new String[NUMBER_OF_SCHEDULE_DAYS];
         for (int i = 0; i < NUMBER_OF_SCHEDULE_DAYS; i += 1) {
-            if (scheduleList[i] == null) {
+            if (schedule.get(i) == null) {
                 schedulePrintList[i] = "rest day";
             } else {
-                schedulePrintList[i] = scheduleList[i];
+                schedulePrintList[i] = schedule.get(i);
             }
             schedulePrintList[i] = padWithSpaces(schedulePrintList[i]);
         }
@@ -189,14 +296,48 @@ public class DayList {
         }
     }
 
+    /**
+     * Clears the days on which the deleted plan is scheduled. The cleared days are kept until they are
+     * retrieved with getAndResetDaysClearedByDeletedPlans().
+     *
+     * @param deletedPlan The Plan object that has been deleted from the list of plans.
+     */
+    @Override
+    public void handleDeletedPlan(Plan deletedPlan) {
+        for (int i = 0; i < NUMBER_OF_SCHEDULE_DAYS; i += 1) {
+            if (dayList[i] == null || dayList[i].getPlanForThisDay() != deletedPlan) {
+                continue;
+            }
+            daysClearedByDeletedPlans.put(i + 1, scheduleList[i]);
+            clearPlan(i);
+        }
+    }
+
+    /**
+     * Gets the days that have been cleared because their plans were deleted, since the last call to
+     * this method.
+     *
+     * @return A TreeMap of the day numbers (1-7) of the cleared days in ascending order, mapped to the
+     *         names of the plans that were scheduled on them.
+     */
+    public TreeMap<Integer, String> getAndResetDaysClearedByDeletedPlans() {
+        TreeMap<Integer, String> clearedDays = daysClearedByDeletedPlans;
+        daysClearedByDeletedPlans = new TreeMap<>();
+        return clearedDays;
+    }
+
     /**
      * Remove plan on the stated day.
      *
      * @param dayNumber day number to be cleared.
      */
     public void clearPlan(int dayNumber) {
+        if (dayList[dayNumber] != null) {
+            recordChange(new DayChange(this, dayNumber + 1, dayList[dayNumber].getPlanForThisDay(), null));
+        }
         scheduleList[dayNumber] = null;
         dayList[dayNumber] = null;
+        notifyDirtyResourceListener();
     }
 
     /**
@@ -252,10 +393,10 @@ public class DayList {
     public String[] getPrintSchedule() {
         String[] weeklySchedule = new String[NUMBER_OF_SCHEDULE_DAYS];
         for (int i = 0; i < NUMBER_OF_SCHEDULE_DAYS; i++) {
-            if (getScheduleList()[i] == null) {
+            if (scheduleList[i] == null) {
                 weeklySchedule[i] = "rest day";
             } else {
-                weeklySchedule[i] = getScheduleList()[i];
+                weeklySchedule[i] = scheduleList[i];
             }
         }
         return weeklySchedule;
@@ -0,0 +1,131 @@
+package data.snapshot;
+
+import data.schedule.DayList;
+import data.workouts.Workout;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents an immutable version of the exercises, workouts, plans and schedule, as they were
+ * when it was published by a ModelSnapshotPublisher. A ModelSnapshot never changes after it has been
+ * published, so any number of threads can read it at the same time without locking, and all of them see
+ * data that is consistent with each other (e.g. every workout in a plan is in the list of workouts).
+ */
+public final class ModelSnapshot {
+    private final long version;
+    private final List<String> exerciseNames;
+    private final List<Workout> workouts;
+    // The same workouts as in workouts, keyed by their workout ids, which the plans refer to
+    private final Map<Integer, Workout> workoutsById;
+    private final List<PlanSnapshot> plans;
+    // The names of the plans scheduled on each day from Monday to Sunday, where null stands for a rest day
+    private final List<String> schedule;
+
+    ModelSnapshot(long version, List<String> exerciseNames, List<Workout> workouts,
+            Map<Integer, Workout> workoutsById, List<PlanSnapshot> plans, List<String> schedule) {
+        this.version = version;
+        this.exerciseNames = exerciseNames;
+        this.workouts = workouts;
+        this.workoutsById = workoutsById;
+        this.plans = plans;
+        this.schedule = schedule;
+    }
+
+    /**
+     * Creates a ModelSnapshot without any exercises, workouts, plans or scheduled days.
+     *
+     * @return The empty ModelSnapshot, whose version is 0.
+     */
+    static ModelSnapshot createEmptySnapshot() {
+        List<String> restDays = Collections.nCopies(DayList.NUMBER_OF_SCHEDULE_DAYS, null);
+        return new ModelSnapshot(0, List.of(), List.of(), Map.of(), List.of(), restDays);
+    }
+
+    /**
+     * Gets the version of this snapshot. Each snapshot that is published has a higher version than the
+     * snapshots published before it.
+     *
+     * @return The version of this snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<String> getExerciseNames() {
+        return exerciseNames;
+    }
+
+    /**
+     * Gets the workouts, in the order that they are shown in 'workout /list'.
+     *
+     * @return An unmodifiable List of Workout objects.
+     */
+    public List<Workout> getWorkouts() {
+        return workouts;
+    }
+
+    /**
+     * Gets the workouts keyed by their workout ids. The map always holds the same workouts as getWorkouts(), so
+     * both can be shared with the next snapshot if the workouts have not been modified.
+     *
+     * @return An unmodifiable Map of workout ids to Workout objects.
+     */
+    Map<Integer, Workout> getWorkoutsById() {
+        return workoutsById;
+    }
+
+    /**
+     * Gets the workout with the given workout id.
+     *
+     * @param workoutId The workout id of the workout.
+     * @return The Workout object, or null if there is no workout with the workout id in this snapshot.
+     */
+    public Workout getWorkoutFromId(int workoutId) {
+        return workoutsById.get(workoutId);
+    }
+
+    /**
+     * Gets the workouts of the given plan of this snapshot, in the order that they are shown in 'plan /details'.
+     *
+     * @param plan A PlanSnapshot in this snapshot.
+     * @return An unmodifiable List of the Workout objects in the plan.
+     */
+    public List<Workout> getWorkoutsInPlan(PlanSnapshot plan) {
+        Workout[] workoutsInPlan = new Workout[plan.getNumberOfWorkouts()];
+        for (int i = 0; i < workoutsInPlan.length; i += 1) {
+            workoutsInPlan[i] = getWorkoutFromId(plan.getWorkoutIdAt(i));
+            assert workoutsInPlan[i] != null : "Every workout in a plan should be in the same snapshot.";
+        }
+        return List.of(workoutsInPlan);
+    }
+
+    /**
+     * Gets the plans, in the order that they are shown in 'plan /list'.
+     *
+     * @return An unmodifiable List of PlanSnapshot objects.
+     */
+    public List<PlanSnapshot> getPlans() {
+        return plans;
+    }
+
+    /**
+     * Gets the names of the plans scheduled on each day of the week.
+     *
+     * @return An unmodifiable List of 7 plan names from Monday to Sunday, with null for the rest days.
+     */
+    public List<String> getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Gets the name of the plan scheduled on the given day.
+     *
+     * @param dayNumber The day number (1-7) of the day.
+     * @return The name of the plan, or null if the day is a rest day.
+     */
+    public String getPlanNameScheduledOn(int dayNumber) {
+        return schedule.get(dayNumber - 1);
+    }
+}
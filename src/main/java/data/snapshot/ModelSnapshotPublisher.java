@@ -0,0 +1,158 @@
+package data.snapshot;
+
+import data.exercises.ExerciseList;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import storage.LogHandler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class publishes ModelSnapshots of the lists of exercises, workouts, plans and schedule, so that they can
+ * be read by other threads while the lists are being modified.
+ * <p>
+ * The lists themselves are only modified and read by the thread that executes the user's commands (the writer).
+ * After the lists have been modified, the writer calls publish(), which builds a new ModelSnapshot and replaces
+ * the latest snapshot with it in a single atomic step. Readers on other threads call getSnapshot() and work on
+ * the snapshot that they get, without any locks, while the writer carries on modifying the lists. The parts of
+ * a snapshot that have not been modified since the previous snapshot (e.g. the workouts, when only the schedule
+ * has been updated) are shared with the previous snapshot instead of being built again.
+ * <p>
+ * WerkIt publishes a snapshot after the resource files have been loaded, after every command and after modified
+ * resource files have been reloaded, so the latest snapshot is always up-to-date when a command starts. The list
+ * commands (e.g. 'workout /list') read the latest snapshot instead of the lists.
+ */
+public class ModelSnapshotPublisher {
+    // The modification count of a list that has never been read, which forces its part to be built
+    private static final int MODIFICATION_COUNT_UNREAD = -1;
+
+    private ExerciseList exerciseList;
+    private WorkoutList workoutList;
+    private PlanList planList;
+    private DayList dayList;
+    private final AtomicReference<ModelSnapshot> latestSnapshot =
+            new AtomicReference<>(ModelSnapshot.createEmptySnapshot());
+
+    // The sizes and modification counts of the lists when the latest snapshot was built (only used by the writer)
+    private int publishedNumberOfExercises = MODIFICATION_COUNT_UNREAD;
+    private int publishedWorkoutsModificationCount = MODIFICATION_COUNT_UNREAD;
+    private int publishedPlansModificationCount = MODIFICATION_COUNT_UNREAD;
+    private int publishedScheduleModificationCount = MODIFICATION_COUNT_UNREAD;
+
+    private static Logger logger = Logger.getLogger(ModelSnapshotPublisher.class.getName());
+
+    /**
+     * Constructs a ModelSnapshotPublisher for the given lists. Until publish() is called, the latest snapshot
+     * is empty.
+     *
+     * @param exerciseList An instance of the ExerciseList class.
+     * @param workoutList  An instance of the WorkoutList class.
+     * @param planList     An instance of the PlanList class.
+     * @param dayList      An instance of the DayList class.
+     */
+    public ModelSnapshotPublisher(ExerciseList exerciseList, WorkoutList workoutList, PlanList planList,
+            DayList dayList) {
+        this.exerciseList = exerciseList;
+        this.workoutList = workoutList;
+        this.planList = planList;
+        this.dayList = dayList;
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Gets the latest snapshot that has been published. This method can be called from any thread.
+     *
+     * @return The latest ModelSnapshot.
+     */
+    public ModelSnapshot getSnapshot() {
+        return latestSnapshot.get();
+    }
+
+    /**
+     * Builds a snapshot of the current state of the lists and publishes it as the latest snapshot. If none
+     * of the lists have been modified since the latest snapshot was built, the latest snapshot is kept. This
+     * method must only be called by the thread that modifies the lists.
+     *
+     * @return The latest ModelSnapshot after publishing.
+     */
+    public ModelSnapshot publish() {
+        ModelSnapshot previousSnapshot = latestSnapshot.get();
+        boolean isExercisesModified = exerciseList.getExerciseList().size() != publishedNumberOfExercises;
+        boolean isWorkoutsModified = workoutList.getModificationCount() != publishedWorkoutsModificationCount;
+        // Plans refer to their workouts by workout id, so updating a workout does not modify the plans
+        boolean isPlansModified = planList.getModificationCount() != publishedPlansModificationCount;
+        boolean isScheduleModified = dayList.getModificationCount() != publishedScheduleModificationCount;
+        if (!isExercisesModified && !isWorkoutsModified && !isPlansModified && !isScheduleModified) {
+            return previousSnapshot;
+        }
+
+        List<String> exerciseNames = isExercisesModified ? List.copyOf(exerciseList.getExerciseList())
+                : previousSnapshot.getExerciseNames();
+        List<Workout> workouts = isWorkoutsModified ? buildWorkouts() : previousSnapshot.getWorkouts();
+        Map<Integer, Workout> workoutsById = isWorkoutsModified ? buildWorkoutsById(workouts)
+                : previousSnapshot.getWorkoutsById();
+        List<PlanSnapshot> plans = isPlansModified ? buildPlans() : previousSnapshot.getPlans();
+        List<String> schedule = isScheduleModified
+                ? Collections.unmodifiableList(Arrays.asList(dayList.getScheduleList()))
+                : previousSnapshot.getSchedule();
+        ModelSnapshot newSnapshot = new ModelSnapshot(previousSnapshot.getVersion() + 1, exerciseNames, workouts,
+                workoutsById, plans, schedule);
+
+        publishedNumberOfExercises = exerciseNames.size();
+        publishedWorkoutsModificationCount = workoutList.getModificationCount();
+        publishedPlansModificationCount = planList.getModificationCount();
+        publishedScheduleModificationCount = dayList.getModificationCount();
+        latestSnapshot.set(newSnapshot);
+        logger.log(Level.FINE, "Model snapshot version " + newSnapshot.getVersion() + " published.");
+        return newSnapshot;
+    }
+
+    /**
+     * Builds the workouts part of a snapshot from the list of workouts.
+     *
+     * @return An unmodifiable List of the Workout objects in the order that they are shown in 'workout /list'.
+     */
+    private List<Workout> buildWorkouts() {
+        Workout[] workouts = new Workout[workoutList.getNumberOfWorkouts()];
+        for (int i = 0; i < workouts.length; i += 1) {
+            workouts[i] = workoutList.getWorkoutFromIndexNum(i + 1);
+        }
+        return List.of(workouts);
+    }
+
+    /**
+     * Builds the map of workout ids to the workouts in the workouts part of a snapshot.
+     *
+     * @param workouts The workouts part of the snapshot.
+     * @return An unmodifiable Map of workout ids to the Workout objects.
+     */
+    private Map<Integer, Workout> buildWorkoutsById(List<Workout> workouts) {
+        HashMap<Integer, Workout> workoutsById = new HashMap<>();
+        for (Workout workout : workouts) {
+            workoutsById.put(workout.getWorkoutId(), workout);
+        }
+        return Collections.unmodifiableMap(workoutsById);
+    }
+
+    /**
+     * Builds the plans part of a snapshot from the list of plans.
+     *
+     * @return An unmodifiable List of the PlanSnapshot objects in the order that they are shown in 'plan /list'.
+     */
+    private List<PlanSnapshot> buildPlans() {
+        PlanSnapshot[] plans = new PlanSnapshot[planList.getNumberOfPlans()];
+        for (int i = 0; i < plans.length; i += 1) {
+            plans[i] = new PlanSnapshot(planList.getPlanFromIndexNum(i + 1));
+        }
+        return List.of(plans);
+    }
+}
@@ -0,0 +1,92 @@
+package data.snapshot;
+
+import data.plans.Plan;
+
+/**
+ * This class represents a plan as it was when a ModelSnapshot was published. Like a Plan, a PlanSnapshot keeps
+ * the workout ids of its workouts rather than the Workout objects, and they are looked up in the workouts of the
+ * ModelSnapshot that it belongs to (see ModelSnapshot#getWorkoutsInPlan()). Updating a workout therefore does not
+ * require the plans of a snapshot to be built again.
+ */
+public final class PlanSnapshot {
+    private final int planId;
+    private final String planName;
+    private final int[] workoutIds;
+    // The packed sets and rest interval of each workout, or null if every workout has the default attributes
+    private final int[] entryAttributes;
+
+    /**
+     * Constructs a PlanSnapshot of the given plan, which must have been added to a PlanList.
+     *
+     * @param plan The Plan object to take a snapshot of.
+     */
+    PlanSnapshot(Plan plan) {
+        this.planId = plan.getPlanId();
+        this.planName = plan.getPlanName();
+        this.workoutIds = new int[plan.getNumberOfWorkouts()];
+        for (int i = 0; i < workoutIds.length; i += 1) {
+            workoutIds[i] = plan.getWorkoutIdAt(i);
+        }
+        if (plan.hasDefaultEntryAttributes()) {
+            this.entryAttributes = null;
+        } else {
+            this.entryAttributes = new int[workoutIds.length];
+            for (int i = 0; i < entryAttributes.length; i += 1) {
+                entryAttributes[i] = plan.getEntryAttributesAt(i);
+            }
+        }
+    }
+
+    public int getPlanId() {
+        return planId;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    public int getNumberOfWorkouts() {
+        return workoutIds.length;
+    }
+
+    /**
+     * Gets the workout id of the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The workout id of the workout.
+     */
+    public int getWorkoutIdAt(int position) {
+        return workoutIds[position];
+    }
+
+    /**
+     * Gets the packed sets and rest interval of the workout at the given position in this plan.
+     *
+     * @param position The 0-based position of the workout in this plan.
+     * @return The packed attributes, which can be unpacked with Plan#unpackNumberOfSets() and
+     *         Plan#unpackRestIntervalSeconds().
+     */
+    public int getEntryAttributesAt(int position) {
+        return entryAttributes == null ? Plan.DEFAULT_ENTRY_ATTRIBUTES : entryAttributes[position];
+    }
+
+    /**
+     * Checks if this plan contains any workout with the given workout id.
+     *
+     * @param workoutId The workout id to look for.
+     * @return True if this plan contains the workout. Otherwise, returns false.
+     */
+    public boolean containsWorkout(int workoutId) {
+        for (int workoutIdInPlan : workoutIds) {
+            if (workoutIdInPlan == workoutId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return planName;
+    }
+}
@@ -2,14 +2,26 @@ package data.workouts;
 
 /**
  * This class represents a Workout, which is an exercise with a specified number of repetitions.
+ * A Workout is immutable apart from its workout id, which is assigned once when it is added to a WorkoutList.
+ * Updating the repetitions of a workout creates a new Workout object with the same workout id, so a Workout
+ * object can be shared by any number of plans. Its key (i.e. its display string) and hash code are computed
+ * once, when it is created.
  */
 public class Workout {
-    private String exerciseName;
-    private int repetitions;
+    // Workout ids are assigned from 1 onwards, so 0 marks a workout that has not been added to a WorkoutList
+    public static final int WORKOUT_ID_UNASSIGNED = 0;
+
+    private final String exerciseName;
+    private final int repetitions;
+    private final String workoutKey;
+    private final int workoutKeyHash;
+    private int workoutId = WORKOUT_ID_UNASSIGNED;
 
     public Workout(String exerciseName, int repetitions) {
         this.exerciseName = exerciseName;
         this.repetitions = repetitions;
+        this.workoutKey = getWorkoutKey(exerciseName, repetitions);
+        this.workoutKeyHash = workoutKey.hashCode();
     }
 
     public String getExerciseName() {
@@ -20,15 +32,80 @@ public class Workout {
         return repetitions;
     }
 
-    public void setRepetitions(int repetitions) {
-        this.repetitions = repetitions;
+    /**
+     * Creates a copy of this workout with a different number of repetitions. The copy has the same exercise
+     * name (the same String object) and the same workout id as this workout.
+     *
+     * @param newRepetitions The number of repetitions of the copy.
+     * @return The new Workout object.
+     */
+    public Workout withRepetitions(int newRepetitions) {
+        Workout updatedWorkout = new Workout(exerciseName, newRepetitions);
+        updatedWorkout.workoutId = this.workoutId;
+        return updatedWorkout;
     }
 
-    public String toString() {
-        if (getRepetitions() == 1) {
-            return getExerciseName() + " (" + getRepetitions() + " rep)";
+    public int getWorkoutId() {
+        return workoutId;
+    }
+
+    /**
+     * Assigns a workout id to this workout. A workout id can only be assigned once.
+     *
+     * @param workoutId The workout id to assign.
+     */
+    void setWorkoutId(int workoutId) {
+        assert !hasWorkoutId() : "Workout id should only be assigned once.";
+        this.workoutId = workoutId;
+    }
+
+    public boolean hasWorkoutId() {
+        return workoutId != WORKOUT_ID_UNASSIGNED;
+    }
+
+    /**
+     * Gets the key of a workout with the given exercise name and repetitions, i.e. the string that the
+     * workout is displayed as. No two workouts in a WorkoutList have the same key.
+     *
+     * @param exerciseName The name of the exercise of the workout.
+     * @param repetitions  The number of repetitions of the workout.
+     * @return The key of the workout.
+     */
+    public static String getWorkoutKey(String exerciseName, int repetitions) {
+        if (repetitions == 1) {
+            return exerciseName + " (" + repetitions + " rep)";
         } else {
-            return getExerciseName() + " (" + getRepetitions() + " reps)";
+            return exerciseName + " (" + repetitions + " reps)";
         }
     }
+
+    /**
+     * Checks if the given object is a Workout with the same exercise name and repetitions as this workout.
+     * The workout ids are not compared, so a workout read from storage is equal to the matching workout in
+     * the list of workouts.
+     *
+     * @param object The object to compare with.
+     * @return True if the object is a Workout with the same key. Otherwise, returns false.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Workout)) {
+            return false;
+        }
+        Workout otherWorkout = (Workout) object;
+        return workoutKeyHash == otherWorkout.workoutKeyHash && workoutKey.equals(otherWorkout.workoutKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return workoutKeyHash;
+    }
+
+    @Override
+    public String toString() {
+        return workoutKey;
+    }
 }
@@ -1,13 +1,26 @@
 package data.workouts;
 
 import commands.WorkoutCommand;
+import data.IndexedIdList;
+import data.TokenIndex;
+import data.TrigramIndex;
 import data.exercises.ExerciseList;
 import data.exercises.InvalidExerciseException;
+import data.history.Change;
+import data.history.ChangeListener;
 import data.plans.InvalidPlanException;
+import storage.DirtyResourceListener;
+import storage.FileManager;
 import storage.LogHandler;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -18,8 +31,22 @@ import java.util.logging.Level;
  */
 public class WorkoutList {
     private ExerciseList exerciseList;
+    // Workouts are stored by their workout ids, in the order that they are shown in 'workout /list'
+    private HashMap<Integer, Workout> workoutsIdHashMapList = new HashMap<>();
+    private IndexedIdList workoutsIdDisplayList = new IndexedIdList();
+    // Looks up workouts by their keys (i.e. their display strings), e.g. for workouts read from storage
     private HashMap<String, Workout> workoutsHashMapList = new HashMap<>();
-    private ArrayList<String> workoutsDisplayList = new ArrayList<>();
+    // Looks up the workout ids of workouts by their case-folded keys, without scanning workoutsIdDisplayList
+    private HashMap<String, Integer> workoutsFoldedKeyHashMapList = new HashMap<>();
+    // Look up the workout ids of workouts by the tokens and trigrams of their exercise names and by their repetitions,
+    // which are sorted so that a range of repetitions can be looked up
+    private TokenIndex exerciseNameTokenIndex = new TokenIndex();
+    private TrigramIndex exerciseNameTrigramIndex = new TrigramIndex();
+    private TreeMap<Integer, HashSet<Integer>> workoutsWithRepetitionsTreeMapList = new TreeMap<>();
+    private int nextWorkoutId = 1;
+    private DirtyResourceListener dirtyResourceListener;
+    private int modificationCount = 0;
+    private ChangeListener changeListener;
     private static Logger logger = Logger.getLogger(WorkoutList.class.getName());
 
     /**
@@ -33,20 +60,86 @@ public class WorkoutList {
     }
 
     /**
-     * Gets the ArrayList of keys of Workout objects.
+     * Gets the number of times that the workouts have been modified. This allows a reader to tell if the workouts
+     * have changed since it last read them, without comparing the data itself.
      *
-     * @return An ArrayList of keys of Workout objects.
+     * @return The number of modifications made so far.
      */
-    public ArrayList<String> getWorkoutsDisplayList() {
-        return this.workoutsDisplayList;
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     /**
-     * Gets the HashMap of Workout objects.
+     * Sets the listener that is notified whenever the data in this list is modified.
+     *
+     * @param dirtyResourceListener The listener to notify, or null to stop notifying.
+     */
+    public void setDirtyResourceListener(DirtyResourceListener dirtyResourceListener) {
+        this.dirtyResourceListener = dirtyResourceListener;
+    }
+
+    /**
+     * Notifies the listener (if any) that the workout resource file is no longer up-to-date.
+     */
+    private void notifyDirtyResourceListener() {
+        modificationCount += 1;
+        if (dirtyResourceListener != null) {
+            dirtyResourceListener.markResourceDirty(FileManager.NAME_WORKOUT_FILE);
+        }
+    }
+
+    /**
+     * Sets the listener that is notified of every change made to this list.
+     *
+     * @param changeListener The listener to notify, or null to stop notifying.
+     */
+    public void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Notifies the listener (if any) of a change made to this list.
+     *
+     * @param change The change that has been made.
+     */
+    private void recordChange(Change change) {
+        if (changeListener != null) {
+            changeListener.recordChange(change);
+        }
+    }
+
+    /**
+     * Gets the ArrayList of keys of Workout objects, in the order that they are shown in 'workout /list'.
+     * The keys are built from the workouts when this method is called, so the returned ArrayList is not
+     * updated when the list of workouts is modified, and every call takes O(n) time for n workouts. To get the
+     * number of workouts or a single workout, use getNumberOfWorkouts() or getWorkoutFromIndexNum() instead.
+     *
+     * @return An unmodifiable List of keys of Workout objects.
+     */
+    public List<String> getWorkoutsDisplayList() {
+        ArrayList<String> workoutsDisplayList = new ArrayList<>(workoutsIdDisplayList.size());
+        for (int workoutId : workoutsIdDisplayList) {
+            workoutsDisplayList.add(workoutsIdHashMapList.get(workoutId).toString());
+        }
+        return Collections.unmodifiableList(workoutsDisplayList);
+    }
+
+    /**
+     * Gets the number of workouts in the list of workouts.
+     *
+     * @return The number of workouts.
+     */
+    public int getNumberOfWorkouts() {
+        return workoutsIdDisplayList.size();
+    }
+
+    /**
+     * Gets the HashMap of Workout objects. The HashMap is only used within this class, as modifying it
+     * directly would leave the other lists and indexes of workouts out of sync with it.
      *
      * @return A HashMap of Workout objects.
      */
-    public HashMap<String, Workout> getWorkoutsHashMapList() {
+    private HashMap<String, Workout> getWorkoutsHashMapList() {
         return this.workoutsHashMapList;
     }
 
@@ -61,35 +154,140 @@ public class WorkoutList {
     }
 
     /**
-     * Retrieves the Workout object from the HashMap workoutsHashMapList based on the index number
-     * of the object stored in workoutsDisplayList. This index number is the number shown in
+     * Gets the Workout object based on its workout id. Workout ids are stable for as long as the workout
+     * exists, unlike its key (which changes when its repetitions are updated) and its index number.
+     *
+     * @param workoutId The workout id of the desired Workout object.
+     * @return The Workout object with the given workout id, or null if there is no such workout.
+     */
+    public Workout getWorkoutFromId(int workoutId) {
+        return workoutsIdHashMapList.get(workoutId);
+    }
+
+    /**
+     * Assigns the given workout id to a Workout object that has not been added to the lists yet. This is used
+     * when loading a workout whose id has been saved in the workout resource file.
+     *
+     * @param workout   The Workout object to assign the workout id to.
+     * @param workoutId The workout id to assign.
+     * @throws InvalidWorkoutException If the workout id is not a positive number, or is already in use.
+     */
+    public void assignWorkoutId(Workout workout, int workoutId) throws InvalidWorkoutException {
+        boolean isWorkoutIdValid = (workoutId > Workout.WORKOUT_ID_UNASSIGNED)
+                && !workoutsIdHashMapList.containsKey(workoutId);
+        if (!isWorkoutIdValid) {
+            logger.log(Level.WARNING, "Workout id is invalid or already in use.");
+            String className = this.getClass().getSimpleName();
+            throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ID_ERROR_MSG);
+        }
+        workout.setWorkoutId(workoutId);
+    }
+
+    /**
+     * Retrieves the Workout object from the HashMap workoutsIdHashMapList based on the index number
+     * of its workout id stored in workoutsIdDisplayList. This index number is the number shown in
      * 'workout /list'.
      *
      * @param indexNum The index number of the workout as shown in 'workout /list'.
      * @return The Workout object that corresponds to the index number.
      */
     public Workout getWorkoutFromIndexNum(int indexNum) {
-        int elementNum = indexNum - 1;
-        assert (elementNum >= 0);
-        String keyValue = getWorkoutsDisplayList().get(elementNum);
-        Workout workoutObject = workoutsHashMapList.get(keyValue);
+        assert (indexNum > 0);
+        int workoutId = workoutsIdDisplayList.get(indexNum);
+        Workout workoutObject = workoutsIdHashMapList.get(workoutId);
         return workoutObject;
     }
 
     /**
-     * Retrieves the index number of a workout based on its position in the workoutsDisplayList
-     * ArrayList.
+     * Finds the workouts whose exercise names contain the given keyword, regardless of case. The trigram
+     * index (or the token index, for keywords shorter than 3 characters) narrows down the workouts to check.
+     *
+     * @param keyword The keyword to search for.
+     * @return An ArrayList of the matching Workout objects, in the order that they are shown in 'workout /list'.
+     */
+    public ArrayList<Workout> findWorkoutsByExerciseName(String keyword) {
+        String foldedKeyword = keyword.toLowerCase();
+        Set<Integer> candidateIds = exerciseNameTrigramIndex.findCandidates(keyword);
+        if (candidateIds == null) {
+            candidateIds = exerciseNameTokenIndex.findCandidates(keyword);
+        }
+        ArrayList<Workout> matchingWorkouts = new ArrayList<>();
+        if (candidateIds == null) {
+            candidateIds = workoutsIdHashMapList.keySet();
+        }
+        for (int workoutId : workoutsIdDisplayList.sortByIndexNum(candidateIds)) {
+            Workout workout = workoutsIdHashMapList.get(workoutId);
+            if (workout.getExerciseName().toLowerCase().contains(foldedKeyword)) {
+                matchingWorkouts.add(workout);
+            }
+        }
+        return matchingWorkouts;
+    }
+
+    /**
+     * Finds the workouts with the given number of repetitions.
+     *
+     * @param repetitions The number of repetitions to search for.
+     * @return An ArrayList of the matching Workout objects, in the order that they are shown in 'workout /list'.
+     */
+    public ArrayList<Workout> findWorkoutsByRepetitions(int repetitions) {
+        return findWorkoutsByRepetitions(repetitions, repetitions, "");
+    }
+
+    /**
+     * Finds the workouts whose numbers of repetitions are within the given range and whose exercise names
+     * contain the given keyword, regardless of case. The repetitions are sorted, so only the workouts within
+     * the range are gone through.
+     *
+     * @param minRepetitions The least number of repetitions to search for.
+     * @param maxRepetitions The greatest number of repetitions to search for.
+     * @param keyword        The keyword to search for, which is empty to search for workouts of any exercise.
+     * @return An ArrayList of the matching Workout objects, in the order that they are shown in 'workout /list'.
+     */
+    public ArrayList<Workout> findWorkoutsByRepetitions(int minRepetitions, int maxRepetitions, String keyword) {
+        ArrayList<Workout> matchingWorkouts = new ArrayList<>();
+        if (minRepetitions > maxRepetitions) {
+            return matchingWorkouts;
+        }
+        String foldedKeyword = keyword.toLowerCase();
+        ArrayList<Integer> workoutIdsWithinRange = new ArrayList<>();
+        for (HashSet<Integer> workoutIds : workoutsWithRepetitionsTreeMapList
+                .subMap(minRepetitions, true, maxRepetitions, true).values()) {
+            workoutIdsWithinRange.addAll(workoutIds);
+        }
+        for (int workoutId : workoutsIdDisplayList.sortByIndexNum(workoutIdsWithinRange)) {
+            Workout workout = workoutsIdHashMapList.get(workoutId);
+            if (workout.getExerciseName().toLowerCase().contains(foldedKeyword)) {
+                matchingWorkouts.add(workout);
+            }
+        }
+        return matchingWorkouts;
+    }
+
+    /**
+     * Retrieves the index number of a workout based on the position of its workout id in the
+     * workoutsIdDisplayList.
+     *
+     * @param workout The Workout object whose index number this method has to find.
+     * @return The index number of the workout as shown in 'workout /list', or 0 if the workout is not
+     *         in the list of workouts.
+     */
+    public int getIndexNumFromWorkout(Workout workout) {
+        return workoutsIdDisplayList.getIndexNum(workout.getWorkoutId());
+    }
+
+    /**
+     * Retrieves the index number of a workout based on the position of its workout id in the
+     * workoutsIdDisplayList. The workout name is matched regardless of case.
      *
      * @param workoutName The name of the workout whose index number this method has to find.
-     * @return An integer representing the index number the workout is listed in the workoutDisplayList
-     *         ArrayList.
-     * @throws InvalidWorkoutException If the given workout name was not found in workoutsDisplayList.
+     * @return An integer representing the index number the workout is listed in the workoutsIdDisplayList.
+     * @throws InvalidWorkoutException If the given workout name was not found in workoutsIdDisplayList.
      */
     public int getIndexNumFromWorkoutName(String workoutName) throws InvalidWorkoutException {
-        for (int i = 0; i < getWorkoutsDisplayList().size(); i += 1) {
-            if (getWorkoutsDisplayList().get(i).equalsIgnoreCase(workoutName)) {
-                return (i + 1);
-            }
+        Integer workoutId = workoutsFoldedKeyHashMapList.get(workoutName.toLowerCase());
+        if (workoutId != null) {
+            return workoutsIdDisplayList.getIndexNum(workoutId);
         }
 
         String className = this.getClass().getSimpleName();
@@ -98,30 +296,23 @@ public class WorkoutList {
 
     /**
      * Updates an existing Workout object in workoutsHashMapList's with a new key. This should be called when
-     * a workout's repetition count has been updated. Once the Workout object has been reassigned to the new
-     * key, the former key will be removed. The ArrayList workoutsDisplayList will also be updated with the
-     * new key.
+     * a workout has been replaced by a copy with an updated repetition count. Once the Workout object has been
+     * assigned to the new key, the former key will be removed. The workout keeps its workout id, so its position in
+     * workoutsIdDisplayList does not change.
      *
      * @param existingKey    The existing key that maps to the updated Workout object.
      * @param updatedWorkout The Workout object that has been updated.
      */
     public void updateWorkoutsHashMapList(String existingKey, Workout updatedWorkout) {
-        // Update key-value in workoutHashMapList
         String newKey = updatedWorkout.toString();
-        getWorkoutsHashMapList().put(newKey, updatedWorkout);
         getWorkoutsHashMapList().remove(existingKey);
+        getWorkoutsHashMapList().put(newKey, updatedWorkout);
+        workoutsFoldedKeyHashMapList.remove(existingKey.toLowerCase());
+        workoutsFoldedKeyHashMapList.put(newKey.toLowerCase(), updatedWorkout.getWorkoutId());
 
-        // Update key in workoutsDisplayList
-        for (int i = 0; i < getWorkoutsDisplayList().size(); i += 1) {
-            String key = getWorkoutsDisplayList().get(i);
-            if (key.equals(existingKey)) {
-                getWorkoutsDisplayList().set(i, newKey);
-                break;
-            }
-        }
-
-        assert (!getWorkoutsDisplayList().contains(existingKey)) : "Old key should no longer "
-                + "exist in workoutsDisplayList.";
+        assert (workoutsIdHashMapList.get(updatedWorkout.getWorkoutId()) == updatedWorkout) : "Updated workout "
+                + "should still be stored by its workout id.";
+        notifyDirtyResourceListener();
     }
 
     /**
@@ -168,25 +359,215 @@ public class WorkoutList {
 
         assert (isExerciseValid && isRepsValueValid && !hasSameExerciseNameAndReps);
 
-        Workout newWorkout = new Workout(userExerciseInput, userRepsInput);
+        String canonicalExerciseName = exerciseList.getCanonicalExerciseName(userExerciseInput);
+        Workout newWorkout = new Workout(canonicalExerciseName, userRepsInput);
         logger.log(Level.INFO, "New workout created.");
 
         return newWorkout;
     }
 
     /**
-     * Adds a newly created workout object to workoutsDisplayList and workoutsHashMapList.
+     * Parses the given user argument as a batch of new workouts separated by ';', e.g.
+     * "push up /reps 10; sit up /reps 20". Every workout in the batch is validated in the same way as
+     * createNewWorkout() before any of them is added to the lists, so either all of the workouts are created
+     * or none of them is. A workout that appears more than once in the batch is treated as a duplicate.
+     *
+     * @param userArgument The user's details for the new workouts, each including the exercise name and
+     *                     number of repetitions.
+     * @return An ArrayList of the Workout objects that represent the new workouts, in the order given.
+     * @throws ArrayIndexOutOfBoundsException If a workout in userArgument contains insufficient arguments and
+     *                                        parsing fails.
+     * @throws NumberFormatException          If the number of repetitions of a workout in userArgument is an
+     *                                        invalid number.
+     * @throws InvalidExerciseException       If the exercise name of a workout in userArgument is invalid.
+     * @throws InvalidWorkoutException        If the details of a workout in userArgument are invalid, or the
+     *                                        same workout is given more than once.
+     */
+    public ArrayList<Workout> createNewWorkouts(String userArgument) throws ArrayIndexOutOfBoundsException,
+            NumberFormatException, InvalidExerciseException, InvalidWorkoutException {
+        String[] workoutEntries = userArgument.split(WorkoutCommand.BATCH_ENTRY_DELIMITER);
+        ArrayList<Workout> newWorkouts = new ArrayList<>(workoutEntries.length);
+        HashSet<Workout> newWorkoutsInBatch = new HashSet<>();
+        for (String workoutEntry : workoutEntries) {
+            Workout newWorkout = createNewWorkout(workoutEntry);
+            if (!newWorkoutsInBatch.add(newWorkout)) {
+                logger.log(Level.WARNING, "Identical workout given more than once in the batch of new workouts.");
+                String className = this.getClass().getSimpleName();
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.DUPLICATE_WORKOUT_ERROR_MSG);
+            }
+            newWorkouts.add(newWorkout);
+        }
+        return newWorkouts;
+    }
+
+    /**
+     * Adds a batch of newly created workout objects to the lists, in the order given.
+     *
+     * @param newWorkouts The new Workout objects to be added.
+     */
+    public void addNewWorkoutsToLists(ArrayList<Workout> newWorkouts) {
+        ArrayList<Integer> newIndexNums = new ArrayList<>(newWorkouts.size());
+        for (Workout newWorkout : newWorkouts) {
+            addWorkoutToLists(newWorkout);
+            newIndexNums.add(getNumberOfWorkouts());
+        }
+        recordChange(new WorkoutsChange(this, true, newIndexNums, new ArrayList<>(newWorkouts)));
+    }
+
+    /**
+     * Adds a newly created workout object to workoutsIdHashMapList, workoutsIdDisplayList and
+     * workoutsHashMapList. If the workout does not have a workout id yet, the next unused workout id
+     * is assigned to it.
      *
      * @param newWorkout The new Workout object to be added to the two data structures mentioned in the method
      *                   description.
      */
     public void addNewWorkoutToLists(Workout newWorkout) {
-        String newWorkoutKey = newWorkout.toString();
-        workoutsHashMapList.put(newWorkoutKey, newWorkout);
-        workoutsDisplayList.add(newWorkoutKey);
+        addWorkoutToLists(newWorkout);
+        ArrayList<Integer> newIndexNums = new ArrayList<>();
+        newIndexNums.add(getNumberOfWorkouts());
+        ArrayList<Workout> newWorkouts = new ArrayList<>();
+        newWorkouts.add(newWorkout);
+        recordChange(new WorkoutsChange(this, true, newIndexNums, newWorkouts));
+    }
+
+    private void addWorkoutToLists(Workout newWorkout) {
+        assignNextWorkoutIdIfUnassigned(newWorkout);
+        workoutsIdHashMapList.put(newWorkout.getWorkoutId(), newWorkout);
+        workoutsIdDisplayList.add(newWorkout.getWorkoutId());
+        addWorkoutToKeyHashMapLists(newWorkout);
+        notifyDirtyResourceListener();
         logger.log(Level.INFO, "New workout added to lists in WorkoutList.");
     }
 
+    private void assignNextWorkoutIdIfUnassigned(Workout workout) {
+        if (!workout.hasWorkoutId()) {
+            workout.setWorkoutId(nextWorkoutId);
+        }
+        nextWorkoutId = Math.max(nextWorkoutId, workout.getWorkoutId() + 1);
+    }
+
+    private void addWorkoutToKeyHashMapLists(Workout workout) {
+        String workoutKey = workout.toString();
+        workoutsHashMapList.put(workoutKey, workout);
+        workoutsFoldedKeyHashMapList.put(workoutKey.toLowerCase(), workout.getWorkoutId());
+        exerciseNameTokenIndex.add(workout.getWorkoutId(), workout.getExerciseName());
+        exerciseNameTrigramIndex.add(workout.getWorkoutId(), workout.getExerciseName());
+        addWorkoutToRepetitionsIndex(workout);
+    }
+
+    /**
+     * Adds the workout id of a workout to the set of workouts with its number of repetitions.
+     *
+     * @param workout The Workout object to add.
+     */
+    private void addWorkoutToRepetitionsIndex(Workout workout) {
+        workoutsWithRepetitionsTreeMapList.computeIfAbsent(workout.getRepetitions(), reps -> new HashSet<>())
+                .add(workout.getWorkoutId());
+    }
+
+    /**
+     * Removes the workout id of a workout from the set of workouts with its number of repetitions.
+     *
+     * @param workout The Workout object to remove.
+     */
+    private void removeWorkoutFromRepetitionsIndex(Workout workout) {
+        HashSet<Integer> workoutIds = workoutsWithRepetitionsTreeMapList.get(workout.getRepetitions());
+        if (workoutIds == null) {
+            return;
+        }
+        workoutIds.remove(workout.getWorkoutId());
+        if (workoutIds.isEmpty()) {
+            workoutsWithRepetitionsTreeMapList.remove(workout.getRepetitions());
+        }
+    }
+
+    /**
+     * Inserts workouts into the lists at the given index numbers, e.g. to restore workouts that have been
+     * deleted. Unlike addNewWorkoutToLists(), the workouts do not have to be added to the end of the list.
+     *
+     * @param indexNums The index numbers that the workouts will have once they have all been inserted, in
+     *                  ascending order.
+     * @param workouts  The Workout objects to insert. A workout without a workout id is assigned the next
+     *                  unused workout id.
+     * @throws InvalidWorkoutException If an index number is out of range or out of order, or a workout with
+     *                                 the same key is already in the list. No workout is inserted in this case.
+     */
+    public void insertWorkoutsAt(ArrayList<Integer> indexNums, ArrayList<Workout> workouts)
+            throws InvalidWorkoutException {
+        String className = this.getClass().getSimpleName();
+        int previousIndexNum = 0;
+        for (int i = 0; i < workouts.size(); i += 1) {
+            int indexNum = indexNums.get(i);
+            if (indexNum <= previousIndexNum || indexNum > getNumberOfWorkouts() + workouts.size()) {
+                logger.log(Level.WARNING, "Workout number to insert at is out of range!");
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.INDEX_VALUE_OUT_OF_RANGE);
+            }
+            if (getWorkoutsHashMapList().containsKey(workouts.get(i).toString())) {
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.DUPLICATE_WORKOUT_ERROR_MSG);
+            }
+            previousIndexNum = indexNum;
+        }
+
+        restoreWorkouts(indexNums, workouts);
+    }
+
+    /**
+     * Inserts workouts into the lists at the given index numbers, which must have been checked already.
+     *
+     * @param indexNums The index numbers that the workouts will have once they have all been inserted, in
+     *                  ascending order.
+     * @param workouts  The Workout objects to insert.
+     */
+    void restoreWorkouts(ArrayList<Integer> indexNums, ArrayList<Workout> workouts) {
+        ArrayList<Integer> workoutIds = new ArrayList<>(workouts.size());
+        for (Workout workout : workouts) {
+            assignNextWorkoutIdIfUnassigned(workout);
+            workoutIds.add(workout.getWorkoutId());
+        }
+        workoutsIdDisplayList.insertAll(indexNums, workoutIds);
+        for (Workout workout : workouts) {
+            workoutsIdHashMapList.put(workout.getWorkoutId(), workout);
+            addWorkoutToKeyHashMapLists(workout);
+        }
+        notifyDirtyResourceListener();
+        recordChange(new WorkoutsChange(this, true, new ArrayList<>(indexNums), new ArrayList<>(workouts)));
+    }
+
+    /**
+     * Removes the workouts at the given index numbers from the lists, without checking the index numbers.
+     *
+     * @param indexNums The index numbers of the workouts to remove, which must be within the range of the
+     *                  current workout list.
+     * @return An ArrayList of the removed Workout objects, in ascending order of their former index numbers.
+     */
+    ArrayList<Workout> removeWorkouts(ArrayList<Integer> indexNums) {
+        ArrayList<Workout> removedWorkouts = new ArrayList<>(indexNums.size());
+        for (int removedWorkoutId : workoutsIdDisplayList.removeAll(indexNums)) {
+            removedWorkouts.add(removeWorkoutFromLists(removedWorkoutId));
+        }
+        notifyDirtyResourceListener();
+        ArrayList<Integer> sortedIndexNums = new ArrayList<>(new TreeSet<>(indexNums));
+        recordChange(new WorkoutsChange(this, false, sortedIndexNums, new ArrayList<>(removedWorkouts)));
+        return removedWorkouts;
+    }
+
+    /**
+     * Replaces a workout in the lists with a Workout object that has the same workout id, e.g. a copy of the
+     * workout with a different number of repetitions.
+     *
+     * @param existingWorkout    The Workout object that is in the lists.
+     * @param replacementWorkout The Workout object to replace it with.
+     */
+    void replaceWorkout(Workout existingWorkout, Workout replacementWorkout) {
+        assert (existingWorkout.getWorkoutId() == replacementWorkout.getWorkoutId()) : "Replacement workout "
+                + "should have the same workout id.";
+        workoutsIdHashMapList.put(replacementWorkout.getWorkoutId(), replacementWorkout);
+        removeWorkoutFromRepetitionsIndex(existingWorkout);
+        addWorkoutToRepetitionsIndex(replacementWorkout);
+        updateWorkoutsHashMapList(existingWorkout.toString(), replacementWorkout);
+        recordChange(new WorkoutReplacedChange(this, existingWorkout, replacementWorkout));
+    }
 
     /**
      * Checks if the number of repetitions specified is a value that is at least 1.
@@ -201,16 +582,19 @@ public class WorkoutList {
 
     /**
      * Prints all workouts stored in workout list at once.
+     * The workouts are read from a ModelSnapshot (see ModelSnapshot#getWorkouts()), rather than from this list.
+     *
+     * @param workouts The workouts to print, in the order that they are shown in 'workout /list'.
      */
-    public void listAllWorkout() {
+    public void listAllWorkout(List<Workout> workouts) {
         int index = 1;
-        if (workoutsDisplayList.size() <= 0) {
+        if (workouts.size() <= 0) {
             System.out.println("The workout list is empty");
         } else {
-            System.out.println("Showing workouts " + (index) + "-" + workoutsDisplayList.size()
-                    + " of " + workoutsDisplayList.size() + ":");
-            while (index <= workoutsDisplayList.size()) {
-                Workout workoutObject = getWorkoutFromIndexNum(index);
+            System.out.println("Showing workouts " + (index) + "-" + workouts.size()
+                    + " of " + workouts.size() + ":");
+            while (index <= workouts.size()) {
+                Workout workoutObject = workouts.get(index - 1);
                 System.out.println(index + ". " + workoutObject.toString());
                 index += 1;
             }
@@ -242,16 +626,96 @@ public class WorkoutList {
             throw new InvalidWorkoutException(className, InvalidWorkoutException.INDEX_VALUE_OUT_OF_RANGE);
         }
 
-        assert (indexToDelete > 0) && (indexToDelete <= workoutsDisplayList.size());
-        Workout deletedWorkout = getWorkoutFromIndexNum(indexToDelete);
-        workoutsDisplayList.remove(indexToDelete - 1);
-        String deletedWorkoutKey = deletedWorkout.toString();
-        getWorkoutsHashMapList().remove(deletedWorkoutKey);
+        assert (indexToDelete > 0) && (indexToDelete <= getNumberOfWorkouts());
+        ArrayList<Integer> indexNumsToDelete = new ArrayList<>();
+        indexNumsToDelete.add(indexToDelete);
+        Workout deletedWorkout = removeWorkouts(indexNumsToDelete).get(0);
 
         logger.exiting(getClass().getName(), "deleteWorkout");
         return deletedWorkout;
     }
 
+    /**
+     * Removes the workouts at the index numbers given by the user, e.g. "3,7,12-40". The index numbers
+     * refer to the workouts as shown in 'workout /list' before any of them is deleted. All index numbers
+     * are checked before any workout is deleted, and the workout ids are then removed from
+     * workoutsIdDisplayList in a single pass.
+     *
+     * @param userArgument The argument entered by user, that is, the index numbers and ranges of index
+     *                     numbers of the workouts to delete, separated by ','.
+     * @return An ArrayList of the deleted Workout objects, in ascending order of their former index numbers.
+     * @throws NumberFormatException   If an index number could not be parsed into an integer.
+     * @throws InvalidWorkoutException If an index number is out of range. No workout is deleted in this case.
+     */
+    public ArrayList<Workout> deleteWorkouts(String userArgument) throws InvalidWorkoutException,
+            NumberFormatException {
+        logger.entering(getClass().getName(), "deleteWorkouts");
+        ArrayList<Integer> indexNumsToDelete = parseIndexNums(userArgument);
+        ArrayList<Workout> deletedWorkouts = removeWorkouts(indexNumsToDelete);
+
+        logger.exiting(getClass().getName(), "deleteWorkouts");
+        return deletedWorkouts;
+    }
+
+    /**
+     * Parses a list of index numbers and ranges of index numbers separated by ',', e.g. "3,7,12-40", and
+     * checks that every index number is within the range of the current workout list. A range is only
+     * expanded after both of its ends have been checked.
+     *
+     * @param userArgument The index numbers and ranges of index numbers to parse.
+     * @return An ArrayList of the index numbers, which may contain repeated index numbers.
+     * @throws NumberFormatException   If an index number could not be parsed into an integer.
+     * @throws InvalidWorkoutException If an index number is out of range, or a range ends before it starts.
+     */
+    private ArrayList<Integer> parseIndexNums(String userArgument) throws InvalidWorkoutException,
+            NumberFormatException {
+        String className = this.getClass().getSimpleName();
+        ArrayList<Integer> indexNums = new ArrayList<>();
+        for (String indexNumEntry : userArgument.split(WorkoutCommand.BATCH_INDEX_DELIMITER)) {
+            String trimmedEntry = indexNumEntry.trim();
+            // A leading '-' is the sign of a (negative) index number rather than a range delimiter
+            int rangeDelimiterPosition = trimmedEntry.indexOf(WorkoutCommand.BATCH_INDEX_RANGE_DELIMITER, 1);
+            int firstIndexNum;
+            int lastIndexNum;
+            if (rangeDelimiterPosition < 0) {
+                firstIndexNum = Integer.parseInt(trimmedEntry);
+                lastIndexNum = firstIndexNum;
+            } else {
+                firstIndexNum = Integer.parseInt(trimmedEntry.substring(0, rangeDelimiterPosition).trim());
+                lastIndexNum = Integer.parseInt(trimmedEntry.substring(rangeDelimiterPosition + 1).trim());
+            }
+
+            boolean isRangeValid = checkIndexIsWithinRange(firstIndexNum) && checkIndexIsWithinRange(lastIndexNum)
+                    && firstIndexNum <= lastIndexNum;
+            if (!isRangeValid) {
+                logger.log(Level.WARNING, "Workout number to delete is out of range!");
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.INDEX_VALUE_OUT_OF_RANGE);
+            }
+            for (int indexNum = firstIndexNum; indexNum <= lastIndexNum; indexNum += 1) {
+                indexNums.add(indexNum);
+            }
+        }
+        return indexNums;
+    }
+
+    /**
+     * Removes a workout whose workout id has already been removed from workoutsIdDisplayList from the other
+     * lists of workouts.
+     *
+     * @param deletedWorkoutId The workout id of the deleted workout.
+     * @return The deleted Workout object.
+     */
+    private Workout removeWorkoutFromLists(int deletedWorkoutId) {
+        Workout deletedWorkout = workoutsIdHashMapList.remove(deletedWorkoutId);
+        String deletedWorkoutKey = deletedWorkout.toString();
+        getWorkoutsHashMapList().remove(deletedWorkoutKey);
+        workoutsFoldedKeyHashMapList.remove(deletedWorkoutKey.toLowerCase());
+        exerciseNameTokenIndex.remove(deletedWorkoutId, deletedWorkout.getExerciseName());
+        exerciseNameTrigramIndex.remove(deletedWorkoutId, deletedWorkout.getExerciseName());
+        removeWorkoutFromRepetitionsIndex(deletedWorkout);
+        return deletedWorkout;
+    }
+
     /**
      * This method checks whether the index supplied for operations
      * such as delete and update is within the range of the current workout list.
@@ -260,18 +724,20 @@ public class WorkoutList {
      * @return true if index is within range, else false if out of range.
      */
     private boolean checkIndexIsWithinRange(int index) {
-        return index > 0 && index <= workoutsDisplayList.size();
+        return index > 0 && index <= getNumberOfWorkouts();
     }
     //@@author
 
     /**
      * Updates the number of repetitions of an existing workout.
      * Modifies the workout by stating the index of the workout and
-     * new number of repetitions.
+     * new number of repetitions. As Workout objects are immutable, the existing workout is replaced by
+     * a new Workout object with the same workout id, and the plans that contain it still refer to the
+     * existing workout until they are updated.
      *
      * @param userArgument The argument entered by user, which includes index of workout to update
      *                     and new number of repetitions.
-     * @return updatedWorkout The workout object which has been updated.
+     * @return updatedWorkout The new workout object which has replaced the existing workout.
      * @throws ArrayIndexOutOfBoundsException For operations which involves index checking.
      * @throws NumberFormatException          If workout index and number of reps could not be parsed into an integer.
      * @throws InvalidWorkoutException        If number of repetition is not valid or workout number to update
@@ -299,8 +765,8 @@ public class WorkoutList {
             throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_REPS_VALUE_ERROR_MSG);
         }
 
-        Workout updatedWorkout = getWorkoutFromIndexNum(indexToUpdate);
-        String exerciseName = updatedWorkout.getExerciseName();
+        Workout existingWorkout = getWorkoutFromIndexNum(indexToUpdate);
+        String exerciseName = existingWorkout.getExerciseName();
         boolean isExistingWorkout = checkForExistingWorkout(exerciseName, newRepsValue);
 
         if (isExistingWorkout) {
@@ -310,9 +776,8 @@ public class WorkoutList {
         }
 
         assert (isIndexToUpdateValid && isNewRepsValueValid && !isExistingWorkout);
-        String oldWorkoutKey = updatedWorkout.toString();
-        updatedWorkout.setRepetitions(newRepsValue);
-        updateWorkoutsHashMapList(oldWorkoutKey, updatedWorkout);
+        Workout updatedWorkout = existingWorkout.withRepetitions(newRepsValue);
+        replaceWorkout(existingWorkout, updatedWorkout);
         logger.exiting(getClass().getName(), "updateWorkout");
         return updatedWorkout;
     }
@@ -320,7 +785,8 @@ public class WorkoutList {
     /**
      * Checks if the provided workout details already exists in the ArrayList of workouts. A workout
      * is considered to already exist in the list if both the exercise name and repetition count matches
-     * an existing workout in the ArrayList.
+     * an existing workout in the ArrayList. As the key of a workout is made up of its exercise name and
+     * repetition count, this is a single lookup in workoutsHashMapList.
      *
      * @param exerciseName    The name of the exercise to check.
      * @param repetitionCount The number of repetitions of the exercise to check.
@@ -328,15 +794,10 @@ public class WorkoutList {
      *         Otherwise, returns false.
      */
     public boolean checkForExistingWorkout(String exerciseName, int repetitionCount) {
-        for (String existingWorkoutKey : getWorkoutsDisplayList()) {
-            Workout existingWorkout = getWorkoutsHashMapList().get(existingWorkoutKey);
-            boolean hasSameExerciseName = existingWorkout.getExerciseName().equals(exerciseName);
-            boolean hasSameRepsCount = (existingWorkout.getRepetitions() == repetitionCount);
-
-            if (hasSameExerciseName && hasSameRepsCount) {
-                logger.log(Level.INFO, "Existing workout found in the list.");
-                return true;
-            }
+        String workoutKey = Workout.getWorkoutKey(exerciseName, repetitionCount);
+        if (getWorkoutsHashMapList().containsKey(workoutKey)) {
+            logger.log(Level.INFO, "Existing workout found in the list.");
+            return true;
         }
 
         return false;
@@ -362,7 +823,7 @@ public class WorkoutList {
             throw new InvalidWorkoutException(className, InvalidWorkoutException.INDEX_VALUE_OUT_OF_RANGE);
         }
 
-        String currentWorkout = workoutsDisplayList.get(indexToUpdate - 1);
+        String currentWorkout = getWorkoutFromIndexNum(indexToUpdate).toString();
         return currentWorkout;
     }
 }
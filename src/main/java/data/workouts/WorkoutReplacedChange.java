@@ -0,0 +1,56 @@
+package data.workouts;
+
+import data.history.Change;
+import storage.FileManager;
+import storage.OperationJournal;
+
+import java.io.IOException;
+
+/**
+ * This class represents a workout in the list of workouts that has been replaced by a command with a new
+ * Workout object with the same workout id (i.e. the workout has been updated).
+ */
+class WorkoutReplacedChange implements Change {
+    private WorkoutList workoutList;
+    private Workout oldWorkout;
+    private Workout newWorkout;
+
+    WorkoutReplacedChange(WorkoutList workoutList, Workout oldWorkout, Workout newWorkout) {
+        this.workoutList = workoutList;
+        this.oldWorkout = oldWorkout;
+        this.newWorkout = newWorkout;
+    }
+
+    @Override
+    public void revert() {
+        workoutList.replaceWorkout(newWorkout, oldWorkout);
+    }
+
+    @Override
+    public void reapply() {
+        workoutList.replaceWorkout(oldWorkout, newWorkout);
+    }
+
+    @Override
+    public String getResourceFileName() {
+        return FileManager.NAME_WORKOUT_FILE;
+    }
+
+    @Override
+    public void appendToJournal(OperationJournal journal, boolean isReverted) throws IOException {
+        if (isReverted) {
+            journal.appendWorkoutUpdated(newWorkout.toString(), oldWorkout);
+        } else {
+            journal.appendWorkoutUpdated(oldWorkout.toString(), newWorkout);
+        }
+    }
+
+    @Override
+    public boolean updateResourceFile(FileManager fileManager, boolean isReverted) throws IOException {
+        Workout replacedWorkout = isReverted ? newWorkout : oldWorkout;
+        Workout workoutInList = isReverted ? oldWorkout : newWorkout;
+        boolean isLastWorkout = (workoutList.getWorkoutFromIndexNum(workoutList.getNumberOfWorkouts())
+                == workoutInList);
+        return fileManager.replaceWorkoutInFile(replacedWorkout, workoutInList, isLastWorkout);
+    }
+}
@@ -0,0 +1,88 @@
+package data.workouts;
+
+import data.history.Change;
+import storage.FileManager;
+import storage.OperationJournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This class represents workouts that have been added to, or removed from, the list of workouts by a
+ * command, together with their index numbers.
+ */
+class WorkoutsChange implements Change {
+    private WorkoutList workoutList;
+    private boolean isAddition;
+    // The index numbers of the workouts while they are in the list of workouts, in ascending order
+    private ArrayList<Integer> indexNums;
+    private ArrayList<Workout> workouts;
+
+    /**
+     * Constructs a WorkoutsChange.
+     *
+     * @param workoutList The list of workouts that has been changed.
+     * @param isAddition  True if the workouts have been added to the list, or false if they have been removed.
+     * @param indexNums   The index numbers of the workouts while they are in the list, in ascending order.
+     * @param workouts    The Workout objects that have been added or removed, in the same order.
+     */
+    WorkoutsChange(WorkoutList workoutList, boolean isAddition, ArrayList<Integer> indexNums,
+            ArrayList<Workout> workouts) {
+        this.workoutList = workoutList;
+        this.isAddition = isAddition;
+        this.indexNums = indexNums;
+        this.workouts = workouts;
+    }
+
+    @Override
+    public void revert() {
+        applyChange(!isAddition);
+    }
+
+    @Override
+    public void reapply() {
+        applyChange(isAddition);
+    }
+
+    private void applyChange(boolean isWorkoutsInserted) {
+        if (isWorkoutsInserted) {
+            workoutList.restoreWorkouts(indexNums, workouts);
+        } else {
+            workoutList.removeWorkouts(indexNums);
+        }
+    }
+
+    @Override
+    public String getResourceFileName() {
+        return FileManager.NAME_WORKOUT_FILE;
+    }
+
+    @Override
+    public void appendToJournal(OperationJournal journal, boolean isReverted) throws IOException {
+        boolean isWorkoutsInList = (isAddition != isReverted);
+        if (isWorkoutsInList) {
+            journal.appendWorkoutsRestored(indexNums, workouts);
+        } else {
+            journal.appendWorkoutsDeleted(workouts, new ArrayList<>());
+        }
+    }
+
+    @Override
+    public boolean updateResourceFile(FileManager fileManager, boolean isReverted) throws IOException {
+        if (workouts.isEmpty()) {
+            return false;
+        }
+        boolean isWorkoutsInList = (isAddition != isReverted);
+        if (!isWorkoutsInList) {
+            // Blanking out the lines of the removed workouts leaves the other lines in the same order as the list
+            return fileManager.removeWorkoutsFromFile(workouts);
+        }
+        // The index numbers are in ascending order, so the workouts are the last ones if the first one is
+        int firstIndexNumAtEnd = workoutList.getNumberOfWorkouts() - workouts.size() + 1;
+        if (indexNums.get(0) != firstIndexNumAtEnd) {
+            return false;
+        }
+        fileManager.appendWorkoutsToFile(workouts);
+        return true;
+    }
+}
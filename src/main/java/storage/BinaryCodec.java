@@ -0,0 +1,428 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.Day;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class encodes the exercises, workouts, plans and schedule into the compact binary storage format,
+ * and decodes them back into the lists. The binary data file is laid out as follows:
+ * <pre>
+ * header:  magic number (4 bytes), format version (1 byte)
+ * section: section type (1 byte), number of records (varint), records
+ * record:  length of payload (varint), payload
+ * </pre>
+ * The exercise, workout, plan and schedule sections are written in this order. Strings are stored as a
+ * varint byte length followed by their UTF-8 bytes. A plan refers to its workouts by their ordinal in the
+ * workout section, and a day of the schedule refers to its plan by its ordinal in the plan section. The
+ * packed sets and rest interval of each workout follow the ordinals, but only in the records of plans that
+ * have any. As each record is framed by its length, a record that cannot be decoded is skipped without
+ * affecting the others.
+ */
+public class BinaryCodec {
+    public static final int MAGIC_NUMBER = 0x57524B54; // "WRKT"
+    public static final byte FORMAT_VERSION = 1;
+
+    // Section types
+    public static final byte SECTION_EXERCISES = 1;
+    public static final byte SECTION_WORKOUTS = 2;
+    public static final byte SECTION_PLANS = 3;
+    public static final byte SECTION_SCHEDULE = 4;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+
+    private FileManager fileManager;
+    private ExerciseList exerciseList;
+    private WorkoutList workoutList;
+    private PlanList planList;
+    private DayList dayList;
+
+    private static Logger logger = Logger.getLogger(BinaryCodec.class.getName());
+
+    /**
+     * Constructs a BinaryCodec object that encodes and decodes the data of the given lists.
+     *
+     * @param fileManager  An instance of the FileManager class, used to validate the decoded data.
+     * @param exerciseList An instance of the ExerciseList class.
+     * @param workoutList  An instance of the WorkoutList class.
+     * @param planList     An instance of the PlanList class.
+     * @param dayList      An instance of the DayList class.
+     */
+    public BinaryCodec(FileManager fileManager, ExerciseList exerciseList, WorkoutList workoutList,
+            PlanList planList, DayList dayList) {
+        this.fileManager = fileManager;
+        this.exerciseList = exerciseList;
+        this.workoutList = workoutList;
+        this.planList = planList;
+        this.dayList = dayList;
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Encodes the data stored in the lists into the binary storage format.
+     *
+     * @return The encoded data, including the header.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream encodedData = new ByteArrayOutputStream();
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        writeHeader(encodedData);
+
+        ArrayList<String> exercises = exerciseList.getExerciseList();
+        writeSectionStart(encodedData, SECTION_EXERCISES, exercises.size());
+        for (String exerciseName : exercises) {
+            writeString(record, exerciseName);
+            writeRecord(encodedData, record);
+        }
+
+        // Ordinals are keyed by workout id and plan id, so no display strings are built while encoding
+        HashMap<Integer, Integer> workoutOrdinals = new HashMap<>();
+        writeSectionStart(encodedData, SECTION_WORKOUTS, workoutList.getNumberOfWorkouts());
+        for (int i = 1; i <= workoutList.getNumberOfWorkouts(); i += 1) {
+            Workout workout = workoutList.getWorkoutFromIndexNum(i);
+            writeString(record, workout.getExerciseName());
+            writeVarInt(record, workout.getRepetitions());
+            writeRecord(encodedData, record);
+            workoutOrdinals.put(workout.getWorkoutId(), workoutOrdinals.size());
+        }
+
+        HashMap<Integer, Integer> planOrdinals = new HashMap<>();
+        writeSectionStart(encodedData, SECTION_PLANS, planList.getNumberOfPlans());
+        for (int i = 1; i <= planList.getNumberOfPlans(); i += 1) {
+            Plan plan = planList.getPlanFromIndexNum(i);
+            writeString(record, plan.getPlanName());
+            writeVarInt(record, plan.getNumberOfWorkouts());
+            for (int j = 0; j < plan.getNumberOfWorkouts(); j += 1) {
+                assert workoutOrdinals.containsKey(plan.getWorkoutIdAt(j)) : "Workout in plan is not in the list.";
+                writeVarInt(record, workoutOrdinals.get(plan.getWorkoutIdAt(j)));
+            }
+            for (int j = 0; !plan.hasDefaultEntryAttributes() && j < plan.getNumberOfWorkouts(); j += 1) {
+                writeVarInt(record, plan.getEntryAttributesAt(j));
+            }
+            writeRecord(encodedData, record);
+            planOrdinals.put(plan.getPlanId(), planOrdinals.size());
+        }
+
+        ArrayList<Day> scheduledDays = new ArrayList<>();
+        for (Day day : dayList.getDayList()) {
+            if (day != null) {
+                scheduledDays.add(day);
+            }
+        }
+        writeSectionStart(encodedData, SECTION_SCHEDULE, scheduledDays.size());
+        for (Day day : scheduledDays) {
+            int planId = day.getPlanForThisDay().getPlanId();
+            assert (planOrdinals.containsKey(planId)) : "Scheduled plan is not in the list.";
+            writeVarInt(record, day.getDayNumber());
+            writeVarInt(record, planOrdinals.get(planId));
+            writeRecord(encodedData, record);
+        }
+
+        return encodedData.toByteArray();
+    }
+
+    /**
+     * Decodes the given binary data and adds the decoded exercises, workouts, plans and days into the
+     * lists. Records that are invalid (e.g. a workout whose exercise does not exist) are skipped.
+     *
+     * @param encodedData The data to decode, including the header.
+     * @return Returns true if all records have been decoded successfully. Otherwise, returns false.
+     * @throws InvalidBinaryDataException If the header is invalid or the format version is unsupported.
+     */
+    public boolean decode(byte[] encodedData) throws InvalidBinaryDataException {
+        ByteBuffer buffer = ByteBuffer.wrap(encodedData);
+        readHeader(buffer);
+
+        boolean hasNoErrorsDuringDecode = true;
+        try {
+            hasNoErrorsDuringDecode &= decodeExercises(buffer);
+            ArrayList<String> workoutKeys = new ArrayList<>();
+            hasNoErrorsDuringDecode &= decodeWorkouts(buffer, workoutKeys);
+            ArrayList<String> planNames = new ArrayList<>();
+            hasNoErrorsDuringDecode &= decodePlans(buffer, workoutKeys, planNames);
+            hasNoErrorsDuringDecode &= decodeSchedule(buffer, planNames);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // The file is truncated, so the remaining records cannot be located
+            System.out.println("File data error: the binary data file ends unexpectedly.");
+            logger.log(Level.WARNING, "Binary data file is truncated.");
+            hasNoErrorsDuringDecode = false;
+        }
+
+        return hasNoErrorsDuringDecode;
+    }
+
+    /**
+     * Decodes the exercise section. Exercises that are not already in the list of exercises are added to it.
+     */
+    private boolean decodeExercises(ByteBuffer buffer) throws InvalidBinaryDataException {
+        boolean hasNoErrorsDuringDecode = true;
+        int numberOfRecords = readSectionStart(buffer, SECTION_EXERCISES);
+        for (int i = 0; i < numberOfRecords; i += 1) {
+            ByteBuffer record = readRecord(buffer);
+            try {
+                String exerciseName = readString(record).toLowerCase();
+                if (!exerciseList.checkIfExerciseExists(exerciseName)) {
+                    exerciseList.addExerciseToList(exerciseName);
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.out.println("File data error: insufficient parameters in exercise data.");
+                hasNoErrorsDuringDecode = false;
+            }
+        }
+        return hasNoErrorsDuringDecode;
+    }
+
+    /**
+     * Decodes the workout section. The key of each decoded workout (or null, if the workout could not be
+     * decoded) is added to workoutKeys, so that its index in workoutKeys is the ordinal of the workout.
+     */
+    private boolean decodeWorkouts(ByteBuffer buffer, ArrayList<String> workoutKeys)
+            throws InvalidBinaryDataException {
+        boolean hasNoErrorsDuringDecode = true;
+        int numberOfRecords = readSectionStart(buffer, SECTION_WORKOUTS);
+        for (int i = 0; i < numberOfRecords; i += 1) {
+            ByteBuffer record = readRecord(buffer);
+            // A workout that is skipped keeps its ordinal, so that the plans still refer to the right workouts
+            String workoutKey = null;
+            try {
+                String exerciseName = readString(record);
+                int repetitions = readVarInt(record);
+                String[] workoutFileData = {exerciseName, Integer.toString(repetitions)};
+                fileManager.addFileWorkoutToList(workoutList, workoutFileData);
+                workoutKey = workoutList.getWorkoutFromIndexNum(workoutList.getNumberOfWorkouts()).toString();
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.out.println("File data error: insufficient parameters in workout data.");
+                hasNoErrorsDuringDecode = false;
+            } catch (InvalidExerciseException | InvalidWorkoutException e) {
+                System.out.println("File data error: " + e.getMessage());
+                hasNoErrorsDuringDecode = false;
+            }
+            workoutKeys.add(workoutKey);
+        }
+        return hasNoErrorsDuringDecode;
+    }
+
+    /**
+     * Decodes the plan section. The name of each decoded plan (or null, if the plan could not be decoded)
+     * is added to planNames, so that its index in planNames is the ordinal of the plan.
+     */
+    private boolean decodePlans(ByteBuffer buffer, ArrayList<String> workoutKeys, ArrayList<String> planNames)
+            throws InvalidBinaryDataException {
+        boolean hasNoErrorsDuringDecode = true;
+        String className = this.getClass().getSimpleName();
+        int numberOfRecords = readSectionStart(buffer, SECTION_PLANS);
+        for (int i = 0; i < numberOfRecords; i += 1) {
+            ByteBuffer record = readRecord(buffer);
+            String planName = null;
+            try {
+                String planNameToAdd = readString(record).toLowerCase();
+                int numberOfWorkouts = readVarInt(record);
+                ArrayList<Workout> workoutsToAddInPlanList = new ArrayList<>();
+                for (int j = 0; j < numberOfWorkouts; j += 1) {
+                    int workoutOrdinal = readVarInt(record);
+                    boolean isWorkoutLoaded = (workoutOrdinal < workoutKeys.size())
+                            && (workoutKeys.get(workoutOrdinal) != null);
+                    if (!isWorkoutLoaded) {
+                        throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ERROR_MSG);
+                    }
+                    Workout workout = workoutList.getWorkoutFromKey(workoutKeys.get(workoutOrdinal));
+                    workoutsToAddInPlanList.add(workout);
+                }
+                int[] entryAttributes = readEntryAttributes(record, numberOfWorkouts);
+                planList.insertPlanIntoList(planNameToAdd,
+                        new Plan(planNameToAdd, workoutsToAddInPlanList, entryAttributes));
+                planName = planNameToAdd;
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.out.println("File data error: insufficient parameters in plan data.");
+                hasNoErrorsDuringDecode = false;
+            } catch (InvalidWorkoutException e) {
+                System.out.println("File data error: " + e.getMessage());
+                hasNoErrorsDuringDecode = false;
+            }
+            planNames.add(planName);
+        }
+        return hasNoErrorsDuringDecode;
+    }
+
+    /**
+     * Reads the packed sets and rest interval of each workout of a plan, which are only written for plans
+     * that have any.
+     *
+     * @return The packed attributes, or null if the plan record has none.
+     * @throws IllegalArgumentException If any of the attributes is out of range.
+     */
+    private int[] readEntryAttributes(ByteBuffer record, int numberOfWorkouts)
+            throws BufferUnderflowException, IllegalArgumentException {
+        if (!record.hasRemaining()) {
+            return null;
+        }
+        int[] entryAttributes = new int[numberOfWorkouts];
+        for (int i = 0; i < numberOfWorkouts; i += 1) {
+            int packedAttributes = readVarInt(record);
+            int numberOfSets = Plan.unpackNumberOfSets(packedAttributes);
+            int restIntervalSeconds = Plan.unpackRestIntervalSeconds(packedAttributes);
+            // Bits outside of the sets and rest interval are also rejected, as they are lost when unpacked
+            if (!Plan.isValidEntryAttributes(numberOfSets, restIntervalSeconds)
+                    || Plan.packEntryAttributes(numberOfSets, restIntervalSeconds) != packedAttributes) {
+                throw new IllegalArgumentException("Sets or rest interval is out of range.");
+            }
+            entryAttributes[i] = packedAttributes;
+        }
+        return entryAttributes;
+    }
+
+    /**
+     * Decodes the schedule section.
+     */
+    private boolean decodeSchedule(ByteBuffer buffer, ArrayList<String> planNames)
+            throws InvalidBinaryDataException {
+        boolean hasNoErrorsDuringDecode = true;
+        String className = this.getClass().getSimpleName();
+        int numberOfRecords = readSectionStart(buffer, SECTION_SCHEDULE);
+        for (int i = 0; i < numberOfRecords; i += 1) {
+            ByteBuffer record = readRecord(buffer);
+            try {
+                int dayNumber = readVarInt(record);
+                int planOrdinal = readVarInt(record);
+                boolean isPlanLoaded = (planOrdinal < planNames.size()) && (planNames.get(planOrdinal) != null);
+                if (!isPlanLoaded) {
+                    throw new InvalidPlanException(className, InvalidPlanException.PLAN_NAME_UNKNOWN);
+                }
+                String[] scheduleFileData = {Integer.toString(dayNumber), planNames.get(planOrdinal)};
+                fileManager.addFileScheduleToList(dayList, scheduleFileData);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.out.println("File data error: insufficient parameters in schedule data.");
+                hasNoErrorsDuringDecode = false;
+            } catch (InvalidScheduleException | InvalidPlanException e) {
+                System.out.println("File data error: " + e.getMessage());
+                hasNoErrorsDuringDecode = false;
+            }
+        }
+        return hasNoErrorsDuringDecode;
+    }
+
+    private void writeHeader(ByteArrayOutputStream output) {
+        output.write(MAGIC_NUMBER >>> 24);
+        output.write(MAGIC_NUMBER >>> 16);
+        output.write(MAGIC_NUMBER >>> 8);
+        output.write(MAGIC_NUMBER);
+        output.write(FORMAT_VERSION);
+    }
+
+    private void readHeader(ByteBuffer buffer) throws InvalidBinaryDataException {
+        String className = this.getClass().getSimpleName();
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC_NUMBER) {
+            throw new InvalidBinaryDataException(className, InvalidBinaryDataException.INVALID_MAGIC_NUMBER_MSG);
+        }
+        if (!buffer.hasRemaining() || buffer.get() != FORMAT_VERSION) {
+            throw new InvalidBinaryDataException(className, InvalidBinaryDataException.UNSUPPORTED_VERSION_MSG);
+        }
+    }
+
+    private void writeSectionStart(ByteArrayOutputStream output, byte sectionType, int numberOfRecords) {
+        output.write(sectionType);
+        writeVarInt(output, numberOfRecords);
+    }
+
+    private int readSectionStart(ByteBuffer buffer, byte expectedSectionType) throws InvalidBinaryDataException {
+        if (buffer.get() != expectedSectionType) {
+            String className = this.getClass().getSimpleName();
+            throw new InvalidBinaryDataException(className, InvalidBinaryDataException.INVALID_SECTION_MSG);
+        }
+        return readVarInt(buffer);
+    }
+
+    /**
+     * Writes the given record, prefixed with its length, and resets it so that it can be reused.
+     */
+    private void writeRecord(ByteArrayOutputStream output, ByteArrayOutputStream record) {
+        writeVarInt(output, record.size());
+        output.write(record.toByteArray(), 0, record.size());
+        record.reset();
+    }
+
+    /**
+     * Reads the next record and advances the buffer past it.
+     *
+     * @return A buffer containing only the payload of the record.
+     * @throws BufferUnderflowException If the buffer ends before the end of the record.
+     */
+    private ByteBuffer readRecord(ByteBuffer buffer) throws BufferUnderflowException {
+        int recordLength = readVarInt(buffer);
+        if (recordLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer record = buffer.slice();
+        record.limit(recordLength);
+        buffer.position(buffer.position() + recordLength);
+        return record;
+    }
+
+    private void writeString(ByteArrayOutputStream output, String string) {
+        byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, stringBytes.length);
+        output.write(stringBytes, 0, stringBytes.length);
+    }
+
+    private String readString(ByteBuffer buffer) throws BufferUnderflowException {
+        int stringLength = readVarInt(buffer);
+        if (stringLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] stringBytes = new byte[stringLength];
+        buffer.get(stringBytes);
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative integer using 7 bits per byte, with the highest bit set on all but the last byte.
+     */
+    private void writeVarInt(ByteArrayOutputStream output, int value) {
+        assert (value >= 0) : "Only non-negative values can be written as a varint.";
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            output.write((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Reads a non-negative integer written by writeVarInt().
+     *
+     * @throws IllegalArgumentException If the value does not fit into an int.
+     */
+    private int readVarInt(ByteBuffer buffer) throws BufferUnderflowException, IllegalArgumentException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_PAYLOAD_BITS) {
+            byte currentByte = buffer.get();
+            value |= (currentByte & VARINT_PAYLOAD_MASK) << shift;
+            if ((currentByte & VARINT_CONTINUATION_BIT) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Varint value is negative.");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint value is too long.");
+    }
+}
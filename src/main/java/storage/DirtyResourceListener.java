@@ -0,0 +1,14 @@
+package storage;
+
+/**
+ * This interface is implemented by classes that need to be notified whenever the data belonging to a
+ * resource file has been modified in memory and the file is thus no longer up-to-date.
+ */
+public interface DirtyResourceListener {
+    /**
+     * Marks the given resource file as no longer up-to-date with the data stored in memory.
+     *
+     * @param resourceFileName The name of the resource file (e.g. FileManager.NAME_WORKOUT_FILE).
+     */
+    void markResourceDirty(String resourceFileName);
+}
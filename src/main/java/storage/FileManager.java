@@ -2,6 +2,8 @@ package storage;
 
 import commands.WorkoutCommand;
 import data.exercises.ExerciseList;
+import data.history.Change;
+import data.history.ChangeSet;
 import data.exercises.InvalidExerciseException;
 import data.plans.InvalidPlanException;
 import data.plans.Plan;
@@ -14,16 +16,24 @@ import data.workouts.Workout;
 import data.workouts.WorkoutList;
 import werkit.UI;
 
-import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.Scanner;
+import java.util.zip.CRC32;
 
 /**
  * This class manages the reading and writing of the various files used by the WerkIt! application.
@@ -42,11 +52,35 @@ public class FileManager {
     public static final String NAME_WORKOUT_FILE = "workouts.txt";
     public static final String NAME_PLAN_FILE = "plans.txt";
     public static final String NAME_SCHEDULE_FILE = "schedule.txt";
+    // The resource files in the order that they are loaded in, as plans refer to workouts and days refer to plans
+    private static final List<String> RESOURCE_FILE_NAMES_IN_LOAD_ORDER = List.of(NAME_WORKOUT_FILE, NAME_PLAN_FILE,
+            NAME_SCHEDULE_FILE);
+    public static final String NAME_JOURNAL_FILE = "journal.txt";
+    public static final String NAME_BINARY_DATA_FILE = "werkit.bin";
+    public static final String NAME_QUARANTINE_FILE = "quarantine.txt";
+    public static final String BACKUP_FILE_SUFFIX = ".bak";
+
+    // System property that enables the journaled storage mode (e.g. -Dwerkit.journal=true)
+    public static final String PROPERTY_JOURNAL_MODE = "werkit.journal";
+
+    // System property that enables the write-behind storage mode (e.g. -Dwerkit.writeBehind=true)
+    public static final String PROPERTY_WRITE_BEHIND_MODE = "werkit.writeBehind";
+
+    // System property that selects the format of the resource files (e.g. -Dwerkit.storage.format=binary)
+    public static final String PROPERTY_STORAGE_FORMAT = "werkit.storage.format";
+    public static final String STORAGE_FORMAT_BINARY = "binary";
+
+    // System property that enables reloading resource files modified outside of WerkIt! (e.g. -Dwerkit.watch=true)
+    public static final String PROPERTY_WATCH_MODE = "werkit.watch";
 
     // Delimiters for processing file data
     private static final String FILE_DATA_DELIMITER_REGEX = "\\|";
     private static final String FILE_DATA_DELIMITER = " | ";
     private static final String FILE_DATA_DELIMITER_PLAN = ",";
+    private static final String FILE_DATA_DELIMITER_ENTRY_ATTRIBUTES = ":";
+    private static final String FILE_DATA_CHECKSUM_PREFIX = "#";
+    private static final String FILE_DATA_CHECKSUM_FORMAT = "%08x";
+    private static final byte BLANK_BYTE = ' ';
 
     private UI ui = new UI();
     private Path directoryPath;
@@ -54,6 +88,16 @@ public class FileManager {
     private Path workoutFilePath;
     private Path planFilePath;
     private Path scheduleFilePath;
+    private Path binaryDataFilePath;
+    private Path quarantineFilePath;
+    private OperationJournal journal;
+    private boolean isJournalModeEnabled;
+    private boolean isWriteBehindModeEnabled;
+    private PersistenceWorker persistenceWorker;
+    private boolean isBinaryFormatEnabled;
+    private BinaryCodec binaryCodec;
+    private boolean isWatchModeEnabled;
+    private ResourceFileWatcher resourceFileWatcher;
 
     // These booleans indicate whether the directory and/or files already exist
     // prior to the current application's session.
@@ -67,39 +111,6 @@ public class FileManager {
 
     private static Logger logger = Logger.getLogger(FileManager.class.getName());
 
-    /**
-     * Recreates the workout file.
-     * @throws IOException      If the application is unable to create the workout file.
-     */
-    public void deleteAndRecreateWorkoutFile() throws IOException {
-        File workoutFile = new File(String.valueOf(getWorkoutFilePath()));
-        workoutFile.delete();
-        logger.log(Level.INFO, "A workout file has been deleted, and will be recreated soon.");
-        createWorkoutFile();
-    }
-
-    /**
-     * Recreates the plan file.
-     * @throws IOException      If the application is unable to create the plan file.
-     */
-    public void deleteAndRecreatePlanFile() throws IOException {
-        File planFile = new File(String.valueOf(getPlanFilePath()));
-        planFile.delete();
-        logger.log(Level.INFO, "A plan file has been deleted, and will be recreated soon.");
-        createPlanFile();
-    }
-
-    /**
-     * Recreates the Schedule file.
-     * @throws IOException      If the application is unable to create the schedule file.
-     */
-    public void deleteAndRecreateScheduleFile() throws IOException {
-        File scheduleFile = new File(String.valueOf(getScheduleFilePath()));
-        scheduleFile.delete();
-        logger.log(Level.INFO, "A schedule file has been deleted, and will be recreated soon.");
-        createScheduleFile();
-    }
-
     /**
      * Constructs a FileManager object. While instantiating, Paths objects of the various URIs
      * are also instantiated.
@@ -113,6 +124,18 @@ public class FileManager {
         this.workoutFilePath = Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_WORKOUT_FILE);
         this.planFilePath = Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_PLAN_FILE);
         this.scheduleFilePath = Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_SCHEDULE_FILE);
+        this.journal = new OperationJournal(Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_JOURNAL_FILE), this);
+        this.binaryDataFilePath = Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_BINARY_DATA_FILE);
+        this.quarantineFilePath = Paths.get(workingDirectory, NAME_DATA_DIRECTORY, NAME_QUARANTINE_FILE);
+        this.isBinaryFormatEnabled = STORAGE_FORMAT_BINARY.equals(System.getProperty(PROPERTY_STORAGE_FORMAT));
+        // The journaled and write-behind storage modes only support the text format
+        this.isJournalModeEnabled = Boolean.getBoolean(PROPERTY_JOURNAL_MODE) && !isBinaryFormatEnabled;
+        // The journaled storage mode takes precedence if both modes are requested
+        this.isWriteBehindModeEnabled = Boolean.getBoolean(PROPERTY_WRITE_BEHIND_MODE) && !isJournalModeEnabled
+                && !isBinaryFormatEnabled;
+        // Resource files can only be reloaded when they are kept up to date by every command
+        this.isWatchModeEnabled = Boolean.getBoolean(PROPERTY_WATCH_MODE) && !isJournalModeEnabled
+                && !isWriteBehindModeEnabled && !isBinaryFormatEnabled;
 
         this.planList = planList;
 
@@ -162,6 +185,267 @@ public class FileManager {
         return this.scheduleFilePath;
     }
 
+    /**
+     * Gets the Paths object that stores the URI of the binary data file.
+     *
+     * @return A Paths object with the URI of the binary data file.
+     */
+    public Path getBinaryDataFilePath() {
+        return this.binaryDataFilePath;
+    }
+
+    /**
+     * Gets the path of the quarantine file, which keeps the damaged records removed from the resource files.
+     *
+     * @return The path of the quarantine file.
+     */
+    public Path getQuarantineFilePath() {
+        return this.quarantineFilePath;
+    }
+
+    /**
+     * Gets the OperationJournal object that records the changes made in the journaled storage mode.
+     *
+     * @return The OperationJournal object.
+     */
+    public OperationJournal getJournal() {
+        return this.journal;
+    }
+
+    /**
+     * Gets the status of whether the journaled storage mode is enabled. In this mode, changes are
+     * appended to the journal file instead of rewriting the resource files.
+     *
+     * @return Returns true if the journaled storage mode is enabled. Otherwise, returns false.
+     */
+    public boolean isJournalModeEnabled() {
+        return this.isJournalModeEnabled;
+    }
+
+    /**
+     * Sets the status of whether the journaled storage mode is enabled.
+     *
+     * @param isJournalModeEnabled The status of the journaled storage mode.
+     */
+    public void setJournalModeEnabled(boolean isJournalModeEnabled) {
+        this.isJournalModeEnabled = isJournalModeEnabled;
+    }
+
+    /**
+     * Gets the status of whether the write-behind storage mode is enabled. In this mode, the resource
+     * files are rewritten by a background PersistenceWorker instead of by the command that made the changes.
+     *
+     * @return Returns true if the write-behind storage mode is enabled. Otherwise, returns false.
+     */
+    public boolean isWriteBehindModeEnabled() {
+        return this.isWriteBehindModeEnabled;
+    }
+
+    /**
+     * Sets the status of whether the write-behind storage mode is enabled. This should be set before
+     * startPersistenceWorker() is called.
+     *
+     * @param isWriteBehindModeEnabled The status of the write-behind storage mode.
+     */
+    public void setWriteBehindModeEnabled(boolean isWriteBehindModeEnabled) {
+        this.isWriteBehindModeEnabled = isWriteBehindModeEnabled;
+    }
+
+    /**
+     * Gets the PersistenceWorker object that rewrites the resource files in the write-behind storage mode.
+     *
+     * @return The PersistenceWorker object, or null if the worker has not been started.
+     */
+    public PersistenceWorker getPersistenceWorker() {
+        return this.persistenceWorker;
+    }
+
+    /**
+     * Starts the PersistenceWorker that rewrites the resource files in the background, and registers it
+     * as the listener of the given lists. This should only be called once all file data has been loaded.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     */
+    public void startPersistenceWorker(WorkoutList workoutList, PlanList planList, DayList dayList) {
+        assert (isWriteBehindModeEnabled()) : "Write-behind storage mode is not enabled.";
+        this.persistenceWorker = new PersistenceWorker(this, workoutList, planList, dayList);
+        workoutList.setDirtyResourceListener(persistenceWorker);
+        planList.setDirtyResourceListener(persistenceWorker);
+        dayList.setDirtyResourceListener(persistenceWorker);
+        persistenceWorker.start();
+    }
+
+    /**
+     * Gets the status of whether the watch mode is enabled. In this mode, resource files that are modified
+     * outside of WerkIt! are reloaded into the lists before the next command is executed.
+     *
+     * @return Returns true if the watch mode is enabled. Otherwise, returns false.
+     */
+    public boolean isWatchModeEnabled() {
+        return this.isWatchModeEnabled;
+    }
+
+    /**
+     * Sets the status of whether the watch mode is enabled. This should be set before
+     * startResourceFileWatcher() is called.
+     *
+     * @param isWatchModeEnabled The status of the watch mode.
+     */
+    public void setWatchModeEnabled(boolean isWatchModeEnabled) {
+        this.isWatchModeEnabled = isWatchModeEnabled;
+    }
+
+    /**
+     * Gets the ResourceFileWatcher object that watches the resource directory in the watch mode.
+     *
+     * @return The ResourceFileWatcher object, or null if the watcher has not been started.
+     */
+    public ResourceFileWatcher getResourceFileWatcher() {
+        return this.resourceFileWatcher;
+    }
+
+    /**
+     * Starts the ResourceFileWatcher that watches the resource directory for resource files modified
+     * outside of WerkIt!. This should only be called once all file data has been loaded.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     * @throws IOException If the resource directory cannot be watched.
+     */
+    public void startResourceFileWatcher(WorkoutList workoutList, PlanList planList, DayList dayList)
+            throws IOException {
+        assert (isWatchModeEnabled()) : "Watch mode is not enabled.";
+        this.resourceFileWatcher = new ResourceFileWatcher(this, workoutList, planList, dayList);
+        resourceFileWatcher.start();
+    }
+
+    /**
+     * Gets the status of whether the binary storage format is enabled. In this format, all data is stored
+     * in a single binary data file instead of the text resource files.
+     *
+     * @return Returns true if the binary storage format is enabled. Otherwise, returns false.
+     */
+    public boolean isBinaryFormatEnabled() {
+        return this.isBinaryFormatEnabled;
+    }
+
+    /**
+     * Sets the status of whether the binary storage format is enabled. This should be set before
+     * startBinaryFormat() is called.
+     *
+     * @param isBinaryFormatEnabled The status of the binary storage format.
+     */
+    public void setBinaryFormatEnabled(boolean isBinaryFormatEnabled) {
+        this.isBinaryFormatEnabled = isBinaryFormatEnabled;
+    }
+
+    /**
+     * Prepares the BinaryCodec that encodes and decodes the data of the given lists in the binary
+     * storage format. This should be called before any data is loaded or saved.
+     *
+     * @param exerciseList An instance of the ExerciseList class.
+     * @param workoutList  An instance of the WorkoutList class.
+     * @param planList     An instance of the PlanList class.
+     * @param dayList      An instance of the DayList class.
+     */
+    public void startBinaryFormat(ExerciseList exerciseList, WorkoutList workoutList, PlanList planList,
+            DayList dayList) {
+        assert (isBinaryFormatEnabled()) : "Binary storage format is not enabled.";
+        this.binaryCodec = new BinaryCodec(this, exerciseList, workoutList, planList, dayList);
+    }
+
+    /**
+     * Checks for the existence of the binary data file.
+     *
+     * @return Returns true if the binary data file exists. Otherwise, returns false.
+     */
+    public boolean checkIfBinaryDataFileExists() {
+        return Files.exists(getBinaryDataFilePath());
+    }
+
+    /**
+     * Reads all data from the binary data file and stores it into the lists given to startBinaryFormat().
+     *
+     * @return Returns true if all data has been loaded into the application successfully.
+     *         Otherwise, returns false.
+     * @throws IOException                If the method is unable to open the binary data file.
+     * @throws InvalidBinaryDataException If the binary data file is not in a supported format.
+     */
+    public boolean loadFromBinaryDataFile() throws IOException, InvalidBinaryDataException {
+        assert (binaryCodec != null) : "Binary storage format has not been started.";
+        return binaryCodec.decode(Files.readAllBytes(getBinaryDataFilePath()));
+    }
+
+    /**
+     * Rewrites all data stored in the lists given to startBinaryFormat() into the binary data file.
+     * The file is replaced atomically, so a failure halfway through leaves the previous contents intact.
+     *
+     * @throws IOException If the application is unable to write to the binary data file.
+     */
+    public void rewriteBinaryDataFile() throws IOException {
+        assert (binaryCodec != null) : "Binary storage format has not been started.";
+        writeBinaryDataToFile(binaryCodec.encode());
+    }
+
+    /**
+     * Rewrites the binary data file only if its contents differ from the data stored in the lists given to
+     * startBinaryFormat(), so that the file is not needlessly replaced (e.g. at startup).
+     *
+     * @return Returns true if the binary data file was rewritten. Otherwise, returns false.
+     * @throws IOException If the application is unable to read or write to the binary data file.
+     */
+    public boolean rewriteBinaryDataFileIfOutdated() throws IOException {
+        assert (binaryCodec != null) : "Binary storage format has not been started.";
+        byte[] binaryData = binaryCodec.encode();
+        if (isFileDataUpToDate(getBinaryDataFilePath(), binaryData)) {
+            return false;
+        }
+        writeBinaryDataToFile(binaryData);
+        return true;
+    }
+
+    private void writeBinaryDataToFile(byte[] binaryData) throws IOException {
+        SnapshotWriter snapshotWriter = new SnapshotWriter(getBinaryDataFilePath());
+        try {
+            snapshotWriter.appendBytes(binaryData);
+            snapshotWriter.commit();
+        } catch (IOException e) {
+            snapshotWriter.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves the binary data file aside, so that it is not overwritten. This is used when the binary data
+     * file cannot be read (e.g. it was written by a newer version of WerkIt!).
+     *
+     * @return The path that the binary data file was moved to.
+     * @throws IOException If the binary data file cannot be moved.
+     */
+    public Path backUpBinaryDataFile() throws IOException {
+        Path backupFilePath = getBinaryDataFilePath().resolveSibling(NAME_BINARY_DATA_FILE + BACKUP_FILE_SUFFIX);
+        Files.move(getBinaryDataFilePath(), backupFilePath, StandardCopyOption.REPLACE_EXISTING);
+        logger.log(Level.WARNING, "Unreadable binary data file moved to " + backupFilePath);
+        return backupFilePath;
+    }
+
+    /**
+     * Writes all changes that have not yet been saved by the PersistenceWorker to the resource files, and
+     * waits until they are written. Does nothing if the write-behind storage mode is not in use.
+     *
+     * @throws IOException If any of the resource files cannot be written to.
+     */
+    public void flushPendingWrites() throws IOException {
+        if (getPersistenceWorker() == null) {
+            return;
+        }
+
+        getPersistenceWorker().flush();
+    }
+
     /**
      * Gets the status of whether the directory already exists prior to the current session
      * of the application.
@@ -469,23 +753,7 @@ public class FileManager {
      * @throws IOException If the method is unable to open the workout file.
      */
     public boolean loadWorkoutsFromFile(WorkoutList workoutList) throws IOException {
-        boolean hasNoErrorsDuringLoad = true;
-        Scanner workoutFileReader = new Scanner(getWorkoutFilePath());
-        while (workoutFileReader.hasNext()) {
-            try {
-                String workoutFileDataLine = workoutFileReader.nextLine();
-                String[] parsedWorkoutFileDataLine = parseFileDataLine(workoutFileDataLine);
-                addFileWorkoutToList(workoutList, parsedWorkoutFileDataLine);
-            } catch (ArrayIndexOutOfBoundsException e) {
-                System.out.println("File data error: insufficient parameters in workout data.");
-                hasNoErrorsDuringLoad = false;
-            } catch (InvalidExerciseException | InvalidWorkoutException | NumberFormatException e) {
-                System.out.println("File data error: " + e.getMessage());
-                hasNoErrorsDuringLoad = false;
-            }
-        }
-
-        return hasNoErrorsDuringLoad;
+        return addParsedWorkoutsToList(workoutList, parseWorkoutFile());
     }
 
     /**
@@ -497,23 +765,7 @@ public class FileManager {
      * @throws IOException If the method is unable to open the plan file.
      */
     public boolean loadPlansFromFile(PlanList planList) throws IOException {
-        boolean hasNoErrorsDuringLoad = true;
-        Scanner planFileReader = new Scanner(getPlanFilePath());
-        while (planFileReader.hasNext()) {
-            try {
-                String planFileDataLine = planFileReader.nextLine();
-                String[] parsedPlanFileDataLine = parsePlansFileData(planFileDataLine);
-                addFilePlanToList(planList, parsedPlanFileDataLine);
-            } catch (ArrayIndexOutOfBoundsException e) {
-                System.out.println("File data error: insufficient parameters in plan data.");
-                hasNoErrorsDuringLoad = false;
-            } catch (InvalidExerciseException | InvalidWorkoutException | NumberFormatException e) {
-                System.out.println("File data error: " + e.getMessage());
-                hasNoErrorsDuringLoad = false;
-            }
-        }
-
-        return hasNoErrorsDuringLoad;
+        return addParsedPlansToList(planList, parsePlanFile());
     }
 
     /**
@@ -526,138 +778,634 @@ public class FileManager {
      * @throws IOException If the method is unable to open the schedule file.
      */
     public boolean loadScheduleFromFile(DayList dayList) throws IOException {
-        boolean hasNoErrorsDuringLoad = true;
-        Scanner scheduleFileReader = new Scanner(getScheduleFilePath());
-        while (scheduleFileReader.hasNext()) {
+        return addParsedScheduleToList(dayList, parseScheduleFile());
+    }
+
+    /**
+     * Parses every line of the local workout file, without adding the workouts into any list.
+     * This method does not modify any state, so it may be called from any thread.
+     *
+     * @return An ArrayList of the parsed lines, in the order they appear in the file.
+     * @throws IOException If the method is unable to open the workout file.
+     */
+    public ArrayList<ParsedFileRecord> parseWorkoutFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedWorkoutFile = new ArrayList<>();
+        MappedResourceFileReader workoutFileReader = new MappedResourceFileReader(getWorkoutFilePath());
+        while (workoutFileReader.hasNextLine()) {
+            workoutFileReader.nextLine();
+            if (workoutFileReader.isBlankLine()) {
+                continue;
+            }
+            if (!workoutFileReader.isChecksumValid()) {
+                parsedWorkoutFile.add(new ParsedFileRecord(workoutFileReader,
+                        getCorruptedRecordErrorMessage("workout", workoutFileReader)));
+                continue;
+            }
             try {
-                String scheduleFileDataLine = scheduleFileReader.nextLine();
-                String[] parsedScheduleFileDataLine = parseFileDataLine(scheduleFileDataLine);
-                addFileScheduleToList(dayList, parsedScheduleFileDataLine);
+                String[] workoutFields = {workoutFileReader.getField(0), workoutFileReader.getField(1), null};
+                if (workoutFileReader.hasField(2)) {
+                    workoutFields[2] = workoutFileReader.getField(2);
+                }
+                parsedWorkoutFile.add(new ParsedFileRecord(workoutFileReader, workoutFields, null));
             } catch (ArrayIndexOutOfBoundsException e) {
-                System.out.println("File data error: insufficient parameters in plan data.");
-                hasNoErrorsDuringLoad = false;
-            } catch (InvalidScheduleException | InvalidPlanException | NumberFormatException e) {
-                System.out.println("File data error: " + e.getMessage());
-                hasNoErrorsDuringLoad = false;
+                String errorMessage = "File data error: insufficient parameters in workout data.";
+                parsedWorkoutFile.add(new ParsedFileRecord(workoutFileReader, errorMessage));
             }
         }
-
-        return hasNoErrorsDuringLoad;
+        return parsedWorkoutFile;
     }
 
     /**
-     * Reloads the data from schedule file to DayList after deletion of workout/plan that is related to the schedule.
+     * Parses every line of the local plan file, without adding the plans into any list.
+     * This method does not modify any state, so it may be called from any thread.
      *
-     * @param dayList   The DayList object to store the day schedule in.
-     * @return          Returns true if the deleted workout/plan does not affect the current schedule.
-     * @throws IOException  If the method is unable to open the schedule file.
+     * @return An ArrayList of the parsed lines, in the order they appear in the file.
+     * @throws IOException If the method is unable to open the plan file.
      */
-    public boolean reloadScheduleFromFile(DayList dayList) throws IOException {
-        int deletedScheduleCount = 0;
-        boolean hasNoErrorsDuringLoad = true;
-        Scanner scheduleFileReader = new Scanner(getScheduleFilePath());
-        while (scheduleFileReader.hasNext()) {
+    public ArrayList<ParsedFileRecord> parsePlanFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedPlanFile = new ArrayList<>();
+        MappedResourceFileReader planFileReader = new MappedResourceFileReader(getPlanFilePath());
+        while (planFileReader.hasNextLine()) {
+            planFileReader.nextLine();
+            if (planFileReader.isBlankLine()) {
+                continue;
+            }
+            if (!planFileReader.isChecksumValid()) {
+                parsedPlanFile.add(new ParsedFileRecord(planFileReader,
+                        getCorruptedRecordErrorMessage("plan", planFileReader)));
+                continue;
+            }
             try {
-                String scheduleFileDataLine = scheduleFileReader.nextLine();
-                String[] parsedScheduleFileDataLine = parseFileDataLine(scheduleFileDataLine);
-                addFileScheduleToList(dayList, parsedScheduleFileDataLine);
-            } catch (ArrayIndexOutOfBoundsException | InvalidScheduleException | InvalidPlanException e) {
-                deletedScheduleCount += 1;
-                if (deletedScheduleCount == 1) {
-                    System.out.println("The following schedule(s) is(are) "
-                            + "removed due to the removal of\nrelevant plan(s).");
-                    System.out.print(System.lineSeparator());
+                String planName = planFileReader.getPlanName().toLowerCase();
+                int numberOfWorkoutsInPlan = planFileReader.getNumberOfWorkoutsInPlan();
+                ArrayList<Workout> workoutsToAddInPlanList = new ArrayList<Workout>(numberOfWorkoutsInPlan);
+                int[] workoutIdsToAddInPlanList = new int[numberOfWorkoutsInPlan];
+                int[] entryAttributesToAddInPlanList = new int[numberOfWorkoutsInPlan];
+                for (int i = 0; i < numberOfWorkoutsInPlan; i++) {
+                    String firstWorkoutField = planFileReader.getWorkoutFieldInPlan(i, 0);
+                    String workoutId = removeEntryAttributesInPlan(firstWorkoutField);
+                    if (isWorkoutIdInPlan(workoutId)) {
+                        workoutIdsToAddInPlanList[i] = Integer.parseInt(workoutId);
+                        entryAttributesToAddInPlanList[i] = parseEntryAttributesInPlan(firstWorkoutField);
+                        workoutsToAddInPlanList.add(null);
+                        continue;
+                    }
+                    String exerciseName = firstWorkoutField.toLowerCase();
+                    String secondWorkoutField = planFileReader.getWorkoutFieldInPlan(i, 1);
+                    String workoutReps = removeEntryAttributesInPlan(secondWorkoutField);
+                    entryAttributesToAddInPlanList[i] = parseEntryAttributesInPlan(secondWorkoutField);
+                    workoutsToAddInPlanList.add(new Workout(exerciseName, Integer.parseInt(workoutReps)));
                 }
-                hasNoErrorsDuringLoad = false;
+                parsedPlanFile.add(new ParsedFileRecord(planFileReader, new String[]{planName},
+                        workoutsToAddInPlanList, workoutIdsToAddInPlanList, entryAttributesToAddInPlanList));
+            } catch (ArrayIndexOutOfBoundsException e) {
+                String errorMessage = "File data error: insufficient parameters in plan data.";
+                parsedPlanFile.add(new ParsedFileRecord(planFileReader, errorMessage));
+            } catch (NumberFormatException e) {
+                parsedPlanFile.add(new ParsedFileRecord(planFileReader, "File data error: " + e.getMessage()));
             }
         }
-
-        return hasNoErrorsDuringLoad;
-    }
-
-    public String[] parsePlansFileData(String fileDataLine) {
-        String[] parsedPlansData = fileDataLine.split(FILE_DATA_DELIMITER_REGEX, 2);
-        return parsedPlansData;
+        return parsedPlanFile;
     }
 
     /**
-     * Where applicable, parses a line of data read from a resource file by splitting the data according
-     * to the delimiters.
+     * Parses every line of the local schedule file, without adding the schedule into any list.
+     * This method does not modify any state, so it may be called from any thread.
      *
-     * @param fileDataLine The line of data that is read from a resource file.
-     * @return An array containing the parsed line of data split by the delimiter.
+     * @return An ArrayList of the parsed lines, in the order they appear in the file.
+     * @throws IOException If the method is unable to open the schedule file.
      */
-    public String[] parseFileDataLine(String fileDataLine) {
-        String[] parsedFileDataLine = fileDataLine.split(FILE_DATA_DELIMITER_REGEX);
-
-        for (int i = 0; i < parsedFileDataLine.length; i += 1) {
-            parsedFileDataLine[i] = parsedFileDataLine[i].trim();
+    public ArrayList<ParsedFileRecord> parseScheduleFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedScheduleFile = new ArrayList<>();
+        MappedResourceFileReader scheduleFileReader = new MappedResourceFileReader(getScheduleFilePath());
+        while (scheduleFileReader.hasNextLine()) {
+            scheduleFileReader.nextLine();
+            if (scheduleFileReader.isBlankLine()) {
+                continue;
+            }
+            if (!scheduleFileReader.isChecksumValid()) {
+                parsedScheduleFile.add(new ParsedFileRecord(scheduleFileReader,
+                        getCorruptedRecordErrorMessage("schedule", scheduleFileReader)));
+                continue;
+            }
+            try {
+                String[] scheduleFields = {scheduleFileReader.getField(0), scheduleFileReader.getField(1)};
+                parsedScheduleFile.add(new ParsedFileRecord(scheduleFileReader, scheduleFields, null));
+            } catch (ArrayIndexOutOfBoundsException e) {
+                String errorMessage = "File data error: insufficient parameters in plan data.";
+                parsedScheduleFile.add(new ParsedFileRecord(scheduleFileReader, errorMessage));
+            }
         }
+        return parsedScheduleFile;
+    }
 
-        return parsedFileDataLine;
+    /**
+     * Gets the error message for a line of a resource file whose data does not match its checksum.
+     *
+     * @param dataType   The type of data stored in the resource file (e.g. "workout").
+     * @param fileReader The reader of the resource file, positioned at the corrupted line.
+     * @return The error message.
+     */
+    private String getCorruptedRecordErrorMessage(String dataType, MappedResourceFileReader fileReader) {
+        return "File data error: the " + dataType + " data on line " + fileReader.getLineNumber() + " is corrupted.";
     }
 
     /**
-     * Adds a parsed workout data that is read from the resource file 'workouts.txt' into
-     * the current application session's list of workouts.
+     * Moves the damaged records of a resource file into the quarantine file, together with the name of the
+     * resource file and their line numbers, so that the raw data is not lost. Each damaged record is then
+     * blanked out in place in the resource file, leaving the other records untouched. Blank lines are
+     * skipped when the resource file is loaded.
      *
-     * @param workoutList         An instance of the WorkoutList class.
-     * @param workoutFileDataLine An array of the parsed workout data read from the resource file.
-     * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
-     * @throws InvalidExerciseException       If the parsed data contains an invalid exercise name.
-     * @throws InvalidWorkoutException        If the parsed data contains invalid or insufficient information needed
-     *                                        to create a Workout object.
+     * @param filePath   The path of the resource file.
+     * @param parsedFile The parsed lines of the resource file.
+     * @return The number of records that were quarantined.
+     * @throws IOException If the application is unable to write to the quarantine file or the resource file.
      */
-    public void addFileWorkoutToList(WorkoutList workoutList, String[] workoutFileDataLine)
-            throws ArrayIndexOutOfBoundsException, InvalidExerciseException, InvalidWorkoutException {
-        String workoutName = workoutFileDataLine[0].toLowerCase();
-        String workoutReps = workoutFileDataLine[1];
+    public int quarantineDamagedRecords(Path filePath, ArrayList<ParsedFileRecord> parsedFile) throws IOException {
+        ArrayList<ParsedFileRecord> damagedRecords = new ArrayList<>();
+        for (ParsedFileRecord parsedRecord : parsedFile) {
+            if (parsedRecord.isDamaged()) {
+                damagedRecords.add(parsedRecord);
+            }
+        }
+        if (damagedRecords.isEmpty()) {
+            return 0;
+        }
 
-        String userArguments = workoutName + " " + WorkoutCommand.ACTION_KEYWORD_CREATE_REPS + " " + workoutReps;
-        Workout newWorkout = workoutList.createNewWorkout(userArguments);
-        workoutList.addNewWorkoutToLists(newWorkout);
+        try (FileChannel resourceFileChannel = FileChannel.open(filePath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The raw data must be safely in the quarantine file before it is removed from the resource file
+            StringBuilder quarantineData = new StringBuilder();
+            for (ParsedFileRecord damagedRecord : damagedRecords) {
+                ByteBuffer rawLine = ByteBuffer.allocate(damagedRecord.getLineEnd() - damagedRecord.getLineStart());
+                resourceFileChannel.read(rawLine, damagedRecord.getLineStart());
+                quarantineData.append(filePath.getFileName()).append(" line ").append(damagedRecord.getLineNumber())
+                        .append(": ").append(new String(rawLine.array(), StandardCharsets.UTF_8))
+                        .append(System.lineSeparator());
+            }
+            appendToQuarantineFile(quarantineData.toString());
+
+            blankOutRecords(resourceFileChannel, damagedRecords);
+        }
+        logger.log(Level.WARNING, damagedRecords.size() + " damaged record(s) quarantined from " + filePath);
+        return damagedRecords.size();
     }
 
     /**
-     * Adds a parsed workout data that is read from the resource file 'plans.txt' into
-     * the current application session's list of plans.
+     * Blanks out the lines of the given records in place, keeping their line separators so that the line
+     * numbers of the other records do not change, and forces the resource file to the disk.
      *
-     * @param planList         An instance of the PlanList class.
-     * @param planFileDataLine An array of the parsed plan data read from the resource file.
-     * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
-     * @throws InvalidExerciseException       If the parsed data contains an invalid exercise name.
-     * @throws InvalidWorkoutException        If the parsed data contains invalid or insufficient information needed
-     *                                        to create a Plan object based on the given workouts.
+     * @param resourceFileChannel A channel to the resource file, opened for writing.
+     * @param records             The records whose lines are to be blanked out.
+     * @throws IOException If the application is unable to write to the resource file.
      */
-    public void addFilePlanToList(PlanList planList, String[] planFileDataLine)
-            throws ArrayIndexOutOfBoundsException, InvalidExerciseException, InvalidWorkoutException {
-        String planName = planFileDataLine[0].trim().toLowerCase();
-        String workoutsInPlan = planFileDataLine[1].trim().toLowerCase();
-        String[] individualWorkout = workoutsInPlan.split(FILE_DATA_DELIMITER_PLAN, -1);
-        ArrayList<Workout> workoutsToAddInPlanList = new ArrayList<Workout>();
-        for (int i = 0; i < individualWorkout.length; i++) {
-            String[] workoutDetail = individualWorkout[i].split(FILE_DATA_DELIMITER_REGEX);
-            workoutsToAddInPlanList.add(new Workout(workoutDetail[0].trim(),
-                    Integer.parseInt(workoutDetail[1].trim())));
+    private void blankOutRecords(FileChannel resourceFileChannel, ArrayList<ParsedFileRecord> records)
+            throws IOException {
+        for (ParsedFileRecord record : records) {
+            byte[] blankLine = new byte[record.getLineEnd() - record.getLineStart()];
+            Arrays.fill(blankLine, BLANK_BYTE);
+            resourceFileChannel.write(ByteBuffer.wrap(blankLine), record.getLineStart());
         }
-        Plan planToBeAdded = new Plan(planName, workoutsToAddInPlanList);
-        planList.insertPlanIntoList(planName, planToBeAdded);
+        resourceFileChannel.force(true);
     }
 
     /**
-     * Adds a parsed day schedule data that is read from the resource file 'schedule.txt' into
-     * the current application session's schedule of the days.
+     * Finds the records of a resource file whose lines match the given lines. As identical lines stand for
+     * identical entries, each given line is matched to the last line in the file that has not already been
+     * matched.
      *
-     * @param dayList              An instance of the DayList class.
-     * @param scheduleFileDataLine An array of the parsed day schedule data read from the resource file.
+     * @param filePath      The path of the resource file.
+     * @param fileDataLines The lines to find, including their checksums.
+     * @return An ArrayList of the records of the lines, in the same order as the given lines, or null if the
+     *         resource file does not exist or any of the lines cannot be found in it.
+     * @throws IOException If the resource file cannot be read.
+     */
+    private ArrayList<ParsedFileRecord> findRecordsInFile(Path filePath, ArrayList<String> fileDataLines)
+            throws IOException {
+        if (!Files.exists(filePath)) {
+            return null;
+        }
+        ArrayList<ParsedFileRecord> recordsInFile = new ArrayList<>();
+        ArrayList<String> linesInFile = new ArrayList<>();
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+        while (fileReader.hasNextLine()) {
+            fileReader.nextLine();
+            if (fileReader.isBlankLine()) {
+                continue;
+            }
+            recordsInFile.add(new ParsedFileRecord(fileReader, null, null));
+            linesInFile.add(fileReader.getLine().trim());
+        }
+
+        ArrayList<ParsedFileRecord> foundRecords = new ArrayList<>();
+        for (String fileDataLine : fileDataLines) {
+            int lineIndex = linesInFile.lastIndexOf(fileDataLine);
+            if (lineIndex == -1) {
+                return null;
+            }
+            foundRecords.add(recordsInFile.get(lineIndex));
+            linesInFile.set(lineIndex, null);
+        }
+        return foundRecords;
+    }
+
+    /**
+     * Removes the given lines from a resource file by blanking them out in place, leaving the other lines
+     * untouched and in the same order. Blank lines are skipped when the resource file is loaded, and are
+     * dropped the next time the resource file is rewritten.
+     *
+     * @param filePath      The path of the resource file.
+     * @param fileDataLines The lines to remove, including their checksums.
+     * @return Returns true if the lines have been removed. Returns false if any of them cannot be found,
+     *         in which case the resource file is left unchanged and has to be rewritten instead.
+     * @throws IOException If the application is unable to read or write to the resource file.
+     */
+    private boolean removeLinesFromFile(Path filePath, ArrayList<String> fileDataLines) throws IOException {
+        ArrayList<ParsedFileRecord> removedRecords = findRecordsInFile(filePath, fileDataLines);
+        if (removedRecords == null) {
+            return false;
+        }
+        try (FileChannel resourceFileChannel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+            blankOutRecords(resourceFileChannel, removedRecords);
+        }
+        return true;
+    }
+
+    private void appendToQuarantineFile(String quarantineData) throws IOException {
+        appendToFile(getQuarantineFilePath(), quarantineData);
+    }
+
+    /**
+     * Appends the given data to the end of a file, and forces it to the disk before returning, so that a
+     * crash cannot leave a line that has been reported as saved only partly written.
+     *
+     * @param filePath The path of the file to append to. The file is created if it does not exist.
+     * @param fileData The data to append.
+     * @throws IOException If the file cannot be opened or written to.
+     */
+    private void appendToFile(Path filePath, String fileData) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer fileBytes = ByteBuffer.wrap(fileData.getBytes(StandardCharsets.UTF_8));
+            while (fileBytes.hasRemaining()) {
+                fileChannel.write(fileBytes);
+            }
+            fileChannel.force(true);
+        }
+    }
+
+    /**
+     * Adds the parsed lines of the workout file into a WorkoutList object. The error messages of any lines
+     * that could not be parsed or added are printed in the order the lines appear in the file.
+     *
+     * @param workoutList       An instance of the WorkoutList class.
+     * @param parsedWorkoutFile The parsed lines of the workout file.
+     * @return Returns true if all workouts have been loaded into the application successfully.
+     *         Otherwise, returns false.
+     */
+    public boolean addParsedWorkoutsToList(WorkoutList workoutList, ArrayList<ParsedFileRecord> parsedWorkoutFile) {
+        boolean hasNoErrorsDuringLoad = true;
+        for (ParsedFileRecord parsedWorkout : parsedWorkoutFile) {
+            if (parsedWorkout.hasError()) {
+                System.out.println(parsedWorkout.getErrorMessage());
+                hasNoErrorsDuringLoad = false;
+                continue;
+            }
+            try {
+                addFileWorkoutToList(workoutList, parsedWorkout.getField(0), parsedWorkout.getField(1),
+                        parsedWorkout.getField(2));
+            } catch (InvalidExerciseException | InvalidWorkoutException | NumberFormatException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedWorkout.markRejected();
+                hasNoErrorsDuringLoad = false;
+            }
+        }
+
+        return hasNoErrorsDuringLoad;
+    }
+
+    /**
+     * Adds the parsed lines of the plan file into a PlanList object. The workouts of the plans must have been
+     * loaded beforehand. The error messages of any lines that could not be parsed or added are printed in the
+     * order the lines appear in the file.
+     *
+     * @param planList       An instance of the PlanList class.
+     * @param parsedPlanFile The parsed lines of the plan file.
+     * @return Returns true if all plans have been loaded into the application successfully.
+     *         Otherwise, returns false.
+     */
+    public boolean addParsedPlansToList(PlanList planList, ArrayList<ParsedFileRecord> parsedPlanFile) {
+        boolean hasNoErrorsDuringLoad = true;
+        for (ParsedFileRecord parsedPlan : parsedPlanFile) {
+            if (parsedPlan.hasError()) {
+                System.out.println(parsedPlan.getErrorMessage());
+                hasNoErrorsDuringLoad = false;
+                continue;
+            }
+            try {
+                ArrayList<Workout> workoutsInPlan = parsedPlan.getWorkoutsInPlan();
+                lookUpWorkoutIdsInPlan(planList.getWorkoutList(), workoutsInPlan, parsedPlan.getWorkoutIdsInPlan());
+                addFilePlanToList(planList, parsedPlan.getField(0), workoutsInPlan,
+                        parsedPlan.getEntryAttributesInPlan());
+            } catch (InvalidExerciseException | InvalidWorkoutException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedPlan.markRejected();
+                hasNoErrorsDuringLoad = false;
+            }
+        }
+
+        return hasNoErrorsDuringLoad;
+    }
+
+    /**
+     * Adds the parsed lines of the schedule file into a DayList object. The plans must have been loaded
+     * beforehand. The error messages of any lines that could not be parsed or added are printed in the
+     * order the lines appear in the file.
+     *
+     * @param dayList            The DayList object to store the day schedule in.
+     * @param parsedScheduleFile The parsed lines of the schedule file.
+     * @return Returns true if the entire schedule is loaded into the application successfully.
+     *         Otherwise, returns false.
+     */
+    public boolean addParsedScheduleToList(DayList dayList, ArrayList<ParsedFileRecord> parsedScheduleFile) {
+        boolean hasNoErrorsDuringLoad = true;
+        for (ParsedFileRecord parsedSchedule : parsedScheduleFile) {
+            if (parsedSchedule.hasError()) {
+                System.out.println(parsedSchedule.getErrorMessage());
+                hasNoErrorsDuringLoad = false;
+                continue;
+            }
+            try {
+                addFileScheduleToList(dayList, parsedSchedule.getField(0), parsedSchedule.getField(1));
+            } catch (InvalidScheduleException | InvalidPlanException | NumberFormatException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedSchedule.markRejected();
+                hasNoErrorsDuringLoad = false;
+            }
+        }
+
+        return hasNoErrorsDuringLoad;
+    }
+
+    /**
+     * Checks if a workout in a line of the plan resource file is saved as a workout id, rather than as its
+     * exercise name and repetitions.
+     *
+     * @param firstWorkoutField The first field of the workout in the line.
+     * @return Returns true if the workout is saved as a workout id. Otherwise, returns false.
+     */
+    private boolean isWorkoutIdInPlan(String firstWorkoutField) {
+        if (firstWorkoutField.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < firstWorkoutField.length(); i += 1) {
+            if (!Character.isDigit(firstWorkoutField.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the workout id, or the repetitions, of a workout in a line of the plan resource file, without the
+     * sets and rest interval that may follow it (e.g. '12' for '12:3:60').
+     *
+     * @param workoutField The last field of the workout in the line.
+     * @return The field without the sets and rest interval.
+     */
+    private String removeEntryAttributesInPlan(String workoutField) {
+        return workoutField.split(FILE_DATA_DELIMITER_ENTRY_ATTRIBUTES, 2)[0].trim();
+    }
+
+    /**
+     * Parses the sets and rest interval of a workout in a line of the plan resource file, which follow its
+     * workout id or repetitions (e.g. '12:3:60' is workout id 12 with 3 sets and a rest interval of 60 seconds).
+     *
+     * @param workoutField The last field of the workout in the line.
+     * @return The packed sets and rest interval, or Plan.DEFAULT_ENTRY_ATTRIBUTES if they were not saved.
+     * @throws NumberFormatException If the sets or rest interval is invalid or out of range.
+     */
+    private int parseEntryAttributesInPlan(String workoutField) throws NumberFormatException {
+        String[] workoutDetail = workoutField.split(FILE_DATA_DELIMITER_ENTRY_ATTRIBUTES, -1);
+        if (workoutDetail.length == 1) {
+            return Plan.DEFAULT_ENTRY_ATTRIBUTES;
+        }
+        if (workoutDetail.length != 3) {
+            throw new NumberFormatException("invalid sets and rest interval in plan data.");
+        }
+        int numberOfSets = Integer.parseInt(workoutDetail[1].trim());
+        int restIntervalSeconds = Integer.parseInt(workoutDetail[2].trim());
+        if (!Plan.isValidEntryAttributes(numberOfSets, restIntervalSeconds)) {
+            throw new NumberFormatException("sets or rest interval in plan data is out of range.");
+        }
+        return Plan.packEntryAttributes(numberOfSets, restIntervalSeconds);
+    }
+
+    /**
+     * Replaces the workouts of a plan that were saved as workout ids with the Workout objects that have
+     * those workout ids. The workouts must have been loaded beforehand.
+     *
+     * @param workoutList      An instance of the WorkoutList class.
+     * @param workoutsInPlan   The workouts of the plan, with null for the workouts saved as workout ids.
+     * @param workoutIdsInPlan The workout ids of the workouts of the plan, or Workout.WORKOUT_ID_UNASSIGNED
+     *                         for the workouts saved with their exercise name and repetitions.
+     * @throws InvalidWorkoutException If there is no workout with one of the workout ids.
+     */
+    public void lookUpWorkoutIdsInPlan(WorkoutList workoutList, ArrayList<Workout> workoutsInPlan,
+            int[] workoutIdsInPlan) throws InvalidWorkoutException {
+        for (int i = 0; i < workoutIdsInPlan.length; i += 1) {
+            if (workoutIdsInPlan[i] == Workout.WORKOUT_ID_UNASSIGNED) {
+                continue;
+            }
+            Workout workout = workoutList.getWorkoutFromId(workoutIdsInPlan[i]);
+            if (workout == null) {
+                String className = this.getClass().getSimpleName();
+                throw new InvalidWorkoutException(className, InvalidWorkoutException.INVALID_WORKOUT_ERROR_MSG);
+            }
+            workoutsInPlan.set(i, workout);
+        }
+    }
+
+    public String[] parsePlansFileData(String fileDataLine) {
+        String[] parsedPlansData = fileDataLine.split(FILE_DATA_DELIMITER_REGEX, 2);
+        return parsedPlansData;
+    }
+
+    /**
+     * Where applicable, parses a line of data read from a resource file by splitting the data according
+     * to the delimiters.
+     *
+     * @param fileDataLine The line of data that is read from a resource file.
+     * @return An array containing the parsed line of data split by the delimiter.
+     */
+    public String[] parseFileDataLine(String fileDataLine) {
+        String[] parsedFileDataLine = fileDataLine.split(FILE_DATA_DELIMITER_REGEX);
+
+        for (int i = 0; i < parsedFileDataLine.length; i += 1) {
+            parsedFileDataLine[i] = parsedFileDataLine[i].trim();
+        }
+
+        return parsedFileDataLine;
+    }
+
+    /**
+     * Adds a parsed workout data that is read from the resource file 'workouts.txt' into
+     * the current application session's list of workouts.
+     *
+     * @param workoutList         An instance of the WorkoutList class.
+     * @param workoutFileDataLine An array of the parsed workout data read from the resource file.
+     * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
+     * @throws InvalidExerciseException       If the parsed data contains an invalid exercise name.
+     * @throws InvalidWorkoutException        If the parsed data contains invalid or insufficient information needed
+     *                                        to create a Workout object.
+     */
+    public void addFileWorkoutToList(WorkoutList workoutList, String[] workoutFileDataLine)
+            throws ArrayIndexOutOfBoundsException, InvalidExerciseException, InvalidWorkoutException {
+        String workoutId = (workoutFileDataLine.length > 2) ? workoutFileDataLine[2] : null;
+        addFileWorkoutToList(workoutList, workoutFileDataLine[0], workoutFileDataLine[1], workoutId);
+    }
+
+    /**
+     * Adds a workout that is read from the resource file 'workouts.txt' into the current application
+     * session's list of workouts.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param workoutName The exercise name of the workout read from the resource file.
+     * @param workoutReps The repetitions of the workout read from the resource file.
+     * @throws InvalidExerciseException If the exercise name is invalid.
+     * @throws InvalidWorkoutException  If the data contains invalid or insufficient information needed
+     *                                  to create a Workout object.
+     */
+    public void addFileWorkoutToList(WorkoutList workoutList, String workoutName, String workoutReps)
+            throws InvalidExerciseException, InvalidWorkoutException {
+        addFileWorkoutToList(workoutList, workoutName, workoutReps, null);
+    }
+
+    /**
+     * Adds a workout that is read from the resource file 'workouts.txt' into the current application
+     * session's list of workouts, keeping the workout id that it was saved with (if any).
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param workoutName The exercise name of the workout read from the resource file.
+     * @param workoutReps The repetitions of the workout read from the resource file.
+     * @param workoutId   The workout id read from the resource file, or null if the workout was saved without
+     *                    one. In that case, a new workout id is assigned.
+     * @throws InvalidExerciseException If the exercise name is invalid.
+     * @throws InvalidWorkoutException  If the data contains invalid or insufficient information needed
+     *                                  to create a Workout object, or the workout id is already in use.
+     * @throws NumberFormatException    If the workout id is not a number.
+     */
+    public void addFileWorkoutToList(WorkoutList workoutList, String workoutName, String workoutReps,
+            String workoutId) throws InvalidExerciseException, InvalidWorkoutException, NumberFormatException {
+        workoutName = workoutName.toLowerCase();
+        String userArguments = workoutName + " " + WorkoutCommand.ACTION_KEYWORD_CREATE_REPS + " " + workoutReps;
+        Workout newWorkout = workoutList.createNewWorkout(userArguments);
+        if (workoutId != null) {
+            workoutList.assignWorkoutId(newWorkout, Integer.parseInt(workoutId));
+        }
+        workoutList.addNewWorkoutToLists(newWorkout);
+    }
+
+    /**
+     * Adds a parsed workout data that is read from the resource file 'plans.txt' into
+     * the current application session's list of plans.
+     *
+     * @param planList         An instance of the PlanList class.
+     * @param planFileDataLine An array of the parsed plan data read from the resource file.
+     * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
+     * @throws InvalidExerciseException       If the parsed data contains an invalid exercise name.
+     * @throws InvalidWorkoutException        If the parsed data contains invalid or insufficient information needed
+     *                                        to create a Plan object based on the given workouts.
+     */
+    public void addFilePlanToList(PlanList planList, String[] planFileDataLine)
+            throws ArrayIndexOutOfBoundsException, InvalidExerciseException, InvalidWorkoutException {
+        Plan planToBeAdded = createFilePlan(planList, planFileDataLine);
+        planList.insertPlanIntoList(planToBeAdded.getPlanName(), planToBeAdded);
+    }
+
+    /**
+     * Creates a Plan object from a parsed plan data that is read from the resource file 'plans.txt', without
+     * adding it to the list of plans.
+     *
+     * @param planList         An instance of the PlanList class.
+     * @param planFileDataLine An array of the parsed plan data read from the resource file.
+     * @return The Plan object, whose workouts are the Workout objects in the list of workouts.
+     * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
+     * @throws InvalidWorkoutException        If a workout in the parsed data does not exist in the list of
+     *                                        workouts.
+     */
+    public Plan createFilePlan(PlanList planList, String[] planFileDataLine)
+            throws ArrayIndexOutOfBoundsException, InvalidWorkoutException {
+        String planName = planFileDataLine[0].trim().toLowerCase();
+        String workoutsInPlan = planFileDataLine[1].trim().toLowerCase();
+        String[] individualWorkout = workoutsInPlan.split(FILE_DATA_DELIMITER_PLAN, -1);
+        ArrayList<Workout> workoutsToAddInPlanList = new ArrayList<Workout>();
+        int[] workoutIdsToAddInPlanList = new int[individualWorkout.length];
+        int[] entryAttributesToAddInPlanList = new int[individualWorkout.length];
+        for (int i = 0; i < individualWorkout.length; i++) {
+            String[] workoutDetail = individualWorkout[i].split(FILE_DATA_DELIMITER_REGEX);
+            String workoutId = removeEntryAttributesInPlan(workoutDetail[0]);
+            if (isWorkoutIdInPlan(workoutId)) {
+                workoutIdsToAddInPlanList[i] = Integer.parseInt(workoutId);
+                entryAttributesToAddInPlanList[i] = parseEntryAttributesInPlan(workoutDetail[0]);
+                workoutsToAddInPlanList.add(null);
+                continue;
+            }
+            entryAttributesToAddInPlanList[i] = parseEntryAttributesInPlan(workoutDetail[1]);
+            workoutsToAddInPlanList.add(new Workout(workoutDetail[0].trim(),
+                    Integer.parseInt(removeEntryAttributesInPlan(workoutDetail[1]))));
+        }
+        lookUpWorkoutIdsInPlan(planList.getWorkoutList(), workoutsToAddInPlanList, workoutIdsToAddInPlanList);
+        return new Plan(planName, workoutsToAddInPlanList, entryAttributesToAddInPlanList);
+    }
+
+    /**
+     * Adds a plan that is read from the resource file 'plans.txt' into the current application
+     * session's list of plans.
+     *
+     * @param planList                An instance of the PlanList class.
+     * @param planName                The name of the plan read from the resource file.
+     * @param workoutsToAddInPlanList The workouts of the plan read from the resource file.
+     * @param entryAttributes         The packed sets and rest interval of each workout of the plan, or null if
+     *                                every workout has the default attributes.
+     * @throws InvalidExerciseException If a workout contains an invalid exercise name.
+     * @throws InvalidWorkoutException  If the workouts contain invalid or insufficient information needed
+     *                                  to create a Plan object.
+     */
+    public void addFilePlanToList(PlanList planList, String planName, ArrayList<Workout> workoutsToAddInPlanList,
+            int[] entryAttributes) throws InvalidExerciseException, InvalidWorkoutException {
+        Plan planToBeAdded = new Plan(planName, workoutsToAddInPlanList, entryAttributes);
+        planList.insertPlanIntoList(planName, planToBeAdded);
+    }
+
+    /**
+     * Adds a parsed day schedule data that is read from the resource file 'schedule.txt' into
+     * the current application session's schedule of the days.
+     *
+     * @param dayList              An instance of the DayList class.
+     * @param scheduleFileDataLine An array of the parsed day schedule data read from the resource file.
      * @throws ArrayIndexOutOfBoundsException If the parsed data contains insufficient information.
      * @throws InvalidScheduleException       If the parsed data contains invalid day schedule data or format.
      * @throws InvalidPlanException           If the plan name could not be found in this session's list of plans.
      */
     public void addFileScheduleToList(DayList dayList, String[] scheduleFileDataLine)
             throws ArrayIndexOutOfBoundsException, InvalidScheduleException, InvalidPlanException {
-        String dayNumber = scheduleFileDataLine[0];
-        String planName = scheduleFileDataLine[1].toLowerCase();
+        addFileScheduleToList(dayList, scheduleFileDataLine[0], scheduleFileDataLine[1]);
+    }
+
+    /**
+     * Adds a day schedule that is read from the resource file 'schedule.txt' into the current
+     * application session's schedule of the days.
+     *
+     * @param dayList   An instance of the DayList class.
+     * @param dayNumber The day number read from the resource file.
+     * @param planName  The name of the plan scheduled on the day read from the resource file.
+     * @throws InvalidScheduleException If the data contains invalid day schedule data or format.
+     * @throws InvalidPlanException     If the plan name could not be found in this session's list of plans.
+     */
+    public void addFileScheduleToList(DayList dayList, String dayNumber, String planName)
+            throws InvalidScheduleException, InvalidPlanException {
+        planName = planName.toLowerCase();
         int planNameIndexNum = getPlanList().getIndexNumFromPlanName(planName);
 
         String userArguments = dayNumber + " " + planNameIndexNum;
@@ -665,19 +1413,117 @@ public class FileManager {
     }
 
     /**
-     * Writes a newly-created Workout object into the workout resource file with the correct data format.
+     * Writes a batch of newly-created Workout objects into the workout resource file with the correct data
+     * format. If the journaled storage mode is enabled, the workouts are appended to the journal instead. If the
+     * write-behind storage mode is enabled, the workouts are saved by the PersistenceWorker instead. If the
+     * binary storage format is enabled, the binary data file is rewritten instead. The resource file (or the
+     * journal, or the binary data file) is only opened once for the whole batch.
      *
-     * @param newWorkout The newly-created Workout object to be added into the resource file.
+     * @param newWorkouts The newly-created Workout objects to be added into the resource file.
      * @throws IOException          If the workout resource file cannot be opened.
-     * @throws NullPointerException If the Workout parameter is null.
+     * @throws NullPointerException If any of the Workout objects is null.
      */
-    public void writeNewWorkoutToFile(Workout newWorkout) throws IOException, NullPointerException {
-        String workoutInFileFormat = convertWorkoutToFileDataFormat(newWorkout);
+    public void writeNewWorkoutsToFile(ArrayList<Workout> newWorkouts) throws IOException, NullPointerException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendWorkoutsCreated(newWorkouts);
+            return;
+        }
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+        appendWorkoutsToFile(newWorkouts);
+    }
 
-        FileWriter fileWriter = new FileWriter(getWorkoutFilePath().toString(), true);
-        fileWriter.append(workoutInFileFormat);
-        fileWriter.append(System.lineSeparator());
-        fileWriter.close();
+    /**
+     * Appends a batch of Workout objects to the end of the workout resource file with the correct data
+     * format, opening the file only once for the whole batch. The workouts must be the last workouts in the
+     * list of workouts, so that the lines in the file stay in the same order as the list.
+     *
+     * @param workouts The Workout objects to be appended to the resource file.
+     * @throws IOException          If the workout resource file cannot be opened.
+     * @throws NullPointerException If any of the Workout objects is null.
+     */
+    public void appendWorkoutsToFile(ArrayList<Workout> workouts) throws IOException, NullPointerException {
+        StringBuilder workoutsInFileFormat = new StringBuilder();
+        for (Workout workout : workouts) {
+            workoutsInFileFormat.append(addChecksumToFileDataLine(convertWorkoutToFileDataFormat(workout)));
+            workoutsInFileFormat.append(System.lineSeparator());
+        }
+
+        appendToFile(getWorkoutFilePath(), workoutsInFileFormat.toString());
+    }
+
+    /**
+     * Removes the lines of a batch of workouts from the workout resource file by blanking them out in place,
+     * so that the lines of the other workouts are not rewritten.
+     *
+     * @param workouts The Workout objects whose lines are to be removed.
+     * @return Returns true if the lines have been removed. Returns false if any of them cannot be found in the
+     *         resource file, in which case the resource file has to be rewritten instead.
+     * @throws IOException          If the workout resource file cannot be opened.
+     * @throws NullPointerException If any of the Workout objects is null.
+     */
+    public boolean removeWorkoutsFromFile(ArrayList<Workout> workouts) throws IOException, NullPointerException {
+        ArrayList<String> workoutsInFileFormat = new ArrayList<>();
+        for (Workout workout : workouts) {
+            workoutsInFileFormat.add(addChecksumToFileDataLine(convertWorkoutToFileDataFormat(workout)));
+        }
+        return removeLinesFromFile(getWorkoutFilePath(), workoutsInFileFormat);
+    }
+
+    /**
+     * Replaces the line of a workout in the workout resource file with the line of the workout that has taken
+     * its place in the list of workouts, without rewriting the lines of the other workouts. If the workout is
+     * the last one in the list, the new line is appended before the old line is blanked out, so a crash in
+     * between cannot lose the workout. Otherwise, the new line is written over the old line, padded with
+     * whitespace, so that the lines stay in the same order as the list.
+     *
+     * @param replacedWorkout The Workout object whose line is to be replaced.
+     * @param workoutInList   The Workout object that has replaced it in the list of workouts.
+     * @param isLastWorkout   True if the workout is the last one in the list of workouts.
+     * @return Returns true if the line has been replaced. Returns false if the old line cannot be found, or
+     *         the new line is longer than the old line and the workout is not the last one, in which case the
+     *         resource file has to be rewritten instead.
+     * @throws IOException          If the workout resource file cannot be opened.
+     * @throws NullPointerException If any of the Workout objects is null.
+     */
+    public boolean replaceWorkoutInFile(Workout replacedWorkout, Workout workoutInList, boolean isLastWorkout)
+            throws IOException, NullPointerException {
+        Path workoutFilePath = getWorkoutFilePath();
+        ArrayList<String> replacedLines = new ArrayList<>();
+        replacedLines.add(addChecksumToFileDataLine(convertWorkoutToFileDataFormat(replacedWorkout)));
+        ArrayList<ParsedFileRecord> replacedRecords = findRecordsInFile(workoutFilePath, replacedLines);
+        if (replacedRecords == null) {
+            return false;
+        }
+
+        String newLine = addChecksumToFileDataLine(convertWorkoutToFileDataFormat(workoutInList));
+        if (isLastWorkout) {
+            appendToFile(workoutFilePath, newLine + System.lineSeparator());
+            try (FileChannel workoutFileChannel = FileChannel.open(workoutFilePath, StandardOpenOption.WRITE)) {
+                blankOutRecords(workoutFileChannel, replacedRecords);
+            }
+            return true;
+        }
+
+        ParsedFileRecord replacedRecord = replacedRecords.get(0);
+        byte[] newLineBytes = newLine.getBytes(StandardCharsets.UTF_8);
+        byte[] paddedNewLine = new byte[replacedRecord.getLineEnd() - replacedRecord.getLineStart()];
+        if (newLineBytes.length > paddedNewLine.length) {
+            return false;
+        }
+        // The whitespace after the checksum is ignored when the resource file is loaded
+        Arrays.fill(paddedNewLine, BLANK_BYTE);
+        System.arraycopy(newLineBytes, 0, paddedNewLine, 0, newLineBytes.length);
+        try (FileChannel workoutFileChannel = FileChannel.open(workoutFilePath, StandardOpenOption.WRITE)) {
+            workoutFileChannel.write(ByteBuffer.wrap(paddedNewLine), replacedRecord.getLineStart());
+            workoutFileChannel.force(true);
+        }
+        return true;
     }
 
     /**
@@ -697,24 +1543,82 @@ public class FileManager {
         workoutInFileFormat.append(workout.getExerciseName());
         workoutInFileFormat.append(FILE_DATA_DELIMITER);
         workoutInFileFormat.append(workout.getRepetitions());
+        if (workout.hasWorkoutId()) {
+            workoutInFileFormat.append(FILE_DATA_DELIMITER);
+            workoutInFileFormat.append(workout.getWorkoutId());
+        }
 
         return workoutInFileFormat.toString();
     }
 
     /**
      * Writes a newly-created Plan object into the plan resource file with the correct data format.
+     * If the journaled storage mode is enabled, the plan is appended to the journal instead. If the
+     * write-behind storage mode is enabled, the plan is saved by the PersistenceWorker instead. If the
+     * binary storage format is enabled, the binary data file is rewritten instead.
      *
      * @param newPlan The newly-created Plan object to be added into the resource file.
      * @throws IOException          If the plan resource file cannot be opened.
      * @throws NullPointerException If the Plan parameter is null.
      */
     public void writeNewPlanToFile(Plan newPlan) throws IOException, NullPointerException {
-        String planInFileFormat = convertPlanToFileDataFormat(newPlan);
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendPlanCreated(newPlan);
+            return;
+        }
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+        ArrayList<Plan> newPlans = new ArrayList<>();
+        newPlans.add(newPlan);
+        appendPlansToFile(newPlans);
+    }
 
-        FileWriter fileWriter = new FileWriter(getPlanFilePath().toString(), true);
-        fileWriter.append(planInFileFormat);
-        fileWriter.append(System.lineSeparator());
-        fileWriter.close();
+    /**
+     * Appends a batch of Plan objects to the end of the plan resource file with the correct data format,
+     * opening the file only once for the whole batch. The plans must be the last plans in the list of plans,
+     * so that the lines in the file stay in the same order as the list.
+     *
+     * @param plans The Plan objects to be appended to the resource file.
+     * @throws IOException          If the plan resource file cannot be opened.
+     * @throws NullPointerException If any of the Plan objects is null.
+     */
+    public void appendPlansToFile(ArrayList<Plan> plans) throws IOException, NullPointerException {
+        StringBuilder plansInFileFormat = new StringBuilder();
+        for (Plan plan : plans) {
+            plansInFileFormat.append(addChecksumToFileDataLine(convertPlanToFileDataFormat(plan)));
+            plansInFileFormat.append(System.lineSeparator());
+        }
+
+        appendToFile(getPlanFilePath(), plansInFileFormat.toString());
+    }
+
+    /**
+     * Removes the lines of a batch of plans from the plan resource file by blanking them out in place,
+     * so that the lines of the other plans are not rewritten.
+     *
+     * @param plans The Plan objects whose lines are to be removed.
+     * @return Returns true if the lines have been removed. Returns false if any of them cannot be found in the
+     *         resource file, in which case the resource file has to be rewritten instead.
+     * @throws IOException          If the plan resource file cannot be opened.
+     * @throws NullPointerException If any of the Plan objects is null.
+     */
+    public boolean removePlansFromFile(ArrayList<Plan> plans) throws IOException, NullPointerException {
+        ArrayList<String> plansInFileFormat = new ArrayList<>();
+        for (Plan plan : plans) {
+            for (int i = 0; i < plan.getNumberOfWorkouts(); i += 1) {
+                if (plan.getWorkoutAt(i) == null) {
+                    // The plan was removed together with its workouts, so its line can no longer be built
+                    return false;
+                }
+            }
+            plansInFileFormat.add(addChecksumToFileDataLine(convertPlanToFileDataFormat(plan)));
+        }
+        return removeLinesFromFile(getPlanFilePath(), plansInFileFormat);
     }
 
     /**
@@ -733,10 +1637,15 @@ public class FileManager {
         StringBuilder planInFileFormat = new StringBuilder();
         planInFileFormat.append(plan.getPlanName().toLowerCase());
         planInFileFormat.append(FILE_DATA_DELIMITER);
-        var workoutInPlan = plan.getWorkoutsInPlanList();
-        for (int i = 0; i < workoutInPlan.size(); i++) {
-            planInFileFormat.append(convertWorkoutToFileDataFormat(workoutInPlan.get(i)));
-            if (i != workoutInPlan.size() - 1) {
+        for (int i = 0; i < plan.getNumberOfWorkouts(); i++) {
+            planInFileFormat.append(convertWorkoutInPlanToFileDataFormat(plan.getWorkoutAt(i)));
+            // Plans without any sets or rest intervals are saved in the same format as before
+            if (!plan.hasDefaultEntryAttributes()) {
+                planInFileFormat.append(FILE_DATA_DELIMITER_ENTRY_ATTRIBUTES).append(plan.getNumberOfSetsAt(i));
+                planInFileFormat.append(FILE_DATA_DELIMITER_ENTRY_ATTRIBUTES)
+                        .append(plan.getRestIntervalSecondsAt(i));
+            }
+            if (i != plan.getNumberOfWorkouts() - 1) {
                 planInFileFormat.append(FILE_DATA_DELIMITER_PLAN);
             }
         }
@@ -744,8 +1653,231 @@ public class FileManager {
         return planInFileFormat.toString();
     }
 
+    /**
+     * Converts a workout in a plan into the string that will be written to the plan resource file. The
+     * workout is saved as its workout id, so that updating the workout does not change the plans that
+     * contain it. A workout that has not been added to a WorkoutList (and has no workout id) is saved with
+     * its exercise name and repetitions instead.
+     *
+     * @param workout The Workout object in the plan.
+     * @return The string that will be written to the resource file.
+     */
+    private String convertWorkoutInPlanToFileDataFormat(Workout workout) {
+        if (workout.hasWorkoutId()) {
+            return Integer.toString(workout.getWorkoutId());
+        }
+        return workout.getExerciseName() + FILE_DATA_DELIMITER + workout.getRepetitions();
+    }
+
+    /**
+     * Saves the deletion of a batch of workouts, and of the plans that were deleted because they contained
+     * any of the workouts. If the journaled storage mode is enabled, the deletions are appended to the journal.
+     * If the write-behind storage mode is enabled, nothing is done here as the PersistenceWorker has already
+     * been notified by the lists. Otherwise, the workout and plan resource files are rewritten. The deletions
+     * are saved once for the whole batch.
+     *
+     * @param workoutList     An instance of the WorkoutList class.
+     * @param planList        An instance of the PlanList class.
+     * @param deletedWorkouts The Workout objects that have been deleted.
+     * @param deletedPlans    The Plan objects that have been deleted as a result.
+     * @throws IOException If the journal or the resource files cannot be opened.
+     */
+    public void recordDeletedWorkouts(WorkoutList workoutList, PlanList planList, ArrayList<Workout> deletedWorkouts,
+            ArrayList<Plan> deletedPlans) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendWorkoutsDeleted(deletedWorkouts, deletedPlans);
+            return;
+        }
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+
+        rewriteAllWorkoutsToFile(workoutList);
+        if (!deletedPlans.isEmpty()) {
+            rewriteAllPlansToFile(planList);
+        }
+    }
+
+    /**
+     * Saves the update of a workout. If the journaled storage mode is enabled, the update is appended to
+     * the journal. If the write-behind storage mode is enabled, the update is saved by the PersistenceWorker.
+     * Otherwise, the workout resource file is rewritten. The plan resource file refers to workouts by their
+     * workout ids, so the plans that contain the workout do not have to be rewritten.
+     *
+     * @param workoutList    An instance of the WorkoutList class.
+     * @param planList       An instance of the PlanList class.
+     * @param oldWorkoutKey  The key of the workout before it was updated.
+     * @param updatedWorkout The Workout object that has been updated.
+     * @throws IOException If the journal or the resource files cannot be opened.
+     */
+    public void recordUpdatedWorkout(WorkoutList workoutList, PlanList planList, String oldWorkoutKey,
+            Workout updatedWorkout) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendWorkoutUpdated(oldWorkoutKey, updatedWorkout);
+            return;
+        }
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+
+        rewriteAllWorkoutsToFile(workoutList);
+    }
+
+    /**
+     * Saves the deletion of a plan. If the journaled storage mode is enabled, the deletion is appended
+     * to the journal. If the write-behind storage mode is enabled, the deletion is saved by the
+     * PersistenceWorker. Otherwise, the plan resource file is rewritten.
+     *
+     * @param planList    An instance of the PlanList class.
+     * @param deletedPlan The Plan object that has been deleted.
+     * @throws IOException If the journal or the resource file cannot be opened.
+     */
+    public void recordDeletedPlan(PlanList planList, Plan deletedPlan) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendPlanDeleted(deletedPlan);
+            return;
+        }
+
+        rewriteAllPlansToFile(planList);
+    }
+
+    /**
+     * Saves the changes of a command that has been undone or redone. If the journaled storage mode is enabled,
+     * the changes are appended to the journal, with the workouts before the plans and the plans before the
+     * schedule, so that the entries can be replayed in order. If the write-behind storage mode is enabled,
+     * nothing is done here as the PersistenceWorker has already been notified by the lists. If the binary
+     * storage format is enabled, the whole binary data file is rewritten, as plans and days refer to the
+     * records before them by their ordinals, which change when a record is removed. Otherwise, only the
+     * resource files that store the changed entries are saved: if the only change to a resource file can be
+     * made to the lines of its entries alone (e.g. undoing 'workout /new' blanks out the line of the workout,
+     * and redoing it appends the line again), only those lines are written. Any other change (e.g. undoing
+     * 'workout /delete' of a workout in the middle of the list) would reorder lines, so the resource file is
+     * rewritten.
+     *
+     * @param changeSet   The ChangeSet of the command that has been undone or redone.
+     * @param isReverted  True if the command has been undone, or false if it has been redone.
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     * @throws IOException If the journal or the resource files cannot be opened.
+     */
+    public void recordChangeSet(ChangeSet changeSet, boolean isReverted, WorkoutList workoutList,
+            PlanList planList, DayList dayList) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            ArrayList<Change> changes = changeSet.getChanges(isReverted);
+            changes.sort(Comparator.comparingInt(change -> RESOURCE_FILE_NAMES_IN_LOAD_ORDER
+                    .indexOf(change.getResourceFileName())));
+            for (Change change : changes) {
+                change.appendToJournal(getJournal(), isReverted);
+            }
+            return;
+        }
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+
+        for (String resourceFileName : changeSet.getResourceFileNames()) {
+            ArrayList<Change> changesToFile = changeSet.getChangesToResourceFile(resourceFileName, isReverted);
+            if (changesToFile.size() == 1 && changesToFile.get(0).updateResourceFile(this, isReverted)) {
+                continue;
+            }
+            switch (resourceFileName) {
+            case NAME_WORKOUT_FILE:
+                rewriteAllWorkoutsToFile(workoutList);
+                break;
+            case NAME_PLAN_FILE:
+                rewriteAllPlansToFile(planList);
+                break;
+            case NAME_SCHEDULE_FILE:
+                rewriteAllDaysScheduleToFile(dayList);
+                break;
+            default:
+                logger.log(Level.WARNING, "Unknown resource file in change set: " + resourceFileName);
+            }
+        }
+    }
+
+    /**
+     * Saves a day whose plan has been added or updated. If the journaled storage mode is enabled,
+     * the change is appended to the journal. If the write-behind storage mode is enabled, the change is
+     * saved by the PersistenceWorker. Otherwise, the schedule resource file is rewritten.
+     *
+     * @param dayList    An instance of the DayList class.
+     * @param updatedDay The Day object that has been added or updated.
+     * @throws IOException If the journal or the resource file cannot be opened.
+     */
+    public void recordUpdatedDay(DayList dayList, Day updatedDay) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendDayUpdated(updatedDay);
+            return;
+        }
+
+        rewriteAllDaysScheduleToFile(dayList);
+    }
+
+    /**
+     * Saves the days whose plans have been cleared. If the journaled storage mode is enabled,
+     * the change is appended to the journal. If the write-behind storage mode is enabled, the change is
+     * saved by the PersistenceWorker. Otherwise, the schedule resource file is rewritten.
+     *
+     * @param dayList           An instance of the DayList class.
+     * @param clearedDayNumbers The day numbers (1-7) of the days that have been cleared.
+     * @throws IOException If the journal or the resource file cannot be opened.
+     */
+    public void recordClearedDays(DayList dayList, ArrayList<Integer> clearedDayNumbers) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendDaysCleared(clearedDayNumbers);
+            return;
+        }
+
+        rewriteAllDaysScheduleToFile(dayList);
+    }
+
+    /**
+     * Saves the clearing of the entire schedule. If the journaled storage mode is enabled,
+     * the change is appended to the journal. If the write-behind storage mode is enabled, the change is
+     * saved by the PersistenceWorker. Otherwise, the schedule resource file is rewritten.
+     *
+     * @param dayList An instance of the DayList class.
+     * @throws IOException If the journal or the resource file cannot be opened.
+     */
+    public void recordClearedSchedule(DayList dayList) throws IOException {
+        if (isWriteBehindModeEnabled()) {
+            return;
+        }
+        if (isJournalModeEnabled()) {
+            getJournal().appendScheduleCleared();
+            return;
+        }
+
+        rewriteAllDaysScheduleToFile(dayList);
+    }
+
     /**
      * Rewrites the entire list of workouts stored in the WorkoutList object into the workout resource file.
+     * The file is replaced atomically, so a failure halfway through leaves the previous contents intact.
+     * If the binary storage format is enabled, the binary data file is rewritten instead.
      *
      * @param workoutList An instance of the WorkoutList class.
      * @throws IOException          If the application is unable to open the workout resource file.
@@ -753,21 +1885,37 @@ public class FileManager {
      *                              by this method.
      */
     public void rewriteAllWorkoutsToFile(WorkoutList workoutList) throws IOException, NullPointerException {
-        ArrayList<String> listOfWorkouts = workoutList.getWorkoutsDisplayList();
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+        writeSnapshotToFile(getWorkoutFilePath(), convertAllWorkoutsToFileDataFormat(workoutList));
+    }
 
-        FileWriter fileWriter = new FileWriter(getWorkoutFilePath().toString());
-        for (String workoutKey : listOfWorkouts) {
-            Workout workoutObject = workoutList.getWorkoutFromKey(workoutKey);
+    /**
+     * Converts the entire list of workouts stored in the WorkoutList object into the lines that will be
+     * written to the workout resource file.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @return An ArrayList of the lines to be written, one for each workout.
+     * @throws NullPointerException If a null object is given as a parameter for any of the methods called
+     *                              by this method.
+     */
+    public ArrayList<String> convertAllWorkoutsToFileDataFormat(WorkoutList workoutList)
+            throws NullPointerException {
+        ArrayList<String> workoutsInFileFormat = new ArrayList<>();
+        for (int i = 1; i <= workoutList.getNumberOfWorkouts(); i += 1) {
+            Workout workoutObject = workoutList.getWorkoutFromIndexNum(i);
             assert (workoutObject != null) : "Workout object is NULL";
-            String workoutInFileFormat = convertWorkoutToFileDataFormat(workoutObject);
-            fileWriter.append(workoutInFileFormat);
-            fileWriter.append(System.lineSeparator());
+            workoutsInFileFormat.add(addChecksumToFileDataLine(convertWorkoutToFileDataFormat(workoutObject)));
         }
-        fileWriter.close();
+        return workoutsInFileFormat;
     }
 
     /**
      * Rewrites the entire list of plans stored in the PlanList object into the plan resource file.
+     * The file is replaced atomically, so a failure halfway through leaves the previous contents intact.
+     * If the binary storage format is enabled, the binary data file is rewritten instead.
      *
      * @param planList An instance of the PlanList class.
      * @throws IOException          If the application is unable to open the plan resource file.
@@ -775,21 +1923,36 @@ public class FileManager {
      *                              by this method.
      */
     public void rewriteAllPlansToFile(PlanList planList) throws IOException, NullPointerException {
-        ArrayList<String> listOfPlans = planList.getPlansDisplayList();
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+        writeSnapshotToFile(getPlanFilePath(), convertAllPlansToFileDataFormat(planList));
+    }
 
-        FileWriter fileWriter = new FileWriter(getPlanFilePath().toString());
-        for (String planKey : listOfPlans) {
-            Plan planObject = planList.getPlanFromKey(planKey);
+    /**
+     * Converts the entire list of plans stored in the PlanList object into the lines that will be
+     * written to the plan resource file.
+     *
+     * @param planList An instance of the PlanList class.
+     * @return An ArrayList of the lines to be written, one for each plan.
+     * @throws NullPointerException If a null object is given as a parameter for any of the methods called
+     *                              by this method.
+     */
+    public ArrayList<String> convertAllPlansToFileDataFormat(PlanList planList) throws NullPointerException {
+        ArrayList<String> plansInFileFormat = new ArrayList<>();
+        for (int i = 1; i <= planList.getNumberOfPlans(); i += 1) {
+            Plan planObject = planList.getPlanFromIndexNum(i);
             assert (planObject != null) : "Plan object is NULL";
-            String planInFileFormat = convertPlanToFileDataFormat(planObject);
-            fileWriter.append(planInFileFormat);
-            fileWriter.append(System.lineSeparator());
+            plansInFileFormat.add(addChecksumToFileDataLine(convertPlanToFileDataFormat(planObject)));
         }
-        fileWriter.close();
+        return plansInFileFormat;
     }
 
     /**
      * Rewrites the entire list of exercises stored in the ExerciseList object into the exercise resource file.
+     * The file is replaced atomically, so a failure halfway through leaves the previous contents intact.
+     * If the binary storage format is enabled, the binary data file is rewritten instead.
      *
      * @param exerciseList An instance of the ExerciseList class.
      * @throws IOException          If the application is unable to open the exercise resource file.
@@ -797,39 +1960,184 @@ public class FileManager {
      *                              by this method.
      */
     public void rewriteAllExercisesToFile(ExerciseList exerciseList) throws IOException, NullPointerException {
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
         ArrayList<String> listOfExercises = exerciseList.getExerciseList();
-
-        FileWriter fileWriter = new FileWriter(getExerciseFilePath().toString());
         for (String exerciseKey : listOfExercises) {
             assert (exerciseKey != null) : "Exercise object is NULL";
-            fileWriter.append(exerciseKey);
-            fileWriter.append(System.lineSeparator());
         }
-        fileWriter.close();
+        writeSnapshotToFile(getExerciseFilePath(), listOfExercises);
     }
 
     /**
      * Rewrites the entire list of Days and their corresponding plans stored in the DayList object into
-     * the schedule resource file.
+     * the schedule resource file. The file is replaced atomically, so a failure halfway through leaves the
+     * previous contents intact. If the binary storage format is enabled, the binary data file is rewritten
+     * instead.
      *
      * @param dayList An instance of the DayList class.
      * @throws IOException If the application is unable to open the schedule resource file.
      */
     public void rewriteAllDaysScheduleToFile(DayList dayList) throws IOException {
-        Day[] listOfDaysPlans = dayList.getDayList();
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFile();
+            return;
+        }
+        writeSnapshotToFile(getScheduleFilePath(), convertAllDaysScheduleToFileDataFormat(dayList));
+    }
 
-        FileWriter fileWriter = new FileWriter(getScheduleFilePath().toString());
+    /**
+     * Converts the entire list of Days and their corresponding plans stored in the DayList object into
+     * the lines that will be written to the schedule resource file.
+     *
+     * @param dayList An instance of the DayList class.
+     * @return An ArrayList of the lines to be written, one for each Day that has a plan.
+     */
+    public ArrayList<String> convertAllDaysScheduleToFileDataFormat(DayList dayList) {
+        Day[] listOfDaysPlans = dayList.getDayList();
+        ArrayList<String> daysScheduleInFileFormat = new ArrayList<>();
         for (int i = 0; i < listOfDaysPlans.length; i += 1) {
             if (listOfDaysPlans[i] == null) {
                 // Day has no plan, nothing to write to the file. Proceed to the next Day.
                 continue;
             }
             assert (listOfDaysPlans[i] != null) : "Element referenced is null, but it should not be.";
-            String dayScheduleInFileFormat = convertDayScheduleToFileDataFormat(listOfDaysPlans[i]);
-            fileWriter.append(dayScheduleInFileFormat);
-            fileWriter.append(System.lineSeparator());
+            daysScheduleInFileFormat.add(addChecksumToFileDataLine(
+                    convertDayScheduleToFileDataFormat(listOfDaysPlans[i])));
         }
-        fileWriter.close();
+        return daysScheduleInFileFormat;
+    }
+
+    /**
+     * Atomically replaces the contents of a resource file with the given lines.
+     *
+     * @param filePath      The path of the resource file to replace.
+     * @param fileDataLines The lines to write to the resource file.
+     * @throws IOException If the application is unable to write to the resource file.
+     */
+    public void writeSnapshotToFile(Path filePath, ArrayList<String> fileDataLines) throws IOException {
+        SnapshotWriter snapshotWriter = new SnapshotWriter(filePath);
+        try {
+            for (String fileDataLine : fileDataLines) {
+                snapshotWriter.appendLine(fileDataLine);
+            }
+            snapshotWriter.commit();
+        } catch (IOException e) {
+            snapshotWriter.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a checksum field to a line of data that will be written to a resource file, so that any
+     * corruption of the line can be detected when it is loaded (e.g. "push up | 10 | #1a2b3c4d").
+     * The checksum is the CRC-32 of the line's UTF-8 bytes.
+     *
+     * @param fileDataLine The line of data in its file data format.
+     * @return The line of data with a checksum field.
+     */
+    public String addChecksumToFileDataLine(String fileDataLine) {
+        CRC32 checksum = new CRC32();
+        checksum.update(fileDataLine.getBytes(StandardCharsets.UTF_8));
+        return fileDataLine + FILE_DATA_DELIMITER + FILE_DATA_CHECKSUM_PREFIX
+                + String.format(FILE_DATA_CHECKSUM_FORMAT, checksum.getValue());
+    }
+
+    /**
+     * Rewrites each resource file whose contents differ from the data stored in the given lists (e.g. because
+     * corrupted data was removed, the data was not in lower-case, or journal entries were replayed). Resource
+     * files that are already up-to-date are not replaced. If the binary storage format is enabled, the binary
+     * data file is checked instead.
+     *
+     * @param exerciseList An instance of the ExerciseList class.
+     * @param workoutList  An instance of the WorkoutList class.
+     * @param planList     An instance of the PlanList class.
+     * @param dayList      An instance of the DayList class.
+     * @throws IOException If the application is unable to read or write to a resource file.
+     */
+    public void rewriteOutdatedResourceFiles(ExerciseList exerciseList, WorkoutList workoutList, PlanList planList,
+            DayList dayList) throws IOException {
+        if (isBinaryFormatEnabled()) {
+            rewriteBinaryDataFileIfOutdated();
+            return;
+        }
+        int numberOfFilesRewritten = 0;
+        if (writeSnapshotToFileIfOutdated(getExerciseFilePath(), exerciseList.getExerciseList())) {
+            numberOfFilesRewritten += 1;
+        }
+        if (writeSnapshotToFileIfOutdated(getWorkoutFilePath(), convertAllWorkoutsToFileDataFormat(workoutList))) {
+            numberOfFilesRewritten += 1;
+        }
+        if (writeSnapshotToFileIfOutdated(getPlanFilePath(), convertAllPlansToFileDataFormat(planList))) {
+            numberOfFilesRewritten += 1;
+        }
+        if (writeSnapshotToFileIfOutdated(getScheduleFilePath(), convertAllDaysScheduleToFileDataFormat(dayList))) {
+            numberOfFilesRewritten += 1;
+        }
+        logger.log(Level.INFO, numberOfFilesRewritten + " outdated resource file(s) rewritten.");
+    }
+
+    /**
+     * Atomically replaces the contents of a resource file with the given lines, unless the resource file
+     * already contains exactly those lines.
+     *
+     * @param filePath      The path of the resource file to replace.
+     * @param fileDataLines The lines to write to the resource file.
+     * @return Returns true if the resource file was rewritten. Otherwise, returns false.
+     * @throws IOException If the application is unable to read or write to the resource file.
+     */
+    public boolean writeSnapshotToFileIfOutdated(Path filePath, ArrayList<String> fileDataLines) throws IOException {
+        if (isFileDataUpToDate(filePath, fileDataLines)) {
+            return false;
+        }
+        writeSnapshotToFile(filePath, fileDataLines);
+        return true;
+    }
+
+    /**
+     * Checks if the given resource file contains exactly the given lines. Blank lines in the resource file
+     * (e.g. left behind by quarantined records) are ignored.
+     *
+     * @param filePath      The path of the resource file to check.
+     * @param fileDataLines The lines that the resource file is expected to contain.
+     * @return Returns true if the resource file exists and contains exactly the given lines. Otherwise,
+     *         returns false.
+     * @throws IOException If the application is unable to read the resource file.
+     */
+    public boolean isFileDataUpToDate(Path filePath, ArrayList<String> fileDataLines) throws IOException {
+        if (!Files.exists(filePath)) {
+            return false;
+        }
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+        int lineIndex = 0;
+        while (fileReader.hasNextLine()) {
+            fileReader.nextLine();
+            if (fileReader.isBlankLine()) {
+                continue;
+            }
+            if (lineIndex == fileDataLines.size() || !fileReader.getLine().equals(fileDataLines.get(lineIndex))) {
+                return false;
+            }
+            lineIndex += 1;
+        }
+        return lineIndex == fileDataLines.size();
+    }
+
+    /**
+     * Checks if the given file contains exactly the given data.
+     *
+     * @param filePath The path of the file to check.
+     * @param fileData The data that the file is expected to contain.
+     * @return Returns true if the file exists and contains exactly the given data. Otherwise, returns false.
+     * @throws IOException If the application is unable to read the file.
+     */
+    private boolean isFileDataUpToDate(Path filePath, byte[] fileData) throws IOException {
+        if (!Files.exists(filePath) || Files.size(filePath) != fileData.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(filePath), fileData);
     }
 
     /**
@@ -0,0 +1,27 @@
+package storage;
+
+/**
+ * Thrown to indicate that the binary data file cannot be decoded as a whole (e.g. it was written by an
+ * unsupported version of WerkIt!).
+ */
+public class InvalidBinaryDataException extends Exception {
+    // Pre-defined error messages
+    public static final String INVALID_MAGIC_NUMBER_MSG = "Uh oh, the binary data file is not a WerkIt! data file.";
+    public static final String UNSUPPORTED_VERSION_MSG = "Uh oh, the binary data file was written by an "
+            + "unsupported version of WerkIt!.";
+    public static final String INVALID_SECTION_MSG = "Uh oh, the binary data file is missing some of its data.";
+
+    private String throwingClass;
+
+    /**
+     * Constructs an InvalidBinaryDataException with the class name that this exception instance was
+     * thrown from and the accompanying error message.
+     *
+     * @param throwingClass The class name that this exception instance was thrown from.
+     * @param errorMessage  The error message given by the throwing method.
+     */
+    public InvalidBinaryDataException(String throwingClass, String errorMessage) {
+        super(errorMessage);
+        this.throwingClass = throwingClass;
+    }
+}
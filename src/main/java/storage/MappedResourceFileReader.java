@@ -0,0 +1,580 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a text resource file line by line, with the file memory-mapped into a byte buffer. Line boundaries
+ * and delimiters are located directly on the bytes, and only the fields that are requested are decoded
+ * into strings. The lines and fields returned are identical to those obtained by reading the file with a
+ * java.util.Scanner (i.e. hasNext() and nextLine()) and splitting each line with String.split().
+ * If a line ends with a checksum field (e.g. "push up | 10 | #1a2b3c4d"), the checksum field is excluded
+ * from the fields of the line, and can be verified with isChecksumValid().
+ * <p>
+ * A file that has at least one line with a matching checksum is written by a version of WerkIt! that adds a
+ * checksum to every line, so any line in it without a checksum (e.g. a line cut short while being appended)
+ * is treated as damaged. Only files without any checksummed lines (i.e. files written by older versions of
+ * WerkIt!) are read as legacy files, in which lines have no checksum and a last field that starts with the
+ * checksum prefix (e.g. the plan name in "1 | #legday") is part of the data.
+ */
+public class MappedResourceFileReader {
+    private static final byte FILE_DATA_DELIMITER = '|';
+    private static final byte FILE_DATA_DELIMITER_PLAN = ',';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte CHECKSUM_PREFIX = '#';
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final int HEXADECIMAL_RADIX = 16;
+    private static final int ASCII_LIMIT = 0x80;
+
+    // On Windows, a file cannot be replaced while it is still mapped, but the mapping is only released once
+    // the buffer is garbage collected. Since the resource files may be rewritten right after they are loaded,
+    // the files are read into memory instead of being mapped on Windows.
+    private static final boolean IS_MAPPING_SUPPORTED = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private ByteBuffer fileData;
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    // End of the data of the current line, excluding the checksum field (if any)
+    private int dataEnd = 0;
+    // Bounds of the checksum of the current line (excluding the prefix), or -1 if the line has no checksum
+    private int checksumStart = -1;
+    private int checksumEnd = -1;
+    private int nextLineStart = 0;
+    private int lineNumber = 0;
+    // Whether any line of the file has a matching checksum, or null if the file has not been checked yet
+    private Boolean isChecksummedFile;
+
+    // Bounds of the field located by locateField()
+    private int fieldStart;
+    private int fieldEnd;
+
+    /**
+     * Constructs a MappedResourceFileReader object and maps the given file into memory.
+     *
+     * @param filePath The path of the resource file to read.
+     * @throws IOException If the resource file cannot be opened or is too large to be mapped.
+     */
+    public MappedResourceFileReader(Path filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Resource file is too large to be loaded: " + filePath);
+            }
+            if (IS_MAPPING_SUPPORTED) {
+                this.fileData = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            } else {
+                this.fileData = ByteBuffer.allocate((int) fileSize);
+                while (fileData.hasRemaining() && fileChannel.read(fileData) >= 0) {
+                    // Keep reading until the whole file is in the buffer
+                }
+                fileData.flip();
+            }
+        }
+    }
+
+    /**
+     * Checks if there are any more lines to read. Like Scanner#hasNext(), this returns false if the rest
+     * of the file consists only of whitespace, so blank lines at the end of the file are ignored.
+     *
+     * @return Returns true if the rest of the file contains a non-whitespace character. Otherwise, returns false.
+     */
+    public boolean hasNextLine() {
+        int position = nextLineStart;
+        int limit = fileData.limit();
+        while (position < limit) {
+            int currentByte = fileData.get(position) & 0xFF;
+            if (currentByte < ASCII_LIMIT) {
+                if (!Character.isWhitespace(currentByte)) {
+                    return true;
+                }
+                position += 1;
+                continue;
+            }
+
+            int codePointLength = getUtf8SequenceLength(currentByte);
+            if (codePointLength == 0 || position + codePointLength > limit) {
+                // Malformed data is decoded into a replacement character, which is not whitespace
+                return true;
+            }
+            if (!Character.isWhitespace(decodeUtf8CodePoint(position, codePointLength))) {
+                return true;
+            }
+            position += codePointLength;
+        }
+        return false;
+    }
+
+    /**
+     * Advances the reader to the next line. Lines may be terminated by any of the line separators
+     * recognised by Scanner#nextLine().
+     */
+    public void nextLine() {
+        assert (hasNextLine()) : "There are no more lines to read.";
+        lineStart = nextLineStart;
+        lineNumber += 1;
+        int limit = fileData.limit();
+        int position = lineStart;
+        while (position < limit) {
+            int separatorLength = getLineSeparatorLength(position);
+            if (separatorLength > 0) {
+                lineEnd = position;
+                nextLineStart = position + separatorLength;
+                locateChecksum();
+                return;
+            }
+            position += 1;
+        }
+        lineEnd = limit;
+        nextLineStart = limit;
+        locateChecksum();
+    }
+
+    /**
+     * Locates the checksum field of the current line, which is the last field of the line if it starts
+     * with the checksum prefix and the file is not a legacy file. Sets dataEnd to exclude the checksum field
+     * and the delimiter before it.
+     */
+    private void locateChecksum() {
+        dataEnd = lineEnd;
+        checksumStart = -1;
+        checksumEnd = -1;
+
+        int delimiterPosition = findChecksumDelimiter(lineStart, lineEnd);
+        if (delimiterPosition == -1 || !isChecksummedFile()) {
+            return;
+        }
+        checksumStart = findChecksumStart(delimiterPosition, lineEnd);
+        checksumEnd = findChecksumEnd(checksumStart, lineEnd);
+        dataEnd = findDataEnd(lineStart, delimiterPosition);
+    }
+
+    /**
+     * Checks if the data of the current line matches its checksum. In a legacy file (see the description of
+     * this class), lines have no checksum and are assumed to be valid. In any other file, a line without a
+     * checksum field is not valid.
+     *
+     * @return Returns true if the CRC-32 of the data of the line matches its checksum, or if the line is in a
+     *         legacy file. Otherwise, returns false.
+     */
+    public boolean isChecksumValid() {
+        if (checksumStart == -1) {
+            return !isChecksummedFile();
+        }
+        return isChecksumMatching(lineStart, dataEnd, checksumStart, checksumEnd);
+    }
+
+    /**
+     * Checks if any line of the file has a matching checksum. The lines are only checked once, and the check
+     * normally stops at the first line, as every line of a file written by this version has a checksum.
+     *
+     * @return Returns true if any line has a matching checksum. Otherwise, returns false.
+     */
+    private boolean isChecksummedFile() {
+        if (isChecksummedFile == null) {
+            isChecksummedFile = containsChecksummedLine();
+        }
+        return isChecksummedFile;
+    }
+
+    private boolean containsChecksummedLine() {
+        int limit = fileData.limit();
+        int currentLineStart = 0;
+        while (currentLineStart < limit) {
+            int currentLineEnd = currentLineStart;
+            int separatorLength = 0;
+            while (currentLineEnd < limit) {
+                separatorLength = getLineSeparatorLength(currentLineEnd);
+                if (separatorLength > 0) {
+                    break;
+                }
+                currentLineEnd += 1;
+            }
+
+            int delimiterPosition = findChecksumDelimiter(currentLineStart, currentLineEnd);
+            if (delimiterPosition != -1) {
+                int currentChecksumStart = findChecksumStart(delimiterPosition, currentLineEnd);
+                int currentChecksumEnd = findChecksumEnd(currentChecksumStart, currentLineEnd);
+                int currentDataEnd = findDataEnd(currentLineStart, delimiterPosition);
+                if (isChecksumMatching(currentLineStart, currentDataEnd, currentChecksumStart, currentChecksumEnd)) {
+                    return true;
+                }
+            }
+            currentLineStart = currentLineEnd + separatorLength;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the delimiter before the last field of the given line, if that field starts with the checksum prefix.
+     *
+     * @return The position of the delimiter, or -1 if the last field of the line does not start with the prefix.
+     */
+    private int findChecksumDelimiter(int rangeStart, int rangeEnd) {
+        int delimiterPosition = findLastByte(rangeStart, rangeEnd, FILE_DATA_DELIMITER);
+        if (delimiterPosition == -1) {
+            return -1;
+        }
+        // The first non-whitespace byte of the last field
+        int prefixPosition = findChecksumStart(delimiterPosition, rangeEnd) - 1;
+        if (prefixPosition >= rangeEnd || fileData.get(prefixPosition) != CHECKSUM_PREFIX) {
+            return -1;
+        }
+        return delimiterPosition;
+    }
+
+    /**
+     * Finds the start of the checksum (i.e. the position after the checksum prefix) in the last field, which
+     * starts after the given delimiter.
+     */
+    private int findChecksumStart(int delimiterPosition, int rangeEnd) {
+        int position = delimiterPosition + 1;
+        while (position < rangeEnd && (fileData.get(position) & 0xFF) <= ' ') {
+            position += 1;
+        }
+        return position + 1;
+    }
+
+    private int findChecksumEnd(int currentChecksumStart, int rangeEnd) {
+        int position = rangeEnd;
+        while (position > currentChecksumStart && (fileData.get(position - 1) & 0xFF) <= ' ') {
+            position -= 1;
+        }
+        return position;
+    }
+
+    private int findDataEnd(int rangeStart, int delimiterPosition) {
+        int position = delimiterPosition;
+        while (position > rangeStart && (fileData.get(position - 1) & 0xFF) <= ' ') {
+            position -= 1;
+        }
+        return position;
+    }
+
+    private boolean isChecksumMatching(int dataStart, int currentDataEnd, int currentChecksumStart,
+            int currentChecksumEnd) {
+        if (currentChecksumEnd - currentChecksumStart != CHECKSUM_LENGTH) {
+            return false;
+        }
+
+        long expectedChecksum = 0;
+        for (int position = currentChecksumStart; position < currentChecksumEnd; position += 1) {
+            int digit = Character.digit(fileData.get(position), HEXADECIMAL_RADIX);
+            if (digit == -1) {
+                return false;
+            }
+            expectedChecksum = expectedChecksum * HEXADECIMAL_RADIX + digit;
+        }
+
+        CRC32 checksum = new CRC32();
+        ByteBuffer lineData = fileData.duplicate();
+        lineData.limit(currentDataEnd);
+        lineData.position(dataStart);
+        checksum.update(lineData);
+        return checksum.getValue() == expectedChecksum;
+    }
+
+    /**
+     * Checks if the current line consists only of whitespace, e.g. a record that has been removed by
+     * FileManager#quarantineDamagedRecords().
+     *
+     * @return Returns true if the current line consists only of whitespace. Otherwise, returns false.
+     */
+    public boolean isBlankLine() {
+        for (int position = lineStart; position < lineEnd; position += 1) {
+            if (!Character.isWhitespace(fileData.get(position) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the line number (starting from 1) of the current line.
+     *
+     * @return The line number of the current line.
+     */
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+
+    /**
+     * Gets the position of the first byte of the current line in the file.
+     *
+     * @return The position of the start of the current line.
+     */
+    public int getLineStart() {
+        return this.lineStart;
+    }
+
+    /**
+     * Gets the position after the last byte of the current line in the file, excluding its line separator.
+     *
+     * @return The position of the end of the current line.
+     */
+    public int getLineEnd() {
+        return this.lineEnd;
+    }
+
+    /**
+     * Gets the entire current line, without its line separator.
+     *
+     * @return The current line.
+     */
+    public String getLine() {
+        return decodeString(lineStart, lineEnd);
+    }
+
+    /**
+     * Gets a field of the current line, where the fields are separated by the '|' delimiter. This returns
+     * the same value as FileManager#parseFileDataLine(line)[fieldIndex], without splitting the whole line.
+     *
+     * @param fieldIndex The index of the field.
+     * @return The field, with leading and trailing whitespace removed.
+     * @throws ArrayIndexOutOfBoundsException If the line does not contain the field.
+     */
+    public String getField(int fieldIndex) throws ArrayIndexOutOfBoundsException {
+        locateField(lineStart, dataEnd, FILE_DATA_DELIMITER, fieldIndex, true);
+        return decodeTrimmedString(fieldStart, fieldEnd);
+    }
+
+    /**
+     * Checks if the current line contains a field, following the same rules as getField().
+     *
+     * @param fieldIndex The index of the field.
+     * @return Returns true if the line contains the field. Otherwise, returns false.
+     */
+    public boolean hasField(int fieldIndex) {
+        try {
+            locateField(lineStart, dataEnd, FILE_DATA_DELIMITER, fieldIndex, true);
+            return true;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the plan name of the current line of the plan resource file. This returns the same value as
+     * FileManager#parsePlansFileData(line)[0].trim().
+     *
+     * @return The plan name, with leading and trailing whitespace removed.
+     */
+    public String getPlanName() {
+        int delimiterPosition = findByte(lineStart, dataEnd, FILE_DATA_DELIMITER);
+        return decodeTrimmedString(lineStart, delimiterPosition);
+    }
+
+    /**
+     * Gets the number of workouts in the current line of the plan resource file, that is, the number of
+     * ','-separated entries after the plan name.
+     *
+     * @return The number of workouts in the plan.
+     * @throws ArrayIndexOutOfBoundsException If the line does not contain any workouts.
+     */
+    public int getNumberOfWorkoutsInPlan() throws ArrayIndexOutOfBoundsException {
+        locateWorkoutsInPlan();
+        int numberOfWorkouts = 1;
+        for (int position = fieldStart; position < fieldEnd; position += 1) {
+            if (fileData.get(position) == FILE_DATA_DELIMITER_PLAN) {
+                numberOfWorkouts += 1;
+            }
+        }
+        return numberOfWorkouts;
+    }
+
+    /**
+     * Gets a field of a workout in the current line of the plan resource file. This returns the same value
+     * as FileManager#parsePlansFileData(line)[1].trim().split(",", -1)[workoutIndex].split("\\|")[fieldIndex]
+     * with leading and trailing whitespace removed.
+     *
+     * @param workoutIndex The index of the workout in the plan.
+     * @param fieldIndex   The index of the field of the workout.
+     * @return The field, with leading and trailing whitespace removed.
+     * @throws ArrayIndexOutOfBoundsException If the line does not contain the workout or the field.
+     */
+    public String getWorkoutFieldInPlan(int workoutIndex, int fieldIndex) throws ArrayIndexOutOfBoundsException {
+        locateWorkoutsInPlan();
+        locateField(fieldStart, fieldEnd, FILE_DATA_DELIMITER_PLAN, workoutIndex, false);
+        locateField(fieldStart, fieldEnd, FILE_DATA_DELIMITER, fieldIndex, true);
+        return decodeTrimmedString(fieldStart, fieldEnd);
+    }
+
+    /**
+     * Locates the workouts of the current line of the plan resource file, that is, the trimmed text after the
+     * first '|' delimiter. The bounds are stored in fieldStart and fieldEnd.
+     *
+     * @throws ArrayIndexOutOfBoundsException If the line does not contain the delimiter.
+     */
+    private void locateWorkoutsInPlan() throws ArrayIndexOutOfBoundsException {
+        int delimiterPosition = findByte(lineStart, dataEnd, FILE_DATA_DELIMITER);
+        if (delimiterPosition == dataEnd) {
+            throw new ArrayIndexOutOfBoundsException(1);
+        }
+        fieldStart = delimiterPosition + 1;
+        fieldEnd = dataEnd;
+        trimField();
+    }
+
+    /**
+     * Locates a field in the given range, following the behaviour of String#split(). That is, if
+     * isTrailingEmptyRemoved is true, empty fields at the end of the range do not count as fields.
+     * The bounds of the field are stored in fieldStart and fieldEnd.
+     *
+     * @throws ArrayIndexOutOfBoundsException If the range does not contain the field.
+     */
+    private void locateField(int rangeStart, int rangeEnd, byte delimiter, int fieldIndex,
+            boolean isTrailingEmptyRemoved) throws ArrayIndexOutOfBoundsException {
+        int currentFieldStart = rangeStart;
+        for (int i = 0; i < fieldIndex; i += 1) {
+            int delimiterPosition = findByte(currentFieldStart, rangeEnd, delimiter);
+            if (delimiterPosition == rangeEnd) {
+                throw new ArrayIndexOutOfBoundsException(fieldIndex);
+            }
+            currentFieldStart = delimiterPosition + 1;
+        }
+        int currentFieldEnd = findByte(currentFieldStart, rangeEnd, delimiter);
+
+        // An empty range is split into a single empty field
+        boolean isWholeRangeEmpty = (rangeStart == rangeEnd);
+        if (isTrailingEmptyRemoved && !isWholeRangeEmpty && !hasNonDelimiterByte(currentFieldStart, rangeEnd,
+                delimiter)) {
+            // This field and all fields after it are empty, so String#split() would have removed them
+            throw new ArrayIndexOutOfBoundsException(fieldIndex);
+        }
+        fieldStart = currentFieldStart;
+        fieldEnd = currentFieldEnd;
+    }
+
+    private boolean hasNonDelimiterByte(int rangeStart, int rangeEnd, byte delimiter) {
+        for (int position = rangeStart; position < rangeEnd; position += 1) {
+            if (fileData.get(position) != delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first occurrence of the given byte in the given range.
+     *
+     * @return The position of the byte, or rangeEnd if the range does not contain the byte.
+     */
+    private int findByte(int rangeStart, int rangeEnd, byte byteToFind) {
+        for (int position = rangeStart; position < rangeEnd; position += 1) {
+            if (fileData.get(position) == byteToFind) {
+                return position;
+            }
+        }
+        return rangeEnd;
+    }
+
+    /**
+     * Finds the last occurrence of the given byte in the given range.
+     *
+     * @return The position of the byte, or -1 if the range does not contain the byte.
+     */
+    private int findLastByte(int rangeStart, int rangeEnd, byte byteToFind) {
+        for (int position = rangeEnd - 1; position >= rangeStart; position -= 1) {
+            if (fileData.get(position) == byteToFind) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Shrinks fieldStart and fieldEnd to exclude leading and trailing whitespace, like String#trim(). As
+     * String#trim() only removes characters up to U+0020, only single-byte characters need to be checked.
+     */
+    private void trimField() {
+        while (fieldStart < fieldEnd && (fileData.get(fieldStart) & 0xFF) <= ' ') {
+            fieldStart += 1;
+        }
+        while (fieldEnd > fieldStart && (fileData.get(fieldEnd - 1) & 0xFF) <= ' ') {
+            fieldEnd -= 1;
+        }
+    }
+
+    private String decodeTrimmedString(int start, int end) {
+        fieldStart = start;
+        fieldEnd = end;
+        trimField();
+        return decodeString(fieldStart, fieldEnd);
+    }
+
+    private String decodeString(int start, int end) {
+        byte[] stringBytes = new byte[end - start];
+        ByteBuffer stringData = fileData.duplicate();
+        stringData.position(start);
+        stringData.get(stringBytes);
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the length of the line separator at the given position. The line separators are "\r\n", '\n',
+     * '\r', U+0085, U+2028 and U+2029.
+     *
+     * @return The length of the line separator in bytes, or 0 if there is no line separator at the position.
+     */
+    private int getLineSeparatorLength(int position) {
+        int limit = fileData.limit();
+        byte currentByte = fileData.get(position);
+        if (currentByte == LINE_FEED) {
+            return 1;
+        }
+        if (currentByte == CARRIAGE_RETURN) {
+            boolean isFollowedByLineFeed = (position + 1 < limit) && (fileData.get(position + 1) == LINE_FEED);
+            return isFollowedByLineFeed ? 2 : 1;
+        }
+        if ((currentByte & 0xFF) < ASCII_LIMIT) {
+            return 0;
+        }
+
+        int codePointLength = getUtf8SequenceLength(currentByte & 0xFF);
+        if (codePointLength == 0 || position + codePointLength > limit) {
+            return 0;
+        }
+        int codePoint = decodeUtf8CodePoint(position, codePointLength);
+        boolean isLineSeparator = (codePoint == '\u0085') || (codePoint == '\u2028') || (codePoint == '\u2029');
+        return isLineSeparator ? codePointLength : 0;
+    }
+
+    /**
+     * Gets the length of the UTF-8 sequence that starts with the given lead byte.
+     *
+     * @return The length of the sequence, or 0 if the byte cannot start a sequence.
+     */
+    private int getUtf8SequenceLength(int leadByte) {
+        if (leadByte >= 0xC2 && leadByte <= 0xDF) {
+            return 2;
+        } else if (leadByte >= 0xE0 && leadByte <= 0xEF) {
+            return 3;
+        } else if (leadByte >= 0xF0 && leadByte <= 0xF4) {
+            return 4;
+        }
+        return 0;
+    }
+
+    /**
+     * Decodes the UTF-8 sequence of the given length at the given position.
+     *
+     * @return The code point, or -1 if the sequence is malformed.
+     */
+    private int decodeUtf8CodePoint(int position, int codePointLength) {
+        int leadByte = fileData.get(position) & 0xFF;
+        int codePoint = leadByte & (0xFF >> (codePointLength + 1));
+        for (int i = 1; i < codePointLength; i += 1) {
+            int continuationByte = fileData.get(position + i) & 0xFF;
+            if ((continuationByte & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (continuationByte & 0x3F);
+        }
+        return codePoint;
+    }
+}
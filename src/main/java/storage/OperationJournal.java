@@ -0,0 +1,504 @@
+package storage;
+
+import commands.PlanCommand;
+import commands.ScheduleCommand;
+import commands.WorkoutCommand;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.Day;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class manages the append-only operation journal of the WerkIt! application. When the journaled
+ * storage mode is enabled, every create, update, delete and schedule change is appended to the journal
+ * file as a single line instead of rewriting the affected resource file(s). On start-up, the journal is
+ * replayed over the data loaded from the resource files (i.e. the last snapshot), after which the
+ * resource files are rewritten and the journal is cleared.
+ */
+public class OperationJournal {
+    // Operations that can be recorded in the journal
+    public static final String OPERATION_WORKOUT_CREATE = WorkoutCommand.KEYWORD_BASE + " "
+            + WorkoutCommand.ACTION_KEYWORD_CREATE;
+    public static final String OPERATION_WORKOUT_DELETE = WorkoutCommand.KEYWORD_BASE + " "
+            + WorkoutCommand.ACTION_KEYWORD_DELETE;
+    public static final String OPERATION_WORKOUT_UPDATE = WorkoutCommand.KEYWORD_BASE + " "
+            + WorkoutCommand.ACTION_KEYWORD_UPDATE;
+    public static final String OPERATION_PLAN_CREATE = PlanCommand.KEYWORD_BASE + " "
+            + PlanCommand.ACTION_KEYWORD_CREATE;
+    public static final String OPERATION_PLAN_DELETE = PlanCommand.KEYWORD_BASE + " "
+            + PlanCommand.ACTION_KEYWORD_DELETE;
+    // Restores a workout or plan at an index number, e.g. when the deletion of the workout or plan is undone
+    public static final String OPERATION_WORKOUT_RESTORE = WorkoutCommand.KEYWORD_BASE + " /restore";
+    public static final String OPERATION_PLAN_RESTORE = PlanCommand.KEYWORD_BASE + " /restore";
+    public static final String OPERATION_SCHEDULE_UPDATE = ScheduleCommand.KEYWORD_BASE + " "
+            + ScheduleCommand.ACTION_KEYWORD_UPDATE;
+    public static final String OPERATION_SCHEDULE_CLEAR = ScheduleCommand.KEYWORD_BASE + " "
+            + ScheduleCommand.ACTION_KEYWORD_CLEAR;
+    public static final String OPERATION_SCHEDULE_CLEAR_ALL = ScheduleCommand.KEYWORD_BASE + " "
+            + ScheduleCommand.ACTION_KEYWORD_CLEAR_ALL;
+
+    private static final String JOURNAL_DELIMITER_REGEX = "\\|";
+    private static final String JOURNAL_DELIMITER = " | ";
+
+    private Path journalFilePath;
+    private FileManager fileManager;
+
+    private static Logger logger = Logger.getLogger(OperationJournal.class.getName());
+
+    /**
+     * Constructs an OperationJournal object that appends to and replays from the specified journal file.
+     *
+     * @param journalFilePath The path of the journal file.
+     * @param fileManager     An instance of the FileManager class, used to convert and parse file data.
+     */
+    public OperationJournal(Path journalFilePath, FileManager fileManager) {
+        this.journalFilePath = journalFilePath;
+        this.fileManager = fileManager;
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Gets the Paths object that stores the URI of the journal file.
+     *
+     * @return A Paths object with the URI of the journal file.
+     */
+    public Path getJournalFilePath() {
+        return this.journalFilePath;
+    }
+
+    /**
+     * Checks if the journal file contains at least one entry that has yet to be replayed.
+     *
+     * @return Returns true if the journal file exists and is not empty. Otherwise, returns false.
+     * @throws IOException If the size of the journal file cannot be determined.
+     */
+    public boolean hasPendingEntries() throws IOException {
+        return Files.exists(getJournalFilePath()) && Files.size(getJournalFilePath()) > 0;
+    }
+
+    /**
+     * Appends a newly-created workout to the journal.
+     *
+     * @param newWorkout The newly-created Workout object.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutCreated(Workout newWorkout) throws IOException {
+        appendEntries(createEntry(OPERATION_WORKOUT_CREATE, fileManager.convertWorkoutToFileDataFormat(newWorkout)));
+    }
+
+    /**
+     * Appends a batch of newly-created workouts to the journal, with a single write to the journal file.
+     *
+     * @param newWorkouts The newly-created Workout objects.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutsCreated(ArrayList<Workout> newWorkouts) throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        for (Workout newWorkout : newWorkouts) {
+            entries.add(createEntry(OPERATION_WORKOUT_CREATE, fileManager.convertWorkoutToFileDataFormat(newWorkout)));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends a deleted workout, together with the plans that were deleted because they
+     * contained the workout, to the journal.
+     *
+     * @param deletedWorkout The Workout object that has been deleted.
+     * @param deletedPlans   The Plan objects that have been deleted as a result.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutDeleted(Workout deletedWorkout, ArrayList<Plan> deletedPlans) throws IOException {
+        ArrayList<Workout> deletedWorkouts = new ArrayList<>();
+        deletedWorkouts.add(deletedWorkout);
+        appendWorkoutsDeleted(deletedWorkouts, deletedPlans);
+    }
+
+    /**
+     * Appends a batch of deleted workouts, together with the plans that were deleted because they
+     * contained any of the workouts, to the journal, with a single write to the journal file.
+     *
+     * @param deletedWorkouts The Workout objects that have been deleted.
+     * @param deletedPlans    The Plan objects that have been deleted as a result.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutsDeleted(ArrayList<Workout> deletedWorkouts, ArrayList<Plan> deletedPlans)
+            throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        for (Workout deletedWorkout : deletedWorkouts) {
+            entries.add(createEntry(OPERATION_WORKOUT_DELETE,
+                    fileManager.convertWorkoutToFileDataFormat(deletedWorkout)));
+        }
+        for (Plan deletedPlan : deletedPlans) {
+            entries.add(createEntry(OPERATION_PLAN_DELETE, deletedPlan.getPlanName()));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends workouts that have been inserted at the given index numbers (e.g. when their deletion has been
+     * undone) to the journal, with a single write to the journal file.
+     *
+     * @param indexNums The index numbers of the workouts, in ascending order.
+     * @param workouts  The Workout objects that have been inserted, in the same order.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutsRestored(ArrayList<Integer> indexNums, ArrayList<Workout> workouts)
+            throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        for (int i = 0; i < workouts.size(); i += 1) {
+            entries.add(createEntry(OPERATION_WORKOUT_RESTORE, indexNums.get(i) + JOURNAL_DELIMITER
+                    + fileManager.convertWorkoutToFileDataFormat(workouts.get(i))));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends an updated workout to the journal. The entry stores the workout's exercise name, its
+     * former number of repetitions, and its new number of repetitions.
+     *
+     * @param oldWorkoutKey  The key of the workout before it was updated (e.g. "push up (10 reps)").
+     * @param updatedWorkout The Workout object that has been updated.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendWorkoutUpdated(String oldWorkoutKey, Workout updatedWorkout) throws IOException {
+        int oldRepetitions = parseRepetitionsFromWorkoutKey(oldWorkoutKey);
+        String entryData = updatedWorkout.getExerciseName() + JOURNAL_DELIMITER + oldRepetitions
+                + JOURNAL_DELIMITER + updatedWorkout.getRepetitions();
+        appendEntries(createEntry(OPERATION_WORKOUT_UPDATE, entryData));
+    }
+
+    /**
+     * Appends a newly-created plan to the journal.
+     *
+     * @param newPlan The newly-created Plan object.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendPlanCreated(Plan newPlan) throws IOException {
+        appendEntries(createEntry(OPERATION_PLAN_CREATE, fileManager.convertPlanToFileDataFormat(newPlan)));
+    }
+
+    /**
+     * Appends a deleted plan to the journal.
+     *
+     * @param deletedPlan The Plan object that has been deleted.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendPlanDeleted(Plan deletedPlan) throws IOException {
+        appendEntries(createEntry(OPERATION_PLAN_DELETE, deletedPlan.getPlanName()));
+    }
+
+    /**
+     * Appends deleted plans to the journal, with a single write to the journal file.
+     *
+     * @param deletedPlans The Plan objects that have been deleted.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendPlansDeleted(ArrayList<Plan> deletedPlans) throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        for (Plan deletedPlan : deletedPlans) {
+            entries.add(createEntry(OPERATION_PLAN_DELETE, deletedPlan.getPlanName()));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends plans that have been inserted at the given index numbers (e.g. when their deletion has been
+     * undone) to the journal, with a single write to the journal file.
+     *
+     * @param planIndexNums The index numbers of the plans, in ascending order.
+     * @param plans         The Plan objects that have been inserted, in the same order.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendPlansRestored(ArrayList<Integer> planIndexNums, ArrayList<Plan> plans) throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        for (int i = 0; i < plans.size(); i += 1) {
+            entries.add(createEntry(OPERATION_PLAN_RESTORE, planIndexNums.get(i) + JOURNAL_DELIMITER
+                    + fileManager.convertPlanToFileDataFormat(plans.get(i))));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends a day whose plan has been added or updated to the journal.
+     *
+     * @param day The Day object that has been added or updated.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendDayUpdated(Day day) throws IOException {
+        appendEntries(createEntry(OPERATION_SCHEDULE_UPDATE, fileManager.convertDayScheduleToFileDataFormat(day)));
+    }
+
+    /**
+     * Appends the days whose plans have been cleared to the journal.
+     *
+     * @param dayNumbers The day numbers (1-7) of the days that have been cleared.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendDaysCleared(ArrayList<Integer> dayNumbers) throws IOException {
+        if (dayNumbers.isEmpty()) {
+            return;
+        }
+
+        ArrayList<String> entries = new ArrayList<>();
+        for (int dayNumber : dayNumbers) {
+            entries.add(createEntry(OPERATION_SCHEDULE_CLEAR, Integer.toString(dayNumber)));
+        }
+        appendEntries(entries.toArray(new String[0]));
+    }
+
+    /**
+     * Appends the clearing of the entire schedule to the journal.
+     *
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void appendScheduleCleared() throws IOException {
+        appendEntries(OPERATION_SCHEDULE_CLEAR_ALL);
+    }
+
+    /**
+     * Replays every entry in the journal over the data that has been loaded into the application.
+     * Entries that can no longer be applied (e.g. because the snapshot already contains their effect)
+     * are skipped.
+     *
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     * @return Returns true if all entries in the journal have been replayed successfully.
+     *         Otherwise, returns false.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public boolean replay(WorkoutList workoutList, PlanList planList, DayList dayList) throws IOException {
+        if (!Files.exists(getJournalFilePath())) {
+            return true;
+        }
+
+        boolean hasNoErrorsDuringReplay = true;
+        Scanner journalReader = new Scanner(getJournalFilePath(), StandardCharsets.UTF_8);
+        while (journalReader.hasNext()) {
+            String journalEntry = journalReader.nextLine();
+            try {
+                replayEntry(journalEntry, workoutList, planList, dayList);
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException | InvalidExerciseException
+                    | InvalidWorkoutException | InvalidPlanException | InvalidScheduleException e) {
+                logger.log(Level.WARNING, "Journal entry could not be replayed: " + journalEntry);
+                hasNoErrorsDuringReplay = false;
+            }
+        }
+        journalReader.close();
+
+        return hasNoErrorsDuringReplay;
+    }
+
+    /**
+     * Empties the journal. This should only be called once the effects of every journal entry
+     * have been written into the resource files.
+     *
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public void clear() throws IOException {
+        if (!Files.exists(getJournalFilePath())) {
+            return;
+        }
+
+        FileWriter fileWriter = new FileWriter(getJournalFilePath().toString());
+        fileWriter.close();
+        logger.log(Level.INFO, "Journal has been cleared.");
+    }
+
+    /**
+     * Applies a single journal entry to the given lists.
+     *
+     * @param journalEntry The journal entry to apply.
+     * @param workoutList  An instance of the WorkoutList class.
+     * @param planList     An instance of the PlanList class.
+     * @param dayList      An instance of the DayList class.
+     * @throws ArrayIndexOutOfBoundsException If the entry contains insufficient information.
+     * @throws InvalidExerciseException       If the entry contains an invalid exercise name.
+     * @throws InvalidWorkoutException        If the entry refers to an invalid workout.
+     * @throws InvalidPlanException           If the entry refers to an invalid plan.
+     * @throws InvalidScheduleException       If the entry contains invalid schedule data.
+     */
+    private void replayEntry(String journalEntry, WorkoutList workoutList, PlanList planList, DayList dayList)
+            throws ArrayIndexOutOfBoundsException, InvalidExerciseException, InvalidWorkoutException,
+            InvalidPlanException, InvalidScheduleException {
+        String[] operationAndData = journalEntry.split(JOURNAL_DELIMITER_REGEX, 2);
+        String operation = operationAndData[0].trim();
+
+        switch (operation) {
+        case OPERATION_WORKOUT_CREATE:
+            fileManager.addFileWorkoutToList(workoutList, fileManager.parseFileDataLine(operationAndData[1]));
+            break;
+        case OPERATION_WORKOUT_DELETE:
+            replayWorkoutDeleted(fileManager.parseFileDataLine(operationAndData[1]), workoutList);
+            break;
+        case OPERATION_WORKOUT_UPDATE:
+            replayWorkoutUpdated(fileManager.parseFileDataLine(operationAndData[1]), workoutList);
+            break;
+        case OPERATION_PLAN_CREATE:
+            fileManager.addFilePlanToList(planList, fileManager.parsePlansFileData(operationAndData[1]));
+            break;
+        case OPERATION_PLAN_DELETE:
+            int planIndexNum = planList.getIndexNumFromPlanName(operationAndData[1].trim());
+            planList.deletePlan(Integer.toString(planIndexNum));
+            break;
+        case OPERATION_WORKOUT_RESTORE:
+            replayWorkoutRestored(fileManager.parseFileDataLine(operationAndData[1]), workoutList);
+            break;
+        case OPERATION_PLAN_RESTORE:
+            replayPlanRestored(operationAndData[1].split(JOURNAL_DELIMITER_REGEX, 2), planList);
+            break;
+        case OPERATION_SCHEDULE_UPDATE:
+            fileManager.addFileScheduleToList(dayList, fileManager.parseFileDataLine(operationAndData[1]));
+            break;
+        case OPERATION_SCHEDULE_CLEAR:
+            dayList.clearDayPlan(operationAndData[1].trim());
+            break;
+        case OPERATION_SCHEDULE_CLEAR_ALL:
+            dayList.clearAllSchedule();
+            break;
+        default:
+            throw new ArrayIndexOutOfBoundsException("Unknown journal operation: " + operation);
+        }
+    }
+
+    /**
+     * Replays the deletion of a workout. Plans that contained the workout have their own
+     * journal entries and are thus not deleted here.
+     *
+     * @param entryData   The parsed data of the entry, containing the exercise name and repetitions.
+     * @param workoutList An instance of the WorkoutList class.
+     * @throws InvalidWorkoutException If the workout does not exist.
+     */
+    private void replayWorkoutDeleted(String[] entryData, WorkoutList workoutList) throws InvalidWorkoutException {
+        String workoutKey = Workout.getWorkoutKey(entryData[0].toLowerCase(), Integer.parseInt(entryData[1]));
+        int workoutIndexNum = workoutList.getIndexNumFromWorkoutName(workoutKey);
+        workoutList.deleteWorkout(Integer.toString(workoutIndexNum));
+    }
+
+    /**
+     * Replays the update of a workout's number of repetitions. The plans that contain the workout refer to it
+     * by its workout id, so they do not have to be replayed.
+     *
+     * @param entryData   The parsed data of the entry, containing the exercise name, the old repetitions
+     *                    and the new repetitions.
+     * @param workoutList An instance of the WorkoutList class.
+     * @throws InvalidWorkoutException If the workout does not exist or the update is invalid.
+     */
+    private void replayWorkoutUpdated(String[] entryData, WorkoutList workoutList) throws InvalidWorkoutException {
+        String oldWorkoutKey = Workout.getWorkoutKey(entryData[0].toLowerCase(), Integer.parseInt(entryData[1]));
+        int workoutIndexNum = workoutList.getIndexNumFromWorkoutName(oldWorkoutKey);
+        workoutList.updateWorkout(workoutIndexNum + " " + entryData[2]);
+    }
+
+    /**
+     * Replays the insertion of a workout at an index number.
+     *
+     * @param entryData   The parsed data of the entry, containing the index number followed by the workout
+     *                    data in the workout resource file data format.
+     * @param workoutList An instance of the WorkoutList class.
+     * @throws InvalidExerciseException If the exercise name is invalid.
+     * @throws InvalidWorkoutException  If the workout is invalid or already exists, or the index number is out
+     *                                  of range.
+     */
+    private void replayWorkoutRestored(String[] entryData, WorkoutList workoutList) throws InvalidExerciseException,
+            InvalidWorkoutException {
+        ArrayList<Integer> indexNums = new ArrayList<>();
+        indexNums.add(Integer.parseInt(entryData[0]));
+        String userArguments = entryData[1].toLowerCase() + " " + WorkoutCommand.ACTION_KEYWORD_CREATE_REPS + " "
+                + entryData[2];
+        Workout restoredWorkout = workoutList.createNewWorkout(userArguments);
+        if (entryData.length > 3) {
+            workoutList.assignWorkoutId(restoredWorkout, Integer.parseInt(entryData[3]));
+        }
+        ArrayList<Workout> restoredWorkouts = new ArrayList<>();
+        restoredWorkouts.add(restoredWorkout);
+        workoutList.insertWorkoutsAt(indexNums, restoredWorkouts);
+    }
+
+    /**
+     * Replays the insertion of a plan at an index number.
+     *
+     * @param entryData The data of the entry, split into the index number and the plan data in the plan
+     *                  resource file data format.
+     * @param planList  An instance of the PlanList class.
+     * @throws InvalidWorkoutException If a workout in the plan does not exist.
+     * @throws InvalidPlanException    If the plan already exists, or the index number is out of range.
+     */
+    private void replayPlanRestored(String[] entryData, PlanList planList) throws InvalidWorkoutException,
+            InvalidPlanException {
+        ArrayList<Integer> planIndexNums = new ArrayList<>();
+        planIndexNums.add(Integer.parseInt(entryData[0].trim()));
+        ArrayList<Plan> restoredPlans = new ArrayList<>();
+        restoredPlans.add(fileManager.createFilePlan(planList, fileManager.parsePlansFileData(entryData[1].trim())));
+        planList.insertPlansAt(planIndexNums, restoredPlans);
+    }
+
+    /**
+     * Creates a journal entry from the given operation and its data.
+     *
+     * @param operation The operation to record.
+     * @param entryData The data of the operation, in the resource file data format.
+     * @return The journal entry.
+     */
+    private String createEntry(String operation, String entryData) {
+        return operation + JOURNAL_DELIMITER + entryData;
+    }
+
+    /**
+     * Gets the number of repetitions from a workout key (e.g. "push up (10 reps)").
+     *
+     * @param workoutKey The key of the workout.
+     * @return The number of repetitions.
+     */
+    private int parseRepetitionsFromWorkoutKey(String workoutKey) {
+        int beginningOfReps = workoutKey.lastIndexOf("(") + 1;
+        int endingOfReps = workoutKey.lastIndexOf(" rep");
+        return Integer.parseInt(workoutKey.substring(beginningOfReps, endingOfReps).trim());
+    }
+
+    /**
+     * Appends the given entries to the journal file, in a single write, and forces them to the disk before
+     * returning. In the journaled storage mode, the journal is the only record of a change until the resource
+     * files are rewritten on the next start-up, so a change must not be reported as saved while it is still
+     * in the buffers of the operating system.
+     *
+     * @param entries The journal entries to append.
+     * @throws IOException If the journal file cannot be opened or written to.
+     */
+    private void appendEntries(String... entries) throws IOException {
+        StringBuilder journalData = new StringBuilder();
+        for (String entry : entries) {
+            journalData.append(entry);
+            journalData.append(System.lineSeparator());
+        }
+        try (FileChannel journalFileChannel = FileChannel.open(getJournalFilePath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer journalBytes = ByteBuffer.wrap(journalData.toString().getBytes(StandardCharsets.UTF_8));
+            while (journalBytes.hasRemaining()) {
+                journalFileChannel.write(journalBytes);
+            }
+            journalFileChannel.force(false);
+        }
+    }
+}
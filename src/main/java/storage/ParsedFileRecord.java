@@ -0,0 +1,126 @@
+package storage;
+
+import data.workouts.Workout;
+
+import java.util.ArrayList;
+
+/**
+ * Represents a line of a resource file that has been parsed, but has not been added into the lists yet.
+ * Parsing does not depend on any of the lists, so the resource files can be parsed concurrently. If the
+ * line could not be parsed, the record holds the error message to be printed when the record is added.
+ * The position of the line in the resource file is kept, so that a damaged record can be quarantined.
+ */
+public class ParsedFileRecord {
+    private int lineNumber;
+    private int lineStart;
+    private int lineEnd;
+    private String[] fields;
+    private ArrayList<Workout> workoutsInPlan;
+    private int[] workoutIdsInPlan;
+    private int[] entryAttributesInPlan;
+    private String errorMessage;
+    private boolean isRejected = false;
+
+    /**
+     * Constructs a ParsedFileRecord object for a line that was parsed successfully.
+     *
+     * @param fileReader     The reader of the resource file, positioned at the parsed line.
+     * @param fields         The fields of the line (e.g. the exercise name and repetitions of a workout).
+     * @param workoutsInPlan The workouts of the plan if the line is from the plan resource file.
+     *                       Otherwise, null.
+     */
+    public ParsedFileRecord(MappedResourceFileReader fileReader, String[] fields, ArrayList<Workout> workoutsInPlan) {
+        this(fileReader, fields, workoutsInPlan, null, null);
+    }
+
+    /**
+     * Constructs a ParsedFileRecord object for a line of the plan resource file that was parsed successfully.
+     * A workout in the plan is saved either as a workout id or as its exercise name and repetitions. The
+     * workouts saved as workout ids can only be looked up once the workouts have been loaded, so they are
+     * kept as ids (with a null workout in workoutsInPlan) until the record is added.
+     *
+     * @param fileReader       The reader of the resource file, positioned at the parsed line.
+     * @param fields           The fields of the line (i.e. the plan name).
+     * @param workoutsInPlan   The workouts of the plan that were saved with their exercise name and repetitions.
+     * @param workoutIdsInPlan The workout ids of the workouts of the plan that were saved as workout ids.
+     *                         Workout.WORKOUT_ID_UNASSIGNED for the other workouts.
+     * @param entryAttributesInPlan The packed sets and rest interval of each workout of the plan, or null if
+     *                              every workout has the default attributes.
+     */
+    public ParsedFileRecord(MappedResourceFileReader fileReader, String[] fields, ArrayList<Workout> workoutsInPlan,
+            int[] workoutIdsInPlan, int[] entryAttributesInPlan) {
+        this.lineNumber = fileReader.getLineNumber();
+        this.lineStart = fileReader.getLineStart();
+        this.lineEnd = fileReader.getLineEnd();
+        this.fields = fields;
+        this.workoutsInPlan = workoutsInPlan;
+        this.workoutIdsInPlan = workoutIdsInPlan;
+        this.entryAttributesInPlan = entryAttributesInPlan;
+    }
+
+    /**
+     * Constructs a ParsedFileRecord object for a line that could not be parsed.
+     *
+     * @param fileReader   The reader of the resource file, positioned at the line that could not be parsed.
+     * @param errorMessage The error message to print when the record is added into the lists.
+     */
+    public ParsedFileRecord(MappedResourceFileReader fileReader, String errorMessage) {
+        this.lineNumber = fileReader.getLineNumber();
+        this.lineStart = fileReader.getLineStart();
+        this.lineEnd = fileReader.getLineEnd();
+        this.errorMessage = errorMessage;
+    }
+
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+
+    public int getLineStart() {
+        return this.lineStart;
+    }
+
+    public int getLineEnd() {
+        return this.lineEnd;
+    }
+
+    public String getField(int fieldIndex) {
+        return this.fields[fieldIndex];
+    }
+
+    public ArrayList<Workout> getWorkoutsInPlan() {
+        return this.workoutsInPlan;
+    }
+
+    public int[] getWorkoutIdsInPlan() {
+        return this.workoutIdsInPlan;
+    }
+
+    public int[] getEntryAttributesInPlan() {
+        return this.entryAttributesInPlan;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public boolean hasError() {
+        return this.errorMessage != null;
+    }
+
+    /**
+     * Marks this record as rejected, i.e. it was parsed successfully but could not be added into the lists
+     * (e.g. the exercise name does not exist).
+     */
+    public void markRejected() {
+        this.isRejected = true;
+    }
+
+    /**
+     * Checks if this record is damaged, i.e. it could not be parsed or could not be added into the lists.
+     *
+     * @return Returns true if this record is damaged. Otherwise, returns false.
+     */
+    public boolean isDamaged() {
+        return hasError() || this.isRejected;
+    }
+}
@@ -0,0 +1,269 @@
+package storage;
+
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.WorkoutList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class rewrites the resource files on a background thread in the write-behind storage mode, so that
+ * commands do not have to wait for the disk. The lists notify this class whenever their data is modified.
+ * After each command, the modified lists are converted into their file data format on the prompt thread,
+ * and the background thread writes them to the resource files. If a resource file is modified again before
+ * its previous snapshot has been written, only the latest snapshot is written. Thus, a burst of commands
+ * results in a single rewrite of each resource file.
+ */
+public class PersistenceWorker implements DirtyResourceListener, Runnable {
+    // Time to wait for more changes before a rewrite is started
+    public static final long GROUP_COMMIT_WINDOW_MILLISECONDS = 50;
+
+    private static final String THREAD_NAME = "werkit-persistence";
+
+    private FileManager fileManager;
+    private WorkoutList workoutList;
+    private PlanList planList;
+    private DayList dayList;
+    private Thread workerThread;
+
+    // Only accessed by the prompt thread
+    private LinkedHashSet<String> dirtyResourceNames = new LinkedHashSet<>();
+
+    // Guarded by this object
+    private LinkedHashMap<String, ArrayList<String>> pendingSnapshots = new LinkedHashMap<>();
+    private boolean isWriting = false;
+    private boolean isFlushRequested = false;
+    private boolean isRunning = false;
+    private IOException writeException;
+
+    private static Logger logger = Logger.getLogger(PersistenceWorker.class.getName());
+
+    /**
+     * Constructs a PersistenceWorker object. The background thread is not started until start() is called.
+     *
+     * @param fileManager An instance of the FileManager class.
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     */
+    public PersistenceWorker(FileManager fileManager, WorkoutList workoutList, PlanList planList, DayList dayList) {
+        this.fileManager = fileManager;
+        this.workoutList = workoutList;
+        this.planList = planList;
+        this.dayList = dayList;
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Starts the background thread that writes the resource files.
+     */
+    public synchronized void start() {
+        assert (workerThread == null) : "PersistenceWorker has already been started.";
+        isRunning = true;
+        workerThread = new Thread(this, THREAD_NAME);
+        workerThread.setDaemon(true);
+        workerThread.start();
+        logger.log(Level.INFO, "PersistenceWorker started.");
+    }
+
+    /**
+     * Marks the given resource file as no longer up-to-date. The file will be rewritten after the next
+     * call to submitDirtyResources().
+     *
+     * @param resourceFileName The name of the resource file (e.g. FileManager.NAME_WORKOUT_FILE).
+     */
+    @Override
+    public void markResourceDirty(String resourceFileName) {
+        dirtyResourceNames.add(resourceFileName);
+    }
+
+    /**
+     * Converts the data of all resource files marked as dirty into their file data format, and hands the
+     * snapshots to the background thread to be written. This should be called on the prompt thread once
+     * a command has finished executing, so that the lists are not read while they are being modified.
+     */
+    public void submitDirtyResources() {
+        if (dirtyResourceNames.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<String, ArrayList<String>> snapshots = new LinkedHashMap<>();
+        for (String resourceFileName : dirtyResourceNames) {
+            snapshots.put(resourceFileName, convertResourceToFileDataFormat(resourceFileName));
+        }
+        dirtyResourceNames.clear();
+
+        synchronized (this) {
+            // A newer snapshot of a resource file replaces the older one that has not been written yet
+            pendingSnapshots.putAll(snapshots);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Submits all dirty resource files, and waits until every pending snapshot has been written.
+     *
+     * @throws IOException If a resource file could not be written to since the last flush.
+     */
+    public void flush() throws IOException {
+        submitDirtyResources();
+
+        synchronized (this) {
+            isFlushRequested = true;
+            notifyAll();
+            while ((!pendingSnapshots.isEmpty() || isWriting) && isRunning) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            isFlushRequested = false;
+
+            if (writeException != null) {
+                IOException exceptionToThrow = writeException;
+                writeException = null;
+                throw exceptionToThrow;
+            }
+        }
+        logger.log(Level.INFO, "PersistenceWorker flushed.");
+    }
+
+    /**
+     * Waits for snapshots to be submitted and writes them to the resource files, until the thread is stopped.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            LinkedHashMap<String, ArrayList<String>> snapshotsToWrite;
+            synchronized (this) {
+                if (!waitForPendingSnapshots()) {
+                    return;
+                }
+                snapshotsToWrite = new LinkedHashMap<>(pendingSnapshots);
+                pendingSnapshots.clear();
+                isWriting = true;
+            }
+
+            IOException exception = writeSnapshots(snapshotsToWrite);
+
+            synchronized (this) {
+                isWriting = false;
+                if (exception != null) {
+                    writeException = exception;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until there are snapshots to write. Once the first snapshot arrives, waits for a further
+     * GROUP_COMMIT_WINDOW_MILLISECONDS (unless a flush has been requested) so that a burst of changes
+     * is written together. Must be called while holding the lock of this object.
+     *
+     * @return True if there are snapshots to write. Otherwise, returns false if the thread should stop.
+     */
+    private boolean waitForPendingSnapshots() {
+        try {
+            while (pendingSnapshots.isEmpty()) {
+                if (!isRunning) {
+                    return false;
+                }
+                wait();
+            }
+            if (!isFlushRequested) {
+                wait(GROUP_COMMIT_WINDOW_MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            logger.log(Level.WARNING, "PersistenceWorker was interrupted.");
+            isRunning = false;
+            notifyAll();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the given snapshots to their resource files.
+     *
+     * @param snapshotsToWrite The snapshots to write, keyed by the name of their resource file.
+     * @return The IOException that occurred while writing, or null if all snapshots were written.
+     */
+    private IOException writeSnapshots(LinkedHashMap<String, ArrayList<String>> snapshotsToWrite) {
+        IOException exception = null;
+        for (String resourceFileName : snapshotsToWrite.keySet()) {
+            try {
+                fileManager.writeSnapshotToFile(getResourceFilePath(resourceFileName),
+                        snapshotsToWrite.get(resourceFileName));
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Resource file could not be written: " + resourceFileName);
+                exception = e;
+            }
+        }
+        return exception;
+    }
+
+    /**
+     * Stops the background thread once all pending snapshots have been written.
+     *
+     * @throws IOException If a resource file could not be written to since the last flush.
+     */
+    public void stop() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                isRunning = false;
+                notifyAll();
+            }
+        }
+        logger.log(Level.INFO, "PersistenceWorker stopped.");
+    }
+
+    /**
+     * Converts the data belonging to the given resource file into its file data format.
+     *
+     * @param resourceFileName The name of the resource file.
+     * @return An ArrayList of the lines to be written to the resource file.
+     */
+    private ArrayList<String> convertResourceToFileDataFormat(String resourceFileName) {
+        switch (resourceFileName) {
+        case FileManager.NAME_WORKOUT_FILE:
+            return fileManager.convertAllWorkoutsToFileDataFormat(workoutList);
+        case FileManager.NAME_PLAN_FILE:
+            return fileManager.convertAllPlansToFileDataFormat(planList);
+        case FileManager.NAME_SCHEDULE_FILE:
+            return fileManager.convertAllDaysScheduleToFileDataFormat(dayList);
+        default:
+            throw new IllegalArgumentException("Unknown resource file: " + resourceFileName);
+        }
+    }
+
+    /**
+     * Gets the path of the given resource file.
+     *
+     * @param resourceFileName The name of the resource file.
+     * @return The path of the resource file.
+     */
+    private Path getResourceFilePath(String resourceFileName) {
+        switch (resourceFileName) {
+        case FileManager.NAME_WORKOUT_FILE:
+            return fileManager.getWorkoutFilePath();
+        case FileManager.NAME_PLAN_FILE:
+            return fileManager.getPlanFilePath();
+        case FileManager.NAME_SCHEDULE_FILE:
+            return fileManager.getScheduleFilePath();
+        default:
+            throw new IllegalArgumentException("Unknown resource file: " + resourceFileName);
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package storage;
+
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class watches the WerkIt! resource directory for resource files that are modified outside of the
+ * application (e.g. by a script), so that they can be reloaded without restarting the application.
+ * A background thread only records the names of the modified resource files. The modified resource files
+ * are then reloaded on the prompt thread (see reloadWorkoutFile(), reloadPlanFile() and reloadScheduleFile()),
+ * so that the lists are never modified by two threads at once. Reloading a resource file changes only the
+ * entries that differ from the file, so the workouts and plans that are unchanged keep their identity.
+ */
+public class ResourceFileWatcher implements Runnable {
+    private static final String THREAD_NAME = "werkit-watcher";
+    // The resource files that can be reloaded, in the order that they must be reloaded in
+    private static final String[] WATCHED_FILE_NAMES = {FileManager.NAME_WORKOUT_FILE, FileManager.NAME_PLAN_FILE,
+        FileManager.NAME_SCHEDULE_FILE};
+
+    private FileManager fileManager;
+    private WorkoutList workoutList;
+    private PlanList planList;
+    private DayList dayList;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    // Guarded by this object
+    private LinkedHashSet<String> modifiedFileNames = new LinkedHashSet<>();
+
+    private static Logger logger = Logger.getLogger(ResourceFileWatcher.class.getName());
+
+    /**
+     * Constructs a ResourceFileWatcher object. The resource directory is not watched until start() is called.
+     *
+     * @param fileManager An instance of the FileManager class.
+     * @param workoutList An instance of the WorkoutList class.
+     * @param planList    An instance of the PlanList class.
+     * @param dayList     An instance of the DayList class.
+     */
+    public ResourceFileWatcher(FileManager fileManager, WorkoutList workoutList, PlanList planList, DayList dayList) {
+        this.fileManager = fileManager;
+        this.workoutList = workoutList;
+        this.planList = planList;
+        this.dayList = dayList;
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Starts watching the resource directory on a background thread.
+     *
+     * @throws IOException If the resource directory cannot be watched.
+     */
+    public void start() throws IOException {
+        assert (watcherThread == null) : "ResourceFileWatcher has already been started.";
+        Path directoryPath = fileManager.getDirectoryPath();
+        watchService = directoryPath.getFileSystem().newWatchService();
+        // Resource files are rewritten by moving a new file into place, which is seen as the file being created
+        directoryPath.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watcherThread = new Thread(this, THREAD_NAME);
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.log(Level.INFO, "ResourceFileWatcher started.");
+    }
+
+    /**
+     * Stops watching the resource directory.
+     *
+     * @throws IOException If the watch service could not be closed.
+     */
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        logger.log(Level.INFO, "ResourceFileWatcher stopped.");
+    }
+
+    /**
+     * Waits for changes in the resource directory and records the names of the modified resource files,
+     * until the watch service is closed.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Some events were lost, so any of the resource files may have been modified
+                    markAllResourceFilesModified();
+                    continue;
+                }
+                markResourceFileModified(((Path) watchEvent.context()).getFileName().toString());
+            }
+
+            if (!watchKey.reset()) {
+                logger.log(Level.WARNING, "Resource directory can no longer be watched.");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records that the given file in the resource directory has been modified. Files other than the
+     * workout, plan and schedule resource files are ignored.
+     *
+     * @param fileName The name of the modified file.
+     */
+    private synchronized void markResourceFileModified(String fileName) {
+        for (String watchedFileName : WATCHED_FILE_NAMES) {
+            if (watchedFileName.equals(fileName)) {
+                modifiedFileNames.add(fileName);
+            }
+        }
+    }
+
+    /**
+     * Records that all of the workout, plan and schedule resource files may have been modified.
+     */
+    private synchronized void markAllResourceFilesModified() {
+        for (String watchedFileName : WATCHED_FILE_NAMES) {
+            modifiedFileNames.add(watchedFileName);
+        }
+    }
+
+    /**
+     * Gets the names of the resource files that have been modified since the last call to this method.
+     * The modifications include those made by WerkIt! itself, which are skipped when reloading as the
+     * resource files already match the lists.
+     *
+     * @return An ArrayList of the names of the modified resource files, in the order that they must be
+     *         reloaded in (workouts, then plans, then schedule).
+     */
+    public synchronized ArrayList<String> getAndResetModifiedFileNames() {
+        ArrayList<String> fileNamesToReload = new ArrayList<>();
+        for (String watchedFileName : WATCHED_FILE_NAMES) {
+            if (modifiedFileNames.contains(watchedFileName)) {
+                fileNamesToReload.add(watchedFileName);
+            }
+        }
+        modifiedFileNames.clear();
+        return fileNamesToReload;
+    }
+
+    /**
+     * Checks if the given resource file needs to be reloaded, that is, it exists and its data differs
+     * from the data in the lists.
+     *
+     * @param resourceFileName The name of the resource file (e.g. FileManager.NAME_WORKOUT_FILE).
+     * @return Returns true if the resource file needs to be reloaded. Otherwise, returns false.
+     * @throws IOException If the resource file could not be read.
+     */
+    public boolean isReloadRequired(String resourceFileName) throws IOException {
+        Path filePath;
+        ArrayList<String> fileDataLines;
+        switch (resourceFileName) {
+        case FileManager.NAME_WORKOUT_FILE:
+            filePath = fileManager.getWorkoutFilePath();
+            fileDataLines = fileManager.convertAllWorkoutsToFileDataFormat(workoutList);
+            break;
+        case FileManager.NAME_PLAN_FILE:
+            filePath = fileManager.getPlanFilePath();
+            fileDataLines = fileManager.convertAllPlansToFileDataFormat(planList);
+            break;
+        case FileManager.NAME_SCHEDULE_FILE:
+            filePath = fileManager.getScheduleFilePath();
+            fileDataLines = fileManager.convertAllDaysScheduleToFileDataFormat(dayList);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown resource file: " + resourceFileName);
+        }
+        return Files.exists(filePath) && !fileManager.isFileDataUpToDate(filePath, fileDataLines);
+    }
+
+    /**
+     * Reloads the workout resource file into the list of workouts. Workouts that are no longer in the file
+     * are deleted (together with the plans that contain them), workouts whose repetitions have changed are
+     * updated, and new workouts are added. Any damaged records are quarantined.
+     *
+     * @return Returns true if all workouts in the file have been reloaded successfully. Otherwise,
+     *         returns false.
+     * @throws IOException If the workout resource file could not be read.
+     */
+    public boolean reloadWorkoutFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedWorkoutFile = fileManager.parseWorkoutFile();
+        boolean hasNoErrorsDuringReload = true;
+
+        HashMap<ParsedFileRecord, Workout> matchingWorkouts = new HashMap<>();
+        HashSet<Workout> workoutsInFile = new HashSet<>();
+        for (ParsedFileRecord parsedWorkout : parsedWorkoutFile) {
+            Workout matchingWorkout = parsedWorkout.hasError() ? null : findMatchingWorkout(parsedWorkout);
+            if (matchingWorkout != null && !workoutsInFile.contains(matchingWorkout)) {
+                matchingWorkouts.put(parsedWorkout, matchingWorkout);
+                workoutsInFile.add(matchingWorkout);
+            }
+        }
+
+        try {
+            deleteWorkoutsNotInFile(workoutsInFile);
+        } catch (InvalidWorkoutException | InvalidPlanException e) {
+            System.out.println("File data error: " + e.getMessage());
+            hasNoErrorsDuringReload = false;
+        }
+
+        for (ParsedFileRecord parsedWorkout : parsedWorkoutFile) {
+            if (parsedWorkout.hasError()) {
+                System.out.println(parsedWorkout.getErrorMessage());
+                hasNoErrorsDuringReload = false;
+                continue;
+            }
+            try {
+                Workout matchingWorkout = matchingWorkouts.get(parsedWorkout);
+                if (matchingWorkout == null) {
+                    fileManager.addFileWorkoutToList(workoutList, parsedWorkout.getField(0),
+                            parsedWorkout.getField(1), parsedWorkout.getField(2));
+                } else {
+                    updateWorkoutRepetitions(matchingWorkout, parsedWorkout.getField(1));
+                }
+            } catch (InvalidExerciseException | InvalidWorkoutException | NumberFormatException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedWorkout.markRejected();
+                hasNoErrorsDuringReload = false;
+            }
+        }
+
+        if (!hasNoErrorsDuringReload) {
+            fileManager.quarantineDamagedRecords(fileManager.getWorkoutFilePath(), parsedWorkoutFile);
+        }
+        logger.log(Level.INFO, "Workout file reloaded.");
+        return hasNoErrorsDuringReload;
+    }
+
+    /**
+     * Finds the workout in the list of workouts that a line of the workout resource file refers to. If the line
+     * has a workout id, the workout with that id and the same exercise name is found. Otherwise, the workout
+     * with the same exercise name and repetitions is found.
+     *
+     * @param parsedWorkout The parsed line of the workout resource file.
+     * @return The matching Workout object, or null if there is none.
+     */
+    private Workout findMatchingWorkout(ParsedFileRecord parsedWorkout) {
+        String exerciseName = parsedWorkout.getField(0).toLowerCase();
+        try {
+            if (parsedWorkout.getField(2) != null) {
+                Workout workout = workoutList.getWorkoutFromId(Integer.parseInt(parsedWorkout.getField(2)));
+                boolean hasSameExerciseName = (workout != null) && workout.getExerciseName().equals(exerciseName);
+                return hasSameExerciseName ? workout : null;
+            }
+            int repetitions = Integer.parseInt(parsedWorkout.getField(1));
+            return workoutList.getWorkoutFromKey(Workout.getWorkoutKey(exerciseName, repetitions));
+        } catch (NumberFormatException e) {
+            // The line is reported as an error when it is added
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the workouts that are not in the workout resource file, and the plans that contain them.
+     *
+     * @param workoutsInFile The workouts that are still in the workout resource file.
+     * @throws InvalidWorkoutException If a workout could not be deleted.
+     * @throws InvalidPlanException    If a plan containing a deleted workout could not be deleted.
+     */
+    private void deleteWorkoutsNotInFile(HashSet<Workout> workoutsInFile) throws InvalidWorkoutException,
+            InvalidPlanException {
+        for (int i = workoutList.getNumberOfWorkouts(); i >= 1; i -= 1) {
+            Workout workout = workoutList.getWorkoutFromIndexNum(i);
+            if (workoutsInFile.contains(workout)) {
+                continue;
+            }
+            workoutList.deleteWorkout(Integer.toString(i));
+            planList.deletePlanContainsDeletedWorkout(workout);
+        }
+    }
+
+    /**
+     * Updates the repetitions of a workout if they differ from the repetitions in the workout resource file.
+     * The plans that contain the workout refer to it by its workout id, so they show the updated workout.
+     *
+     * @param workout         The Workout object to update.
+     * @param workoutRepsData The repetitions of the workout in the workout resource file.
+     * @throws InvalidWorkoutException If the repetitions are invalid, or another workout already has them.
+     * @throws NumberFormatException   If the repetitions are not a number.
+     */
+    private void updateWorkoutRepetitions(Workout workout, String workoutRepsData) throws InvalidWorkoutException,
+            NumberFormatException {
+        int repetitions = Integer.parseInt(workoutRepsData);
+        if (repetitions == workout.getRepetitions()) {
+            return;
+        }
+        int workoutIndexNum = workoutList.getIndexNumFromWorkout(workout);
+        workoutList.updateWorkout(workoutIndexNum + " " + repetitions);
+    }
+
+    /**
+     * Reloads the plan resource file into the list of plans. Plans that are no longer in the file are
+     * deleted (and cleared from the schedule), plans whose workouts have changed are updated, and new plans
+     * are added. Any damaged records are quarantined.
+     *
+     * @return Returns true if all plans in the file have been reloaded successfully. Otherwise,
+     *         returns false.
+     * @throws IOException If the plan resource file could not be read.
+     */
+    public boolean reloadPlanFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedPlanFile = fileManager.parsePlanFile();
+        boolean hasNoErrorsDuringReload = true;
+
+        HashSet<Plan> plansInFile = new HashSet<>();
+        for (ParsedFileRecord parsedPlan : parsedPlanFile) {
+            if (parsedPlan.hasError()) {
+                System.out.println(parsedPlan.getErrorMessage());
+                hasNoErrorsDuringReload = false;
+                continue;
+            }
+            try {
+                plansInFile.add(reloadPlan(parsedPlan));
+            } catch (InvalidExerciseException | InvalidWorkoutException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedPlan.markRejected();
+                hasNoErrorsDuringReload = false;
+            }
+        }
+
+        try {
+            for (int i = planList.getNumberOfPlans(); i >= 1; i -= 1) {
+                if (!plansInFile.contains(planList.getPlanFromIndexNum(i))) {
+                    planList.deletePlan(Integer.toString(i));
+                }
+            }
+        } catch (InvalidPlanException e) {
+            System.out.println("File data error: " + e.getMessage());
+            hasNoErrorsDuringReload = false;
+        }
+
+        if (!hasNoErrorsDuringReload) {
+            fileManager.quarantineDamagedRecords(fileManager.getPlanFilePath(), parsedPlanFile);
+        }
+        logger.log(Level.INFO, "Plan file reloaded.");
+        return hasNoErrorsDuringReload;
+    }
+
+    /**
+     * Adds a plan in the plan resource file into the list of plans, or updates the workouts of the existing
+     * plan with the same name.
+     *
+     * @param parsedPlan The parsed line of the plan resource file.
+     * @return The Plan object that has been added or updated.
+     * @throws InvalidExerciseException If a workout contains an invalid exercise name.
+     * @throws InvalidWorkoutException  If a workout of the plan does not exist in the list of workouts.
+     */
+    private Plan reloadPlan(ParsedFileRecord parsedPlan) throws InvalidExerciseException, InvalidWorkoutException {
+        String planName = parsedPlan.getField(0);
+        ArrayList<Workout> workoutsInPlan = new ArrayList<>(parsedPlan.getWorkoutsInPlan());
+        fileManager.lookUpWorkoutIdsInPlan(workoutList, workoutsInPlan, parsedPlan.getWorkoutIdsInPlan());
+
+        Plan existingPlan = planList.getPlanFromKey(planName);
+        if (existingPlan == null) {
+            fileManager.addFilePlanToList(planList, planName, workoutsInPlan, parsedPlan.getEntryAttributesInPlan());
+            return planList.getPlanFromKey(planName);
+        }
+
+        // The existing Plan object is kept, as the schedule may refer to it
+        planList.lookUpWorkoutsInList(workoutsInPlan);
+        int[] entryAttributesInPlan = parsedPlan.getEntryAttributesInPlan();
+        if (!workoutsInPlan.equals(existingPlan.getWorkoutsInPlanList())
+                || !existingPlan.hasSameEntryAttributes(entryAttributesInPlan)) {
+            planList.replaceWorkoutsInPlan(existingPlan, workoutsInPlan, entryAttributesInPlan);
+        }
+        return existingPlan;
+    }
+
+    /**
+     * Reloads the schedule resource file into the schedule. Days that are no longer in the file are cleared,
+     * and the other days are set to the plans in the file. Any damaged records are quarantined.
+     *
+     * @return Returns true if the entire schedule in the file has been reloaded successfully. Otherwise,
+     *         returns false.
+     * @throws IOException If the schedule resource file could not be read.
+     */
+    public boolean reloadScheduleFile() throws IOException {
+        ArrayList<ParsedFileRecord> parsedScheduleFile = fileManager.parseScheduleFile();
+        boolean hasNoErrorsDuringReload = true;
+
+        String[] schedulePlanNames = new String[DayList.NUMBER_OF_SCHEDULE_DAYS];
+        for (ParsedFileRecord parsedSchedule : parsedScheduleFile) {
+            if (parsedSchedule.hasError()) {
+                System.out.println(parsedSchedule.getErrorMessage());
+                hasNoErrorsDuringReload = false;
+                continue;
+            }
+            try {
+                fileManager.addFileScheduleToList(dayList, parsedSchedule.getField(0), parsedSchedule.getField(1));
+                int dayNumber = Integer.parseInt(parsedSchedule.getField(0));
+                schedulePlanNames[dayNumber - 1] = dayList.getScheduleList()[dayNumber - 1];
+            } catch (InvalidScheduleException | InvalidPlanException | NumberFormatException e) {
+                System.out.println("File data error: " + e.getMessage());
+                parsedSchedule.markRejected();
+                hasNoErrorsDuringReload = false;
+            }
+        }
+
+        for (int i = 0; i < DayList.NUMBER_OF_SCHEDULE_DAYS; i += 1) {
+            if (schedulePlanNames[i] == null && dayList.getDayList()[i] != null) {
+                dayList.clearPlan(i);
+            }
+        }
+
+        if (!hasNoErrorsDuringReload) {
+            fileManager.quarantineDamagedRecords(fileManager.getScheduleFilePath(), parsedScheduleFile);
+        }
+        logger.log(Level.INFO, "Schedule file reloaded.");
+        return hasNoErrorsDuringReload;
+    }
+}
@@ -0,0 +1,114 @@
+package storage;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes a complete snapshot of a resource file in a crash-safe manner. The data is first written to a
+ * sibling temporary file, which is flushed to the disk and then atomically renamed over the resource file.
+ * Thus, the resource file always contains either its previous or its new contents, even if the application
+ * is interrupted halfway through writing.
+ */
+public class SnapshotWriter {
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private Path targetFilePath;
+    private Path tempFilePath;
+    private FileOutputStream fileOutputStream;
+    private BufferedWriter bufferedWriter;
+
+    private static Logger logger = Logger.getLogger(SnapshotWriter.class.getName());
+
+    /**
+     * Constructs a SnapshotWriter object and opens the temporary file that the snapshot will be written to.
+     *
+     * @param targetFilePath The path of the resource file that the snapshot will replace.
+     * @throws IOException If the temporary file cannot be opened.
+     */
+    public SnapshotWriter(Path targetFilePath) throws IOException {
+        this.targetFilePath = targetFilePath;
+        this.tempFilePath = targetFilePath.resolveSibling(targetFilePath.getFileName() + TEMP_FILE_SUFFIX);
+        this.fileOutputStream = new FileOutputStream(tempFilePath.toFile());
+        this.bufferedWriter = new BufferedWriter(new OutputStreamWriter(fileOutputStream, StandardCharsets.UTF_8));
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Writes a line of data, followed by a line separator, to the snapshot.
+     *
+     * @param fileDataLine The line of data to write.
+     * @throws IOException If the temporary file cannot be written to.
+     */
+    public void appendLine(String fileDataLine) throws IOException {
+        bufferedWriter.append(fileDataLine);
+        bufferedWriter.append(System.lineSeparator());
+    }
+
+    /**
+     * Writes raw bytes to the snapshot. This is used for resource files that are not stored as text.
+     *
+     * @param fileData The bytes to write.
+     * @throws IOException If the temporary file cannot be written to.
+     */
+    public void appendBytes(byte[] fileData) throws IOException {
+        bufferedWriter.flush();
+        fileOutputStream.write(fileData);
+    }
+
+    /**
+     * Flushes the snapshot to the disk and atomically replaces the resource file with it. If the filesystem
+     * does not support atomic moves, the resource file is replaced with a regular move instead.
+     *
+     * @throws IOException If the snapshot cannot be flushed or moved.
+     */
+    public void commit() throws IOException {
+        bufferedWriter.flush();
+        fileOutputStream.getChannel().force(true);
+        bufferedWriter.close();
+
+        try {
+            Files.move(tempFilePath, targetFilePath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.log(Level.WARNING, "Atomic move is not supported, falling back to a regular move.");
+            Files.move(tempFilePath, targetFilePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncParentDirectory();
+    }
+
+    /**
+     * Discards the snapshot, leaving the resource file untouched.
+     */
+    public void abort() {
+        try {
+            bufferedWriter.close();
+            Files.deleteIfExists(tempFilePath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Temporary snapshot file could not be removed: " + tempFilePath);
+        }
+    }
+
+    /**
+     * Flushes the directory entry of the renamed file to the disk. Not all platforms allow a directory
+     * to be opened (e.g. Windows), in which case this step is skipped.
+     */
+    private void syncParentDirectory() {
+        try (FileChannel directoryChannel = FileChannel.open(targetFilePath.getParent(), StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Directory of the snapshot could not be synced.");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class loads the workout, plan and schedule resource files in two stages during startup. In the first
+ * stage, all resource files are parsed in parallel, as parsing does not depend on any of the lists. In the
+ * second stage, the parsed lines are added into the lists on the calling thread in dependency order
+ * (workouts, then plans, then schedule). A resource file can be added as soon as its own parsing has
+ * finished, so the later resource files continue to be parsed while the earlier ones are being added.
+ */
+public class StagedFileLoader {
+    private static final String THREAD_NAME = "werkit-loader";
+    // One thread for each of the workout, plan and schedule resource files
+    private static final int NUMBER_OF_PARSER_THREADS = 3;
+
+    private FileManager fileManager;
+    private ExecutorService parserThreads;
+    private Future<ArrayList<ParsedFileRecord>> parsedWorkoutFile;
+    private Future<ArrayList<ParsedFileRecord>> parsedPlanFile;
+    private Future<ArrayList<ParsedFileRecord>> parsedScheduleFile;
+
+    private static Logger logger = Logger.getLogger(StagedFileLoader.class.getName());
+
+    /**
+     * Constructs a StagedFileLoader object. No resource file is parsed until startParsing() is called.
+     *
+     * @param fileManager An instance of the FileManager class.
+     */
+    public StagedFileLoader(FileManager fileManager) {
+        this.fileManager = fileManager;
+
+        LogHandler.linkToFileLogger(logger);
+    }
+
+    /**
+     * Starts parsing the workout, plan and schedule resource files that existed prior to the current
+     * session, each on its own thread.
+     */
+    public void startParsing() {
+        assert (parserThreads == null) : "StagedFileLoader has already been started.";
+        parserThreads = Executors.newFixedThreadPool(NUMBER_OF_PARSER_THREADS, runnable -> {
+            Thread parserThread = new Thread(runnable, THREAD_NAME);
+            parserThread.setDaemon(true);
+            return parserThread;
+        });
+
+        if (fileManager.isWasWorkoutsFileAlreadyMade()) {
+            parsedWorkoutFile = parserThreads.submit(fileManager::parseWorkoutFile);
+        }
+        if (fileManager.isWasPlansFileAlreadyMade()) {
+            parsedPlanFile = parserThreads.submit(fileManager::parsePlanFile);
+        }
+        if (fileManager.isWasScheduleFileAlreadyMade()) {
+            parsedScheduleFile = parserThreads.submit(fileManager::parseScheduleFile);
+        }
+        parserThreads.shutdown();
+        logger.log(Level.INFO, "Parsing of resource files started.");
+    }
+
+    /**
+     * Waits for the workout resource file to be parsed.
+     *
+     * @return The parsed lines of the workout resource file, or an empty ArrayList if the file was
+     *         newly created in this session.
+     * @throws IOException If the workout resource file could not be read.
+     */
+    public ArrayList<ParsedFileRecord> getParsedWorkoutFile() throws IOException {
+        return waitForParsedFile(parsedWorkoutFile);
+    }
+
+    /**
+     * Waits for the plan resource file to be parsed.
+     *
+     * @return The parsed lines of the plan resource file, or an empty ArrayList if the file was
+     *         newly created in this session.
+     * @throws IOException If the plan resource file could not be read.
+     */
+    public ArrayList<ParsedFileRecord> getParsedPlanFile() throws IOException {
+        return waitForParsedFile(parsedPlanFile);
+    }
+
+    /**
+     * Waits for the schedule resource file to be parsed.
+     *
+     * @return The parsed lines of the schedule resource file, or an empty ArrayList if the file was
+     *         newly created in this session.
+     * @throws IOException If the schedule resource file could not be read.
+     */
+    public ArrayList<ParsedFileRecord> getParsedScheduleFile() throws IOException {
+        return waitForParsedFile(parsedScheduleFile);
+    }
+
+    /**
+     * Waits for the given parsing task to finish and returns its result. Any IOException thrown by the task
+     * is rethrown on the calling thread.
+     *
+     * @param parsedFile The parsing task, or null if the resource file is not being parsed.
+     * @return The parsed lines of the resource file.
+     * @throws IOException If the resource file could not be read, or the wait was interrupted.
+     */
+    private ArrayList<ParsedFileRecord> waitForParsedFile(Future<ArrayList<ParsedFileRecord>> parsedFile)
+            throws IOException {
+        if (parsedFile == null) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return parsedFile.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Loading of resource files was interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
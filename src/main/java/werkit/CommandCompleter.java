@@ -0,0 +1,110 @@
+package werkit;
+
+import commands.SearchCommand;
+import commands.WorkoutCommand;
+import data.exercises.ExerciseList;
+import data.plans.PlanList;
+
+import java.util.ArrayList;
+
+/**
+ * This class completes the exercise names and plan names in the commands that the user is entering, using the
+ * prefix tries of ExerciseList and PlanList. The following commands are completed:
+ * <ul>
+ *     <li>'workout /new', whose exercise name (of the last workout, if several are separated by ';') is
+ *     completed and followed by '/reps'.</li>
+ *     <li>'search /exercise', whose keyword is completed to an exercise name.</li>
+ *     <li>'search /plan', whose keyword is completed to a plan name.</li>
+ * </ul>
+ */
+public class CommandCompleter implements CompletionProvider {
+    public static final int MAX_NUMBER_OF_COMPLETIONS = 5;
+    public static final String SPACE_CHARACTER = " ";
+
+    private static final String WORKOUT_CREATE_PREFIX = WorkoutCommand.KEYWORD_BASE + SPACE_CHARACTER
+            + WorkoutCommand.ACTION_KEYWORD_CREATE + SPACE_CHARACTER;
+    private static final String SEARCH_EXERCISE_PREFIX = SearchCommand.KEYWORD_BASE + SPACE_CHARACTER
+            + SearchCommand.ACTION_KEYWORD_EXERCISE + SPACE_CHARACTER;
+    private static final String SEARCH_PLAN_PREFIX = SearchCommand.KEYWORD_BASE + SPACE_CHARACTER
+            + SearchCommand.ACTION_KEYWORD_PLAN + SPACE_CHARACTER;
+
+    private ExerciseList exerciseList;
+    private PlanList planList;
+
+    /**
+     * Constructs a CommandCompleter that completes names from the given lists.
+     *
+     * @param exerciseList An instance of the ExerciseList class.
+     * @param planList     An instance of the PlanList class.
+     */
+    public CommandCompleter(ExerciseList exerciseList, PlanList planList) {
+        this.exerciseList = exerciseList;
+        this.planList = planList;
+    }
+
+    /**
+     * Gets the possible completions of the given partial user input, if it is a command whose exercise name or
+     * plan name can be completed.
+     *
+     * @param partialInput The user input entered so far, without the Tab character.
+     * @return An ArrayList of at most MAX_NUMBER_OF_COMPLETIONS completed user inputs, which is empty if the
+     *         input cannot be completed.
+     */
+    @Override
+    public ArrayList<String> getCompletions(String partialInput) {
+        if (partialInput.startsWith(WORKOUT_CREATE_PREFIX)) {
+            return completeWorkoutCreateCommand(partialInput);
+        }
+        if (partialInput.startsWith(SEARCH_EXERCISE_PREFIX)) {
+            String exerciseNamePrefix = partialInput.substring(SEARCH_EXERCISE_PREFIX.length());
+            return addToInput(SEARCH_EXERCISE_PREFIX,
+                    exerciseList.getExerciseNameCompletions(exerciseNamePrefix, MAX_NUMBER_OF_COMPLETIONS), "");
+        }
+        if (partialInput.startsWith(SEARCH_PLAN_PREFIX)) {
+            String planNamePrefix = partialInput.substring(SEARCH_PLAN_PREFIX.length());
+            return addToInput(SEARCH_PLAN_PREFIX,
+                    planList.getPlanNameCompletions(planNamePrefix, MAX_NUMBER_OF_COMPLETIONS), "");
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Completes the exercise name of the last workout in a 'workout /new' command, if its number of repetitions
+     * has not been entered yet.
+     *
+     * @param partialInput The user input entered so far, which starts with 'workout /new '.
+     * @return An ArrayList of the completed user inputs.
+     */
+    private ArrayList<String> completeWorkoutCreateCommand(String partialInput) {
+        int lastWorkoutStart = partialInput.lastIndexOf(WorkoutCommand.BATCH_ENTRY_DELIMITER) + 1;
+        lastWorkoutStart = Math.max(lastWorkoutStart, WORKOUT_CREATE_PREFIX.length());
+        String lastWorkout = partialInput.substring(lastWorkoutStart);
+        if (lastWorkout.contains(WorkoutCommand.ACTION_KEYWORD_CREATE_REPS)) {
+            return new ArrayList<>();
+        }
+
+        String exerciseNamePrefix = lastWorkout.stripLeading();
+        String inputBeforeExerciseName = partialInput.substring(0,
+                partialInput.length() - exerciseNamePrefix.length());
+        ArrayList<String> exerciseNames = exerciseList.getExerciseNameCompletions(exerciseNamePrefix,
+                MAX_NUMBER_OF_COMPLETIONS);
+        return addToInput(inputBeforeExerciseName, exerciseNames,
+                SPACE_CHARACTER + WorkoutCommand.ACTION_KEYWORD_CREATE_REPS + SPACE_CHARACTER);
+    }
+
+    /**
+     * Puts each of the given names between the input before the name and the text after the name.
+     *
+     * @param inputBeforeName The user input before the name.
+     * @param names           The names that complete the user input.
+     * @param textAfterName   The text to add after each name.
+     * @return An ArrayList of the completed user inputs.
+     */
+    private ArrayList<String> addToInput(String inputBeforeName, ArrayList<String> names, String textAfterName) {
+        ArrayList<String> completedInputs = new ArrayList<>(names.size());
+        for (String name : names) {
+            completedInputs.add(inputBeforeName + name + textAfterName);
+        }
+        return completedInputs;
+    }
+}
@@ -0,0 +1,17 @@
+package werkit;
+
+import java.util.ArrayList;
+
+/**
+ * This interface is implemented by classes that can complete a partially entered user input, e.g. when the user
+ * presses Tab before Enter.
+ */
+public interface CompletionProvider {
+    /**
+     * Gets the possible completions of the given partial user input.
+     *
+     * @param partialInput The user input entered so far, without the Tab character.
+     * @return An ArrayList of the completed user inputs, which is empty if the input cannot be completed.
+     */
+    ArrayList<String> getCompletions(String partialInput);
+}
@@ -9,10 +9,13 @@ import commands.ExerciseCommand;
 import commands.SearchCommand;
 import commands.PlanCommand;
 import commands.ScheduleCommand;
+import commands.UndoCommand;
 import data.exercises.ExerciseList;
 import data.exercises.InvalidExerciseException;
+import data.history.ChangeHistory;
 import data.plans.PlanList;
 import data.schedule.DayList;
+import data.snapshot.ModelSnapshotPublisher;
 import data.workouts.WorkoutList;
 import storage.FileManager;
 import storage.LogHandler;
@@ -42,9 +45,12 @@ public class Parser {
     private PlanList planList;
     private DayList dayList;
     private FileManager fileManager;
+    private ChangeHistory changeHistory;
+    private ModelSnapshotPublisher modelSnapshotPublisher;
     public static final String SPACE_CHARACTER = " ";
     public static final int EXPECTED_NUMBER_OF_PARAMETERS_HELP = 1;
     public static final int EXPECTED_NUMBER_OF_PARAMETERS_EXIT = 1;
+    public static final int EXPECTED_NUMBER_OF_PARAMETERS_UNDO = 1;
     public static final int EXPECTED_NUMBER_OF_PARAMETERS_SEARCH_SPACE = 2;
     public static final int EXPECTED_NUMBER_OF_PARAMETERS_NO_ARGUMENTS = 2;
     public static final int EXPECTED_NUMBER_OF_PARAMETERS_WITH_ARGUMENTS = 3;
@@ -62,12 +68,52 @@ public class Parser {
      */
     public Parser(UI ui, ExerciseList exerciseList, WorkoutList workoutList,
                   FileManager fileManager, PlanList planList, DayList dayList) {
+        this(ui, exerciseList, workoutList, fileManager, planList, dayList, null);
+    }
+
+    /**
+     * Constructs the Parser object with the required components for this instance to operate, and the
+     * history of changes that the undo and redo commands work on. If there is no history of changes, the
+     * undo and redo commands are not recognised.
+     *
+     * @param ui            An instance of the UI class.
+     * @param exerciseList  An instance of the ExerciseList class.
+     * @param workoutList   An instance of the WorkoutList class.
+     * @param planList      An instance of the PlanList class.
+     * @param dayList       An instance of the DayList class.
+     * @param fileManager   An instance of the FileManager class.
+     * @param changeHistory An instance of the ChangeHistory class.
+     */
+    public Parser(UI ui, ExerciseList exerciseList, WorkoutList workoutList, FileManager fileManager,
+                  PlanList planList, DayList dayList, ChangeHistory changeHistory) {
+        this(ui, exerciseList, workoutList, fileManager, planList, dayList, changeHistory,
+                new ModelSnapshotPublisher(exerciseList, workoutList, planList, dayList));
+    }
+
+    /**
+     * Constructs the Parser object with the required components for this instance to operate, the history of
+     * changes, and the publisher of the snapshots that the list commands read.
+     *
+     * @param ui                     An instance of the UI class.
+     * @param exerciseList           An instance of the ExerciseList class.
+     * @param workoutList            An instance of the WorkoutList class.
+     * @param fileManager            An instance of the FileManager class.
+     * @param planList               An instance of the PlanList class.
+     * @param dayList                An instance of the DayList class.
+     * @param changeHistory          An instance of the ChangeHistory class, or null.
+     * @param modelSnapshotPublisher The publisher of the snapshots of the given lists.
+     */
+    public Parser(UI ui, ExerciseList exerciseList, WorkoutList workoutList, FileManager fileManager,
+                  PlanList planList, DayList dayList, ChangeHistory changeHistory,
+                  ModelSnapshotPublisher modelSnapshotPublisher) {
         this.ui = ui;
         this.exerciseList = exerciseList;
         this.workoutList = workoutList;
         this.fileManager = fileManager;
         this.planList = planList;
         this.dayList = dayList;
+        this.changeHistory = changeHistory;
+        this.modelSnapshotPublisher = modelSnapshotPublisher;
 
         LogHandler.linkToFileLogger(logger);
     }
@@ -99,6 +145,25 @@ public class Parser {
         return workoutList;
     }
 
+    /**
+     * Gets the ModelSnapshotPublisher object stored in this Parser object. The list commands created by this
+     * Parser print its latest snapshot, so it must be published after the lists have been modified.
+     *
+     * @return The ModelSnapshotPublisher object.
+     */
+    public ModelSnapshotPublisher getModelSnapshotPublisher() {
+        return modelSnapshotPublisher;
+    }
+
+    /**
+     * Gets the ChangeHistory object stored in this Parser object.
+     *
+     * @return The ChangeHistory object.
+     */
+    public ChangeHistory getChangeHistory() {
+        return changeHistory;
+    }
+
     /**
      * Parses the user's input and determines the correct command object to instantiate.
      *
@@ -137,6 +202,10 @@ public class Parser {
             return createPlanCommand(userInput);
         case ScheduleCommand.KEYWORD_BASE:
             return createScheduleCommand(userInput);
+        case UndoCommand.KEYWORD_UNDO:
+            //Fallthrough
+        case UndoCommand.KEYWORD_REDO:
+            return createUndoCommand(userInput);
         default:
             logger.log(Level.WARNING, "Unknown command entered by user.");
             throw new InvalidCommandException(className, InvalidCommandException.INVALID_COMMAND_ERROR_MSG);
@@ -194,7 +263,10 @@ public class Parser {
             throw new InvalidCommandException(className,
                     InvalidCommandException.INVALID_ACTION_ERROR_MSG);
         }
-        return new WorkoutCommand(userInput, fileManager, workoutList, planList, actionKeyword, arguments);
+        WorkoutCommand workoutCommand = new WorkoutCommand(userInput, fileManager, workoutList, planList,
+                actionKeyword, arguments);
+        workoutCommand.setModelSnapshotPublisher(modelSnapshotPublisher);
+        return workoutCommand;
     }
 
     /**
@@ -272,10 +344,33 @@ public class Parser {
             throw new InvalidCommandException(className,
                     InvalidCommandException.INVALID_EXIT_COMMAND_ERROR_MSG);
         }
-        ExitCommand newCommand = new ExitCommand(userInput);
+        ExitCommand newCommand = new ExitCommand(userInput, fileManager);
         return newCommand;
     }
 
+    /**
+     * Creates a new undo command, which either undoes or redoes a command depending on the user's input.
+     *
+     * @param userInput The user's input.
+     * @return An UndoCommand object.
+     * @throws InvalidCommandException If the user's input contains any argument, or there is no history of
+     *                                 changes.
+     */
+    public UndoCommand createUndoCommand(String userInput) throws InvalidCommandException {
+        String className = this.getClass().getSimpleName();
+        if (changeHistory == null) {
+            logger.log(Level.WARNING, "Undo command entered without a history of changes.");
+            throw new InvalidCommandException(className, InvalidCommandException.INVALID_COMMAND_ERROR_MSG);
+        }
+        boolean isRedo = userInput.split(" ", 2)[0].equals(UndoCommand.KEYWORD_REDO);
+        if (userInput.trim().split(" ", -1).length > EXPECTED_NUMBER_OF_PARAMETERS_UNDO) {
+            String errorMessage = isRedo ? InvalidCommandException.INVALID_REDO_COMMAND_ERROR_MSG
+                    : InvalidCommandException.INVALID_UNDO_COMMAND_ERROR_MSG;
+            throw new InvalidCommandException(className, errorMessage);
+        }
+        return new UndoCommand(userInput, fileManager, workoutList, planList, dayList, changeHistory, isRedo);
+    }
+
     /**
      * Creates a new exercise command with the appropriate parameters stored into the object.
      *
@@ -505,7 +600,9 @@ public class Parser {
             throw new InvalidCommandException(className,
                     InvalidCommandException.INVALID_ACTION_ERROR_MSG);
         }
-        return new PlanCommand(userInput, fileManager, planList, actionKeyword, arguments);
+        PlanCommand planCommand = new PlanCommand(userInput, fileManager, planList, actionKeyword, arguments);
+        planCommand.setModelSnapshotPublisher(modelSnapshotPublisher);
+        return planCommand;
     }
 
     /**
@@ -559,6 +656,9 @@ public class Parser {
             throw new InvalidCommandException(className,
                     InvalidCommandException.INVALID_ACTION_ERROR_MSG);
         }
-        return new ScheduleCommand(userInput, fileManager, dayList, actionKeyword, arguments);
+        ScheduleCommand scheduleCommand = new ScheduleCommand(userInput, fileManager, dayList, actionKeyword,
+                arguments);
+        scheduleCommand.setModelSnapshotPublisher(modelSnapshotPublisher);
+        return scheduleCommand;
     }
 }
@@ -8,6 +8,7 @@ import storage.LogHandler;
 import storage.UnknownFileException;
 import textcolors.TextColor;
 
+import java.util.ArrayList;
 import java.util.NoSuchElementException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -56,18 +57,34 @@ public class UI {
     public static final String FILE_LOAD_OK = "OK!";
     public static final String FILE_LOAD_NOT_OK = "Not OK...";
     public static final String LOADING_FILE_DATA_MSG = "Loading saved file data...";
+    public static final String RELOADING_MODIFIED_FILE_DATA_MSG = "Reloading file data modified outside of WerkIt!...";
     public static final String EXERCISES_FILE_LOADED_MSG =  "- Exercises file\t%s\n";
     public static final String WORKOUTS_FILE_LOADED_MSG = "- Workouts file \t%s\n";
     public static final String PLANS_FILE_LOADED_MSG = "- Plans file \t\t%s\n";
     public static final String SCHEDULE_FILE_LOADED_MSG = "- Schedule file \t%s\n";
+    public static final String JOURNAL_FILE_LOADED_MSG = "- Journal file \t\t%s\n";
+    public static final String BINARY_DATA_FILE_LOADED_MSG = "- Binary data file \t%s\n";
     // Workout-related messages
     public static final String NEW_WORKOUT_CREATED_MESSAGE = "Alright, the following workout has been created:";
     public static final String DELETED_WORKOUT_MESSAGE = "Alright, the following workout has been removed:";
+    public static final String NEW_WORKOUTS_CREATED_MESSAGE = "Alright, the following workouts have been created:";
+    public static final String DELETED_WORKOUTS_MESSAGE = "Alright, the following workouts have been removed:";
     public static final String UPDATED_WORKOUT_MESSAGE = "Alright, the workout has been updated from ";
     //Plan-related Message
     public static final String NEW_PLAN_CREATED_MESSAGE = "Alright, the following plan has been created:";
     public static final String DELETED_PLAN_MESSAGE = "Alright, the following plan has been removed:";
     public static final String NEW_DAY_CREATED_MESSAGE = "Alright, the following plan schedule has been created:";
+    // Undo and redo-related messages
+    public static final String UNDONE_COMMAND_MESSAGE = "Alright, the following command has been undone:";
+    public static final String REDONE_COMMAND_MESSAGE = "Alright, the following command has been redone:";
+    public static final String NOTHING_TO_UNDO_MESSAGE = "There is no command to undo.";
+    public static final String NOTHING_TO_REDO_MESSAGE = "There is no command to redo.";
+    // Completion-related messages
+    public static final String COMPLETION_KEY = "\t";
+    public static final String COMPLETIONS_MESSAGE = "Here are the possible completion(s) of your input. Please "
+            + "enter\nthe full command:";
+    public static final String NO_COMPLETIONS_MESSAGE = "Sorry, your input could not be completed. Please enter "
+            + "the full command:";
 
     // IOException Error Message
     public static final String IOEXCEPTION_ERROR_MESSAGE = "[ERROR] The program has encountered an IOException "
@@ -75,6 +92,8 @@ public class UI {
 
     // Scanner object for reading in user input from standard input
     Scanner inputReader = new Scanner(System.in);
+    // Completes the user's input when it ends with COMPLETION_KEY, if it has been set
+    private CompletionProvider completionProvider;
 
     /**
      * Constructs an instance of the UI class. The constructor will link the Logger object in this UI class
@@ -84,6 +103,15 @@ public class UI {
         LogHandler.linkToFileLogger(logger);
     }
 
+    /**
+     * Sets the CompletionProvider that completes the user's input when the user presses Tab before Enter.
+     *
+     * @param completionProvider The CompletionProvider to use, or null to stop completing the user's input.
+     */
+    public void setCompletionProvider(CompletionProvider completionProvider) {
+        this.completionProvider = completionProvider;
+    }
+
     /**
      * Prints a line on the console based on the default parameters defined in this Java class.
      * Source: Team Member Alan Low's iP codebase
@@ -164,6 +192,10 @@ public class UI {
 
         try {
             String userInput = inputReader.nextLine();
+            while (completionProvider != null && userInput.endsWith(COMPLETION_KEY)) {
+                printCompletions(userInput);
+                userInput = inputReader.nextLine();
+            }
             userInputTrimmed = userInput.trim();
             printLine();
         } catch (NoSuchElementException e) {
@@ -177,6 +209,33 @@ public class UI {
         return userInputTrimmed;
     }
 
+    /**
+     * Prints the possible completions of the user's input, which ends with one or more Tab characters, and
+     * prompts the user to enter the full command. The terminal only passes the input to WerkIt! after Enter has
+     * been pressed, so the completions cannot be filled into the input itself.
+     *
+     * @param userInput The user's input, ending with COMPLETION_KEY.
+     */
+    private void printCompletions(String userInput) {
+        String partialInput = userInput.stripLeading();
+        while (partialInput.endsWith(COMPLETION_KEY)) {
+            partialInput = partialInput.substring(0, partialInput.length() - COMPLETION_KEY.length());
+        }
+        ArrayList<String> completions = completionProvider.getCompletions(partialInput);
+
+        printLine();
+        if (completions.isEmpty()) {
+            System.out.println(NO_COMPLETIONS_MESSAGE);
+        } else {
+            System.out.println(COMPLETIONS_MESSAGE);
+            for (String completion : completions) {
+                printColorText(TextColor.COLOR_YELLOW, "\t " + completion);
+            }
+        }
+        printLine();
+        System.out.print(PROMPT_SYMBOL + " ");
+    }
+
     /**
      * Prints a message when a new workout has been created. The newly created workout will also be displayed.
      *
@@ -189,6 +248,25 @@ public class UI {
         System.out.println();
     }
 
+    /**
+     * Prints a message when a batch of workouts has been created. The new workouts will also be displayed.
+     * A batch of one workout is shown in the same way as printNewWorkoutCreatedMessage().
+     *
+     * @param newWorkouts The new workouts that have been created.
+     */
+    public void printNewWorkoutsCreatedMessage(ArrayList<Workout> newWorkouts) {
+        if (newWorkouts.size() == 1) {
+            printNewWorkoutCreatedMessage(newWorkouts.get(0));
+            return;
+        }
+        System.out.println(NEW_WORKOUTS_CREATED_MESSAGE);
+        System.out.println();
+        for (Workout newWorkout : newWorkouts) {
+            System.out.println("\t" + newWorkout.toString());
+        }
+        System.out.println();
+    }
+
     /**
      * Prints a message when a workout has been deleted. Deleted workout will also be displayed.
      *
@@ -201,6 +279,25 @@ public class UI {
         System.out.println();
     }
 
+    /**
+     * Prints a message when a batch of workouts has been deleted. The deleted workouts will also be displayed.
+     * A batch of one workout is shown in the same way as printDeleteWorkoutMessage().
+     *
+     * @param deletedWorkouts The workouts that have been deleted.
+     */
+    public void printDeleteWorkoutsMessage(ArrayList<Workout> deletedWorkouts) {
+        if (deletedWorkouts.size() == 1) {
+            printDeleteWorkoutMessage(deletedWorkouts.get(0));
+            return;
+        }
+        System.out.println(DELETED_WORKOUTS_MESSAGE);
+        System.out.println();
+        for (Workout deletedWorkout : deletedWorkouts) {
+            System.out.println("\t" + deletedWorkout.toString());
+        }
+        System.out.println();
+    }
+
     /**
      * Prints a message when a workout has been updated.
      * Shows updated workout.
@@ -255,6 +352,9 @@ public class UI {
         printSearchHelp();
         printLine();
         printLine();
+        printUndoRedoHelp();
+        printLine();
+        printLine();
         printExitHelp();
     }
 
@@ -286,6 +386,8 @@ public class UI {
         printColorText(TextColor.COLOR_YELLOW, "\t workout /new push up /reps 10");
         System.out.println("\t This will add a workout with " + getColorText(TextColor.COLOR_YELLOW, "10 reps")
                 + " of " + getColorText(TextColor.COLOR_YELLOW, "push up"));
+        System.out.println("\t To add several workouts at once, separate them with ';':");
+        printColorText(TextColor.COLOR_YELLOW, "\t workout /new push up /reps 10; sit up /reps 20");
     }
 
     /**
@@ -298,6 +400,8 @@ public class UI {
         printColorText(TextColor.COLOR_YELLOW, "\t workout /delete 1");
         System.out.println("\t This will delete the workout with index "
                 + getColorText(TextColor.COLOR_YELLOW, "1") + " if exists.");
+        System.out.println("\t To delete several workouts at once, separate their indexes with ',' or give a range:");
+        printColorText(TextColor.COLOR_YELLOW, "\t workout /delete 3,7,12-15");
     }
 
     /**
@@ -313,6 +417,39 @@ public class UI {
                 + getColorText(TextColor.COLOR_YELLOW, "15 reps") + " if exists.");
     }
 
+    /**
+     * Prints help message for 'undo' and 'redo' commands.
+     */
+    public void printUndoRedoHelp() {
+        System.out.println("\t To undo the last command that changed your workouts, plans or schedule,\n"
+                + "\t please enter: ");
+        printColorText(TextColor.COLOR_YELLOW, "\t undo");
+        System.out.println("\t To redo the last command that was undone, please enter: ");
+        printColorText(TextColor.COLOR_YELLOW, "\t redo");
+    }
+
+    /**
+     * Prints a message that tells the user which command has been undone or redone.
+     *
+     * @param userInput The user's input of the command that has been undone or redone.
+     * @param isRedo    True if the command has been redone, or false if it has been undone.
+     */
+    public void printUndoneOrRedoneMessage(String userInput, boolean isRedo) {
+        System.out.println(isRedo ? REDONE_COMMAND_MESSAGE : UNDONE_COMMAND_MESSAGE);
+        System.out.println();
+        System.out.println("\t" + userInput);
+        System.out.println();
+    }
+
+    /**
+     * Prints a message that tells the user that there is no command to undo or redo.
+     *
+     * @param isRedo True if the user has entered the redo command, or false for the undo command.
+     */
+    public void printNothingToUndoOrRedoMessage(boolean isRedo) {
+        System.out.println(isRedo ? NOTHING_TO_REDO_MESSAGE : NOTHING_TO_UNDO_MESSAGE);
+    }
+
     /**
      * Prints help message for 'exit' command.
      */
@@ -330,6 +467,13 @@ public class UI {
         System.out.println(LOADING_FILE_DATA_MSG);
     }
 
+    /**
+     * Prints a message to indicate that resource files modified outside of WerkIt! are being reloaded.
+     */
+    public void printReloadingModifiedFileDataMessage() {
+        System.out.println(RELOADING_MODIFIED_FILE_DATA_MSG);
+    }
+
     /**
      * Prints the result of the file load process.
      *
@@ -359,6 +503,12 @@ public class UI {
         case FileManager.NAME_SCHEDULE_FILE:
             messageToPrint = SCHEDULE_FILE_LOADED_MSG;
             break;
+        case FileManager.NAME_JOURNAL_FILE:
+            messageToPrint = JOURNAL_FILE_LOADED_MSG;
+            break;
+        case FileManager.NAME_BINARY_DATA_FILE:
+            messageToPrint = BINARY_DATA_FILE_LOADED_MSG;
+            break;
         default:
             logger.log(Level.WARNING, "Unknown filename encountered.");
             throw new UnknownFileException(filename, UnknownFileException.UNKNOWN_FILE_MSG);
@@ -536,6 +686,18 @@ public class UI {
                 + getColorText(TextColor.COLOR_YELLOW, " [" + keyword + "]") + '.');
     }
 
+    /**
+     * Prints the heading of the results that are similar to the keyword of a search, which are shown when
+     * there are no matching results.
+     *
+     * @param category The category that was searched.
+     */
+    public void printSimilarSearchResultsHeading(String category) {
+        System.out.println("Did you mean the " + category + "(s) below? They are listed from the closest match\n"
+                + "together with its(their) original index number(s).");
+        printLine();
+    }
+
     /**
      * Prints help message for 'plan /new' command.
      */
@@ -543,6 +705,7 @@ public class UI {
         System.out.println("\t To add a plan, please enter: ");
         printColorText(TextColor.COLOR_YELLOW, "\t plan /new <plan name> /workouts"
                 + " <workout index(s) separated by ','>");
+        printColorText(TextColor.COLOR_YELLOW, "\t [/sets <number of sets>] [/rest <rest interval in seconds>]");
         System.out.println("\t Example: ");
         printWorkoutExample();
         printPlanAddExample();
@@ -570,6 +733,8 @@ public class UI {
                 + " with workout index " + getColorText(TextColor.COLOR_YELLOW, "1") + " and "
                 + getColorText(TextColor.COLOR_YELLOW, "2\n")
                 + "\t will be created and added to the application's list of plans.");
+        System.out.println("\t To do 3 sets of each workout with a 60 seconds rest, enter:");
+        printColorText(TextColor.COLOR_YELLOW, "\t plan /new grow my muscles /workouts 1, 2 /sets 3 /rest 60");
     }
 
     /**
@@ -674,6 +839,10 @@ public class UI {
         printColorText(TextColor.COLOR_YELLOW, "\t search /workout 15");
         System.out.println("\t This will show the workout(s) with "
                 + getColorText(TextColor.COLOR_YELLOW, "reps = 15") + " if exist.");
+        printColorText(TextColor.COLOR_YELLOW, "\t search /workout up reps>=20 reps<=50");
+        System.out.println("\t This will show the workout(s) containing exercise with keyword\n\t "
+                + getColorText(TextColor.COLOR_YELLOW, "up") + " and with "
+                + getColorText(TextColor.COLOR_YELLOW, "20 to 50 reps") + " if exist.");
     }
 
     /**
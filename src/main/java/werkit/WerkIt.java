@@ -4,22 +4,28 @@ package werkit;
 import commands.Command;
 import commands.ExitCommand;
 import commands.InvalidCommandException;
-import commands.PlanCommand;
-import commands.WorkoutCommand;
+import commands.UndoCommand;
 import data.exercises.ExerciseList;
+import data.history.ChangeHistory;
 import data.plans.PlanList;
 import data.schedule.DayList;
+import data.snapshot.ModelSnapshotPublisher;
 import data.workouts.WorkoutList;
 import storage.FileManager;
+import storage.InvalidBinaryDataException;
 import storage.LogHandler;
+import storage.ParsedFileRecord;
+import storage.ResourceFileWatcher;
+import storage.StagedFileLoader;
 import storage.UnknownFileException;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static commands.WorkoutCommand.ACTION_KEYWORD_DELETE;
 
 /**
  * This class initiates the various classes/components of WerkIt! and contains the logic code for
@@ -33,6 +39,8 @@ public class WerkIt {
     private FileManager fileManager;
     private PlanList planList;
     private DayList dayList;
+    private ChangeHistory changeHistory;
+    private ModelSnapshotPublisher modelSnapshotPublisher;
     private static Logger logger = Logger.getLogger(WerkIt.class.getName());
 
 
@@ -50,8 +58,12 @@ public class WerkIt {
         this.planList = new PlanList(getWorkoutList());
         this.fileManager = new FileManager(getPlanList());
         this.dayList = new DayList(getPlanList());
+        this.changeHistory = new ChangeHistory(getWorkoutList(), getPlanList(), getDayList());
+        this.modelSnapshotPublisher = new ModelSnapshotPublisher(getExerciseList(), getWorkoutList(), getPlanList(),
+                getDayList());
         this.parser = new Parser(getUI(), getExerciseList(), getWorkoutList(),
-                getFileManager(), getPlanList(), getDayList());
+                getFileManager(), getPlanList(), getDayList(), getChangeHistory(), getModelSnapshotPublisher());
+        getUI().setCompletionProvider(new CommandCompleter(getExerciseList(), getPlanList()));
 
         LogHandler.linkToFileLogger(logger);
         logger.log(Level.INFO, "Components instantiated.");
@@ -60,6 +72,26 @@ public class WerkIt {
 
         // Do file imports
         loadRequiredDirectoryAndFiles();
+        getModelSnapshotPublisher().publish();
+    }
+
+    /**
+     * Gets the ChangeHistory object stored in this WerkIt object.
+     *
+     * @return The ChangeHistory object.
+     */
+    public ChangeHistory getChangeHistory() {
+        return this.changeHistory;
+    }
+
+    /**
+     * Gets the ModelSnapshotPublisher object stored in this WerkIt object. Other threads can read the
+     * latest snapshot of the lists from it while the user's commands are being executed.
+     *
+     * @return The ModelSnapshotPublisher object.
+     */
+    public ModelSnapshotPublisher getModelSnapshotPublisher() {
+        return this.modelSnapshotPublisher;
     }
 
     /**
@@ -123,9 +155,13 @@ public class WerkIt {
 
     /**
      * Checks if the required resource directory and files already exists in the user's filesystem. If not,
-     * call the relevant method(s) to create the required directory and/or file(s). In addition, once all the
-     * data is loaded into the respective data structures, all resource files will be re-written to ensure
-     * that the data in the files are of a correct format (e.g. lower-case formatting).
+     * call the relevant method(s) to create the required directory and/or file(s). Any pending journal
+     * entries are replayed over the loaded data. In addition, once all the data is loaded into the
+     * respective data structures, any resource file whose data is not of a correct format (e.g. lower-case
+     * formatting) or is otherwise outdated will be re-written, and the journal is cleared.
+     * If the binary storage format is enabled, the data is loaded from the binary data file instead. If the
+     * binary data file does not exist yet, the data is loaded from the text resource files and migrated
+     * into the binary data file.
      *
      * @throws IOException If the application is unable to create the required directory and/or file(s).
      */
@@ -143,19 +179,30 @@ public class WerkIt {
             getUI().printLoadingFileDataMessage();
         }
         populateExercises();
-        if (getFileManager().isWasWorkoutsFileAlreadyMade()) {
-            loadWorkoutFile();
+        if (getFileManager().isBinaryFormatEnabled()) {
+            getFileManager().startBinaryFormat(getExerciseList(), getWorkoutList(), getPlanList(), getDayList());
         }
-        if (getFileManager().isWasPlansFileAlreadyMade()) {
-            loadPlanFile();
+        if (getFileManager().isBinaryFormatEnabled() && getFileManager().checkIfBinaryDataFileExists()) {
+            loadBinaryDataFile();
+        } else {
+            loadTextFiles();
         }
-        if (getFileManager().isWasScheduleFileAlreadyMade()) {
-            loadScheduleFile();
+        if (getFileManager().getJournal().hasPendingEntries()) {
+            replayJournal();
+        }
+        getFileManager().rewriteOutdatedResourceFiles(getExerciseList(), getWorkoutList(), getPlanList(),
+                getDayList());
+        // The effects of the journal entries are now in the resource files
+        getFileManager().getJournal().clear();
+
+        if (getFileManager().isWriteBehindModeEnabled()) {
+            getFileManager().startPersistenceWorker(getWorkoutList(), getPlanList(), getDayList());
+            logger.log(Level.INFO, "Write-behind storage mode enabled.");
+        }
+        if (getFileManager().isWatchModeEnabled()) {
+            getFileManager().startResourceFileWatcher(getWorkoutList(), getPlanList(), getDayList());
+            logger.log(Level.INFO, "Watch mode enabled.");
         }
-        getFileManager().rewriteAllExercisesToFile(getExerciseList());
-        getFileManager().rewriteAllWorkoutsToFile(getWorkoutList());
-        getFileManager().rewriteAllPlansToFile(getPlanList());
-        getFileManager().rewriteAllDaysScheduleToFile(getDayList());
     }
 
     /**
@@ -174,6 +221,7 @@ public class WerkIt {
             getUI().printUserInputPrompt(isFirstPrompt);
             isFirstPrompt = false;
             String userInput = getUI().getUserInput();
+            reloadModifiedResourceFiles();
             newCommand = parseUserInput(userInput);
 
             if (newCommand == null) {
@@ -182,8 +230,18 @@ public class WerkIt {
 
             assert (newCommand != null);
 
+            // The commands that undo and redo changes must not be recorded as changes themselves
+            boolean isRecordedInHistory = !(newCommand instanceof UndoCommand);
+            if (isRecordedInHistory) {
+                getChangeHistory().startStep(userInput);
+            }
             newCommand.execute();
             conductPostExecuteChecks(newCommand);
+            if (isRecordedInHistory) {
+                getChangeHistory().endStep();
+            }
+            getModelSnapshotPublisher().publish();
+            submitPendingWrites();
         } while (!(newCommand instanceof ExitCommand));
 
         // User is exiting the program
@@ -192,23 +250,103 @@ public class WerkIt {
 
     /**
      * Conducts certain procedures after a Command#execute() has been called. Currently, the only procedure
-     * carried out post-execution is to reload schedule.txt if the command ran is a 'workout /delete' or
-     * 'plan /delete' command.
+     * carried out post-execution is to report and save the days of the schedule that were cleared because
+     * their plans were deleted (e.g. by a 'workout /delete' or 'plan /delete' command). The affected days
+     * are cleared in memory by the DayList as soon as the plans are deleted, so no file is read here.
      *
      * @param newCommand A Command object that represents the user input.
-     * @throws IOException If the reloading of schedule.txt is unsuccessful.
+     * @throws IOException If the cleared days could not be saved.
      */
     public void conductPostExecuteChecks(Command newCommand) throws IOException {
-        boolean isWorkoutOrPlanCommand = (newCommand instanceof WorkoutCommand) || (newCommand instanceof PlanCommand);
+        clearScheduleOfDeletedPlans();
+    }
+
+    /**
+     * Hands the changes made by the last command to the PersistenceWorker to be written to the resource
+     * files in the background. Does nothing if the write-behind storage mode is not in use.
+     */
+    private void submitPendingWrites() {
+        if (getFileManager().getPersistenceWorker() == null) {
+            return;
+        }
+
+        getFileManager().getPersistenceWorker().submitDirtyResources();
+    }
+
+    /**
+     * Reloads the resource files that have been modified outside of WerkIt! since the last command, so that
+     * the next command works on the modified data. The resource files are reloaded in the order of workouts,
+     * plans and schedule, and any resource file that already matches the lists (e.g. because it was written
+     * by WerkIt! itself) is skipped. Does nothing if the watch mode is not in use.
+     *
+     * @throws IOException If the application is unable to read or write to a resource file.
+     */
+    private void reloadModifiedResourceFiles() throws IOException {
+        ResourceFileWatcher resourceFileWatcher = getFileManager().getResourceFileWatcher();
+        if (resourceFileWatcher == null) {
+            return;
+        }
 
-        if (!isWorkoutOrPlanCommand) {
+        boolean isFirstFileReloaded = true;
+        for (String fileName : resourceFileWatcher.getAndResetModifiedFileNames()) {
+            if (!resourceFileWatcher.isReloadRequired(fileName)) {
+                continue;
+            }
+            if (isFirstFileReloaded) {
+                getUI().printReloadingModifiedFileDataMessage();
+                isFirstFileReloaded = false;
+            }
+            reloadModifiedResourceFile(resourceFileWatcher, fileName);
+        }
+        if (isFirstFileReloaded) {
             return;
         }
 
-        boolean isDeleteAction = newCommand.getUserAction().equals(ACTION_KEYWORD_DELETE);
+        clearScheduleOfDeletedPlans();
+        // The index numbers in the history of changes no longer match the reloaded lists
+        getChangeHistory().clear();
+        getModelSnapshotPublisher().publish();
+        getFileManager().rewriteOutdatedResourceFiles(getExerciseList(), getWorkoutList(), getPlanList(),
+                getDayList());
+        logger.log(Level.INFO, "Modified resource files reloaded.");
+    }
+
+    /**
+     * Reloads a resource file that has been modified outside of WerkIt!, and prints the result.
+     *
+     * @param resourceFileWatcher The ResourceFileWatcher that detected the modification.
+     * @param fileName            The name of the modified resource file.
+     * @throws IOException If the application is unable to read or write to the resource file.
+     */
+    private void reloadModifiedResourceFile(ResourceFileWatcher resourceFileWatcher, String fileName)
+            throws IOException {
+        boolean isFileReloadSuccessful;
+        String dataName;
+        switch (fileName) {
+        case FileManager.NAME_WORKOUT_FILE:
+            isFileReloadSuccessful = resourceFileWatcher.reloadWorkoutFile();
+            dataName = "workout";
+            break;
+        case FileManager.NAME_PLAN_FILE:
+            isFileReloadSuccessful = resourceFileWatcher.reloadPlanFile();
+            dataName = "plan";
+            break;
+        default:
+            isFileReloadSuccessful = resourceFileWatcher.reloadScheduleFile();
+            dataName = "schedule";
+            break;
+        }
+        try {
+            getUI().printFileLoadStatusMessage(fileName, isFileReloadSuccessful);
+        } catch (UnknownFileException e) {
+            System.out.println(e.getMessage());
+            logger.log(Level.WARNING, "Unknown file name was encountered.");
+        }
 
-        if (isDeleteAction) {
-            reloadScheduleFile();
+        if (!isFileReloadSuccessful) {
+            System.out.println("The corrupted " + dataName + " data has been moved to "
+                    + FileManager.NAME_QUARANTINE_FILE + ".");
+            logger.log(Level.INFO, fileName + " reloaded with corrupted data quarantined.");
         }
     }
 
@@ -245,15 +383,74 @@ public class WerkIt {
         getExerciseList().populateExercisesToList();
     }
 
+    /**
+     * Loads the data of the workout, plan and schedule text resource files that already existed prior
+     * to the current session. The resource files are parsed in parallel, and the parsed data is then
+     * added into the lists in the order of workouts, plans and schedule.
+     *
+     * @throws IOException If the application is unable to open any of the resource files.
+     */
+    private void loadTextFiles() throws IOException {
+        StagedFileLoader stagedFileLoader = new StagedFileLoader(getFileManager());
+        stagedFileLoader.startParsing();
+        if (getFileManager().isWasWorkoutsFileAlreadyMade()) {
+            loadWorkoutFile(stagedFileLoader.getParsedWorkoutFile());
+        }
+        if (getFileManager().isWasPlansFileAlreadyMade()) {
+            loadPlanFile(stagedFileLoader.getParsedPlanFile());
+        }
+        if (getFileManager().isWasScheduleFileAlreadyMade()) {
+            loadScheduleFile(stagedFileLoader.getParsedScheduleFile());
+        }
+        if (getFileManager().isBinaryFormatEnabled()) {
+            logger.log(Level.INFO, "Text resource files will be migrated to the binary data file.");
+        }
+    }
+
+    /**
+     * Loads the binary data file's data that is stored in the user's filesystem into the current session's
+     * lists. If the binary data file is not in a supported format, it is moved aside and the text resource
+     * files are loaded instead.
+     *
+     * @throws IOException If the application is unable to open the binary data file.
+     */
+    private void loadBinaryDataFile() throws IOException {
+        boolean isBinaryDataFileLoadSuccessful;
+        try {
+            isBinaryDataFileLoadSuccessful = fileManager.loadFromBinaryDataFile();
+        } catch (InvalidBinaryDataException e) {
+            System.out.println(e.getMessage());
+            System.out.println("It has been moved to " + fileManager.backUpBinaryDataFile().getFileName()
+                    + ", and the text resource files will be loaded instead.");
+            logger.log(Level.WARNING, "Binary data file could not be decoded.");
+            loadTextFiles();
+            return;
+        }
+        try {
+            getUI().printFileLoadStatusMessage(FileManager.NAME_BINARY_DATA_FILE, isBinaryDataFileLoadSuccessful);
+        } catch (UnknownFileException e) {
+            System.out.println(e.getMessage());
+            logger.log(Level.WARNING, "Unknown file name was encountered.");
+        }
+
+        if (!isBinaryDataFileLoadSuccessful) {
+            System.out.println("The corrupted data has been removed.");
+            logger.log(Level.INFO, "Binary data file loaded with corrupted data removed.");
+        }
+
+        logger.log(Level.INFO, "Binary data file loaded.");
+    }
+
     /**
      * Loads the workout file's data that is stored in the user's filesystem into the current
      * session's list of workouts.
      *
+     * @param parsedWorkoutFile The parsed lines of the workout file.
      * @throws IOException If the application is unable to open the workout file.
      */
-    private void loadWorkoutFile() throws IOException {
+    private void loadWorkoutFile(ArrayList<ParsedFileRecord> parsedWorkoutFile) throws IOException {
         boolean isWorkoutFileLoadSuccessful;
-        isWorkoutFileLoadSuccessful = fileManager.loadWorkoutsFromFile(getWorkoutList());
+        isWorkoutFileLoadSuccessful = fileManager.addParsedWorkoutsToList(getWorkoutList(), parsedWorkoutFile);
         try {
             getUI().printFileLoadStatusMessage(FileManager.NAME_WORKOUT_FILE, isWorkoutFileLoadSuccessful);
         } catch (UnknownFileException e) {
@@ -261,17 +458,17 @@ public class WerkIt {
             logger.log(Level.WARNING, "Unknown file name was encountered.");
         }
         if (!isWorkoutFileLoadSuccessful) {
-            fileManager.deleteAndRecreateWorkoutFile();
-            fileManager.rewriteAllWorkoutsToFile(getWorkoutList());
-            System.out.println("The corrupted workout data has been removed.");
-            logger.log(Level.INFO, "Workout file data loaded with corrupted data removed.");
+            fileManager.quarantineDamagedRecords(fileManager.getWorkoutFilePath(), parsedWorkoutFile);
+            System.out.println("The corrupted workout data has been moved to "
+                    + FileManager.NAME_QUARANTINE_FILE + ".");
+            logger.log(Level.INFO, "Workout file data loaded with corrupted data quarantined.");
         }
         logger.log(Level.INFO, "Workout file data loaded.");
     }
 
-    private void loadPlanFile() throws IOException {
+    private void loadPlanFile(ArrayList<ParsedFileRecord> parsedPlanFile) throws IOException {
         boolean isPlanFileLoadSuccessful;
-        isPlanFileLoadSuccessful = fileManager.loadPlansFromFile(getPlanList());
+        isPlanFileLoadSuccessful = fileManager.addParsedPlansToList(getPlanList(), parsedPlanFile);
         try {
             getUI().printFileLoadStatusMessage(FileManager.NAME_PLAN_FILE, isPlanFileLoadSuccessful);
         } catch (UnknownFileException e) {
@@ -280,10 +477,10 @@ public class WerkIt {
         }
 
         if (!isPlanFileLoadSuccessful) {
-            fileManager.deleteAndRecreatePlanFile();
-            fileManager.rewriteAllPlansToFile(getPlanList());
-            System.out.println("The corrupted plan data has been removed.");
-            logger.log(Level.INFO, "Plan file data loaded with corrupted data removed.");
+            fileManager.quarantineDamagedRecords(fileManager.getPlanFilePath(), parsedPlanFile);
+            System.out.println("The corrupted plan data has been moved to "
+                    + FileManager.NAME_QUARANTINE_FILE + ".");
+            logger.log(Level.INFO, "Plan file data loaded with corrupted data quarantined.");
         }
 
         logger.log(Level.INFO, "Plan file data loaded.");
@@ -293,11 +490,12 @@ public class WerkIt {
      * Loads the schedule file's data that is stored in the user's filesystem into the current
      * session's list of workouts.
      *
+     * @param parsedScheduleFile The parsed lines of the schedule file.
      * @throws IOException If the application is unable to open the workout file.
      */
-    private void loadScheduleFile() throws IOException {
+    private void loadScheduleFile(ArrayList<ParsedFileRecord> parsedScheduleFile) throws IOException {
         boolean isScheduleFileLoadSuccessful;
-        isScheduleFileLoadSuccessful = fileManager.loadScheduleFromFile(getDayList());
+        isScheduleFileLoadSuccessful = fileManager.addParsedScheduleToList(getDayList(), parsedScheduleFile);
         try {
             getUI().printFileLoadStatusMessage(FileManager.NAME_SCHEDULE_FILE, isScheduleFileLoadSuccessful);
         } catch (UnknownFileException e) {
@@ -306,42 +504,60 @@ public class WerkIt {
         }
 
         if (!isScheduleFileLoadSuccessful) {
-            fileManager.deleteAndRecreateScheduleFile();
-            fileManager.rewriteAllDaysScheduleToFile(getDayList());
-            System.out.println("The corrupted schedule data has been removed.");
-            logger.log(Level.INFO, "Schedule file data loaded with corrupted data removed.");
+            fileManager.quarantineDamagedRecords(fileManager.getScheduleFilePath(), parsedScheduleFile);
+            System.out.println("The corrupted schedule data has been moved to "
+                    + FileManager.NAME_QUARANTINE_FILE + ".");
+            logger.log(Level.INFO, "Schedule file data loaded with corrupted data quarantined.");
         }
 
         logger.log(Level.INFO, "Schedule file data loaded.");
     }
 
     /**
-     * Reloads the schedule file to capture the effects in Daylist due to the deletion of workout and plan.
-     * @throws IOException  If the application is unable to open the schedule file.
+     * Replays the journal entries that were recorded in the previous session(s) over the data loaded from
+     * the resource files.
+     *
+     * @throws IOException If the application is unable to open the journal file.
      */
-    private void reloadScheduleFile() throws IOException {
-        boolean isScheduleFileLoadSuccessful;
-        String[] schedule = dayList.getPrintSchedule();
-        this.dayList.clearAllSchedule();
-        String[] updatedSchedule;
-        for (int i = 0; i < schedule.length; i++) {
-            if (schedule[i] == null) {
-                schedule[i] = "rest day";
-            }
+    private void replayJournal() throws IOException {
+        boolean isJournalReplaySuccessful;
+        isJournalReplaySuccessful = fileManager.getJournal().replay(getWorkoutList(), getPlanList(), getDayList());
+        // The days cleared by replayed deletions were already reported and recorded in the previous session(s)
+        getDayList().getAndResetDaysClearedByDeletedPlans();
+        try {
+            getUI().printFileLoadStatusMessage(FileManager.NAME_JOURNAL_FILE, isJournalReplaySuccessful);
+        } catch (UnknownFileException e) {
+            System.out.println(e.getMessage());
+            logger.log(Level.WARNING, "Unknown file name was encountered.");
         }
-        isScheduleFileLoadSuccessful = fileManager.reloadScheduleFromFile(getDayList());
-        if (!isScheduleFileLoadSuccessful) {
-            fileManager.deleteAndRecreateScheduleFile();
-            fileManager.rewriteAllDaysScheduleToFile(getDayList());
-            updatedSchedule = dayList.getPrintSchedule();
-            for (int i = 0; i < schedule.length; i++) {
-                if (!updatedSchedule[i].equals(schedule[i])) {
-                    var dayNum = i + 1;
-                    System.out.println("Schedule '" + schedule[i] + "' on " + dayList.covertDayNumberToDay(dayNum)
-                            + " has been removed.");
-                }
-            }
-            logger.log(Level.INFO, "Schedule file data updated due to deletion on workout/plan.");
+
+        if (!isJournalReplaySuccessful) {
+            System.out.println("The journal entries that could not be replayed have been skipped.");
+            logger.log(Level.INFO, "Journal replayed with invalid entries skipped.");
+        }
+
+        logger.log(Level.INFO, "Journal replayed.");
+    }
+
+    /**
+     * Reports the days in the schedule that were cleared because their plans have been deleted, and
+     * records the cleared days.
+     *
+     * @throws IOException If the application is unable to record the cleared days.
+     */
+    private void clearScheduleOfDeletedPlans() throws IOException {
+        TreeMap<Integer, String> clearedDays = getDayList().getAndResetDaysClearedByDeletedPlans();
+        if (clearedDays.isEmpty()) {
+            return;
+        }
+
+        System.out.println("The following schedule(s) is(are) removed due to the removal of\nrelevant plan(s).");
+        System.out.print(System.lineSeparator());
+        for (int dayNumber : clearedDays.keySet()) {
+            System.out.println("Schedule '" + clearedDays.get(dayNumber) + "' on "
+                    + getDayList().covertDayNumberToDay(dayNumber) + " has been removed.");
         }
+        getFileManager().recordClearedDays(getDayList(), new ArrayList<>(clearedDays.keySet()));
+        logger.log(Level.INFO, "Schedule updated due to deletion on workout/plan.");
     }
 }
@@ -183,6 +183,7 @@ class PlanCommandTest {
     void execute_validListPlan_expectSuccess() throws InvalidCommandException, InvalidPlanException {
         Plan newPlan1 = planList.createNewPlan("Plan A /workouts 1,2");
         planList.addNewPlanToLists(newPlan1);
+        parser.getModelSnapshotPublisher().publish();
         PlanCommand listPlanCommand = parser.createPlanCommand("plan /list");
         String expectedOutput =
                 "Here are all your plan(s).\n"
@@ -252,6 +252,65 @@ public class SearchCommandTest {
         assertEquals(expectedOutput, consoleOutputs);
     }
 
+    @Test
+    void execute_misspelledSearchForExercise_similarExercisesPrinted() throws InvalidCommandException {
+        SearchCommand searchExerciseCommand = parser.createSearchCommand("search /exercise puss up");
+        String expectedOutput =
+                "Sorry, no matching exercise found for the keyword"
+                        + ui.getColorText(TextColor.COLOR_YELLOW, " [puss up]") + ".\n"
+                        + "Did you mean the exercise(s) below? They are listed from the closest match\n"
+                        + "together with its(their) original index number(s).\n"
+                        + "----------------------------------------------------------------------\n"
+                        + ui.getColorText(TextColor.COLOR_YELLOW, "1. push up\n")
+                        + ui.getColorText(TextColor.COLOR_YELLOW, "3. pull up\n");
+        expectedOutput = expectedOutput.replaceAll("\n", "").replaceAll("\r", "");
+        ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(consoleOutput);
+        System.setOut(ps);
+        searchExerciseCommand.execute();
+        System.out.flush();
+        String consoleOutputs = consoleOutput.toString().replaceAll("\n", "")
+                .replaceAll("\r", "");
+        assertEquals(expectedOutput, consoleOutputs);
+    }
+
+    @Test
+    void execute_validSearchForWorkoutWithRepetitionsRange_expectSuccess() throws InvalidCommandException {
+        SearchCommand searchWorkoutCommand = parser.createSearchCommand("search /workout up reps>=12 reps<=20");
+        String expectedOutput =
+                "The workout(s) with " + ui.getColorText(TextColor.COLOR_YELLOW, "reps>=12 reps<=20")
+                        + " containing keyword(s)" + ui.getColorText(TextColor.COLOR_YELLOW, " [up] ")
+                        + "is(are) listed below together\n"
+                        + "with its(their) original index number(s).\n"
+                        + "----------------------------------------------------------------------\n"
+                        + ui.getColorText(TextColor.COLOR_YELLOW, "2. sit up (15 reps)\n")
+                        + ui.getColorText(TextColor.COLOR_YELLOW, "3. pull up (20 reps)\n");
+        expectedOutput = expectedOutput.replaceAll("\n", "").replaceAll("\r", "");
+        ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(consoleOutput);
+        System.setOut(ps);
+        searchWorkoutCommand.execute();
+        System.out.flush();
+        String consoleOutputs = consoleOutput.toString().replaceAll("\n", "")
+                .replaceAll("\r", "");
+        assertEquals(expectedOutput, consoleOutputs);
+    }
+
+    @Test
+    void execute_invalidRepetitionsFilter_invalidFilterMessagePrinted() throws InvalidCommandException {
+        SearchCommand searchWorkoutCommand = parser.createSearchCommand("search /workout up reps>=abc");
+        String expectedOutput = InvalidCommandException.INVALID_REPS_FILTER_ERROR_MSG + "\n" + "Please try again";
+        expectedOutput = expectedOutput.replaceAll("\n", "").replaceAll("\r", "");
+        ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(consoleOutput);
+        System.setOut(ps);
+        searchWorkoutCommand.execute();
+        System.out.flush();
+        String consoleOutputs = consoleOutput.toString().replaceAll("\n", "")
+                .replaceAll("\r", "");
+        assertEquals(expectedOutput, consoleOutputs);
+    }
+
     @Test
     void execute_validSearchForWorkout_expectSuccess() throws InvalidCommandException {
         SearchCommand searchWorkoutCommand = parser.createSearchCommand("search /workout 15");
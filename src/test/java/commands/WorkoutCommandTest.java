@@ -269,13 +269,13 @@ public class WorkoutCommandTest {
         String commandInput = "workout /new squat /reps" + fetchRepsFromNewRandom;
         WorkoutCommand createValidWorkoutCommand = parser.createWorkoutCommand(commandInput);
         createValidWorkoutCommand.execute();
-        assertEquals(wl.getWorkoutsDisplayList().size(), trackNumberOfWorkouts);
+        assertEquals(wl.getNumberOfWorkouts(), trackNumberOfWorkouts);
 
         //Now delete that newly created workout using the delete method.
         //Assert that workoutlist is one element lesser than before delete.
-        String commandDeleteInput = "workout /delete " + wl.getWorkoutsDisplayList().size();
+        String commandDeleteInput = "workout /delete " + wl.getNumberOfWorkouts();
         WorkoutCommand deleteValidWorkoutCommand = parser.createWorkoutCommand(commandDeleteInput);
         deleteValidWorkoutCommand.execute();
-        assertEquals(wl.getWorkoutsDisplayList().size(), trackNumberOfWorkouts - 1);
+        assertEquals(wl.getNumberOfWorkouts(), trackNumberOfWorkouts - 1);
     }
 }
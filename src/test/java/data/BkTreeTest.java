@@ -0,0 +1,60 @@
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BkTreeTest {
+    BkTree bkTree;
+
+    @BeforeEach
+    void setUp() {
+        bkTree = new BkTree();
+        bkTree.add(1, "Squat");
+        bkTree.add(2, "squats");
+        bkTree.add(3, "sit up");
+        bkTree.add(4, "push up");
+        bkTree.add(5, "pull up");
+    }
+
+    @Test
+    void getEditDistance_variousStrings_levenshteinDistanceReturned() {
+        assertEquals(0, BkTree.getEditDistance("squat", "squat"));
+        assertEquals(2, BkTree.getEditDistance("sqaut", "squat"));
+        assertEquals(3, BkTree.getEditDistance("", "abc"));
+        assertEquals(3, BkTree.getEditDistance("kitten", "sitting"));
+    }
+
+    @Test
+    void findWithinDistance_misspelledKeyword_rankedByDistance() {
+        TreeMap<Integer, HashSet<Integer>> idsByDistance = bkTree.findWithinDistance("SQAUT", 2);
+        assertEquals(Set.of(1), idsByDistance.get(2));
+        assertEquals(1, idsByDistance.size());
+
+        idsByDistance = bkTree.findWithinDistance("puss up", 2);
+        assertEquals(Set.of(4), idsByDistance.get(1));
+        assertEquals(Set.of(5), idsByDistance.get(2));
+        assertEquals(1, (int) idsByDistance.firstKey());
+    }
+
+    @Test
+    void remove_manyNamesRemoved_remainingNamesStillFound() {
+        bkTree.remove(1, "squat");
+        bkTree.remove(3, "sit up");
+        bkTree.remove(4, "push up");
+        assertEquals(2, bkTree.getNumberOfNames());
+        assertTrue(bkTree.findWithinDistance("squat", 0).isEmpty());
+        assertEquals(Set.of(2), bkTree.findWithinDistance("squat", 1).get(1));
+        assertEquals(Set.of(5), bkTree.findWithinDistance("pull up", 0).get(0));
+
+        bkTree.add(6, "squat");
+        assertEquals(Set.of(6), bkTree.findWithinDistance("squat", 0).get(0));
+        assertEquals(3, bkTree.getNumberOfNames());
+    }
+}
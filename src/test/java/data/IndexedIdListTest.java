@@ -0,0 +1,119 @@
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedIdListTest {
+    IndexedIdList indexedIdList;
+
+    @BeforeEach
+    void setUp() {
+        indexedIdList = new IndexedIdList();
+    }
+
+    @Test
+    void remove_addsAndRemovesAcrossRebuilds_sameOrderAsArrayList() {
+        ArrayList<Integer> expectedIds = new ArrayList<>();
+        Random random = new Random(2022);
+        int nextId = 1;
+        for (int round = 0; round < 2000; round += 1) {
+            if (expectedIds.isEmpty() || random.nextInt(3) > 0) {
+                indexedIdList.add(nextId);
+                expectedIds.add(nextId);
+                nextId += 1;
+            } else {
+                int indexNum = random.nextInt(expectedIds.size()) + 1;
+                assertEquals((int) expectedIds.remove(indexNum - 1), indexedIdList.remove(indexNum));
+            }
+        }
+
+        assertEquals(expectedIds.size(), indexedIdList.size());
+        ArrayList<Integer> actualIds = new ArrayList<>();
+        for (int id : indexedIdList) {
+            actualIds.add(id);
+        }
+        assertEquals(expectedIds, actualIds);
+        for (int i = 1; i <= expectedIds.size(); i += 1) {
+            assertEquals((int) expectedIds.get(i - 1), indexedIdList.get(i));
+            assertEquals(i, indexedIdList.getIndexNum(expectedIds.get(i - 1)));
+        }
+    }
+
+    @Test
+    void removeAll_unsortedIndexNums_removedInOnePassAndRenumbered() {
+        for (int id = 1; id <= 6; id += 1) {
+            indexedIdList.add(id * 10);
+        }
+        ArrayList<Integer> indexNumsToRemove = new ArrayList<>();
+        indexNumsToRemove.add(5);
+        indexNumsToRemove.add(1);
+        indexNumsToRemove.add(3);
+
+        ArrayList<Integer> expectedRemovedIds = new ArrayList<>();
+        expectedRemovedIds.add(10);
+        expectedRemovedIds.add(30);
+        expectedRemovedIds.add(50);
+        assertEquals(expectedRemovedIds, indexedIdList.removeAll(indexNumsToRemove));
+
+        assertEquals(3, indexedIdList.size());
+        assertEquals(20, indexedIdList.get(1));
+        assertEquals(60, indexedIdList.get(3));
+        assertEquals(2, indexedIdList.getIndexNum(40));
+        assertEquals(0, indexedIdList.getIndexNum(30));
+        assertFalse(indexedIdList.contains(50));
+        assertTrue(indexedIdList.contains(60));
+    }
+
+    @Test
+    void removeAll_indexNumOutOfRange_expectNothingRemoved() {
+        indexedIdList.add(1);
+        indexedIdList.add(2);
+        ArrayList<Integer> indexNumsToRemove = new ArrayList<>();
+        indexNumsToRemove.add(1);
+        indexNumsToRemove.add(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> indexedIdList.removeAll(indexNumsToRemove));
+        assertEquals(2, indexedIdList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> indexedIdList.get(0));
+    }
+
+    @Test
+    void insertAll_removedIndexNums_originalOrderRestored() {
+        for (int id = 1; id <= 6; id += 1) {
+            indexedIdList.add(id * 10);
+        }
+        ArrayList<Integer> indexNums = new ArrayList<>();
+        indexNums.add(2);
+        indexNums.add(5);
+        indexNums.add(6);
+        ArrayList<Integer> removedIds = indexedIdList.removeAll(indexNums);
+
+        indexedIdList.insertAll(indexNums, removedIds);
+        assertEquals(6, indexedIdList.size());
+        for (int i = 1; i <= 6; i += 1) {
+            assertEquals(i * 10, indexedIdList.get(i));
+            assertEquals(i, indexedIdList.getIndexNum(i * 10));
+        }
+    }
+
+    @Test
+    void insertAll_indexNumBeyondNewSize_expectNothingInserted() {
+        indexedIdList.add(1);
+        ArrayList<Integer> indexNums = new ArrayList<>();
+        indexNums.add(3);
+        ArrayList<Integer> ids = new ArrayList<>();
+        ids.add(2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> indexedIdList.insertAll(indexNums, ids));
+        assertEquals(1, indexedIdList.size());
+        assertFalse(indexedIdList.contains(2));
+    }
+}
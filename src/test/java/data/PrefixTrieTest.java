@@ -0,0 +1,45 @@
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefixTrieTest {
+    PrefixTrie prefixTrie;
+
+    @BeforeEach
+    void setUp() {
+        prefixTrie = new PrefixTrie();
+        prefixTrie.add("push up");
+        prefixTrie.add("Push");
+        prefixTrie.add("pull up");
+        prefixTrie.add("sit up");
+        prefixTrie.add("push press");
+    }
+
+    @Test
+    void getCompletions_prefixOfSeveralNames_shortestAndAlphabeticalFirst() {
+        assertEquals(List.of("Push", "push press", "push up"), prefixTrie.getCompletions("PUS", 5));
+        assertEquals(List.of("pull up", "Push"), prefixTrie.getCompletions("pu", 2));
+        assertEquals(List.of("sit up"), prefixTrie.getCompletions("sit up", 5));
+        assertTrue(prefixTrie.getCompletions("squat", 5).isEmpty());
+        assertEquals(5, prefixTrie.getCompletions("", 10).size());
+    }
+
+    @Test
+    void remove_namesAddedAndRemoved_onlyRemainingNamesCompleted() {
+        prefixTrie.add("sit up");
+        prefixTrie.remove("sit up");
+        assertEquals(List.of("sit up"), prefixTrie.getCompletions("s", 5));
+        prefixTrie.remove("SIT UP");
+        prefixTrie.remove("push");
+        prefixTrie.remove("squat");
+        assertTrue(prefixTrie.getCompletions("s", 5).isEmpty());
+        assertEquals(List.of("push press", "push up"), prefixTrie.getCompletions("push", 5));
+        assertEquals(3, prefixTrie.getNumberOfNames());
+    }
+}
@@ -0,0 +1,43 @@
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenIndexTest {
+    TokenIndex tokenIndex;
+
+    @BeforeEach
+    void setUp() {
+        tokenIndex = new TokenIndex();
+        tokenIndex.add(1, "Push Up");
+        tokenIndex.add(2, "sit up");
+        tokenIndex.add(3, "pull up");
+        tokenIndex.add(4, "push press");
+    }
+
+    @Test
+    void findCandidates_keywordsWithinAndAcrossTokens_allMatchingIdsFound() {
+        assertEquals(Set.of(1, 4), tokenIndex.findCandidates("push"));
+        assertEquals(Set.of(1, 2, 3), tokenIndex.findCandidates("up"));
+        assertEquals(Set.of(1, 2, 3, 4), tokenIndex.findCandidates("u"));
+        assertEquals(Set.of(1), tokenIndex.findCandidates("sh u"));
+        assertEquals(Set.of(3), tokenIndex.findCandidates("l up"));
+        assertTrue(tokenIndex.findCandidates("sit press").isEmpty());
+        assertNull(tokenIndex.findCandidates("  "));
+    }
+
+    @Test
+    void remove_tokenNoLongerInAnyName_tokenRemoved() {
+        assertEquals(5, tokenIndex.getNumberOfTokens());
+        tokenIndex.remove(4, "push press");
+        assertEquals(4, tokenIndex.getNumberOfTokens());
+        assertEquals(Set.of(1), tokenIndex.findCandidates("push"));
+        assertTrue(tokenIndex.findCandidates("press").isEmpty());
+    }
+}
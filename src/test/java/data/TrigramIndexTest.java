@@ -0,0 +1,42 @@
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrigramIndexTest {
+    TrigramIndex trigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        trigramIndex = new TrigramIndex();
+        trigramIndex.add(1, "Push Up");
+        trigramIndex.add(2, "sit up");
+        trigramIndex.add(3, "pull up");
+        trigramIndex.add(4, "push press");
+    }
+
+    @Test
+    void findCandidates_infixKeywords_allMatchingIdsFound() {
+        assertEquals(Set.of(1, 4), trigramIndex.findCandidates("USH"));
+        assertEquals(Set.of(1, 4), trigramIndex.findCandidates("sh "));
+        assertEquals(Set.of(1, 2, 3), trigramIndex.findCandidates(" up"));
+        assertEquals(Set.of(3), trigramIndex.findCandidates("ll u"));
+        assertTrue(trigramIndex.findCandidates("squat").isEmpty());
+        assertNull(trigramIndex.findCandidates("up"));
+    }
+
+    @Test
+    void remove_trigramNoLongerInAnyName_trigramRemoved() {
+        int numberOfTrigrams = trigramIndex.getNumberOfTrigrams();
+        trigramIndex.remove(4, "push press");
+        assertEquals(numberOfTrigrams - 5, trigramIndex.getNumberOfTrigrams());
+        assertEquals(Set.of(1), trigramIndex.findCandidates("push"));
+        assertTrue(trigramIndex.findCandidates("press").isEmpty());
+    }
+}
@@ -114,5 +114,11 @@ public class ExerciseListTest {
                 .replaceAll("\r", "");
         assertEquals(expectedOutput, consoleOutputs);
     }
-}
 
+    @Test
+    public void execute_validGetIndexNumFromExerciseName_expectSuccess() throws InvalidExerciseException {
+        exerciseList.addExerciseToList("push up");
+        exerciseList.addExerciseToList("pull up");
+        assertEquals(2, exerciseList.getIndexNumFromExerciseName("Pull Up"));
+    }
+}
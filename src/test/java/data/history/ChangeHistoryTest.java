@@ -0,0 +1,213 @@
+package data.history;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.FileManager;
+import storage.LogHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeHistoryTest {
+    ExerciseList exerciseList;
+    WorkoutList workoutList;
+    PlanList planList;
+    DayList dayList;
+    ChangeHistory changeHistory;
+
+    @BeforeEach
+    void setUp() throws InvalidWorkoutException, InvalidExerciseException, InvalidPlanException,
+            InvalidScheduleException {
+        LogHandler.startLogHandler();
+        exerciseList = new ExerciseList();
+        workoutList = new WorkoutList(exerciseList);
+        planList = new PlanList(workoutList);
+        dayList = new DayList(planList);
+
+        exerciseList.addExerciseToList("push up");
+        exerciseList.addExerciseToList("sit up");
+        exerciseList.addExerciseToList("burpee");
+
+        // Changes made before the history is created (e.g. when the files are loaded) are not recorded
+        workoutList.addNewWorkoutsToLists(workoutList.createNewWorkouts("push up /reps 10; sit up /reps 15; "
+                + "burpee /reps 20"));
+        planList.addNewPlanToLists(planList.createNewPlan("plan a /workouts 1,2"));
+        planList.addNewPlanToLists(planList.createNewPlan("plan b /workouts 3"));
+        planList.addNewPlanToLists(planList.createNewPlan("plan c /workouts 2,3"));
+        dayList.updateDay("1 1");
+        dayList.updateDay("3 3");
+        changeHistory = new ChangeHistory(workoutList, planList, dayList);
+    }
+
+    @Test
+    void undo_workoutDeletedWithPlansAndSchedule_restoredAtSameIndexNums() throws InvalidWorkoutException,
+            InvalidPlanException {
+        Workout deletedWorkout = workoutList.getWorkoutFromIndexNum(2);
+        Plan deletedPlanA = planList.getPlanFromIndexNum(1);
+        Plan deletedPlanC = planList.getPlanFromIndexNum(3);
+        changeHistory.startStep("workout /delete 2");
+        ArrayList<Workout> deletedWorkouts = workoutList.deleteWorkouts("2");
+        planList.deletePlansContainDeletedWorkouts(deletedWorkouts);
+        changeHistory.endStep();
+
+        assertEquals(2, workoutList.getNumberOfWorkouts());
+        assertEquals(1, planList.getNumberOfPlans());
+        assertNull(dayList.getDayList()[0]);
+        assertNull(dayList.getDayList()[2]);
+        assertTrue(changeHistory.canUndo());
+
+        assertEquals("workout /delete 2", changeHistory.undo().getDescription());
+        assertSame(deletedWorkout, workoutList.getWorkoutFromIndexNum(2));
+        assertEquals(3, workoutList.getNumberOfWorkouts());
+        assertSame(deletedPlanA, planList.getPlanFromIndexNum(1));
+        assertSame(deletedPlanC, planList.getPlanFromIndexNum(3));
+        assertEquals("sit up (15 reps)", deletedPlanC.getWorkoutAt(0).toString());
+        assertSame(deletedPlanA, dayList.getDayList()[0].getPlanForThisDay());
+        assertSame(deletedPlanC, dayList.getDayList()[2].getPlanForThisDay());
+        assertFalse(changeHistory.canUndo());
+
+        changeHistory.redo();
+        assertEquals(2, workoutList.getNumberOfWorkouts());
+        assertEquals("plan b", planList.getPlanFromIndexNum(1).getPlanName());
+        assertNull(dayList.getDayList()[0]);
+        assertTrue(changeHistory.canUndo());
+        assertFalse(changeHistory.canRedo());
+    }
+
+    @Test
+    void undo_workoutUpdated_previousWorkoutShownInPlans() throws InvalidWorkoutException,
+            InvalidExerciseException {
+        changeHistory.startStep("workout /update 3 25");
+        workoutList.updateWorkout("3 25");
+        changeHistory.endStep();
+        assertEquals("burpee (25 reps)", planList.getPlanFromIndexNum(2).getWorkoutAt(0).toString());
+
+        changeHistory.undo();
+        assertEquals("burpee (20 reps)", workoutList.getWorkoutFromIndexNum(3).toString());
+        assertEquals("burpee (20 reps)", planList.getPlanFromIndexNum(2).getWorkoutAt(0).toString());
+        assertTrue(workoutList.checkForExistingWorkout("burpee", 20));
+        assertFalse(workoutList.checkForExistingWorkout("burpee", 25));
+    }
+
+    @Test
+    void updateResourceFile_workoutsAtEndOfList_onlyChangedWorkoutsWritten() throws InvalidWorkoutException,
+            InvalidExerciseException, IOException {
+        ArrayList<Workout> appendedWorkouts = new ArrayList<>();
+        ArrayList<Workout> removedWorkouts = new ArrayList<>();
+        FileManager fileManager = new FileManager(planList) {
+            @Override
+            public void appendWorkoutsToFile(ArrayList<Workout> workouts) {
+                appendedWorkouts.addAll(workouts);
+            }
+
+            @Override
+            public boolean removeWorkoutsFromFile(ArrayList<Workout> workouts) {
+                removedWorkouts.addAll(workouts);
+                return true;
+            }
+        };
+        changeHistory.startStep("workout /new push up /reps 30");
+        workoutList.addNewWorkoutsToLists(workoutList.createNewWorkouts("push up /reps 30"));
+        changeHistory.endStep();
+        Workout newWorkout = workoutList.getWorkoutFromIndexNum(4);
+
+        // Undoing the command only removes the line of the new workout
+        ChangeSet undoneChangeSet = changeHistory.undo();
+        Change undoneChange = undoneChangeSet.getChangesToResourceFile(FileManager.NAME_WORKOUT_FILE, true).get(0);
+        assertTrue(undoneChange.updateResourceFile(fileManager, true));
+        assertTrue(appendedWorkouts.isEmpty());
+        assertEquals(1, removedWorkouts.size());
+        assertSame(newWorkout, removedWorkouts.get(0));
+
+        ChangeSet redoneChangeSet = changeHistory.redo();
+        Change redoneChange = redoneChangeSet.getChangesToResourceFile(FileManager.NAME_WORKOUT_FILE, false).get(0);
+        assertTrue(redoneChange.updateResourceFile(fileManager, false));
+        assertEquals(1, appendedWorkouts.size());
+        assertSame(newWorkout, appendedWorkouts.get(0));
+    }
+
+    @Test
+    void updateResourceFile_workoutsRestoredInMiddleOfList_nothingWritten() throws InvalidWorkoutException,
+            IOException {
+        ArrayList<Workout> appendedWorkouts = new ArrayList<>();
+        FileManager fileManager = new FileManager(planList) {
+            @Override
+            public void appendWorkoutsToFile(ArrayList<Workout> workouts) {
+                appendedWorkouts.addAll(workouts);
+            }
+        };
+        changeHistory.startStep("workout /delete 2");
+        workoutList.deleteWorkouts("2");
+        changeHistory.endStep();
+
+        ChangeSet undoneChangeSet = changeHistory.undo();
+        Change undoneChange = undoneChangeSet.getChangesToResourceFile(FileManager.NAME_WORKOUT_FILE, true).get(0);
+        assertFalse(undoneChange.updateResourceFile(fileManager, true));
+        assertTrue(appendedWorkouts.isEmpty());
+    }
+
+    @Test
+    void updateResourceFile_workoutUpdated_replacedWithWorkoutInList() throws InvalidWorkoutException,
+            InvalidExerciseException, IOException {
+        ArrayList<Workout> replacedWorkouts = new ArrayList<>();
+        ArrayList<Workout> workoutsInList = new ArrayList<>();
+        FileManager fileManager = new FileManager(planList) {
+            @Override
+            public boolean replaceWorkoutInFile(Workout replacedWorkout, Workout workoutInList,
+                    boolean isLastWorkout) {
+                replacedWorkouts.add(replacedWorkout);
+                workoutsInList.add(workoutInList);
+                return isLastWorkout;
+            }
+        };
+        Workout oldWorkout = workoutList.getWorkoutFromIndexNum(3);
+        changeHistory.startStep("workout /update 3 25");
+        workoutList.updateWorkout("3 25");
+        changeHistory.endStep();
+        Workout newWorkout = workoutList.getWorkoutFromIndexNum(3);
+
+        ChangeSet undoneChangeSet = changeHistory.undo();
+        Change undoneChange = undoneChangeSet.getChangesToResourceFile(FileManager.NAME_WORKOUT_FILE, true).get(0);
+        assertTrue(undoneChange.updateResourceFile(fileManager, true));
+        assertSame(newWorkout, replacedWorkouts.get(0));
+        assertSame(oldWorkout, workoutsInList.get(0));
+    }
+
+    @Test
+    void endStep_newChangeAfterUndo_redoStepsDiscarded() throws InvalidWorkoutException,
+            InvalidExerciseException {
+        changeHistory.startStep("workout /new push up /reps 30");
+        workoutList.addNewWorkoutsToLists(workoutList.createNewWorkouts("push up /reps 30"));
+        changeHistory.endStep();
+        changeHistory.undo();
+        assertEquals(3, workoutList.getNumberOfWorkouts());
+        assertTrue(changeHistory.canRedo());
+
+        // A command that does not change any list does not discard the steps that can be redone
+        changeHistory.startStep("workout /list");
+        changeHistory.endStep();
+        assertTrue(changeHistory.canRedo());
+
+        changeHistory.startStep("workout /new sit up /reps 30");
+        workoutList.addNewWorkoutsToLists(workoutList.createNewWorkouts("sit up /reps 30"));
+        changeHistory.endStep();
+        assertFalse(changeHistory.canRedo());
+        assertNull(changeHistory.redo());
+    }
+}
@@ -2,6 +2,9 @@ package data.plans;
 
 import data.exercises.ExerciseList;
 import data.exercises.InvalidExerciseException;
+import data.schedule.DayList;
+import data.snapshot.ModelSnapshot;
+import data.snapshot.ModelSnapshotPublisher;
 import data.workouts.InvalidWorkoutException;
 import data.workouts.Workout;
 import data.workouts.WorkoutList;
@@ -16,7 +19,10 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PlanListTest {
     ExerciseList exerciseList;
@@ -50,6 +56,10 @@ class PlanListTest {
         workoutList.addNewWorkoutToLists(newWorkout5);
     }
 
+    ModelSnapshot publishSnapshot() {
+        return new ModelSnapshotPublisher(exerciseList, workoutList, planList, new DayList(planList)).publish();
+    }
+
     @Test
     void listAllPlan_expectNoPlanPrints() {
         String expectedOutput =
@@ -61,7 +71,7 @@ class PlanListTest {
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
         PrintStream ps = new PrintStream(consoleOutput);
         System.setOut(ps);
-        planList.listAllPlan();
+        planList.listAllPlan(publishSnapshot().getPlans());
         System.out.flush();
         String consoleOutputs = consoleOutput.toString().replaceAll("\n", "").replaceAll("\r", "");
         assertEquals(expectedOutput, consoleOutputs);
@@ -85,7 +95,7 @@ class PlanListTest {
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
         PrintStream ps = new PrintStream(consoleOutput);
         System.setOut(ps);
-        planList.listAllPlan();
+        planList.listAllPlan(publishSnapshot().getPlans());
         System.out.flush();
         String consoleOutputs = consoleOutput.toString().replaceAll("\n", "").replaceAll("\r", "");
         assertEquals(expectedOutput, consoleOutputs);
@@ -102,8 +112,8 @@ class PlanListTest {
         Plan newPlan4 = planList.createNewPlan("Plan 4 /workouts 1,1, 5,2");
         planList.addNewPlanToLists(newPlan4);
 
-        for (int i = 0; i < planList.getPlansDisplayList().size(); i += 1) {
-            assertEquals("plan " + (i + 1), planList.getPlansDisplayList().get(i).toString());
+        for (int i = 0; i < planList.getNumberOfPlans(); i += 1) {
+            assertEquals("plan " + (i + 1), planList.getPlanFromIndexNum(i + 1).toString());
         }
     }
 
@@ -125,8 +135,9 @@ class PlanListTest {
 
     @Test
     void createNewPlan_minMaxWorkoutsToAdd_expectException() {
+        String tooManyWorkouts = "1" + ",2".repeat(PlanList.PLAN_MAX_NUMBER_OF_WORKOUTS);
         assertThrows(InvalidPlanException.class,
-            () -> planList.createNewPlan("Exceed 10 Plan /workouts 1,1,1,1,1,2,2,2,2,2,3"));
+            () -> planList.createNewPlan("Exceed max Plan /workouts " + tooManyWorkouts));
         assertThrows(ArrayIndexOutOfBoundsException.class,
             () -> planList.createNewPlan("Min 1 Plan /workouts"));
     }
@@ -147,6 +158,26 @@ class PlanListTest {
             () -> planList.createNewPlan("Duplicate Sequence /workouts 1,2,3"));
     }
 
+    @Test
+    void createNewPlan_sameSequenceAfterDeleteAndUpdate_expectSequenceIndexUpdated() throws InvalidPlanException,
+            InvalidWorkoutException {
+        Plan newPlan1 = planList.createNewPlan("Plan 1 /workouts 1,2,3");
+        planList.addNewPlanToLists(newPlan1);
+        Plan newPlan2 = planList.createNewPlan("Plan 2 /workouts 3,2,1");
+        planList.addNewPlanToLists(newPlan2);
+
+        // Updating the repetitions of a workout does not change the workout sequence of the plans
+        workoutList.updateWorkout("2 25");
+        assertThrows(InvalidPlanException.class,
+            () -> planList.createNewPlan("Duplicate Sequence /workouts 3,2,1"));
+
+        planList.deletePlan("2");
+        Plan newPlan3 = planList.createNewPlan("Plan 3 /workouts 3,2,1");
+        assertEquals(3, newPlan3.getWorkoutsInPlanList().size());
+        assertThrows(InvalidPlanException.class,
+            () -> planList.createNewPlan("Duplicate Sequence /workouts 1,2,3"));
+    }
+
     //@@author TianaiYan
     @Test
     void listPlanDetails_validPlanNumber_expectThreeWorkouts() throws InvalidPlanException {
@@ -210,9 +241,31 @@ class PlanListTest {
 
         int planNumberToDelete = 2;
 
-        assertEquals("plan 2", planList.getPlansDisplayList().get(planNumberToDelete - 1).toString());
+        assertEquals("plan 2", planList.getPlanFromIndexNum(planNumberToDelete).toString());
         planList.deletePlan(Integer.toString(planNumberToDelete));
-        assertEquals("plan 3", planList.getPlansDisplayList().get(planNumberToDelete - 1).toString());
+        assertEquals("plan 3", planList.getPlanFromIndexNum(planNumberToDelete).toString());
+    }
+
+    @Test
+    void deletePlan_planIds_remainingPlansKeepTheirIds() throws InvalidPlanException {
+        Plan newPlan1 = planList.createNewPlan("Plan 1 /workouts 1,5,4,3");
+        planList.addNewPlanToLists(newPlan1);
+        Plan newPlan2 = planList.createNewPlan("Plan 2 /workouts 1, 3, 4");
+        planList.addNewPlanToLists(newPlan2);
+        Plan newPlan3 = planList.createNewPlan("Plan 3 /workouts 2");
+        planList.addNewPlanToLists(newPlan3);
+        int planThreeId = newPlan3.getPlanId();
+
+        planList.deletePlan("1");
+
+        assertEquals(null, planList.getPlanFromId(newPlan1.getPlanId()));
+        assertEquals(newPlan3, planList.getPlanFromId(planThreeId));
+        assertEquals(newPlan3, planList.getPlanFromIndexNum(2));
+        assertEquals(2, planList.getNumberOfPlans());
+
+        Plan newPlan4 = planList.createNewPlan("Plan 4 /workouts 3");
+        planList.addNewPlanToLists(newPlan4);
+        assertEquals(planThreeId + 1, newPlan4.getPlanId());
     }
 
     @Test
@@ -258,6 +311,25 @@ class PlanListTest {
 
     }
 
+    @Test
+    void getIndexNumFromPlanName_afterDeletePlan_expectShiftedPlanNumbers() throws InvalidPlanException {
+        Plan newPlan1 = planList.createNewPlan("Plan 1 /workouts 1,2,3");
+        planList.addNewPlanToLists(newPlan1);
+        Plan newPlan2 = planList.createNewPlan("Plan 2 /workouts 1");
+        planList.addNewPlanToLists(newPlan2);
+        Plan newPlan3 = planList.createNewPlan("Plan 3 /workouts 1,5, 3");
+        planList.addNewPlanToLists(newPlan3);
+
+        planList.deletePlan("1");
+
+        assertEquals(1, planList.getIndexNumFromPlanName("PLAN 2"));
+        assertEquals(2, planList.getIndexNumFromPlanName("plan 3"));
+        assertThrows(InvalidPlanException.class,
+            () -> planList.getIndexNumFromPlanName("plan 1"));
+        assertThrows(InvalidPlanException.class,
+            () -> planList.createNewPlan("Plan 3 /workouts 2"));
+    }
+
     @Test
     void getIndexNumFromPlanName_planNameNotFound_expectInvalidPlanException() throws InvalidPlanException {
         Plan newPlan1 = planList.createNewPlan("Plan 1 /workouts 1,2,3");
@@ -282,13 +354,92 @@ class PlanListTest {
         Plan newPlan3 = planList.createNewPlan("Plan 3 /workouts 1,5, 3");
         planList.addNewPlanToLists(newPlan3);
 
-        assertEquals(3, planList.getPlansDisplayList().size());
+        assertEquals(3, planList.getNumberOfPlans());
         ArrayList<Workout> listOfWorkouts = new ArrayList<Workout>();
         listOfWorkouts.add(workoutList.getWorkoutFromIndexNum(1));
         listOfWorkouts.add(workoutList.getWorkoutFromIndexNum(4));
         Plan plan = new Plan("Plan 4", listOfWorkouts);
         planList.insertPlanIntoList("Plan 4", plan);
-        assertEquals(4, planList.getPlansDisplayList().size());
+        assertEquals(4, planList.getNumberOfPlans());
+    }
+
+    @Test
+    void insertPlanIntoList_copiesOfWorkouts_planKeepsWorkoutIdsOfWorkoutsInList() throws InvalidPlanException,
+            InvalidWorkoutException {
+        ArrayList<Workout> listOfWorkouts = new ArrayList<Workout>();
+        Workout firstWorkout = workoutList.getWorkoutFromIndexNum(1);
+        listOfWorkouts.add(new Workout(firstWorkout.getExerciseName(), firstWorkout.getRepetitions()));
+        listOfWorkouts.add(workoutList.getWorkoutFromIndexNum(4));
+        Plan plan = new Plan("Plan 4", listOfWorkouts);
+        assertFalse(plan.isBoundToWorkoutList());
+
+        planList.insertPlanIntoList("Plan 4", plan);
+        assertTrue(plan.isBoundToWorkoutList());
+        assertEquals(2, plan.getNumberOfWorkouts());
+        assertEquals(firstWorkout.getWorkoutId(), plan.getWorkoutIdAt(0));
+        assertEquals(workoutList.getWorkoutFromIndexNum(4).getWorkoutId(), plan.getWorkoutIdAt(1));
+
+        Workout updatedWorkout = workoutList.updateWorkout("4 99");
+        assertSame(updatedWorkout, plan.getWorkoutAt(1));
+        assertEquals(updatedWorkout, plan.getWorkoutsInPlanList().get(1));
+    }
+
+    @Test
+    void createNewPlan_hundredsOfWorkouts_expectAllWorkoutsInPlan() throws InvalidPlanException {
+        StringBuilder workoutIndexNumbers = new StringBuilder("1");
+        for (int i = 1; i < 300; i += 1) {
+            workoutIndexNumbers.append(',').append(i % 5 + 1);
+        }
+        Plan newPlan = planList.createNewPlan("Long plan /workouts " + workoutIndexNumbers);
+        planList.addNewPlanToLists(newPlan);
+
+        assertEquals(300, newPlan.getNumberOfWorkouts());
+        assertEquals(workoutList.getWorkoutFromIndexNum(5).getWorkoutId(), newPlan.getWorkoutIdAt(299));
+    }
+
+    @Test
+    void createNewPlan_setsAndRestForEachWorkout_expectAttributesInPlan() throws InvalidPlanException {
+        Plan newPlan = planList.createNewPlan("Plan 1 /workouts 1,2,3 /sets 3,4,255 /rest 60,0,65535");
+        planList.addNewPlanToLists(newPlan);
+
+        assertFalse(newPlan.hasDefaultEntryAttributes());
+        assertEquals(3, newPlan.getNumberOfSetsAt(0));
+        assertEquals(60, newPlan.getRestIntervalSecondsAt(0));
+        assertEquals(4, newPlan.getNumberOfSetsAt(1));
+        assertEquals(0, newPlan.getRestIntervalSecondsAt(1));
+        assertEquals(Plan.MAX_NUMBER_OF_SETS, newPlan.getNumberOfSetsAt(2));
+        assertEquals(Plan.MAX_REST_INTERVAL_SECONDS, newPlan.getRestIntervalSecondsAt(2));
+    }
+
+    @Test
+    void createNewPlan_singleSetsValueWithoutRest_expectSameSetsAndDefaultRest() throws InvalidPlanException {
+        Plan newPlan = planList.createNewPlan("Plan 1 /workouts 1,2 /sets 5");
+        planList.addNewPlanToLists(newPlan);
+
+        for (int i = 0; i < newPlan.getNumberOfWorkouts(); i += 1) {
+            assertEquals(5, newPlan.getNumberOfSetsAt(i));
+            assertEquals(Plan.DEFAULT_REST_INTERVAL_SECONDS, newPlan.getRestIntervalSecondsAt(i));
+        }
+    }
+
+    @Test
+    void createNewPlan_defaultSetsAndRest_expectNoAttributesKept() throws InvalidPlanException {
+        Plan newPlan = planList.createNewPlan("Plan 1 /workouts 1,2 /sets 1 /rest 0");
+        planList.addNewPlanToLists(newPlan);
+
+        assertTrue(newPlan.hasDefaultEntryAttributes());
+        assertEquals(Plan.DEFAULT_NUMBER_OF_SETS, newPlan.getNumberOfSetsAt(1));
+        assertEquals(Plan.DEFAULT_REST_INTERVAL_SECONDS, newPlan.getRestIntervalSecondsAt(1));
+    }
+
+    @Test
+    void createNewPlan_invalidSetsOrRest_expectException() {
+        assertThrows(InvalidPlanException.class, () -> planList.createNewPlan("Plan 1 /workouts 1,2 /sets 0"));
+        assertThrows(InvalidPlanException.class,
+            () -> planList.createNewPlan("Plan 1 /workouts 1,2 /rest " + (Plan.MAX_REST_INTERVAL_SECONDS + 1)));
+        assertThrows(InvalidPlanException.class,
+            () -> planList.createNewPlan("Plan 1 /workouts 1,2,3 /sets 3,3"));
+        assertThrows(NumberFormatException.class, () -> planList.createNewPlan("Plan 1 /workouts 1,2 /rest a"));
     }
 
     @Test
@@ -321,11 +472,32 @@ class PlanListTest {
 
         int workoutNumberToDelete = 4;
 
-        assertEquals(3, planList.getPlansDisplayList().size());
+        assertEquals(3, planList.getNumberOfPlans());
         Workout deletedWorkout = workoutList.deleteWorkout(Integer.toString(workoutNumberToDelete));
-        planList.deletePlanContainsDeletedWorkout(deletedWorkout.toString());
-        assertEquals(3, planList.getPlansDisplayList().size());
+        planList.deletePlanContainsDeletedWorkout(deletedWorkout);
+        assertEquals(3, planList.getNumberOfPlans());
+
+    }
+
+    @Test
+    void findPlanContainsTargetWorkout_afterPlanDeleteAndWorkoutUpdate_expectOnlyRemainingPlans() throws
+            InvalidPlanException, InvalidWorkoutException {
+        Plan newPlan1 = planList.createNewPlan("Plan 1 /workouts 1,2,3");
+        planList.addNewPlanToLists(newPlan1);
+        Plan newPlan2 = planList.createNewPlan("Plan 2 /workouts 3");
+        planList.addNewPlanToLists(newPlan2);
+        Plan newPlan3 = planList.createNewPlan("Plan 3 /workouts 1,5, 3");
+        planList.addNewPlanToLists(newPlan3);
+        Workout targetWorkout = workoutList.getWorkoutFromIndexNum(3);
+
+        planList.deletePlan("1");
+        workoutList.updateWorkout("3 25");
 
+        ArrayList<Integer> expectedPlanNumbers = new ArrayList<>();
+        expectedPlanNumbers.add(1);
+        expectedPlanNumbers.add(2);
+        assertEquals(expectedPlanNumbers, planList.findPlanContainsTargetWorkout(targetWorkout));
+        assertEquals(0, planList.findPlanContainsTargetWorkout(workoutList.getWorkoutFromIndexNum(2)).size());
     }
 
     @Test
@@ -340,10 +512,10 @@ class PlanListTest {
 
         int workoutNumberToDelete = 3;
 
-        assertEquals(3, planList.getPlansDisplayList().size());
+        assertEquals(3, planList.getNumberOfPlans());
         Workout deletedWorkout = workoutList.deleteWorkout(Integer.toString(workoutNumberToDelete));
-        planList.deletePlanContainsDeletedWorkout(deletedWorkout.toString());
-        assertEquals(1, planList.getPlansDisplayList().size());
+        planList.deletePlanContainsDeletedWorkout(deletedWorkout);
+        assertEquals(1, planList.getNumberOfPlans());
 
     }
     //@@author
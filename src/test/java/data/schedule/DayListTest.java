@@ -16,9 +16,12 @@ import werkit.UI;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DayListTest {
     ExerciseList exerciseList;
@@ -133,6 +136,24 @@ class DayListTest {
         assertEquals(dayList.getDayList()[6], null);
     }
 
+    @Test
+    void deletePlan_planScheduledOnTwoDays_onlyThoseDaysCleared() throws InvalidScheduleException,
+            InvalidPlanException {
+        dayList.updateDay("1 1");
+        dayList.updateDay("3 2");
+        dayList.updateDay("5 1");
+        planList.deletePlan("1");
+
+        TreeMap<Integer, String> clearedDays = dayList.getAndResetDaysClearedByDeletedPlans();
+        assertEquals(2, clearedDays.size());
+        assertEquals("more muscles", clearedDays.get(1));
+        assertEquals("more muscles", clearedDays.get(5));
+        assertEquals(null, dayList.getDayList()[0]);
+        assertEquals("more arm muscles", dayList.getScheduleList()[2]);
+        assertEquals(null, dayList.getDayList()[4]);
+        assertTrue(dayList.getAndResetDaysClearedByDeletedPlans().isEmpty());
+    }
+
     @Test
     void printSchedule_expectSuccessNoPlansAdded() {
         String header = String.format("%8s %7s %20s", "Day", "|", "Plan Name");
@@ -151,10 +172,19 @@ class DayListTest {
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
         PrintStream ps = new PrintStream(consoleOutput);
         System.setOut(ps);
-        dayList.printSchedule();
+        dayList.printSchedule(Arrays.asList(dayList.getScheduleList()));
         System.out.flush();
         String consoleOutputs = consoleOutput.toString().replaceAll("\n", "").replaceAll("\r", "");
         assertEquals(expectedOutput, consoleOutputs);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getScheduleList_returnedArraysModified_scheduleUnchanged() throws InvalidScheduleException {
+        dayList.updateDay("1 1");
+        dayList.getScheduleList()[0] = null;
+        dayList.getDayList()[0] = null;
+
+        assertEquals(planList.getPlanFromIndexNum(1).getPlanName(), dayList.getScheduleList()[0]);
+        assertEquals(planList.getPlanFromIndexNum(1), dayList.getDayList()[0].getPlanForThisDay());
+    }
+}
@@ -0,0 +1,126 @@
+package data.snapshot;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.LogHandler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelSnapshotPublisherTest {
+    ExerciseList exerciseList;
+    WorkoutList workoutList;
+    PlanList planList;
+    DayList dayList;
+    ModelSnapshotPublisher modelSnapshotPublisher;
+
+    @BeforeEach
+    void setUp() throws InvalidWorkoutException, InvalidExerciseException, InvalidPlanException {
+        LogHandler.startLogHandler();
+        exerciseList = new ExerciseList();
+        workoutList = new WorkoutList(exerciseList);
+        planList = new PlanList(workoutList);
+        dayList = new DayList(planList);
+        modelSnapshotPublisher = new ModelSnapshotPublisher(exerciseList, workoutList, planList, dayList);
+
+        exerciseList.addExerciseToList("push up");
+        exerciseList.addExerciseToList("sit up");
+        workoutList.addNewWorkoutsToLists(workoutList.createNewWorkouts("push up /reps 10; sit up /reps 15"));
+        planList.addNewPlanToLists(planList.createNewPlan("plan a /workouts 1,2"));
+    }
+
+    @Test
+    void publish_listsModifiedAfterPublishing_previousSnapshotUnchanged() throws InvalidWorkoutException,
+            InvalidExerciseException, InvalidPlanException {
+        assertEquals(0, modelSnapshotPublisher.getSnapshot().getVersion());
+        ModelSnapshot snapshot = modelSnapshotPublisher.publish();
+        assertSame(snapshot, modelSnapshotPublisher.getSnapshot());
+
+        workoutList.updateWorkout("1 30");
+        ModelSnapshot updatedSnapshot = modelSnapshotPublisher.publish();
+        planList.deletePlanContainsDeletedWorkout(workoutList.deleteWorkout("2"));
+        ModelSnapshot newSnapshot = modelSnapshotPublisher.publish();
+
+        assertEquals(2, snapshot.getWorkouts().size());
+        assertEquals("push up (10 reps)", snapshot.getWorkouts().get(0).toString());
+        PlanSnapshot plan = snapshot.getPlans().get(0);
+        assertEquals("push up (10 reps)", snapshot.getWorkoutsInPlan(plan).get(0).toString());
+        assertEquals("push up (30 reps)", updatedSnapshot.getWorkoutsInPlan(plan).get(0).toString());
+        assertEquals(1, newSnapshot.getWorkouts().size());
+        assertTrue(newSnapshot.getPlans().isEmpty());
+        assertEquals(1, updatedSnapshot.getPlans().size());
+        assertTrue(newSnapshot.getVersion() > snapshot.getVersion());
+    }
+
+    @Test
+    void publish_onlyWorkoutUpdated_plansShared() throws InvalidWorkoutException, InvalidExerciseException {
+        ModelSnapshot snapshot = modelSnapshotPublisher.publish();
+
+        workoutList.updateWorkout("2 20");
+        ModelSnapshot newSnapshot = modelSnapshotPublisher.publish();
+
+        assertSame(snapshot.getPlans(), newSnapshot.getPlans());
+        PlanSnapshot plan = newSnapshot.getPlans().get(0);
+        assertEquals("sit up (15 reps)", snapshot.getWorkoutsInPlan(plan).get(1).toString());
+        assertEquals("sit up (20 reps)", newSnapshot.getWorkoutsInPlan(plan).get(1).toString());
+    }
+
+    @Test
+    void publish_onlyScheduleModified_unmodifiedPartsShared() throws InvalidScheduleException {
+        ModelSnapshot snapshot = modelSnapshotPublisher.publish();
+        assertSame(snapshot, modelSnapshotPublisher.publish());
+
+        dayList.updateDay("2 1");
+        ModelSnapshot newSnapshot = modelSnapshotPublisher.publish();
+
+        assertSame(snapshot.getExerciseNames(), newSnapshot.getExerciseNames());
+        assertSame(snapshot.getWorkouts(), newSnapshot.getWorkouts());
+        assertSame(snapshot.getPlans(), newSnapshot.getPlans());
+        assertNull(snapshot.getPlanNameScheduledOn(2));
+        assertEquals("plan a", newSnapshot.getPlanNameScheduledOn(2));
+    }
+
+    @Test
+    void getSnapshot_readWhileWriterPublishes_everySnapshotConsistent() throws InterruptedException,
+            InvalidWorkoutException, InvalidExerciseException {
+        modelSnapshotPublisher.publish();
+        AtomicBoolean isWriterDone = new AtomicBoolean(false);
+        AtomicReference<String> inconsistency = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!isWriterDone.get()) {
+                ModelSnapshot snapshot = modelSnapshotPublisher.getSnapshot();
+                for (PlanSnapshot plan : snapshot.getPlans()) {
+                    if (!snapshot.getWorkouts().containsAll(snapshot.getWorkoutsInPlan(plan))) {
+                        inconsistency.set("Plan " + plan + " in version " + snapshot.getVersion());
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int reps = 11; reps <= 200; reps += 1) {
+            workoutList.updateWorkout("1 " + reps);
+            modelSnapshotPublisher.publish();
+        }
+        isWriterDone.set(true);
+        reader.join();
+
+        assertNull(inconsistency.get());
+        assertFalse(modelSnapshotPublisher.getSnapshot().getWorkouts().isEmpty());
+        assertEquals("push up (200 reps)", modelSnapshotPublisher.getSnapshot().getWorkouts().get(0).toString());
+    }
+}
@@ -11,8 +11,13 @@ import werkit.UI;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -95,7 +100,7 @@ class WorkoutListTest {
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
         PrintStream ps = new PrintStream(consoleOutput);
         System.setOut(ps);
-        wl.listAllWorkout();
+        wl.listAllWorkout(List.of());
         System.out.flush();
         String expectedOutput = "The workout list is empty";
         assertEquals(expectedOutput, consoleOutput.toString().trim());
@@ -120,7 +125,7 @@ class WorkoutListTest {
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
         PrintStream ps = new PrintStream(consoleOutput);
         System.setOut(ps);
-        wl.listAllWorkout();
+        wl.listAllWorkout(List.of(newWorkout1, newWorkout2, newWorkout3));
         System.out.flush();
         String consoleOutputs = consoleOutput.toString().replaceAll("\n", "").replaceAll("\r", "");
         assertEquals(expectedOutput, consoleOutputs);
@@ -141,10 +146,10 @@ class WorkoutListTest {
 
         int workoutNumberToDeleteInList = 2;
 
-        assertEquals("sit up (15 reps)", wl.getWorkoutsDisplayList().get(workoutNumberToDeleteInList - 1).toString());
+        assertEquals("sit up (15 reps)", wl.getWorkoutFromIndexNum(workoutNumberToDeleteInList).toString());
 
         wl.deleteWorkout(Integer.toString(workoutNumberToDeleteInList));
-        assertEquals("lunge (10 reps)", wl.getWorkoutsDisplayList().get(workoutNumberToDeleteInList - 1).toString());
+        assertEquals("lunge (10 reps)", wl.getWorkoutFromIndexNum(workoutNumberToDeleteInList).toString());
     }
 
     @Test
@@ -201,14 +206,58 @@ class WorkoutListTest {
         int newReps = 15;
         String updateArgument = Integer.toString(indexToUpdate) + " " + Integer.toString(newReps);
 
-        String workoutDetails = wl.getWorkoutsDisplayList().get(indexToUpdate - 1).toString();
+        String workoutDetails = wl.getWorkoutFromIndexNum(indexToUpdate).toString();
 
         assertEquals("lunge (10 reps)", workoutDetails);
         wl.updateWorkout(updateArgument);
-        workoutDetails = wl.getWorkoutsDisplayList().get(indexToUpdate - 1).toString();
+        workoutDetails = wl.getWorkoutFromIndexNum(indexToUpdate).toString();
         assertEquals("lunge (15 reps)", workoutDetails);
     }
 
+    @Test
+    void updateAndDeleteWorkout_workoutIds_idsAndKeysStayConsistent() throws InvalidWorkoutException,
+            InvalidExerciseException {
+        Workout pushUp = wl.createNewWorkout("push up /reps 11");
+        wl.addNewWorkoutToLists(pushUp);
+        Workout sitUp = wl.createNewWorkout("sit up /reps 15");
+        wl.addNewWorkoutToLists(sitUp);
+        Workout lunge = wl.createNewWorkout("lunge /reps 10");
+        wl.addNewWorkoutToLists(lunge);
+
+        Workout updatedSitUp = wl.updateWorkout("2 20");
+        assertEquals(sitUp.getWorkoutId(), updatedSitUp.getWorkoutId());
+        assertEquals("sit up (15 reps)", sitUp.toString());
+        assertEquals(updatedSitUp, wl.getWorkoutFromId(sitUp.getWorkoutId()));
+        assertEquals(updatedSitUp, wl.getWorkoutFromKey("sit up (20 reps)"));
+        assertEquals(null, wl.getWorkoutFromKey("sit up (15 reps)"));
+        assertEquals(2, wl.getIndexNumFromWorkout(sitUp));
+
+        wl.deleteWorkout("1");
+        assertEquals(null, wl.getWorkoutFromId(pushUp.getWorkoutId()));
+        assertEquals(2, wl.getNumberOfWorkouts());
+        assertEquals(1, wl.getIndexNumFromWorkout(sitUp));
+        assertEquals(lunge, wl.getWorkoutFromIndexNum(2));
+        assertEquals("sit up (20 reps)", wl.getWorkoutFromIndexNum(1).toString());
+    }
+
+    @Test
+    void getIndexNumFromWorkoutName_afterUpdateAndDelete_expectCurrentIndexNumbers() throws InvalidWorkoutException,
+            InvalidExerciseException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 11"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("sit up /reps 15"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("lunge /reps 10"));
+
+        wl.updateWorkout("3 12");
+        wl.deleteWorkout("1");
+
+        assertEquals(1, wl.getIndexNumFromWorkoutName("Sit Up (15 reps)"));
+        assertEquals(2, wl.getIndexNumFromWorkoutName("lunge (12 reps)"));
+        assertThrows(InvalidWorkoutException.class,
+            () -> wl.getIndexNumFromWorkoutName("lunge (10 reps)"));
+        assertThrows(InvalidWorkoutException.class,
+            () -> wl.getIndexNumFromWorkoutName("push up (11 reps)"));
+    }
+
     @Test
     void updateWorkout_InvalidNumberFormat_expectNumberFormatException() throws InvalidWorkoutException,
             InvalidExerciseException, ArrayIndexOutOfBoundsException {
@@ -290,4 +339,103 @@ class WorkoutListTest {
 
         assertEquals(true, wl.checkForExistingWorkout(newWorkoutExerciseName, newWorkoutRepsCount));
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkForExistingWorkout_afterUpdateAndDelete_expectOnlyCurrentWorkouts()
+            throws InvalidWorkoutException, InvalidExerciseException {
+        Workout newWorkout1 = wl.createNewWorkout("russian twist /reps 1000");
+        wl.addNewWorkoutToLists(newWorkout1);
+        Workout newWorkout2 = wl.createNewWorkout("push up /reps 1");
+        wl.addNewWorkoutToLists(newWorkout2);
+
+        wl.updateWorkout("1 50");
+        assertEquals(false, wl.checkForExistingWorkout("russian twist", 1000));
+        assertEquals(true, wl.checkForExistingWorkout("russian twist", 50));
+        assertEquals(true, wl.checkForExistingWorkout("push up", 1));
+
+        wl.deleteWorkout("2");
+        assertEquals(false, wl.checkForExistingWorkout("push up", 1));
+    }
+
+    @Test
+    void createNewWorkout_sameExercise_exerciseNameSharedAndWorkoutsImmutable() throws InvalidWorkoutException,
+            InvalidExerciseException {
+        Workout pushUp10 = wl.createNewWorkout(new String("push up") + " /reps 10");
+        wl.addNewWorkoutToLists(pushUp10);
+        Workout pushUp20 = wl.createNewWorkout(new String("push up") + " /reps 20");
+        wl.addNewWorkoutToLists(pushUp20);
+
+        assertSame(exerciseList.getCanonicalExerciseName("push up"), pushUp10.getExerciseName());
+        assertSame(pushUp10.getExerciseName(), pushUp20.getExerciseName());
+        assertEquals(new Workout("push up", 10), pushUp10);
+        assertEquals(new Workout("push up", 10).hashCode(), pushUp10.hashCode());
+
+        Workout updatedPushUp10 = wl.updateWorkout("1 15");
+        assertNotSame(pushUp10, updatedPushUp10);
+        assertEquals(10, pushUp10.getRepetitions());
+        assertEquals(pushUp10.getWorkoutId(), updatedPushUp10.getWorkoutId());
+        assertSame(updatedPushUp10, wl.getWorkoutFromIndexNum(1));
+    }
+
+    @Test
+    void createNewWorkouts_duplicateInBatch_expectNoWorkoutAdded() throws InvalidExerciseException,
+            InvalidWorkoutException {
+        ArrayList<Workout> newWorkouts = wl.createNewWorkouts("push up /reps 10; sit up /reps 20;lunge /reps 5");
+        wl.addNewWorkoutsToLists(newWorkouts);
+        assertEquals(3, wl.getNumberOfWorkouts());
+        assertEquals("sit up (20 reps)", wl.getWorkoutFromIndexNum(2).toString());
+
+        assertThrows(InvalidWorkoutException.class,
+                () -> wl.createNewWorkouts("crunch /reps 10; burpee /reps 5; crunch /reps 10"));
+        assertThrows(InvalidWorkoutException.class,
+                () -> wl.createNewWorkouts("crunch /reps 10; push up /reps 10"));
+        assertThrows(InvalidExerciseException.class,
+                () -> wl.createNewWorkouts("crunch /reps 10; not an exercise /reps 10"));
+        assertEquals(3, wl.getNumberOfWorkouts());
+        assertFalse(wl.checkForExistingWorkout("crunch", 10));
+    }
+
+    @Test
+    void deleteWorkouts_indexNumsAndRanges_expectWorkoutsDeletedInOnePass() throws InvalidExerciseException,
+            InvalidWorkoutException {
+        for (int reps = 1; reps <= 10; reps += 1) {
+            wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps " + reps));
+        }
+
+        assertThrows(InvalidWorkoutException.class, () -> wl.deleteWorkouts("1,4-11"));
+        assertThrows(InvalidWorkoutException.class, () -> wl.deleteWorkouts("5-3"));
+        assertThrows(NumberFormatException.class, () -> wl.deleteWorkouts("1,x"));
+        assertEquals(10, wl.getNumberOfWorkouts());
+
+        ArrayList<Workout> deletedWorkouts = wl.deleteWorkouts("7, 2-4,3,10");
+        assertEquals(5, deletedWorkouts.size());
+        assertEquals("push up (2 reps)", deletedWorkouts.get(0).toString());
+        assertEquals("push up (10 reps)", deletedWorkouts.get(4).toString());
+        assertEquals(5, wl.getNumberOfWorkouts());
+        assertEquals("push up (5 reps)", wl.getWorkoutFromIndexNum(2).toString());
+        assertEquals("push up (9 reps)", wl.getWorkoutFromIndexNum(5).toString());
+        assertFalse(wl.checkForExistingWorkout("push up", 3));
+    }
+
+    @Test
+    void findWorkoutsByRepetitions_rangeAfterUpdateAndDelete_expectWorkoutsInDisplayOrder()
+            throws InvalidExerciseException, InvalidWorkoutException {
+        wl.addNewWorkoutsToLists(wl.createNewWorkouts("push up /reps 30; sit up /reps 20; push up /reps 50; "
+                + "crunch /reps 10; pull up /reps 40"));
+        wl.updateWorkout("4 35");
+        wl.deleteWorkout("3");
+
+        ArrayList<Workout> workoutsWithinRange = wl.findWorkoutsByRepetitions(20, 40, "");
+        assertEquals(4, workoutsWithinRange.size());
+        assertEquals("push up (30 reps)", workoutsWithinRange.get(0).toString());
+        assertEquals("sit up (20 reps)", workoutsWithinRange.get(1).toString());
+        assertEquals("crunch (35 reps)", workoutsWithinRange.get(2).toString());
+        assertEquals("pull up (40 reps)", workoutsWithinRange.get(3).toString());
+
+        ArrayList<Workout> pushUpsWithinRange = wl.findWorkoutsByRepetitions(25, 60, "PUSH");
+        assertEquals(1, pushUpsWithinRange.size());
+        assertEquals("push up (30 reps)", pushUpsWithinRange.get(0).toString());
+        assertTrue(wl.findWorkoutsByRepetitions(10).isEmpty());
+        assertTrue(wl.findWorkoutsByRepetitions(40, 20, "").isEmpty());
+    }
+}
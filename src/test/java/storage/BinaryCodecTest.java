@@ -0,0 +1,141 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryCodecTest {
+    ExerciseList el;
+    WorkoutList wl;
+    PlanList pl;
+    DayList dl;
+    FileManager fm;
+    BinaryCodec codec;
+
+    ExerciseList decodedExerciseList;
+    WorkoutList decodedWorkoutList;
+    PlanList decodedPlanList;
+    DayList decodedDayList;
+    BinaryCodec decodingCodec;
+
+    @BeforeEach
+    public void setUp() {
+        LogHandler.startLogHandler();
+        el = new ExerciseList();
+        el.addExerciseToList("push up");
+        el.addExerciseToList("squat");
+        wl = new WorkoutList(el);
+        pl = new PlanList(wl);
+        dl = new DayList(pl);
+        fm = new FileManager(pl);
+        codec = new BinaryCodec(fm, el, wl, pl, dl);
+
+        decodedExerciseList = new ExerciseList();
+        decodedWorkoutList = new WorkoutList(decodedExerciseList);
+        decodedPlanList = new PlanList(decodedWorkoutList);
+        decodedDayList = new DayList(decodedPlanList);
+        FileManager decodingFileManager = new FileManager(decodedPlanList);
+        decodingCodec = new BinaryCodec(decodingFileManager, decodedExerciseList, decodedWorkoutList,
+                decodedPlanList, decodedDayList);
+    }
+
+    @Test
+    public void decode_encodedLists_listsRestored() throws InvalidExerciseException, InvalidWorkoutException,
+            InvalidPlanException, InvalidScheduleException, InvalidBinaryDataException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("squat /reps 300"));
+        pl.addNewPlanToLists(pl.createNewPlan("legs /workouts 2,1,2"));
+        pl.addNewPlanToLists(pl.createNewPlan("arms /workouts 1"));
+        dl.updateDay("3 2");
+        dl.updateDay("7 1");
+
+        assertTrue(decodingCodec.decode(codec.encode()));
+
+        assertEquals(el.getExerciseList(), decodedExerciseList.getExerciseList());
+        assertEquals(wl.getWorkoutsDisplayList(), decodedWorkoutList.getWorkoutsDisplayList());
+        assertEquals(pl.getPlansDisplayList(), decodedPlanList.getPlansDisplayList());
+        ArrayList<Workout> legsWorkouts = decodedPlanList.getPlanFromKey("legs").getWorkoutsInPlanList();
+        assertEquals(3, legsWorkouts.size());
+        assertEquals("squat (300 reps)", legsWorkouts.get(0).toString());
+        assertEquals("push up (10 reps)", legsWorkouts.get(1).toString());
+        assertEquals("squat (300 reps)", legsWorkouts.get(2).toString());
+        assertEquals("arms", decodedDayList.getScheduleList()[2]);
+        assertEquals("legs", decodedDayList.getScheduleList()[6]);
+    }
+
+    @Test
+    public void decode_planWithSetsAndRest_attributesRestored() throws InvalidExerciseException,
+            InvalidWorkoutException, InvalidPlanException, InvalidBinaryDataException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("squat /reps 300"));
+        pl.addNewPlanToLists(pl.createNewPlan("legs /workouts 2,1 /sets 5 /rest 30,65535"));
+        pl.addNewPlanToLists(pl.createNewPlan("arms /workouts 1"));
+
+        assertTrue(decodingCodec.decode(codec.encode()));
+
+        Plan decodedLegsPlan = decodedPlanList.getPlanFromKey("legs");
+        assertEquals(5, decodedLegsPlan.getNumberOfSetsAt(0));
+        assertEquals(30, decodedLegsPlan.getRestIntervalSecondsAt(0));
+        assertEquals(5, decodedLegsPlan.getNumberOfSetsAt(1));
+        assertEquals(Plan.MAX_REST_INTERVAL_SECONDS, decodedLegsPlan.getRestIntervalSecondsAt(1));
+        assertTrue(decodedPlanList.getPlanFromKey("arms").hasDefaultEntryAttributes());
+    }
+
+    @Test
+    public void decode_invalidWorkoutRecord_dependentPlanSkippedAndOrdinalsKept() throws InvalidExerciseException,
+            InvalidWorkoutException, InvalidBinaryDataException {
+        wl.addNewWorkoutToLists(new Workout("squat", 0));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        ArrayList<Workout> squatWorkouts = new ArrayList<>();
+        squatWorkouts.add(new Workout("squat", 0));
+        pl.addNewPlanToLists(new Plan("legs", squatWorkouts));
+        ArrayList<Workout> pushUpWorkouts = new ArrayList<>();
+        pushUpWorkouts.add(new Workout("push up", 10));
+        pl.addNewPlanToLists(new Plan("arms", pushUpWorkouts));
+
+        assertFalse(decodingCodec.decode(codec.encode()));
+
+        assertEquals(1, decodedWorkoutList.getNumberOfWorkouts());
+        assertEquals("push up (10 reps)", decodedWorkoutList.getWorkoutFromIndexNum(1).toString());
+        assertEquals(1, decodedPlanList.getNumberOfPlans());
+        assertEquals("push up (10 reps)",
+                decodedPlanList.getPlanFromKey("arms").getWorkoutsInPlanList().get(0).toString());
+    }
+
+    @Test
+    public void decode_invalidHeader_exceptionThrown() {
+        byte[] textData = "push up | 10".getBytes();
+        assertThrows(InvalidBinaryDataException.class, () -> decodingCodec.decode(textData));
+
+        byte[] futureVersionData = codec.encode();
+        futureVersionData[Integer.BYTES] = BinaryCodec.FORMAT_VERSION + 1;
+        assertThrows(InvalidBinaryDataException.class, () -> decodingCodec.decode(futureVersionData));
+    }
+
+    @Test
+    public void decode_truncatedData_loadUnsuccessful() throws InvalidExerciseException, InvalidWorkoutException,
+            InvalidBinaryDataException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        byte[] encodedData = codec.encode();
+        byte[] truncatedData = new byte[encodedData.length - 3];
+        System.arraycopy(encodedData, 0, truncatedData, 0, truncatedData.length);
+
+        assertFalse(decodingCodec.decode(truncatedData));
+    }
+}
@@ -1,7 +1,10 @@
 package storage;
 
 import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
 import data.plans.PlanList;
+import data.workouts.InvalidWorkoutException;
 import data.workouts.Workout;
 import data.plans.Plan;
 import data.workouts.WorkoutList;
@@ -84,4 +87,55 @@ public class FileManagerTest {
         assertThrows(NullPointerException.class,
             () -> fm.convertPlanToFileDataFormat(testPlanSample1));
     }
+
+    @Test
+    public void addFilePlanToList_workoutIdsInPlan_planUnchangedByWorkoutUpdate() throws InvalidExerciseException,
+            InvalidWorkoutException {
+        el.addExerciseToList("push up");
+        el.addExerciseToList("squat");
+        FileManager fm = new FileManager(pl);
+        fm.addFileWorkoutToList(wl, "push up", "10", "7");
+        fm.addFileWorkoutToList(wl, "squat", "20");
+        assertThrows(InvalidWorkoutException.class, () -> fm.addFileWorkoutToList(wl, "squat", "5", "7"));
+
+        fm.addFilePlanToList(pl, fm.parsePlansFileData("legs | 8,7"));
+        Plan plan = pl.getPlanFromKey("legs");
+        assertEquals(wl.getWorkoutFromId(8), plan.getWorkoutsInPlanList().get(0));
+        assertEquals(wl.getWorkoutFromId(7), plan.getWorkoutsInPlanList().get(1));
+        assertEquals("squat | 20 | 8", fm.convertWorkoutToFileDataFormat(wl.getWorkoutFromId(8)));
+        assertEquals("legs | 8,7", fm.convertPlanToFileDataFormat(plan));
+
+        wl.updateWorkout("1 15");
+        assertEquals("push up (15 reps)", plan.getWorkoutsInPlanList().get(1).toString());
+        assertEquals(7, plan.getWorkoutIdAt(1));
+        assertEquals("legs | 8,7", fm.convertPlanToFileDataFormat(plan));
+    }
+
+    @Test
+    public void addFilePlanToList_setsAndRestInPlan_attributesRestoredAndSaved() throws InvalidExerciseException,
+            InvalidWorkoutException, InvalidPlanException {
+        el.addExerciseToList("push up");
+        el.addExerciseToList("squat");
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("squat /reps 20"));
+        FileManager fm = new FileManager(pl);
+
+        Plan newPlan = pl.createNewPlan("legs /workouts 2,1 /sets 3,4 /rest 90");
+        pl.addNewPlanToLists(newPlan);
+        String planInFileFormat = fm.convertPlanToFileDataFormat(newPlan);
+        assertEquals("legs | 2:3:90,1:4:90", planInFileFormat);
+
+        PlanList restoredPlanList = new PlanList(wl);
+        fm.addFilePlanToList(restoredPlanList, fm.parsePlansFileData(planInFileFormat));
+        Plan restoredPlan = restoredPlanList.getPlanFromKey("legs");
+        assertEquals(3, restoredPlan.getNumberOfSetsAt(0));
+        assertEquals(4, restoredPlan.getNumberOfSetsAt(1));
+        assertEquals(90, restoredPlan.getRestIntervalSecondsAt(1));
+        assertEquals(planInFileFormat, fm.convertPlanToFileDataFormat(restoredPlan));
+
+        assertThrows(NumberFormatException.class,
+            () -> fm.addFilePlanToList(restoredPlanList, fm.parsePlansFileData("arms | 1:0:90")));
+        assertThrows(NumberFormatException.class,
+            () -> fm.addFilePlanToList(restoredPlanList, fm.parsePlansFileData("arms | 1:3")));
+    }
 }
@@ -0,0 +1,203 @@
+package storage;
+
+import data.plans.PlanList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedResourceFileReaderTest {
+    private static final String MISSING_FIELD = "<missing>";
+    private static final int MAX_FIELDS_CHECKED = 4;
+
+    Path filePath;
+    FileManager fm;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        filePath = Files.createTempFile("werkit", ".txt");
+        fm = new FileManager(new PlanList(null));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(filePath);
+    }
+
+    @Test
+    public void getField_unusualFileData_sameAsScannerAndSplit() throws IOException {
+        String fileData = "push up | 10\r\n"
+                + "squat|20|\n"
+                + "  \n"
+                + "|lunge| 5 \r"
+                + "caf\u00e9 | 7\u2028"
+                + "sit up||\u0085"
+                + "| |\u2029"
+                + "plank"
+                + "\n \t\r\n";
+        Files.write(filePath, fileData.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(readFieldsWithScanner(), readFieldsWithMappedReader());
+    }
+
+    @Test
+    public void getWorkoutFieldInPlan_unusualFileData_sameAsScannerAndSplit() throws IOException {
+        String fileData = "legs | squat | 10,lunge | 5\n"
+                + "arms|push up|10|,sit up| 2 |\n"
+                + "core | plank | \n"
+                + "empty\n"
+                + "back | row | 3,\n"
+                + "CHEST | Push Up | 1X\n"
+                + " | , | 4";
+        Files.write(filePath, fileData.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(readPlanFieldsWithScanner(), readPlanFieldsWithMappedReader());
+    }
+
+    @Test
+    public void isChecksumValid_checksummedCorruptedAndTruncatedLines_correctValidity() throws IOException {
+        String corruptedLine = fm.addChecksumToFileDataLine("push up | 10").replace("10", "18");
+        String fileData = fm.addChecksumToFileDataLine("push up | 10") + "\n"
+                + corruptedLine + "\n"
+                + "push up | 1\n"
+                + "   \n"
+                + fm.addChecksumToFileDataLine("legs | squat | 20,push up | 10") + "\n";
+        Files.write(filePath, fileData.getBytes(StandardCharsets.UTF_8));
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isChecksumValid());
+        assertEquals("10", fileReader.getField(1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> fileReader.getField(2));
+
+        fileReader.nextLine();
+        assertFalse(fileReader.isChecksumValid());
+
+        // A line without a checksum in a checksummed file (e.g. a line cut short while being appended)
+        fileReader.nextLine();
+        assertFalse(fileReader.isChecksumValid());
+        assertEquals("1", fileReader.getField(1));
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isBlankLine());
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isChecksumValid());
+        assertEquals(2, fileReader.getNumberOfWorkoutsInPlan());
+        assertEquals("10", fileReader.getWorkoutFieldInPlan(1, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> fileReader.getWorkoutFieldInPlan(1, 2));
+        assertFalse(fileReader.hasNextLine());
+    }
+
+    @Test
+    public void isChecksumValid_legacyFile_allLinesValidAndHashFieldsKept() throws IOException {
+        String fileData = "1 | #legday\n"
+                + "2 | arms\n"
+                + "3 | #deadbeef\n";
+        Files.write(filePath, fileData.getBytes(StandardCharsets.UTF_8));
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isChecksumValid());
+        assertEquals("#legday", fileReader.getField(1));
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isChecksumValid());
+
+        fileReader.nextLine();
+        assertTrue(fileReader.isChecksumValid());
+        assertEquals("#deadbeef", fileReader.getField(1));
+        assertFalse(fileReader.hasNextLine());
+    }
+
+    private ArrayList<String> readFieldsWithScanner() throws IOException {
+        ArrayList<String> fields = new ArrayList<>();
+        Scanner fileReader = new Scanner(filePath, StandardCharsets.UTF_8.name());
+        while (fileReader.hasNext()) {
+            String[] parsedFileDataLine = fm.parseFileDataLine(fileReader.nextLine());
+            for (int i = 0; i < MAX_FIELDS_CHECKED; i += 1) {
+                fields.add(i < parsedFileDataLine.length ? parsedFileDataLine[i] : MISSING_FIELD);
+            }
+        }
+        fileReader.close();
+        return fields;
+    }
+
+    private ArrayList<String> readFieldsWithMappedReader() throws IOException {
+        ArrayList<String> fields = new ArrayList<>();
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+        while (fileReader.hasNextLine()) {
+            fileReader.nextLine();
+            for (int i = 0; i < MAX_FIELDS_CHECKED; i += 1) {
+                try {
+                    fields.add(fileReader.getField(i));
+                } catch (ArrayIndexOutOfBoundsException e) {
+                    fields.add(MISSING_FIELD);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private ArrayList<String> readPlanFieldsWithScanner() throws IOException {
+        ArrayList<String> fields = new ArrayList<>();
+        Scanner fileReader = new Scanner(filePath, StandardCharsets.UTF_8.name());
+        while (fileReader.hasNext()) {
+            String[] parsedPlanFileDataLine = fm.parsePlansFileData(fileReader.nextLine());
+            fields.add(parsedPlanFileDataLine[0].trim());
+            if (parsedPlanFileDataLine.length < 2) {
+                fields.add(MISSING_FIELD);
+                continue;
+            }
+            String[] individualWorkout = parsedPlanFileDataLine[1].trim().split(",", -1);
+            fields.add(Integer.toString(individualWorkout.length));
+            for (String workout : individualWorkout) {
+                String[] workoutDetail = workout.split("\\|");
+                for (int i = 0; i < MAX_FIELDS_CHECKED; i += 1) {
+                    fields.add(i < workoutDetail.length ? workoutDetail[i].trim() : MISSING_FIELD);
+                }
+            }
+        }
+        fileReader.close();
+        return fields;
+    }
+
+    private ArrayList<String> readPlanFieldsWithMappedReader() throws IOException {
+        ArrayList<String> fields = new ArrayList<>();
+        MappedResourceFileReader fileReader = new MappedResourceFileReader(filePath);
+        while (fileReader.hasNextLine()) {
+            fileReader.nextLine();
+            fields.add(fileReader.getPlanName());
+            int numberOfWorkouts;
+            try {
+                numberOfWorkouts = fileReader.getNumberOfWorkoutsInPlan();
+            } catch (ArrayIndexOutOfBoundsException e) {
+                fields.add(MISSING_FIELD);
+                continue;
+            }
+            fields.add(Integer.toString(numberOfWorkouts));
+            for (int workoutIndex = 0; workoutIndex < numberOfWorkouts; workoutIndex += 1) {
+                for (int i = 0; i < MAX_FIELDS_CHECKED; i += 1) {
+                    try {
+                        fields.add(fileReader.getWorkoutFieldInPlan(workoutIndex, i));
+                    } catch (ArrayIndexOutOfBoundsException e) {
+                        fields.add(MISSING_FIELD);
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,148 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.Day;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OperationJournalTest {
+    ExerciseList el;
+    WorkoutList wl;
+    PlanList pl;
+    DayList dl;
+    FileManager fm;
+    Path journalFilePath;
+    OperationJournal journal;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        el = new ExerciseList();
+        el.addExerciseToList("push up");
+        el.addExerciseToList("squat");
+        wl = new WorkoutList(el);
+        pl = new PlanList(wl);
+        dl = new DayList(pl);
+        fm = new FileManager(pl);
+        journalFilePath = Files.createTempFile("journal", ".txt");
+        journal = new OperationJournal(journalFilePath, fm);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journalFilePath);
+    }
+
+    @Test
+    public void appendWorkoutCreated_newWorkouts_entriesAppended() throws IOException {
+        journal.appendWorkoutCreated(new Workout("push up", 10));
+        journal.appendWorkoutCreated(new Workout("squat", 1));
+
+        ArrayList<String> expectedEntries = new ArrayList<>();
+        expectedEntries.add("workout /new | push up | 10");
+        expectedEntries.add("workout /new | squat | 1");
+        assertEquals(expectedEntries, new ArrayList<>(Files.readAllLines(journalFilePath)));
+    }
+
+    @Test
+    public void replay_createUpdateAndDeleteEntries_listsRestored() throws IOException,
+            InvalidExerciseException, InvalidWorkoutException, InvalidPlanException, InvalidScheduleException {
+        Workout pushUp = wl.createNewWorkout("push up /reps 10");
+        wl.addNewWorkoutToLists(pushUp);
+        Workout squat = wl.createNewWorkout("squat /reps 20");
+        wl.addNewWorkoutToLists(squat);
+        Plan legs = pl.createNewPlan("legs /workouts 2");
+        pl.addNewPlanToLists(legs);
+        Plan arms = pl.createNewPlan("arms /workouts 1");
+        pl.addNewPlanToLists(arms);
+        Day monday = dl.updateDay("1 1");
+
+        journal.appendWorkoutCreated(pushUp);
+        journal.appendWorkoutCreated(squat);
+        journal.appendPlanCreated(legs);
+        journal.appendPlanCreated(arms);
+        journal.appendDayUpdated(monday);
+        journal.appendWorkoutUpdated("squat (20 reps)", new Workout("squat", 25));
+        ArrayList<Plan> deletedPlans = new ArrayList<>();
+        deletedPlans.add(arms);
+        journal.appendWorkoutDeleted(pushUp, deletedPlans);
+
+        WorkoutList replayedWorkoutList = new WorkoutList(el);
+        PlanList replayedPlanList = new PlanList(replayedWorkoutList);
+        DayList replayedDayList = new DayList(replayedPlanList);
+        assertTrue(journal.replay(replayedWorkoutList, replayedPlanList, replayedDayList));
+
+        assertEquals(1, replayedWorkoutList.getNumberOfWorkouts());
+        assertEquals("squat (25 reps)", replayedWorkoutList.getWorkoutFromIndexNum(1).toString());
+        assertEquals(1, replayedPlanList.getNumberOfPlans());
+        assertEquals("squat (25 reps)",
+                replayedPlanList.getPlanFromIndexNum(1).getWorkoutsInPlanList().get(0).toString());
+        assertEquals("legs", replayedDayList.getScheduleList()[0]);
+    }
+
+    @Test
+    public void replay_restoreEntries_workoutAndPlanRestoredAtIndexNums() throws IOException,
+            InvalidExerciseException, InvalidWorkoutException, InvalidPlanException {
+        Workout pushUp = wl.createNewWorkout("push up /reps 10");
+        wl.addNewWorkoutToLists(pushUp);
+        Workout squat = wl.createNewWorkout("squat /reps 20");
+        wl.addNewWorkoutToLists(squat);
+        Plan arms = pl.createNewPlan("arms /workouts 1");
+        pl.addNewPlanToLists(arms);
+        Plan legs = pl.createNewPlan("legs /workouts 2");
+        pl.addNewPlanToLists(legs);
+
+        journal.appendWorkoutCreated(pushUp);
+        journal.appendWorkoutCreated(squat);
+        journal.appendPlanCreated(arms);
+        journal.appendPlanCreated(legs);
+        ArrayList<Plan> deletedPlans = new ArrayList<>();
+        deletedPlans.add(arms);
+        journal.appendWorkoutDeleted(pushUp, deletedPlans);
+        ArrayList<Integer> indexNums = new ArrayList<>();
+        indexNums.add(1);
+        ArrayList<Workout> restoredWorkouts = new ArrayList<>();
+        restoredWorkouts.add(pushUp);
+        journal.appendWorkoutsRestored(indexNums, restoredWorkouts);
+        journal.appendPlansRestored(indexNums, deletedPlans);
+
+        WorkoutList replayedWorkoutList = new WorkoutList(el);
+        PlanList replayedPlanList = new PlanList(replayedWorkoutList);
+        DayList replayedDayList = new DayList(replayedPlanList);
+        assertTrue(journal.replay(replayedWorkoutList, replayedPlanList, replayedDayList));
+
+        assertEquals(2, replayedWorkoutList.getNumberOfWorkouts());
+        assertEquals("push up (10 reps)", replayedWorkoutList.getWorkoutFromIndexNum(1).toString());
+        assertEquals(pushUp.getWorkoutId(), replayedWorkoutList.getWorkoutFromIndexNum(1).getWorkoutId());
+        assertEquals("arms", replayedPlanList.getPlanFromIndexNum(1).getPlanName());
+        assertEquals("push up (10 reps)", replayedPlanList.getPlanFromIndexNum(1).getWorkoutAt(0).toString());
+        assertEquals("legs", replayedPlanList.getPlanFromIndexNum(2).getPlanName());
+    }
+
+    @Test
+    public void clear_journalWithEntries_noPendingEntries() throws IOException {
+        journal.appendScheduleCleared();
+        assertTrue(journal.hasPendingEntries());
+
+        journal.clear();
+        assertEquals(false, journal.hasPendingEntries());
+    }
+}
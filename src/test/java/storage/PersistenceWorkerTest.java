@@ -0,0 +1,100 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.schedule.InvalidScheduleException;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PersistenceWorkerTest {
+    ExerciseList el;
+    WorkoutList wl;
+    PlanList pl;
+    DayList dl;
+    FileManager fm;
+    Path workingDirectoryPath;
+    String originalWorkingDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        originalWorkingDirectory = System.getProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY);
+        workingDirectoryPath = Files.createTempDirectory("werkit");
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, workingDirectoryPath.toString());
+
+        el = new ExerciseList();
+        el.addExerciseToList("push up");
+        el.addExerciseToList("squat");
+        wl = new WorkoutList(el);
+        pl = new PlanList(wl);
+        dl = new DayList(pl);
+        fm = new FileManager(pl);
+        fm.checkAndCreateDirectoriesAndFiles();
+        fm.setWriteBehindModeEnabled(true);
+        fm.startPersistenceWorker(wl, pl, dl);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        fm.getPersistenceWorker().stop();
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, originalWorkingDirectory);
+        for (String fileName : new String[]{FileManager.NAME_EXERCISE_FILE, FileManager.NAME_WORKOUT_FILE,
+            FileManager.NAME_PLAN_FILE, FileManager.NAME_SCHEDULE_FILE}) {
+            Files.deleteIfExists(fm.getDirectoryPath().resolve(fileName));
+        }
+        Files.deleteIfExists(fm.getDirectoryPath());
+        Files.deleteIfExists(workingDirectoryPath);
+    }
+
+    @Test
+    public void flush_burstOfChanges_allResourceFilesWritten() throws IOException, InvalidExerciseException,
+            InvalidWorkoutException, InvalidPlanException, InvalidScheduleException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        fm.getPersistenceWorker().submitDirtyResources();
+        wl.addNewWorkoutToLists(wl.createNewWorkout("squat /reps 20"));
+        fm.getPersistenceWorker().submitDirtyResources();
+        pl.addNewPlanToLists(pl.createNewPlan("legs /workouts 1,2"));
+        dl.updateDay("1 1");
+        fm.flushPendingWrites();
+
+        ArrayList<String> expectedWorkoutLines = new ArrayList<>();
+        expectedWorkoutLines.add(fm.addChecksumToFileDataLine("push up | 10 | 1"));
+        expectedWorkoutLines.add(fm.addChecksumToFileDataLine("squat | 20 | 2"));
+        assertEquals(expectedWorkoutLines, new ArrayList<>(Files.readAllLines(fm.getWorkoutFilePath())));
+
+        ArrayList<String> expectedPlanLines = new ArrayList<>();
+        expectedPlanLines.add(fm.addChecksumToFileDataLine("legs | 1,2"));
+        assertEquals(expectedPlanLines, new ArrayList<>(Files.readAllLines(fm.getPlanFilePath())));
+
+        ArrayList<String> expectedScheduleLines = new ArrayList<>();
+        expectedScheduleLines.add(fm.addChecksumToFileDataLine("1 | legs"));
+        assertEquals(expectedScheduleLines, new ArrayList<>(Files.readAllLines(fm.getScheduleFilePath())));
+    }
+
+    @Test
+    public void flush_deletedWorkout_workoutFileRewritten() throws IOException, InvalidExerciseException,
+            InvalidWorkoutException {
+        wl.addNewWorkoutToLists(wl.createNewWorkout("push up /reps 10"));
+        wl.addNewWorkoutToLists(wl.createNewWorkout("squat /reps 20"));
+        fm.flushPendingWrites();
+        wl.deleteWorkout("1");
+        fm.flushPendingWrites();
+
+        ArrayList<String> expectedWorkoutLines = new ArrayList<>();
+        expectedWorkoutLines.add(fm.addChecksumToFileDataLine("squat | 20 | 2"));
+        assertEquals(expectedWorkoutLines, new ArrayList<>(Files.readAllLines(fm.getWorkoutFilePath())));
+    }
+}
@@ -0,0 +1,76 @@
+package storage;
+
+import data.plans.PlanList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+/**
+ * Compares the time taken to parse a large workout resource file using a Scanner with String#split(),
+ * against the MappedResourceFileReader. This is not run as part of the tests; run it manually with
+ * the number of workout lines to generate as an optional argument.
+ */
+public class ResourceFileLoadBenchmark {
+    private static final int DEFAULT_NUMBER_OF_LINES = 1_000_000;
+    private static final int NUMBER_OF_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        LogHandler.startLogHandler();
+        int numberOfLines = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_LINES;
+        Path workoutFilePath = Files.createTempFile("werkit-benchmark", ".txt");
+        try {
+            writeWorkoutFile(workoutFilePath, numberOfLines);
+            FileManager fileManager = new FileManager(new PlanList(null));
+            for (int round = 1; round <= NUMBER_OF_ROUNDS; round += 1) {
+                long scannerTime = timeScanner(fileManager, workoutFilePath);
+                long mappedReaderTime = timeMappedReader(workoutFilePath);
+                System.out.printf("Round %d: Scanner %d ms, MappedResourceFileReader %d ms%n", round,
+                        scannerTime, mappedReaderTime);
+            }
+        } finally {
+            Files.deleteIfExists(workoutFilePath);
+        }
+    }
+
+    private static void writeWorkoutFile(Path workoutFilePath, int numberOfLines) throws IOException {
+        StringBuilder fileData = new StringBuilder();
+        for (int i = 0; i < numberOfLines; i += 1) {
+            fileData.append("exercise ").append(i % 100).append(" | ").append(i % 1000 + 1).append('\n');
+        }
+        Files.write(workoutFilePath, fileData.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long timeScanner(FileManager fileManager, Path workoutFilePath) throws IOException {
+        long startTime = System.nanoTime();
+        long totalReps = 0;
+        Scanner workoutFileReader = new Scanner(workoutFilePath);
+        while (workoutFileReader.hasNext()) {
+            String[] parsedWorkoutFileDataLine = fileManager.parseFileDataLine(workoutFileReader.nextLine());
+            totalReps += Integer.parseInt(parsedWorkoutFileDataLine[1]) + parsedWorkoutFileDataLine[0].length();
+        }
+        workoutFileReader.close();
+        return finishTiming(startTime, totalReps);
+    }
+
+    private static long timeMappedReader(Path workoutFilePath) throws IOException {
+        long startTime = System.nanoTime();
+        long totalReps = 0;
+        MappedResourceFileReader workoutFileReader = new MappedResourceFileReader(workoutFilePath);
+        while (workoutFileReader.hasNextLine()) {
+            workoutFileReader.nextLine();
+            totalReps += Integer.parseInt(workoutFileReader.getField(1)) + workoutFileReader.getField(0).length();
+        }
+        return finishTiming(startTime, totalReps);
+    }
+
+    private static long finishTiming(long startTime, long checksum) {
+        long elapsedMilliseconds = (System.nanoTime() - startTime) / 1_000_000;
+        if (checksum == 0) {
+            System.out.println("Unexpected empty workout file.");
+        }
+        return elapsedMilliseconds;
+    }
+}
@@ -0,0 +1,157 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.plans.Plan;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceFileWatcherTest {
+    private static final long WATCH_TIMEOUT_MILLIS = 10000;
+    private static final long WATCH_POLL_INTERVAL_MILLIS = 50;
+
+    ExerciseList el;
+    WorkoutList wl;
+    PlanList pl;
+    DayList dl;
+    FileManager fm;
+    ResourceFileWatcher watcher;
+    Path workingDirectoryPath;
+    String originalWorkingDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        originalWorkingDirectory = System.getProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY);
+        workingDirectoryPath = Files.createTempDirectory("werkit");
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, workingDirectoryPath.toString());
+
+        Path directoryPath = Files.createDirectory(Paths.get(workingDirectoryPath.toString(),
+                FileManager.NAME_DATA_DIRECTORY));
+        Files.write(directoryPath.resolve(FileManager.NAME_WORKOUT_FILE),
+                "push up | 10 | 1\nsquat | 20 | 2\nlunge | 5 | 3\n".getBytes());
+        Files.write(directoryPath.resolve(FileManager.NAME_PLAN_FILE), "legs | 2,3\narms | 1\n".getBytes());
+        Files.write(directoryPath.resolve(FileManager.NAME_SCHEDULE_FILE), "1 | legs\n2 | arms\n".getBytes());
+
+        el = new ExerciseList();
+        el.populateExercisesToList();
+        wl = new WorkoutList(el);
+        pl = new PlanList(wl);
+        dl = new DayList(pl);
+        fm = new FileManager(pl);
+        fm.checkAndCreateDirectoriesAndFiles();
+        assertTrue(fm.loadWorkoutsFromFile(wl));
+        assertTrue(fm.loadPlansFromFile(pl));
+        assertTrue(fm.loadScheduleFromFile(dl));
+        fm.rewriteOutdatedResourceFiles(el, wl, pl, dl);
+        watcher = new ResourceFileWatcher(fm, wl, pl, dl);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        watcher.stop();
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, originalWorkingDirectory);
+        for (String fileName : new String[]{FileManager.NAME_EXERCISE_FILE, FileManager.NAME_WORKOUT_FILE,
+            FileManager.NAME_PLAN_FILE, FileManager.NAME_SCHEDULE_FILE, FileManager.NAME_QUARANTINE_FILE}) {
+            Files.deleteIfExists(fm.getDirectoryPath().resolve(fileName));
+        }
+        Files.deleteIfExists(fm.getDirectoryPath());
+        Files.deleteIfExists(workingDirectoryPath);
+    }
+
+    @Test
+    public void reloadWorkoutFile_updatedDeletedAndNewWorkouts_onlyChangesApplied() throws IOException {
+        Workout pushUp = wl.getWorkoutFromId(1);
+        Plan arms = pl.getPlanFromKey("arms");
+        Files.write(fm.getWorkoutFilePath(), "push up | 15 | 1\nlunge | 5 | 3\nsit up | 8\n".getBytes());
+
+        assertTrue(watcher.isReloadRequired(FileManager.NAME_WORKOUT_FILE));
+        assertTrue(watcher.reloadWorkoutFile());
+
+        ArrayList<String> expectedWorkouts = new ArrayList<>();
+        expectedWorkouts.add("push up (15 reps)");
+        expectedWorkouts.add("lunge (5 reps)");
+        expectedWorkouts.add("sit up (8 reps)");
+        assertEquals(expectedWorkouts, wl.getWorkoutsDisplayList());
+        // Workouts are immutable, so the updated workout replaces the existing one in the plans as well
+        assertEquals("push up (10 reps)", pushUp.toString());
+        assertSame(wl.getWorkoutFromId(1), arms.getWorkoutsInPlanList().get(0));
+        assertEquals("push up (15 reps)", arms.getWorkoutsInPlanList().get(0).toString());
+
+        // The plan containing the deleted workout is deleted, and its day is cleared
+        assertNull(pl.getPlanFromKey("legs"));
+        assertSame(arms, pl.getPlanFromKey("arms"));
+        assertEquals(1, dl.getAndResetDaysClearedByDeletedPlans().size());
+        assertNull(dl.getScheduleList()[0]);
+        assertEquals("arms", dl.getScheduleList()[1]);
+    }
+
+    @Test
+    public void reloadPlanAndScheduleFiles_modifiedPlansAndDays_existingPlansKept() throws IOException {
+        Plan legs = pl.getPlanFromKey("legs");
+        Files.write(fm.getPlanFilePath(), "legs | 2\ncore | 1,3\n".getBytes());
+        Files.write(fm.getScheduleFilePath(), "1 | legs\n3 | core\n".getBytes());
+
+        assertTrue(watcher.reloadPlanFile());
+        assertTrue(watcher.reloadScheduleFile());
+
+        assertSame(legs, pl.getPlanFromKey("legs"));
+        assertEquals(1, legs.getWorkoutsInPlanList().size());
+        assertSame(wl.getWorkoutFromId(2), legs.getWorkoutsInPlanList().get(0));
+        assertSame(wl.getWorkoutFromId(3), pl.getPlanFromKey("core").getWorkoutsInPlanList().get(1));
+        assertNull(pl.getPlanFromKey("arms"));
+
+        assertEquals("legs", dl.getScheduleList()[0]);
+        assertNull(dl.getScheduleList()[1]);
+        assertEquals("core", dl.getScheduleList()[2]);
+
+        fm.rewriteOutdatedResourceFiles(el, wl, pl, dl);
+        assertFalse(watcher.isReloadRequired(FileManager.NAME_PLAN_FILE));
+        assertFalse(watcher.isReloadRequired(FileManager.NAME_SCHEDULE_FILE));
+    }
+
+    @Test
+    public void reloadPlanFile_unknownWorkoutId_damagedPlanQuarantined() throws IOException {
+        Files.write(fm.getPlanFilePath(), "legs | 2,3\narms | 9\n".getBytes());
+
+        assertFalse(watcher.reloadPlanFile());
+
+        assertEquals(1, pl.getNumberOfPlans());
+        ArrayList<String> expectedQuarantineLines = new ArrayList<>();
+        expectedQuarantineLines.add(FileManager.NAME_PLAN_FILE + " line 2: arms | 9");
+        assertEquals(expectedQuarantineLines, new ArrayList<>(Files.readAllLines(fm.getQuarantineFilePath())));
+    }
+
+    @Test
+    public void start_resourceFileModifiedExternally_modifiedFileNameRecorded() throws IOException,
+            InterruptedException {
+        watcher.start();
+        Files.write(fm.getScheduleFilePath(), "1 | arms\n".getBytes());
+
+        ArrayList<String> modifiedFileNames = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MILLIS;
+        while (modifiedFileNames.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(WATCH_POLL_INTERVAL_MILLIS);
+            modifiedFileNames = watcher.getAndResetModifiedFileNames();
+        }
+
+        assertEquals(FileManager.NAME_SCHEDULE_FILE, modifiedFileNames.get(0));
+        assertTrue(watcher.isReloadRequired(FileManager.NAME_SCHEDULE_FILE));
+    }
+}
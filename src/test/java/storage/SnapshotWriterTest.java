@@ -0,0 +1,58 @@
+package storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SnapshotWriterTest {
+    Path targetFilePath;
+    Path tempFilePath;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        targetFilePath = Files.createTempFile("snapshot", ".txt");
+        tempFilePath = targetFilePath.resolveSibling(targetFilePath.getFileName() + SnapshotWriter.TEMP_FILE_SUFFIX);
+        Files.write(targetFilePath, "old line".getBytes());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(targetFilePath);
+        Files.deleteIfExists(tempFilePath);
+    }
+
+    @Test
+    public void commit_linesAppended_targetFileReplaced() throws IOException {
+        SnapshotWriter snapshotWriter = new SnapshotWriter(targetFilePath);
+        snapshotWriter.appendLine("push up | 10");
+        snapshotWriter.appendLine("squat | 20");
+        snapshotWriter.commit();
+
+        ArrayList<String> expectedLines = new ArrayList<>();
+        expectedLines.add("push up | 10");
+        expectedLines.add("squat | 20");
+        assertEquals(expectedLines, new ArrayList<>(Files.readAllLines(targetFilePath)));
+        assertFalse(Files.exists(tempFilePath));
+    }
+
+    @Test
+    public void abort_linesAppended_targetFileUntouched() throws IOException {
+        SnapshotWriter snapshotWriter = new SnapshotWriter(targetFilePath);
+        snapshotWriter.appendLine("push up | 10");
+        snapshotWriter.abort();
+
+        ArrayList<String> expectedLines = new ArrayList<>();
+        expectedLines.add("old line");
+        assertEquals(expectedLines, new ArrayList<>(Files.readAllLines(targetFilePath)));
+        assertFalse(Files.exists(tempFilePath));
+    }
+}
@@ -0,0 +1,181 @@
+package storage;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.PlanList;
+import data.schedule.DayList;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.Workout;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StagedFileLoaderTest {
+    ExerciseList el;
+    WorkoutList wl;
+    PlanList pl;
+    DayList dl;
+    FileManager fm;
+    Path workingDirectoryPath;
+    String originalWorkingDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        LogHandler.startLogHandler();
+        originalWorkingDirectory = System.getProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY);
+        workingDirectoryPath = Files.createTempDirectory("werkit");
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, workingDirectoryPath.toString());
+
+        Path directoryPath = Files.createDirectory(Paths.get(workingDirectoryPath.toString(),
+                FileManager.NAME_DATA_DIRECTORY));
+        Files.write(directoryPath.resolve(FileManager.NAME_WORKOUT_FILE),
+                "push up | 10\nsquat | 20\nsquat\n".getBytes());
+        Files.write(directoryPath.resolve(FileManager.NAME_PLAN_FILE),
+                "legs | squat | 20,push up | 10\narms | push up | 99\n".getBytes());
+        Files.write(directoryPath.resolve(FileManager.NAME_SCHEDULE_FILE), "1 | legs\n2 | arms\n".getBytes());
+
+        el = new ExerciseList();
+        el.populateExercisesToList();
+        wl = new WorkoutList(el);
+        pl = new PlanList(wl);
+        dl = new DayList(pl);
+        fm = new FileManager(pl);
+        fm.checkAndCreateDirectoriesAndFiles();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        System.setProperty(FileManager.PROPERTY_USER_WORKING_DIRECTORY, originalWorkingDirectory);
+        for (String fileName : new String[]{FileManager.NAME_EXERCISE_FILE, FileManager.NAME_WORKOUT_FILE,
+            FileManager.NAME_PLAN_FILE, FileManager.NAME_SCHEDULE_FILE, FileManager.NAME_QUARANTINE_FILE}) {
+            Files.deleteIfExists(fm.getDirectoryPath().resolve(fileName));
+        }
+        Files.deleteIfExists(fm.getDirectoryPath());
+        Files.deleteIfExists(workingDirectoryPath);
+    }
+
+    @Test
+    public void startParsing_existingResourceFiles_sameResultAsSequentialLoad() throws IOException {
+        StagedFileLoader stagedFileLoader = new StagedFileLoader(fm);
+        stagedFileLoader.startParsing();
+        assertFalse(fm.addParsedWorkoutsToList(wl, stagedFileLoader.getParsedWorkoutFile()));
+        assertFalse(fm.addParsedPlansToList(pl, stagedFileLoader.getParsedPlanFile()));
+        assertFalse(fm.addParsedScheduleToList(dl, stagedFileLoader.getParsedScheduleFile()));
+
+        WorkoutList sequentialWorkoutList = new WorkoutList(el);
+        PlanList sequentialPlanList = new PlanList(sequentialWorkoutList);
+        DayList sequentialDayList = new DayList(sequentialPlanList);
+        FileManager sequentialFileManager = new FileManager(sequentialPlanList);
+        sequentialFileManager.loadWorkoutsFromFile(sequentialWorkoutList);
+        sequentialFileManager.loadPlansFromFile(sequentialPlanList);
+        sequentialFileManager.loadScheduleFromFile(sequentialDayList);
+
+        assertEquals(2, wl.getNumberOfWorkouts());
+        assertEquals(sequentialWorkoutList.getWorkoutsDisplayList(), wl.getWorkoutsDisplayList());
+        assertEquals(1, pl.getNumberOfPlans());
+        assertEquals(sequentialPlanList.getPlansDisplayList(), pl.getPlansDisplayList());
+        assertEquals("legs", dl.getScheduleList()[0]);
+        assertEquals(null, dl.getScheduleList()[1]);
+    }
+
+    @Test
+    public void quarantineDamagedRecords_damagedWorkoutRecord_onlyDamagedLineRemoved() throws IOException {
+        ArrayList<ParsedFileRecord> parsedWorkoutFile = fm.parseWorkoutFile();
+        assertFalse(fm.addParsedWorkoutsToList(wl, parsedWorkoutFile));
+        long workoutFileSize = Files.size(fm.getWorkoutFilePath());
+
+        assertEquals(1, fm.quarantineDamagedRecords(fm.getWorkoutFilePath(), parsedWorkoutFile));
+
+        ArrayList<String> expectedQuarantineLines = new ArrayList<>();
+        expectedQuarantineLines.add(FileManager.NAME_WORKOUT_FILE + " line 3: squat");
+        assertEquals(expectedQuarantineLines, new ArrayList<>(Files.readAllLines(fm.getQuarantineFilePath())));
+        ArrayList<String> expectedWorkoutLines = new ArrayList<>();
+        expectedWorkoutLines.add("push up | 10");
+        expectedWorkoutLines.add("squat | 20");
+        expectedWorkoutLines.add("     ");
+        assertEquals(expectedWorkoutLines, new ArrayList<>(Files.readAllLines(fm.getWorkoutFilePath())));
+        assertEquals(workoutFileSize, Files.size(fm.getWorkoutFilePath()));
+
+        WorkoutList reloadedWorkoutList = new WorkoutList(el);
+        assertTrue(fm.loadWorkoutsFromFile(reloadedWorkoutList));
+        assertEquals(wl.getWorkoutsDisplayList(), reloadedWorkoutList.getWorkoutsDisplayList());
+    }
+
+    @Test
+    public void removeWorkoutsFromFile_lastWorkout_onlyItsLineBlanked() throws IOException {
+        fm.loadWorkoutsFromFile(wl);
+        fm.rewriteAllWorkoutsToFile(wl);
+        long workoutFileSize = Files.size(fm.getWorkoutFilePath());
+        String firstLine = Files.readAllLines(fm.getWorkoutFilePath()).get(0);
+        ArrayList<Workout> removedWorkouts = new ArrayList<>();
+        removedWorkouts.add(wl.getWorkoutFromIndexNum(2));
+
+        assertTrue(fm.removeWorkoutsFromFile(removedWorkouts));
+        ArrayList<String> workoutLines = new ArrayList<>(Files.readAllLines(fm.getWorkoutFilePath()));
+        assertEquals(firstLine, workoutLines.get(0));
+        assertTrue(workoutLines.get(1).isBlank());
+        assertEquals(workoutFileSize, Files.size(fm.getWorkoutFilePath()));
+
+        // The line has already been removed, so it cannot be found again
+        assertFalse(fm.removeWorkoutsFromFile(removedWorkouts));
+
+        WorkoutList reloadedWorkoutList = new WorkoutList(el);
+        assertTrue(fm.loadWorkoutsFromFile(reloadedWorkoutList));
+        assertEquals(1, reloadedWorkoutList.getNumberOfWorkouts());
+        assertEquals("push up (10 reps)", reloadedWorkoutList.getWorkoutFromIndexNum(1).toString());
+    }
+
+    @Test
+    public void replaceWorkoutInFile_updatedWorkouts_linesReplacedInListOrder() throws IOException,
+            InvalidWorkoutException, InvalidExerciseException {
+        fm.loadWorkoutsFromFile(wl);
+        fm.rewriteAllWorkoutsToFile(wl);
+        long workoutFileSize = Files.size(fm.getWorkoutFilePath());
+
+        Workout oldFirstWorkout = wl.getWorkoutFromIndexNum(1);
+        wl.updateWorkout("1 5");
+        assertTrue(fm.replaceWorkoutInFile(oldFirstWorkout, wl.getWorkoutFromIndexNum(1), false));
+        assertEquals(workoutFileSize, Files.size(fm.getWorkoutFilePath()));
+
+        // A longer line in the middle of the file cannot be written over the old line
+        Workout shorterFirstWorkout = wl.getWorkoutFromIndexNum(1);
+        wl.updateWorkout("1 100");
+        assertFalse(fm.replaceWorkoutInFile(shorterFirstWorkout, wl.getWorkoutFromIndexNum(1), false));
+        wl.updateWorkout("1 5");
+
+        Workout oldLastWorkout = wl.getWorkoutFromIndexNum(2);
+        wl.updateWorkout("2 200");
+        assertTrue(fm.replaceWorkoutInFile(oldLastWorkout, wl.getWorkoutFromIndexNum(2), true));
+
+        WorkoutList reloadedWorkoutList = new WorkoutList(el);
+        assertTrue(fm.loadWorkoutsFromFile(reloadedWorkoutList));
+        assertEquals(wl.getWorkoutsDisplayList(), reloadedWorkoutList.getWorkoutsDisplayList());
+        assertEquals("push up (5 reps)", reloadedWorkoutList.getWorkoutFromIndexNum(1).toString());
+        assertEquals("squat (200 reps)", reloadedWorkoutList.getWorkoutFromIndexNum(2).toString());
+    }
+
+    @Test
+    public void writeSnapshotToFileIfOutdated_unchangedAndChangedLines_onlyChangedFileRewritten()
+            throws IOException {
+        ArrayList<String> scheduleLines = new ArrayList<>();
+        scheduleLines.add("1 | legs");
+        fm.writeSnapshotToFile(fm.getScheduleFilePath(), scheduleLines);
+
+        assertFalse(fm.writeSnapshotToFileIfOutdated(fm.getScheduleFilePath(), scheduleLines));
+
+        scheduleLines.add("2 | arms");
+        assertTrue(fm.writeSnapshotToFileIfOutdated(fm.getScheduleFilePath(), scheduleLines));
+        assertEquals(scheduleLines, new ArrayList<>(Files.readAllLines(fm.getScheduleFilePath())));
+    }
+}
@@ -0,0 +1,53 @@
+package werkit;
+
+import data.exercises.ExerciseList;
+import data.exercises.InvalidExerciseException;
+import data.plans.InvalidPlanException;
+import data.plans.PlanList;
+import data.workouts.InvalidWorkoutException;
+import data.workouts.WorkoutList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.LogHandler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandCompleterTest {
+    private ExerciseList exerciseList;
+    private PlanList planList;
+    private CommandCompleter commandCompleter;
+
+    @BeforeEach
+    void setUp() throws InvalidExerciseException, InvalidWorkoutException, InvalidPlanException {
+        LogHandler.startLogHandler();
+        exerciseList = new ExerciseList();
+        WorkoutList workoutList = new WorkoutList(exerciseList);
+        planList = new PlanList(workoutList);
+        commandCompleter = new CommandCompleter(exerciseList, planList);
+
+        exerciseList.addExerciseToList("push up");
+        exerciseList.addExerciseToList("pull up");
+        exerciseList.addExerciseToList("sit up");
+        workoutList.addNewWorkoutToLists(workoutList.createNewWorkout("push up /reps 10"));
+        planList.addNewPlanToLists(planList.createNewPlan("Leg Day /workouts 1"));
+    }
+
+    @Test
+    void getCompletions_workoutCreateCommand_exerciseNameCompleted() {
+        assertEquals(List.of("workout /new pull up /reps ", "workout /new push up /reps "),
+                commandCompleter.getCompletions("workout /new pu"));
+        assertEquals(List.of("workout /new push up /reps 10;  sit up /reps "),
+                commandCompleter.getCompletions("workout /new push up /reps 10;  s"));
+        assertTrue(commandCompleter.getCompletions("workout /new push up /reps 1").isEmpty());
+    }
+
+    @Test
+    void getCompletions_searchCommands_namesCompleted() {
+        assertEquals(List.of("search /exercise sit up"), commandCompleter.getCompletions("search /exercise si"));
+        assertEquals(List.of("search /plan leg day"), commandCompleter.getCompletions("search /plan leg"));
+        assertTrue(commandCompleter.getCompletions("plan /list").isEmpty());
+    }
+}